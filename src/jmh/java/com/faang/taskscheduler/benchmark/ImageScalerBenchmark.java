@@ -0,0 +1,111 @@
+package com.faang.taskscheduler.benchmark;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.impl.ImageScaler;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IMAGE_RESIZE / IMAGE_THUMBNAIL's scale across source sizes, sequential against tiled.
+ *
+ * parallelism=1 is the single-threaded path; higher values tile every pass on a pool of
+ * that many threads (min-pixels is 0 here, so the threshold does not hide small sizes).
+ * The 12000x9000 source is a 108 megapixel scan. Speedup is bounded by the cores the
+ * benchmark machine actually has.
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="ImageScalerBenchmark -p parallelism=1,4"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xmx4g"})
+public class ImageScalerBenchmark {
+    
+    @Param({"2000x1500", "4000x3000", "8000x6000", "12000x9000"})
+    private String size;
+    
+    @Param({"1", "2", "4"})
+    private int parallelism;
+    
+    private int width;
+    private int height;
+    private ImageBufferPool pool;
+    private ImageScaler scaler;
+    private PooledImage source;
+    
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        width = Integer.parseInt(dimensions[0]);
+        height = Integer.parseInt(dimensions[1]);
+        
+        pool = new ImageBufferPool();
+        scaler = new ImageScaler(pool, PixelKernels.select("auto"));
+        ReflectionTestUtils.setField(scaler, "parallelism", parallelism);
+        ReflectionTestUtils.setField(scaler, "minPixels", 0L);
+        scaler.start();
+        
+        source = pool.image(width, height);
+        byte[] pixels = ((DataBufferByte) source.image().getRaster().getDataBuffer()).getData();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 3 * width * height; i++) {
+            pixels[i] = (byte) random.nextInt(256);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        scaler.stop();
+        source.close();
+    }
+    
+    /**
+     * IMAGE_RESIZE: a non-power-of-two reduction (halvings, then bilinear)
+     */
+    @Benchmark
+    public BufferedImage resize() {
+        try (PooledImage resized = scaler.scale(source.image(), width * 3 / 10, height * 3 / 10)) {
+            return resized.image();
+        }
+    }
+    
+    /**
+     * IMAGE_THUMBNAIL: longest side to 200
+     */
+    @Benchmark
+    public BufferedImage thumbnail() {
+        try (PooledImage thumbnail = scaler.scale(source.image(), 200, 200 * height / width)) {
+            return thumbnail.image();
+        }
+    }
+    
+    /**
+     * A 1.5x upscale: bilinear only, every output row reading two source rows
+     */
+    @Benchmark
+    public BufferedImage upscale() {
+        try (PooledImage upscaled = scaler.scale(source.image(), width * 3 / 2, height * 3 / 2)) {
+            return upscaled.image();
+        }
+    }
+}
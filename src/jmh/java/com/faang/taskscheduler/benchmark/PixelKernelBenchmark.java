@@ -0,0 +1,230 @@
+package com.faang.taskscheduler.benchmark;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorConvertOp;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pixel kernels against the Java2D / libjpeg path they replace, per image step.
+ *
+ * path=java2d is today's code path: drawString with an AlphaComposite, libjpeg converting
+ * RGB to YCbCr inside the JPEG writer, ColorConvertOp, a bilinear drawImage. path=scalar and
+ * path=vector run the same step on PixelKernels.
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="PixelKernelBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PixelKernelBenchmark {
+    
+    private static final String TEXT = "(c) Distributed Task Scheduler";
+    
+    @Param({"java2d", "scalar", "vector"})
+    private String path;
+    
+    @Param({"2000x1500", "4000x3000"})
+    private String size;
+    
+    private int width;
+    private int height;
+    private PixelKernels kernels;
+    private ImageBufferPool pool;
+    private PooledImage source;
+    private PooledImage yCbCr;
+    private PooledImage scratch;
+    private PooledImage half;
+    private Font font;
+    private ImageWriter writer;
+    private ByteArrayOutputStream encoded;
+    
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        width = Integer.parseInt(dimensions[0]);
+        height = Integer.parseInt(dimensions[1]);
+        kernels = "java2d".equals(path) ? null : PixelKernels.select(path);
+        
+        pool = new ImageBufferPool();
+        source = pool.image(width, height);
+        yCbCr = pool.yCbCrImage(width, height);
+        scratch = pool.image(width, height);
+        half = pool.image(width / 2, height / 2);
+        
+        // Smooth gradients plus noise: compresses like a photo, not like a flat test card
+        byte[] pixels = pixels(source);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = 3 * (y * width + x);
+                pixels[i] = (byte) (x * 255 / width + random.nextInt(16));
+                pixels[i + 1] = (byte) (y * 255 / height + random.nextInt(16));
+                pixels[i + 2] = (byte) ((x + y) * 127 / (width + height) + random.nextInt(16));
+            }
+        }
+        PixelKernels.select("scalar").bgrToYCbCr(pixels, 0, pixels(yCbCr), 0, width * height);
+        
+        font = new Font(Font.SANS_SERIF, Font.BOLD, height / 10);
+        writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        encoded = new ByteArrayOutputStream(width * height);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        writer.dispose();
+        source.close();
+        yCbCr.close();
+        scratch.close();
+        half.close();
+    }
+    
+    /**
+     * IMAGE_WATERMARK's blend: semi-transparent white text across the bottom of the image
+     */
+    @Benchmark
+    public BufferedImage watermark() {
+        BufferedImage image = source.image();
+        int x = 10;
+        int y = height - 20;
+        if (kernels == null) {
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
+                g.setColor(Color.WHITE);
+                g.setFont(font);
+                g.drawString(TEXT, x, y);
+            } finally {
+                g.dispose();
+            }
+            return image;
+        }
+        
+        Graphics2D g = image.createGraphics();
+        Rectangle bounds;
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            FontRenderContext context = g.getFontRenderContext();
+            bounds = font.createGlyphVector(context, TEXT).getPixelBounds(context, x, y);
+        } finally {
+            g.dispose();
+        }
+        bounds.grow(2, 2);
+        bounds = bounds.intersection(new Rectangle(width, height));
+        try (PooledImage mask = pool.image(bounds.width, bounds.height)) {
+            Graphics2D maskGraphics = mask.image().createGraphics();
+            try {
+                maskGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                maskGraphics.setColor(Color.WHITE);
+                maskGraphics.setFont(font);
+                maskGraphics.drawString(TEXT, x - bounds.x, y - bounds.y);
+            } finally {
+                maskGraphics.dispose();
+            }
+            for (int row = 0; row < bounds.height; row++) {
+                kernels.blend(pixels(mask), 3 * bounds.width * row,
+                    pixels(source), 3 * (width * (bounds.y + row) + bounds.x), 3 * bounds.width, 0xFFFFFF, 128);
+            }
+        }
+        return image;
+    }
+    
+    /**
+     * JPEG encode, with the colour conversion inside libjpeg or in the kernel
+     */
+    @Benchmark
+    public int encode() throws IOException {
+        BufferedImage image = source.image();
+        if (kernels != null) {
+            kernels.bgrToYCbCr(pixels(source), 0, pixels(yCbCr), 0, width * height);
+            image = yCbCr.image();
+        }
+        encoded.reset();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(encoded)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), null);
+        }
+        return encoded.size();
+    }
+    
+    @Benchmark
+    public BufferedImage bgrToYCbCr() {
+        if (kernels == null) {
+            return new ColorConvertOp(null).filter(source.image(), yCbCr.image());
+        }
+        kernels.bgrToYCbCr(pixels(source), 0, pixels(yCbCr), 0, width * height);
+        return yCbCr.image();
+    }
+    
+    @Benchmark
+    public BufferedImage yCbCrToBgr() {
+        if (kernels == null) {
+            return new ColorConvertOp(null).filter(yCbCr.image(), scratch.image());
+        }
+        kernels.yCbCrToBgr(pixels(yCbCr), 0, pixels(scratch), 0, width * height);
+        return scratch.image();
+    }
+    
+    /**
+     * One halving step of IMAGE_RESIZE / IMAGE_THUMBNAIL (java2d: a bilinear drawImage to half size)
+     */
+    @Benchmark
+    public BufferedImage downsample() {
+        if (kernels == null) {
+            Graphics2D g = half.image().createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(source.image(), 0, 0, width / 2, height / 2, null);
+            } finally {
+                g.dispose();
+            }
+            return half.image();
+        }
+        byte[] src = pixels(source);
+        byte[] dst = pixels(half);
+        for (int y = 0; y < height / 2; y++) {
+            kernels.downsample(src, 6 * width * y, 3 * width, dst, 3 * (width / 2) * y, width / 2);
+        }
+        return half.image();
+    }
+    
+    private static byte[] pixels(PooledImage image) {
+        return ((DataBufferByte) image.image().getRaster().getDataBuffer()).getData();
+    }
+}
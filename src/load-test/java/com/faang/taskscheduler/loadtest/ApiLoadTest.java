@@ -0,0 +1,120 @@
+package com.faang.taskscheduler.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test against a running API node.
+ * 
+ * Keeps a fixed number of requests in flight (status polls mixed with submissions)
+ * and reports throughput and latency percentiles. Run it once against a node started
+ * normally and once with the "virtual-threads" profile to compare the two modes.
+ * 
+ * Args (key=value): base-url, concurrency, duration-s, submit-ratio
+ */
+public class ApiLoadTest {
+    
+    private static final String SUBMISSION = "{\"workflowName\":\"load-test\","
+        + "\"imageUrls\":[\"http://localhost:8000/sample.jpg\"],\"operations\":[\"resize\"]}";
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String baseUrl = options.get("base-url", "http://localhost:8080");
+        int concurrency = options.getInt("concurrency", 2000);
+        long durationSeconds = options.getLong("duration-s", 30);
+        double submitRatio = options.getDouble("submit-ratio", 0.1);
+        
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        
+        // Seed one workflow so status polls hit a real row
+        String workflowId = submit(client, baseUrl);
+        
+        Semaphore inFlight = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            
+            boolean isSubmit = ThreadLocalRandom.current().nextDouble() < submitRatio;
+            HttpRequest request = isSubmit
+                ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/workflows"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Client-Id", "load-test-" + ThreadLocalRandom.current().nextInt(100))
+                    .POST(HttpRequest.BodyPublishers.ofString(SUBMISSION))
+                    .build()
+                : HttpRequest.newBuilder(URI.create(baseUrl + "/api/workflows/" + workflowId + "/status"))
+                    .GET()
+                    .build();
+            
+            long sentAt = System.nanoTime();
+            CompletableFuture<HttpResponse<Void>> future = 
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            
+            future.whenComplete((response, ex) -> {
+                latenciesMicros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt));
+                if (ex != null) {
+                    errors.incrementAndGet();
+                } else if (response.statusCode() == 429) {
+                    rejected.incrementAndGet();
+                } else if (response.statusCode() < 400) {
+                    ok.incrementAndGet();
+                } else {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        
+        inFlight.acquire(concurrency);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("requests=%d ok=%d rejected=%d errors=%d elapsed=%.1fs throughput=%.1f req/s%n",
+            sorted.length, ok.get(), rejected.get(), errors.get(), elapsedSeconds, sorted.length / elapsedSeconds);
+        System.out.printf("latency_ms p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+            percentile(sorted, 0.999), sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0);
+    }
+    
+    private static String submit(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/workflows"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(SUBMISSION))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        
+        String body = response.body();
+        int keyIndex = body.indexOf("\"workflowId\":\"");
+        if (response.statusCode() >= 400 || keyIndex < 0) {
+            throw new IllegalStateException("Seed submission failed: " + response.statusCode() + " " + body);
+        }
+        int valueStart = keyIndex + "\"workflowId\":\"".length();
+        return body.substring(valueStart, body.indexOf('"', valueStart));
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+}
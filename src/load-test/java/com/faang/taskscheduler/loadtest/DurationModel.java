@@ -0,0 +1,97 @@
+package com.faang.taskscheduler.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Task execution time distributions for the scheduling simulator, per task type.
+ *
+ * - recorded: bootstrap samples from a CSV of task_type,duration_ms lines, e.g. exported with
+ *   \copy (SELECT task_type, execution_duration_ms FROM tasks WHERE status = 'COMPLETED') TO 'durations.csv' CSV
+ * - synthetic: log-normal with a given median (ms) and sigma, "TYPE=median[:sigma],..."
+ * - otherwise log-normal around the type's static executor estimate
+ */
+final class DurationModel {
+    
+    private final Map<String, long[]> recorded;
+    private final Map<String, double[]> lognormal;
+    private final double defaultSigma;
+    private final ToLongFunction<String> defaultMedian;
+    
+    private DurationModel(Map<String, long[]> recorded, Map<String, double[]> lognormal,
+                          double defaultSigma, ToLongFunction<String> defaultMedian) {
+        this.recorded = recorded;
+        this.lognormal = lognormal;
+        this.defaultSigma = defaultSigma;
+        this.defaultMedian = defaultMedian;
+    }
+    
+    static DurationModel create(String recordedCsv, String syntheticSpec, double defaultSigma,
+                                ToLongFunction<String> defaultMedian) {
+        Map<String, double[]> lognormal = new HashMap<>();
+        if (syntheticSpec != null && !syntheticSpec.isBlank()) {
+            for (String entry : syntheticSpec.split(",")) {
+                String[] typeAndParams = entry.trim().split("=");
+                String[] params = typeAndParams[1].split(":");
+                double median = Double.parseDouble(params[0]);
+                double sigma = params.length > 1 ? Double.parseDouble(params[1]) : defaultSigma;
+                if (median <= 0 || sigma < 0) {
+                    throw new IllegalArgumentException("Invalid duration distribution: " + entry);
+                }
+                lognormal.put(typeAndParams[0].trim(), new double[] {Math.log(median), sigma});
+            }
+        }
+        return new DurationModel(recordedCsv != null ? readRecorded(Path.of(recordedCsv)) : Map.of(),
+            lognormal, defaultSigma, defaultMedian);
+    }
+    
+    long sample(String taskType, RandomGenerator random) {
+        long[] samples = recorded.get(taskType);
+        if (samples != null) {
+            return samples[random.nextInt(samples.length)];
+        }
+        
+        double[] params = lognormal.computeIfAbsent(taskType,
+            type -> new double[] {Math.log(Math.max(1, defaultMedian.applyAsLong(type))), defaultSigma});
+        return Math.max(1, Math.round(Math.exp(params[0] + params[1] * random.nextGaussian())));
+    }
+    
+    String describe(String taskType) {
+        long[] samples = recorded.get(taskType);
+        if (samples != null) {
+            return "recorded(" + samples.length + " samples)";
+        }
+        double[] params = lognormal.get(taskType);
+        return params != null
+            ? String.format("lognormal(median=%dms, sigma=%.2f)", Math.round(Math.exp(params[0])), params[1])
+            : "unused";
+    }
+    
+    private static Map<String, long[]> readRecorded(Path csv) {
+        Map<String, List<Long>> byType = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(csv)) {
+                String[] fields = line.split(",");
+                if (fields.length < 2 || fields[1].isBlank() || !Character.isDigit(fields[1].trim().charAt(0))) {
+                    continue;
+                }
+                byType.computeIfAbsent(fields[0].trim(), type -> new ArrayList<>())
+                    .add(Math.max(1, Long.parseLong(fields[1].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read durations: " + csv, e);
+        }
+        
+        Map<String, long[]> recorded = new HashMap<>();
+        byType.forEach((type, samples) -> recorded.put(type, samples.stream().mapToLong(Long::longValue).toArray()));
+        return recorded;
+    }
+}
@@ -0,0 +1,71 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.faang.taskscheduler.DistributedTaskSchedulerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduler + workers in this JVM, with nothing external to install.
+ * 
+ * Runs the "embedded" profile (H2 store, local locks). With transport=kafka the queue is a
+ * single-node KRaft broker from spring-kafka-test, so the full serialize/produce/consume path
+ * is measured; with transport=in-memory it is the in-process queue.
+ */
+final class EmbeddedStack implements AutoCloseable {
+    
+    private static final String REDIS_AUTOCONFIGURATION = String.join(",",
+        "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "org.redisson.spring.starter.RedissonAutoConfigurationV2");
+    
+    private final EmbeddedKafkaKraftBroker broker;
+    private final ConfigurableApplicationContext context;
+    
+    private EmbeddedStack(EmbeddedKafkaKraftBroker broker, ConfigurableApplicationContext context) {
+        this.broker = broker;
+        this.context = context;
+    }
+    
+    static EmbeddedStack start(String transport, int workerConcurrency, int partitions) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.profiles.active=embedded",
+            "--server.port=0",
+            "--task-scheduler.worker.max-concurrent-tasks=" + workerConcurrency,
+            "--logging.level.com.faang.taskscheduler=WARN",
+            "--logging.level.org.springframework.kafka=WARN"));
+        
+        EmbeddedKafkaKraftBroker broker = null;
+        if ("kafka".equals(transport)) {
+            broker = new EmbeddedKafkaKraftBroker(1, partitions, "task-queue", "task-queue-dlq");
+            broker.afterPropertiesSet();
+            args.add("--task-scheduler.queue.transport=kafka");
+            args.add("--task-scheduler.queue.partitions=" + partitions);
+            args.add("--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString());
+            args.add("--spring.kafka.listener.concurrency=" + Math.min(partitions, workerConcurrency));
+            // Command-line args replace the profile's exclude list, so Kafka auto-configuration comes back
+            args.add("--spring.autoconfigure.exclude=" + REDIS_AUTOCONFIGURATION);
+        } else if (!"in-memory".equals(transport)) {
+            throw new IllegalArgumentException("transport must be kafka or in-memory: " + transport);
+        }
+        
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DistributedTaskSchedulerApplication.class)
+            .run(args.toArray(String[]::new));
+        return new EmbeddedStack(broker, context);
+    }
+    
+    String baseUrl() {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+        if (broker != null) {
+            broker.destroy();
+        }
+    }
+}
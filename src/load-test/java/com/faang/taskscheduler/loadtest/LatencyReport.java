@@ -0,0 +1,105 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named HdrHistogram latency distributions plus the run's metadata, written as one JSON document.
+ * 
+ * Values are recorded in microseconds (3 significant digits, up to 1 hour unless given) and reported in ms.
+ * Each distribution also carries its compressed HdrHistogram encoding, so two reports can be
+ * merged or diffed exactly (e.g. with HistogramLogAnalyzer) instead of only by percentiles.
+ */
+final class LatencyReport {
+    
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+    
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+    private final long maxMicros;
+    
+    LatencyReport(String... names) {
+        this(MAX_MICROS, names);
+    }
+    
+    LatencyReport(long maxMicros, String... names) {
+        this.maxMicros = maxMicros;
+        for (String name : names) {
+            histograms.put(name, new ConcurrentHistogram(maxMicros, 3));
+        }
+    }
+    
+    void recordMicros(String name, long micros) {
+        histograms.get(name).recordValue(Math.max(0, Math.min(micros, maxMicros)));
+    }
+    
+    void section(String name, Map<String, ?> values) {
+        sections.put(name, values);
+    }
+    
+    long count(String name) {
+        return histograms.get(name).getTotalCount();
+    }
+    
+    double percentileMs(String name, double percentile) {
+        return ms(histograms.get(name), percentile);
+    }
+    
+    void write(Path path) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>(sections);
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> latencies.put(name, summarize(histogram)));
+        document.put("latencies", latencies);
+        
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(path.toFile(), document);
+    }
+    
+    void print() {
+        histograms.forEach((name, histogram) -> System.out.printf(
+            "%-16s count=%d p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f (ms)%n",
+            name, histogram.getTotalCount(), ms(histogram, 50), ms(histogram, 90), ms(histogram, 99),
+            ms(histogram, 99.9), histogram.getTotalCount() == 0 ? 0.0 : histogram.getMaxValue() / 1000.0));
+    }
+    
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("unit", "ms");
+        summary.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() > 0) {
+            summary.put("min", histogram.getMinValue() / 1000.0);
+            summary.put("mean", histogram.getMean() / 1000.0);
+            summary.put("p50", ms(histogram, 50));
+            summary.put("p90", ms(histogram, 90));
+            summary.put("p99", ms(histogram, 99));
+            summary.put("p999", ms(histogram, 99.9));
+            summary.put("max", histogram.getMaxValue() / 1000.0);
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        summary.put("hdrHistogramMicros", Base64.getEncoder().encodeToString(
+            Arrays.copyOf(buffer.array(), length)));
+        return summary;
+    }
+    
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.faang.taskscheduler.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * key=value command-line options shared by the load-test entry points
+ */
+final class LoadTestOptions {
+    
+    private final Map<String, String> values;
+    
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+    }
+    
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+    
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+    
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+    
+    int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+    
+    long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+    
+    double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,101 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loopback HTTP server for synthetic JPEGs, so IMAGE_DOWNLOAD tasks never leave the machine.
+ * 
+ * GET /images/{width}x{height}.jpg returns a deterministic image (gradient plus seeded noise),
+ * encoded once per size and then served from memory: every run and every build downloads the
+ * same bytes, so latency differences come from the scheduler, not the input.
+ */
+final class LocalImageServer implements AutoCloseable {
+    
+    private static final Pattern IMAGE_PATH = Pattern.compile("/images/(\\d{1,5})x(\\d{1,5})\\.jpg");
+    private static final int MAX_DIMENSION = 8192;
+    
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final Map<String, byte[]> encoded = new ConcurrentHashMap<>();
+    private final String host;
+    
+    LocalImageServer(String host) throws IOException {
+        this.host = host;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/images/", this::serve);
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    String imageUrl(int width, int height) {
+        return "http://" + host + ":" + server.getAddress().getPort() + "/images/" + width + "x" + height + ".jpg";
+    }
+    
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Matcher matcher = IMAGE_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!matcher.matches()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            int width = Integer.parseInt(matcher.group(1));
+            int height = Integer.parseInt(matcher.group(2));
+            if (width == 0 || height == 0 || width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            
+            byte[] body = encoded.computeIfAbsent(width + "x" + height, key -> render(width, height));
+            exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    private static byte[] render(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        SplittableRandom random = new SplittableRandom(31L * width + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(32);
+                int r = (x * 223 / width + noise) & 0xFF;
+                int g = (y * 223 / height + noise) & 0xFF;
+                int b = ((x + y) * 223 / (width + height) + noise) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
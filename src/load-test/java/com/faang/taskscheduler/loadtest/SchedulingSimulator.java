@@ -0,0 +1,167 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.faang.taskscheduler.dag.DagCompiler;
+import com.faang.taskscheduler.dag.ExecutionPlanCache;
+import com.faang.taskscheduler.dag.WorkflowDagBuilder;
+import com.faang.taskscheduler.estimation.ExecutionTimeModel;
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool;
+import com.faang.taskscheduler.executor.impl.ImageCompressExecutor;
+import com.faang.taskscheduler.executor.impl.ImageDownloadExecutor;
+import com.faang.taskscheduler.executor.impl.ImageResizeExecutor;
+import com.faang.taskscheduler.executor.impl.ImageScaler;
+import com.faang.taskscheduler.executor.impl.ImageThumbnailExecutor;
+import com.faang.taskscheduler.executor.impl.ImageValidateExecutor;
+import com.faang.taskscheduler.executor.impl.ImageWatermarkExecutor;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import com.faang.taskscheduler.service.FairShareAllocator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Offline, deterministic evaluation of dispatch policies over a simulated workload.
+ *
+ * Workflows are built by the real WorkflowDagBuilder / DagCompiler, ranked by the real
+ * upward-rank code over an ExecutionTimeModel trained on the simulated durations, and
+ * released by the real TaskSchedulerService.budgetFor and FairShareAllocator. Everything
+ * else (database, queue, workers) is replaced by an event loop, so a day of traffic runs
+ * in seconds and the same seed always gives the same numbers.
+ *
+ * Simplifications: tasks never fail or time out, a free worker slot pulls the next queued
+ * task immediately (no poll or network latency), and every slot is equally fast.
+ *
+ * Args (key=value): policies (heft,edf,fair,fifo), workers (e.g. 8,16,32), worker-concurrency,
+ * transport (kafka|in-memory), dispatch-interval-ms, dispatch-overcommit, max-dispatch-batch,
+ * duration-s, workflows, rate, arrivals, images, operations, tenants, deadline-factor,
+ * durations (TYPE=median[:sigma],...), durations-file (CSV of task_type,duration_ms),
+ * duration-sigma, training-samples, seed, report-dir
+ */
+public class SchedulingSimulator {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<String> policies = List.of(options.get("policies", "heft,edf,fair").split(","));
+        int[] workerCounts = Arrays.stream(options.get("workers", "8,16,32").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim()))
+            .toArray();
+        int slotsPerWorker = options.getInt("worker-concurrency", 10);
+        String transport = options.get("transport", "kafka");
+        long intervalMs = options.getLong("dispatch-interval-ms", 200);
+        double overcommit = options.getDouble("dispatch-overcommit", 1.5);
+        int maxBatch = options.getInt("max-dispatch-batch", 1000);
+        long seed = options.getLong("seed", 42);
+        
+        ImageBufferPool bufferPool = new ImageBufferPool();
+        PixelKernels kernels = PixelKernels.select("auto");
+        ImageScaler scaler = new ImageScaler(bufferPool, kernels);
+        List<TaskExecutor> executors = List.of(new ImageDownloadExecutor(bufferPool, kernels),
+            new ImageValidateExecutor(bufferPool), new ImageResizeExecutor(bufferPool, kernels, scaler),
+            new ImageCompressExecutor(bufferPool, kernels), new ImageThumbnailExecutor(bufferPool, kernels, scaler),
+            new ImageWatermarkExecutor(bufferPool, kernels));
+        Map<String, TaskExecutor> executorByType = new TreeMap<>();
+        executors.forEach(executor -> executorByType.put(executor.getTaskType(), executor));
+        
+        DurationModel durations = DurationModel.create(options.get("durations-file", null),
+            options.get("durations", null), options.getDouble("duration-sigma", 0.5),
+            type -> executorByType.get(type).estimateExecutionTime(Map.of()));
+        
+        // Estimates come from the learned model, trained on the same distributions the tasks run with
+        ExecutionTimeModel timeModel = new ExecutionTimeModel(null);
+        ReflectionTestUtils.setField(timeModel, "minSamples", 20L);
+        SplittableRandom training = new SplittableRandom(seed + 1);
+        int trainingSamples = options.getInt("training-samples", 200);
+        for (String type : executorByType.keySet()) {
+            for (int i = 0; i < trainingSamples; i++) {
+                timeModel.record(type, "simulator", -1, durations.sample(type, training));
+            }
+        }
+        
+        TaskExecutorRegistry registry = new TaskExecutorRegistry(executors, timeModel);
+        ExecutionPlanCache planCache = new ExecutionPlanCache(new DagCompiler(registry));
+        ReflectionTestUtils.setField(planCache, "maxSize", 1000);
+        
+        long generateStart = System.nanoTime();
+        SimulationWorkload workload = SimulationWorkload.generate(options, new WorkflowDagBuilder(registry),
+            planCache, durations);
+        System.out.printf("workload: workflows=%d tasks=%d shapes=%d generated in %.2fs%n",
+            workload.workflowCount, workload.taskCount, workload.shapes.size(), (System.nanoTime() - generateStart) / 1e9);
+        executorByType.keySet().forEach(type -> System.out.printf("  %-16s %s%n", type, durations.describe(type)));
+        
+        Supplier<FairShareAllocator> allocators = () -> {
+            FairShareAllocator allocator = new FairShareAllocator();
+            ReflectionTestUtils.setField(allocator, "quantum", options.getDouble("fair-share-quantum", 1.0));
+            ReflectionTestUtils.setField(allocator, "maxInFlightPerWorkflow",
+                options.getLong("max-in-flight-per-workflow", 50));
+            ReflectionTestUtils.invokeMethod(allocator, "setTenantWeights", options.get("tenant-weights", ""));
+            return allocator;
+        };
+        
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("label", options.get("label", ""));
+        config.put("transport", transport);
+        config.put("workerConcurrency", slotsPerWorker);
+        config.put("dispatchIntervalMs", intervalMs);
+        config.put("dispatchOvercommit", overcommit);
+        config.put("maxDispatchBatch", maxBatch);
+        config.put("durationSeconds", options.getLong("duration-s", 86_400));
+        config.put("rate", options.getDouble("rate", 5));
+        config.put("arrivals", options.get("arrivals", "poisson"));
+        config.put("images", options.get("images", "1-3"));
+        config.put("operations", options.get("operations", "validate,resize,compress:3;thumbnail:1"));
+        config.put("tenants", workload.tenants);
+        config.put("deadlineFactor", options.getDouble("deadline-factor", 0));
+        Map<String, String> distributions = new LinkedHashMap<>();
+        executorByType.keySet().forEach(type -> distributions.put(type, durations.describe(type)));
+        config.put("durations", distributions);
+        config.put("seed", seed);
+        
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("gitCommit", WorkflowLoadTest.gitCommit());
+        
+        Instant startedAt = Instant.now();
+        Path directory = Path.of(options.get("report-dir", "target/simulation/"
+            + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(startedAt)));
+        
+        System.out.printf("%n%-6s %7s %12s %10s %8s %12s %12s %12s %10s %8s%n", "policy", "workers",
+            "makespan_s", "tasks/s", "util", "wf_p50_ms", "wf_p99_ms", "queue_p99_ms", "miss_rate", "wall_s");
+        for (int workers : workerCounts) {
+            for (String policy : policies) {
+                SimulationRun run = new SimulationRun(workload, policy.trim(), workers, slotsPerWorker,
+                    intervalMs, overcommit, maxBatch, transport, allocators);
+                LatencyReport report = run.run();
+                Map<String, Object> results = run.results();
+                
+                Map<String, Object> runInfo = new LinkedHashMap<>();
+                runInfo.put("benchmark", "scheduling-simulation");
+                runInfo.put("policy", policy.trim());
+                runInfo.put("workers", workers);
+                runInfo.put("startedAt", startedAt.toString());
+                report.section("run", runInfo);
+                report.section("config", config);
+                report.section("environment", environment);
+                report.section("results", results);
+                report.write(directory.resolve(policy.trim() + "-" + workers + "w.json"));
+                
+                System.out.printf("%-6s %7d %12.1f %10.2f %8.3f %12.1f %12.1f %12.1f %10.4f %8.2f%n",
+                    policy.trim(), workers, results.get("makespanSeconds"), results.get("tasksPerSecond"),
+                    results.get("utilization"), report.percentileMs("workflow_latency", 50),
+                    report.percentileMs("workflow_latency", 99), report.percentileMs("queue_wait", 99),
+                    results.get("deadlineMissRate"), results.get("wallSeconds"));
+            }
+        }
+        System.out.println("reports=" + directory.toAbsolutePath());
+    }
+}
@@ -0,0 +1,465 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.loadtest.SimulationWorkload.Shape;
+import com.faang.taskscheduler.service.FairShareAllocator;
+import com.faang.taskscheduler.service.TaskSchedulerService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One discrete-event simulation of the scheduler, queue and workers over a workload.
+ *
+ * - Scheduler: ticks every dispatch interval; when tasks are ready it releases
+ *   TaskSchedulerService.budgetFor(free slots, queued, ...) of them in the policy's order
+ *   (heft and edf mirror the ORDER BY of the ready-task queries, fair runs the real
+ *   FairShareAllocator with HEFT order inside each workflow; fifo is a baseline)
+ * - Queue: FIFO for kafka, priority level then FIFO for in-memory
+ * - Workers: a free slot takes the head of the queue at once; tasks run for their sampled
+ *   duration and never fail
+ *
+ * Time jumps from event to event (arrival, task finish, dispatch tick) and ticks that cannot
+ * dispatch anything are skipped, so cost is O((tasks + ticks with work) log n). Fair mode
+ * additionally walks every workflow with ready tasks per tick, as the production query does,
+ * so a workload that overloads the workers for hours makes it slow.
+ */
+final class SimulationRun {
+    
+    static final List<String> POLICIES = List.of("heft", "edf", "fair", "fifo");
+    
+    private static final long NEVER = Long.MAX_VALUE;
+    
+    private final SimulationWorkload workload;
+    private final String policy;
+    private final int slots;
+    private final long intervalMs;
+    private final double overcommit;
+    private final int maxBatch;
+    private final boolean priorityQueue;
+    private final FairShareAllocator allocator;
+    
+    // Per task
+    private final int[] remaining;
+    private final long[] readyAt;
+    private final long[] queuedAt;
+    private final long[] finishAt;
+    private final int[] queueSequence;
+    
+    // Per workflow
+    private final int[] unfinished;
+    private final int[] readyCount;
+    private final int[] inFlight;
+    private final IntHeap[] workflowReady;
+    private final String[] workflowIds;
+    private final String[] tenantIds;
+    
+    private final IntComparator heftOrder;
+    private final IntHeap ready;
+    private final IntHeap running;
+    private final IntHeap priorityQueued;
+    private final IntRing fifoQueued;
+    private final IntRing activeWorkflows;
+    private final boolean[] active;
+    
+    private int busy;
+    private int readyTotal;
+    private int nextSequence;
+    private long lastTick = -1;
+    private long busyMs;
+    private long lastFinish;
+    private long events;
+    private long ticks;
+    private long deadlineMisses;
+    private long deadlineWorkflows;
+    
+    private final Map<String, Object> results = new LinkedHashMap<>();
+    private final LatencyReport report = new LatencyReport(TimeUnit.DAYS.toMicros(7),
+        "workflow_latency", "ready_wait", "queue_wait");
+    
+    SimulationRun(SimulationWorkload workload, String policy, int workers, int slotsPerWorker,
+                  long intervalMs, double overcommit, int maxBatch, String transport,
+                  Supplier<FairShareAllocator> allocatorFactory) {
+        if (!POLICIES.contains(policy)) {
+            throw new IllegalArgumentException("Unknown policy: " + policy + " (expected one of " + POLICIES + ")");
+        }
+        this.workload = workload;
+        this.policy = policy;
+        this.slots = workers * slotsPerWorker;
+        this.intervalMs = intervalMs;
+        this.overcommit = overcommit;
+        this.maxBatch = maxBatch;
+        this.priorityQueue = "in-memory".equals(transport);
+        this.allocator = "fair".equals(policy) ? allocatorFactory.get() : null;
+        
+        int tasks = workload.taskCount;
+        int workflows = workload.workflowCount;
+        this.remaining = new int[tasks];
+        this.readyAt = new long[tasks];
+        this.queuedAt = new long[tasks];
+        this.finishAt = new long[tasks];
+        this.queueSequence = priorityQueue ? new int[tasks] : null;
+        this.unfinished = new int[workflows];
+        this.readyCount = new int[workflows];
+        this.inFlight = new int[workflows];
+        this.workflowReady = allocator != null ? new IntHeap[workflows] : null;
+        this.workflowIds = allocator != null ? new String[workflows] : null;
+        this.tenantIds = new String[workload.tenants];
+        for (int t = 0; t < tenantIds.length; t++) {
+            tenantIds[t] = "tenant-" + t;
+        }
+        this.activeWorkflows = new IntRing();
+        this.active = new boolean[workflows];
+        
+        long[] rank = new long[tasks];
+        byte[] level = new byte[tasks];
+        long[] latestStart = new long[tasks];
+        for (int w = 0; w < workflows; w++) {
+            Shape shape = workload.shapeOf(w);
+            int first = workload.workflowFirstTask[w];
+            for (int node = 0; node < shape.plan().size(); node++) {
+                rank[first + node] = shape.upwardRanks()[node];
+                level[first + node] = shape.priorityLevels()[node];
+                latestStart[first + node] = workload.deadlineMs[w] == NEVER
+                    ? NEVER : workload.deadlineMs[w] - shape.upwardRanks()[node];
+            }
+        }
+        
+        // ORDER BY upwardRankMs DESC, priority DESC, createdAt ASC (task ordinals follow creation)
+        IntComparator heft = (a, b) -> rank[a] != rank[b] ? Long.compare(rank[b], rank[a])
+            : level[a] != level[b] ? Integer.compare(level[b], level[a]) : Integer.compare(a, b);
+        IntComparator order = switch (policy) {
+            // ORDER BY latestStartAt ASC NULLS LAST, then as heft
+            case "edf" -> (a, b) -> latestStart[a] != latestStart[b]
+                ? Long.compare(latestStart[a], latestStart[b]) : heft.compare(a, b);
+            case "fifo" -> Integer::compare;
+            default -> heft;
+        };
+        this.ready = new IntHeap(order);
+        this.running = new IntHeap((a, b) -> finishAt[a] != finishAt[b]
+            ? Long.compare(finishAt[a], finishAt[b]) : Integer.compare(a, b));
+        this.priorityQueued = priorityQueue ? new IntHeap((a, b) -> level[a] != level[b]
+            ? Integer.compare(level[b], level[a]) : Integer.compare(queueSequence[a], queueSequence[b])) : null;
+        this.fifoQueued = priorityQueue ? null : new IntRing();
+        this.heftOrder = heft;
+    }
+    
+    /**
+     * Run to completion of every workflow
+     */
+    LatencyReport run() {
+        long wallStart = System.nanoTime();
+        int nextArrival = 0;
+        long now = 0;
+        
+        while (true) {
+            long arrival = nextArrival < workload.workflowCount ? workload.arrivalMs[nextArrival] : NEVER;
+            long finish = running.isEmpty() ? NEVER : finishAt[running.peek()];
+            long tick = canDispatch() ? nextTick(now) : NEVER;
+            now = Math.min(arrival, Math.min(finish, tick));
+            if (now == NEVER) {
+                break;
+            }
+            
+            while (nextArrival < workload.workflowCount && workload.arrivalMs[nextArrival] == now) {
+                arrive(nextArrival++, now);
+            }
+            while (!running.isEmpty() && finishAt[running.peek()] == now) {
+                complete(running.poll(), now);
+            }
+            if (tick == now) {
+                dispatch(now);
+            }
+            startQueued(now);
+        }
+        
+        summarize(System.nanoTime() - wallStart);
+        return report;
+    }
+    
+    private void arrive(int workflow, long now) {
+        events++;
+        ExecutionPlan plan = workload.shapeOf(workflow).plan();
+        int first = workload.workflowFirstTask[workflow];
+        unfinished[workflow] = plan.size();
+        for (int node = 0; node < plan.size(); node++) {
+            remaining[first + node] = plan.inDegree(node);
+        }
+        for (int root : plan.roots()) {
+            makeReady(first + root, now);
+        }
+    }
+    
+    private void complete(int task, long now) {
+        events++;
+        busy--;
+        lastFinish = now;
+        int workflow = workload.taskWorkflow[task];
+        inFlight[workflow]--;
+        
+        ExecutionPlan plan = workload.shapeOf(workflow).plan();
+        int first = workload.workflowFirstTask[workflow];
+        int node = task - first;
+        for (int e = plan.firstDependentEdge(node); e < plan.firstDependentEdge(node + 1); e++) {
+            int dependent = first + plan.dependentAt(e);
+            if (--remaining[dependent] == 0) {
+                makeReady(dependent, now);
+            }
+        }
+        
+        if (--unfinished[workflow] == 0) {
+            report.recordMicros("workflow_latency", TimeUnit.MILLISECONDS.toMicros(now - workload.arrivalMs[workflow]));
+            if (workload.deadlineMs[workflow] != NEVER) {
+                deadlineWorkflows++;
+                if (now > workload.deadlineMs[workflow]) {
+                    deadlineMisses++;
+                }
+            }
+            if (workflowReady != null) {
+                workflowReady[workflow] = null;
+            }
+        }
+    }
+    
+    private void makeReady(int task, long now) {
+        readyAt[task] = now;
+        readyTotal++;
+        if (allocator == null) {
+            ready.add(task);
+            return;
+        }
+        
+        int workflow = workload.taskWorkflow[task];
+        if (workflowReady[workflow] == null) {
+            workflowReady[workflow] = new IntHeap(heftOrder);
+        }
+        workflowReady[workflow].add(task);
+        if (readyCount[workflow]++ == 0 && !active[workflow]) {
+            active[workflow] = true;
+            activeWorkflows.add(workflow);
+        }
+    }
+    
+    private boolean canDispatch() {
+        return readyTotal > 0 && budget() > 0;
+    }
+    
+    private int budget() {
+        int queued = priorityQueue ? priorityQueued.size() : fifoQueued.size();
+        return TaskSchedulerService.budgetFor(slots - busy, queued, overcommit, 1.0, maxBatch);
+    }
+    
+    /**
+     * First tick of the fixed-rate grid after the last one, not before now
+     */
+    private long nextTick(long now) {
+        long grid = (now + intervalMs - 1) / intervalMs * intervalMs;
+        return grid > lastTick ? grid : lastTick + intervalMs;
+    }
+    
+    private void dispatch(long now) {
+        ticks++;
+        lastTick = now;
+        int budget = budget();
+        if (allocator == null) {
+            for (int i = 0; i < budget && !ready.isEmpty(); i++) {
+                enqueue(ready.poll(), now);
+            }
+            return;
+        }
+        
+        List<FairShareAllocator.Backlog> backlogs = new ArrayList<>();
+        for (int i = 0, n = activeWorkflows.size(); i < n; i++) {
+            int workflow = activeWorkflows.poll();
+            if (readyCount[workflow] == 0) {
+                active[workflow] = false;
+                continue;
+            }
+            activeWorkflows.add(workflow);
+            backlogs.add(new FairShareAllocator.Backlog(workflowId(workflow),
+                tenantIds[workload.workflowTenant[workflow]], readyCount[workflow], inFlight[workflow]));
+        }
+        
+        allocator.allocate(backlogs, budget).forEach((workflowId, count) -> {
+            int workflow = Integer.parseInt(workflowId.substring(1));
+            for (int i = 0; i < count && readyCount[workflow] > 0; i++) {
+                readyCount[workflow]--;
+                enqueue(workflowReady[workflow].poll(), now);
+            }
+        });
+    }
+    
+    private void enqueue(int task, long now) {
+        readyTotal--;
+        queuedAt[task] = now;
+        inFlight[workload.taskWorkflow[task]]++;
+        report.recordMicros("ready_wait", TimeUnit.MILLISECONDS.toMicros(now - readyAt[task]));
+        if (priorityQueue) {
+            queueSequence[task] = nextSequence++;
+            priorityQueued.add(task);
+        } else {
+            fifoQueued.add(task);
+        }
+    }
+    
+    private void startQueued(long now) {
+        while (busy < slots) {
+            int task;
+            if (priorityQueue) {
+                if (priorityQueued.isEmpty()) {
+                    return;
+                }
+                task = priorityQueued.poll();
+            } else {
+                if (fifoQueued.size() == 0) {
+                    return;
+                }
+                task = fifoQueued.poll();
+            }
+            
+            busy++;
+            busyMs += workload.durationMs[task];
+            finishAt[task] = now + workload.durationMs[task];
+            running.add(task);
+            report.recordMicros("queue_wait", TimeUnit.MILLISECONDS.toMicros(now - queuedAt[task]));
+        }
+    }
+    
+    private String workflowId(int workflow) {
+        if (workflowIds[workflow] == null) {
+            workflowIds[workflow] = "w" + workflow;
+        }
+        return workflowIds[workflow];
+    }
+    
+    private void summarize(long wallNanos) {
+        long firstArrival = workload.workflowCount > 0 ? workload.arrivalMs[0] : 0;
+        double makespanSeconds = Math.max(1, lastFinish - firstArrival) / 1000.0;
+        
+        results.put("policy", policy);
+        results.put("slots", slots);
+        results.put("workflows", workload.workflowCount);
+        results.put("tasks", workload.taskCount);
+        results.put("makespanSeconds", makespanSeconds);
+        results.put("workflowsPerSecond", workload.workflowCount / makespanSeconds);
+        results.put("tasksPerSecond", workload.taskCount / makespanSeconds);
+        results.put("utilization", busyMs / (slots * makespanSeconds * 1000));
+        results.put("deadlineWorkflows", deadlineWorkflows);
+        results.put("deadlineMisses", deadlineMisses);
+        results.put("deadlineMissRate", deadlineWorkflows > 0 ? (double) deadlineMisses / deadlineWorkflows : 0.0);
+        results.put("dispatchTicks", ticks);
+        results.put("events", events);
+        results.put("wallSeconds", wallNanos / 1e9);
+    }
+    
+    Map<String, Object> results() {
+        return results;
+    }
+    
+    @FunctionalInterface
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+    
+    /**
+     * Binary min-heap of ints under a comparator over task or workflow ordinals
+     */
+    static final class IntHeap {
+        
+        private final IntComparator comparator;
+        private int[] heap = new int[64];
+        private int size;
+        
+        IntHeap(IntComparator comparator) {
+            this.comparator = comparator;
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int peek() {
+            return heap[0];
+        }
+        
+        void add(int value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (comparator.compare(value, heap[parent]) >= 0) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+        
+        int poll() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) < 0) {
+                    child++;
+                }
+                if (comparator.compare(heap[child], last) >= 0) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+    
+    /**
+     * Growable FIFO ring of ints
+     */
+    static final class IntRing {
+        
+        private int[] ring = new int[64];
+        private int head;
+        private int size;
+        
+        int size() {
+            return size;
+        }
+        
+        void add(int value) {
+            if (size == ring.length) {
+                int[] grown = new int[size * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = ring[(head + i) & (ring.length - 1)];
+                }
+                ring = grown;
+                head = 0;
+            }
+            ring[(head + size++) & (ring.length - 1)] = value;
+        }
+        
+        int poll() {
+            int value = ring[head];
+            head = (head + 1) & (ring.length - 1);
+            size--;
+            return value;
+        }
+    }
+}
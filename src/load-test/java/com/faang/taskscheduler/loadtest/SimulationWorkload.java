@@ -0,0 +1,152 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.dag.ExecutionPlanCache;
+import com.faang.taskscheduler.dag.WorkflowDagBuilder;
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.loadtest.WorkflowLoadTest.OperationMix;
+import com.faang.taskscheduler.model.TaskPriority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Arrivals, DAGs and sampled task durations for the simulator, generated once so every
+ * policy and worker count is evaluated on identical input (common random numbers).
+ *
+ * Workflows are built by WorkflowDagBuilder and compiled by ExecutionPlanCache exactly as on
+ * submission; upward ranks come from the same builder. One DAG per distinct (images,
+ * operations) combination is shared by all workflows of that shape. Per-task data lives in
+ * primitive arrays indexed by a global task ordinal, so a day of traffic fits in memory.
+ */
+final class SimulationWorkload {
+    
+    /**
+     * One DAG shape: the compiled plan plus per-node dispatch attributes
+     */
+    record Shape(ExecutionPlan plan, List<TaskDefinition> definitions, long[] upwardRanks,
+                 byte[] priorityLevels, long criticalPathMs) {}
+    
+    final List<Shape> shapes = new ArrayList<>();
+    
+    // Per workflow (arrival order)
+    int workflowCount;
+    long[] arrivalMs = new long[1024];
+    int[] workflowShape = new int[1024];
+    int[] workflowFirstTask = new int[1024];
+    int[] workflowTenant = new int[1024];
+    long[] deadlineMs = new long[1024];
+    
+    // Per task: tasks of workflow w are [workflowFirstTask[w], workflowFirstTask[w] + plan size)
+    int taskCount;
+    int[] taskWorkflow = new int[8192];
+    int[] durationMs = new int[8192];
+    
+    int tenants;
+    
+    private SimulationWorkload() {
+    }
+    
+    static SimulationWorkload generate(LoadTestOptions options, WorkflowDagBuilder dagBuilder,
+                                       ExecutionPlanCache planCache, DurationModel durations) {
+        SimulationWorkload workload = new SimulationWorkload();
+        SplittableRandom random = new SplittableRandom(options.getLong("seed", 42));
+        
+        long durationMs = options.getLong("duration-s", 86_400) * 1000;
+        int maxWorkflows = options.getInt("workflows", Integer.MAX_VALUE);
+        double rate = options.getDouble("rate", 5);
+        boolean poisson = !"uniform".equals(options.get("arrivals", "poisson"));
+        int[] imageRange = WorkflowLoadTest.parseRange(options.get("images", "1-3"));
+        List<OperationMix> mixes = WorkflowLoadTest.parseMixes(
+            options.get("operations", "validate,resize,compress:3;thumbnail:1"));
+        double deadlineFactor = options.getDouble("deadline-factor", 0);
+        workload.tenants = options.getInt("tenants", 1);
+        
+        Map<String, Integer> shapeByTemplate = new HashMap<>();
+        double arrival = 0;
+        while (arrival < durationMs && workload.workflowCount < maxWorkflows) {
+            int images = imageRange[0] + random.nextInt(imageRange[1] - imageRange[0] + 1);
+            List<String> operations = WorkflowLoadTest.pick(mixes, random).operations();
+            int shape = shapeByTemplate.computeIfAbsent(images + "|" + operations,
+                template -> workload.addShape(dagBuilder, planCache, images, operations));
+            
+            workload.addWorkflow((long) arrival, shape, random.nextInt(workload.tenants), deadlineFactor,
+                durations, random);
+            
+            double gapMs = poisson ? -Math.log(1.0 - random.nextDouble()) * 1000 / rate : 1000 / rate;
+            arrival += gapMs;
+        }
+        return workload;
+    }
+    
+    Shape shapeOf(int workflow) {
+        return shapes.get(workflowShape[workflow]);
+    }
+    
+    private int addShape(WorkflowDagBuilder dagBuilder, ExecutionPlanCache planCache,
+                         int images, List<String> operations) {
+        List<String> imageUrls = new ArrayList<>(images);
+        for (int i = 0; i < images; i++) {
+            imageUrls.add("http://simulator/image-" + i + ".png");
+        }
+        WorkflowRequest request = WorkflowRequest.builder()
+            .workflowName("simulated")
+            .imageUrls(imageUrls)
+            .operations(operations)
+            .build();
+        
+        List<TaskDefinition> definitions = dagBuilder.resolve(request);
+        ExecutionPlan plan = planCache.getOrCompile(definitions);
+        long[] ranks = dagBuilder.upwardRanks(plan, definitions);
+        
+        byte[] priorities = new byte[definitions.size()];
+        for (int i = 0; i < priorities.length; i++) {
+            TaskPriority priority = definitions.get(i).getPriority();
+            priorities[i] = (byte) (priority != null ? priority : TaskPriority.MEDIUM).getLevel();
+        }
+        long criticalPath = Arrays.stream(plan.roots()).mapToLong(root -> ranks[root]).max().orElse(0);
+        
+        shapes.add(new Shape(plan, definitions, ranks, priorities, criticalPath));
+        return shapes.size() - 1;
+    }
+    
+    private void addWorkflow(long arrival, int shape, int tenant, double deadlineFactor,
+                             DurationModel durations, SplittableRandom random) {
+        if (workflowCount == arrivalMs.length) {
+            int capacity = workflowCount * 2;
+            arrivalMs = Arrays.copyOf(arrivalMs, capacity);
+            workflowShape = Arrays.copyOf(workflowShape, capacity);
+            workflowFirstTask = Arrays.copyOf(workflowFirstTask, capacity);
+            workflowTenant = Arrays.copyOf(workflowTenant, capacity);
+            deadlineMs = Arrays.copyOf(deadlineMs, capacity);
+        }
+        
+        Shape dag = shapes.get(shape);
+        int w = workflowCount++;
+        arrivalMs[w] = arrival;
+        workflowShape[w] = shape;
+        workflowFirstTask[w] = taskCount;
+        workflowTenant[w] = tenant;
+        deadlineMs[w] = deadlineFactor > 0
+            ? arrival + (long) (deadlineFactor * dag.criticalPathMs())
+            : Long.MAX_VALUE;
+        
+        int size = dag.plan().size();
+        if (taskCount + size > durationMs.length) {
+            int capacity = Math.max(taskCount + size, durationMs.length * 2);
+            taskWorkflow = Arrays.copyOf(taskWorkflow, capacity);
+            durationMs = Arrays.copyOf(durationMs, capacity);
+        }
+        for (int node = 0; node < size; node++) {
+            taskWorkflow[taskCount] = w;
+            durationMs[taskCount] = (int) Math.min(Integer.MAX_VALUE,
+                durations.sample(dag.plan().type(node), random));
+            taskCount++;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.faang.taskscheduler.loadtest;
+
+import com.faang.taskscheduler.dto.TaskStatusDTO;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.faang.taskscheduler.model.WorkflowStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end workflow load test: submit-to-complete latency and throughput.
+ * 
+ * Boots scheduler + workers in-process (embedded Kafka broker, H2, local locks) unless base-url
+ * points at a running deployment, serves synthetic images from a loopback HTTP server, and
+ * submits image workflows open-loop: arrivals follow the configured rate whether or not earlier
+ * workflows finished, and latencies are measured from the intended arrival time, so a stalled
+ * system shows up as latency instead of silently lowering the offered load.
+ * 
+ * Distributions (HdrHistogram):
+ * - submit: arrival to HTTP 2xx of POST /api/workflows
+ * - queue_wait: task hand-off to the queue (queuedAt) to worker start (startedAt)
+ * - execution: task executionDurationMs
+ * - end_to_end: workflow createdAt to completedAt, server clock
+ * - end_to_end_observed: arrival to completion seen by the poller (adds up to poll-interval-ms)
+ * 
+ * Args (key=value):
+ * - transport: kafka (default) or in-memory; ignored with base-url
+ * - base-url: target a running node instead of the embedded stack
+ * - workflows (default 200) and/or duration-s: stop arrivals at whichever comes first
+ * - rate: workflow arrivals per second (default 10); arrivals: poisson (default) or uniform
+ * - images: images per workflow, "n" or "min-max" (default 1-3)
+ * - image-sizes: comma-separated WxH, picked uniformly (default 640x480,1920x1080)
+ * - operations: weighted mix "op,op:weight;op:weight" (default validate,resize,compress:3;thumbnail:1)
+ * - tenants (default 1), worker-concurrency (default 16), partitions (default 10), seed (default 42)
+ * - poll-interval-ms (default 100), drain-timeout-s (default 120)
+ * - report: JSON output path (default target/load-test/workflow-&lt;timestamp&gt;.json), label: free text
+ */
+public class WorkflowLoadTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private static final int MAX_CONCURRENT_POLLS = 64;
+    
+    record OperationMix(List<String> operations, double weight) {}
+    
+    private record ImageSize(int width, int height) {}
+    
+    private final LoadTestOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final LatencyReport report = new LatencyReport(
+        "submit", "queue_wait", "execution", "end_to_end", "end_to_end_observed");
+    
+    private final Map<String, Long> outstanding = new ConcurrentHashMap<>();
+    private final Map<WorkflowStatus, AtomicLong> finished = new EnumMap<>(WorkflowStatus.class);
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong pendingSubmissions = new AtomicLong();
+    private final AtomicLong tasksCompleted = new AtomicLong();
+    private final Semaphore polls = new Semaphore(MAX_CONCURRENT_POLLS);
+    
+    private WorkflowLoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (WorkflowStatus status : WorkflowStatus.values()) {
+            finished.put(status, new AtomicLong());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String transport = options.get("transport", "kafka");
+        
+        try (LocalImageServer images = new LocalImageServer(options.get("image-host", "127.0.0.1"));
+             EmbeddedStack stack = options.has("base-url") ? null : EmbeddedStack.start(
+                 transport, options.getInt("worker-concurrency", 16), options.getInt("partitions", 10))) {
+            
+            String baseUrl = stack != null ? stack.baseUrl() : options.get("base-url", null);
+            new WorkflowLoadTest(options).run(baseUrl, images, stack != null ? transport : "external");
+        }
+        // Kafka and Tomcat leave non-daemon threads behind after close
+        System.exit(0);
+    }
+    
+    private void run(String baseUrl, LocalImageServer images, String transport) throws Exception {
+        int maxWorkflows = options.getInt("workflows", options.has("duration-s") ? Integer.MAX_VALUE : 200);
+        long durationNanos = TimeUnit.SECONDS.toNanos(options.getLong("duration-s", Long.MAX_VALUE / 1_000_000_000L));
+        double rate = options.getDouble("rate", 10);
+        boolean poisson = !"uniform".equals(options.get("arrivals", "poisson"));
+        int[] imageRange = parseRange(options.get("images", "1-3"));
+        List<ImageSize> sizes = parseSizes(options.get("image-sizes", "640x480,1920x1080"));
+        List<OperationMix> mixes = parseMixes(options.get("operations", "validate,resize,compress:3;thumbnail:1"));
+        int tenants = options.getInt("tenants", 1);
+        long pollIntervalMs = options.getLong("poll-interval-ms", 100);
+        SplittableRandom random = new SplittableRandom(options.getLong("seed", 42));
+        
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+        poller.scheduleWithFixedDelay(() -> pollOutstanding(baseUrl), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long nextArrival = start;
+        
+        for (int n = 0; n < maxWorkflows && nextArrival - start < durationNanos; n++) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            WorkflowRequest request = WorkflowRequest.builder()
+                .workflowName("load-test-" + n)
+                .tenantId("tenant-" + (n % tenants))
+                .imageUrls(imageUrls(images, sizes, imageRange, random))
+                .operations(pick(mixes, random).operations())
+                .build();
+            submit(baseUrl, request, nextArrival);
+            
+            double gapSeconds = poisson ? -Math.log(1.0 - random.nextDouble()) / rate : 1.0 / rate;
+            nextArrival += (long) (gapSeconds * 1e9);
+        }
+        long arrivalsEnd = System.nanoTime();
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getLong("drain-timeout-s", 120));
+        while ((pendingSubmissions.get() > 0 || !outstanding.isEmpty()) && System.nanoTime() < drainDeadline) {
+            Thread.sleep(pollIntervalMs);
+        }
+        poller.shutdownNow();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("label", options.get("label", ""));
+        config.put("transport", transport);
+        config.put("rate", rate);
+        config.put("arrivals", poisson ? "poisson" : "uniform");
+        config.put("images", options.get("images", "1-3"));
+        config.put("imageSizes", options.get("image-sizes", "640x480,1920x1080"));
+        config.put("operations", options.get("operations", "validate,resize,compress:3;thumbnail:1"));
+        config.put("tenants", tenants);
+        config.put("workerConcurrency", options.getInt("worker-concurrency", 16));
+        config.put("pollIntervalMs", pollIntervalMs);
+        config.put("seed", options.getLong("seed", 42));
+        
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapMb", Runtime.getRuntime().maxMemory() >> 20);
+        environment.put("gitCommit", gitCommit());
+        
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("submitted", submitted.get());
+        results.put("rejected", rejected.get());
+        results.put("errors", errors.get());
+        finished.forEach((status, count) -> results.put(status.name().toLowerCase(), count.get()));
+        results.put("timedOut", outstanding.size());
+        results.put("arrivalSeconds", (arrivalsEnd - start) / 1e9);
+        results.put("elapsedSeconds", elapsedSeconds);
+        results.put("workflowsPerSecond", finished.get(WorkflowStatus.COMPLETED).get() / elapsedSeconds);
+        results.put("tasksPerSecond", tasksCompleted.get() / elapsedSeconds);
+        
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("benchmark", "workflow-end-to-end");
+        run.put("startedAt", startedAt.toString());
+        report.section("run", run);
+        report.section("config", config);
+        report.section("environment", environment);
+        report.section("results", results);
+        
+        Path path = Path.of(options.get("report", "target/load-test/workflow-"
+            + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(startedAt) + ".json"));
+        report.write(path);
+        
+        System.out.println(results);
+        report.print();
+        System.out.println("report=" + path.toAbsolutePath());
+    }
+    
+    private void submit(String baseUrl, WorkflowRequest workflow, long arrivalNanos) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workflows"))
+            .header("Content-Type", "application/json")
+            .header("X-Client-Id", workflow.getTenantId())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(workflow)))
+            .build();
+        
+        pendingSubmissions.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, ex) -> {
+            try {
+                submitted.incrementAndGet();
+                if (ex != null) {
+                    errors.incrementAndGet();
+                } else if (response.statusCode() == 429) {
+                    rejected.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else {
+                    report.recordMicros("submit", microsSince(arrivalNanos));
+                    String workflowId = MAPPER.readValue(response.body(), WorkflowResponse.class).getWorkflowId();
+                    outstanding.put(workflowId, arrivalNanos);
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } finally {
+                pendingSubmissions.decrementAndGet();
+            }
+        });
+    }
+    
+    private void pollOutstanding(String baseUrl) {
+        for (Map.Entry<String, Long> entry : outstanding.entrySet()) {
+            if (!polls.tryAcquire()) {
+                return;
+            }
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/workflows/" + entry.getKey() + "/status"))
+                .GET()
+                .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, ex) -> {
+                try {
+                    if (ex == null && response.statusCode() == 200) {
+                        onStatus(entry.getKey(), entry.getValue(),
+                            MAPPER.readValue(response.body(), WorkflowResponse.class));
+                    }
+                } catch (IOException e) {
+                    errors.incrementAndGet();
+                } finally {
+                    polls.release();
+                }
+            });
+        }
+    }
+    
+    private void onStatus(String workflowId, long arrivalNanos, WorkflowResponse workflow) {
+        WorkflowStatus status = workflow.getStatus();
+        if (status == WorkflowStatus.PENDING || status == WorkflowStatus.RUNNING) {
+            return;
+        }
+        // Concurrent polls of the same workflow: only the first one records it
+        if (outstanding.remove(workflowId) == null) {
+            return;
+        }
+        
+        report.recordMicros("end_to_end_observed", microsSince(arrivalNanos));
+        if (workflow.getCreatedAt() != null && workflow.getCompletedAt() != null) {
+            report.recordMicros("end_to_end", microsBetween(workflow.getCreatedAt(), workflow.getCompletedAt()));
+        }
+        
+        for (TaskStatusDTO task : workflow.getTasks() != null ? workflow.getTasks() : List.<TaskStatusDTO>of()) {
+            if (task.getQueuedAt() != null && task.getStartedAt() != null) {
+                report.recordMicros("queue_wait", microsBetween(task.getQueuedAt(), task.getStartedAt()));
+            }
+            if (task.getExecutionDurationMs() != null) {
+                report.recordMicros("execution", TimeUnit.MILLISECONDS.toMicros(task.getExecutionDurationMs()));
+                tasksCompleted.incrementAndGet();
+            }
+        }
+        finished.get(status).incrementAndGet();
+    }
+    
+    private static List<String> imageUrls(LocalImageServer images, List<ImageSize> sizes, int[] range, SplittableRandom random) {
+        int count = range[0] + random.nextInt(range[1] - range[0] + 1);
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ImageSize size = sizes.get(random.nextInt(sizes.size()));
+            urls.add(images.imageUrl(size.width(), size.height()));
+        }
+        return urls;
+    }
+    
+    static OperationMix pick(List<OperationMix> mixes, SplittableRandom random) {
+        double total = mixes.stream().mapToDouble(OperationMix::weight).sum();
+        double point = random.nextDouble() * total;
+        for (OperationMix mix : mixes) {
+            point -= mix.weight();
+            if (point < 0) {
+                return mix;
+            }
+        }
+        return mixes.get(mixes.size() - 1);
+    }
+    
+    static List<OperationMix> parseMixes(String spec) {
+        List<OperationMix> mixes = new ArrayList<>();
+        for (String entry : spec.split(";")) {
+            String[] parts = entry.split(":");
+            double weight = parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Operation mix weight must be positive: " + entry);
+            }
+            mixes.add(new OperationMix(List.of(parts[0].split(",")), weight));
+        }
+        return mixes;
+    }
+    
+    private static List<ImageSize> parseSizes(String spec) {
+        List<ImageSize> sizes = new ArrayList<>();
+        for (String size : spec.split(",")) {
+            String[] dimensions = size.trim().split("x");
+            sizes.add(new ImageSize(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1])));
+        }
+        return sizes;
+    }
+    
+    static int[] parseRange(String spec) {
+        String[] bounds = spec.split("-");
+        int min = Integer.parseInt(bounds[0]);
+        int max = bounds.length > 1 ? Integer.parseInt(bounds[1]) : min;
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid range: " + spec);
+        }
+        return new int[] {min, max};
+    }
+    
+    private static long microsSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+    
+    private static long microsBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toNanos() / 1_000;
+    }
+    
+    static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                .redirectErrorStream(true)
+                .start();
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 ? output : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
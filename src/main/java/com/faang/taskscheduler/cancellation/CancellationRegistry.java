@@ -0,0 +1,208 @@
+package com.faang.taskscheduler.cancellation;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide set of cancelled workflow ids, mirrored on every node.
+ * 
+ * FAANG Interview Points:
+ * - Source of truth: a Redis sorted set (score = cancel time), trimmed after a
+ *   retention period so it stays compact
+ * - Each node keeps a local bloom filter: the common "not cancelled" answer for a
+ *   polled message costs a few memory reads, no network round trip
+ * - Bloom positives are confirmed against a local cache of recent cancellations,
+ *   then Redis, so false positives never drop live work
+ * - Pub/sub pushes new cancellations immediately (and triggers interrupts of running
+ *   tasks); a periodic rebuild repairs missed messages and drops expired ids
+ * - Fails open: if Redis is unavailable, the database state check still applies
+ * - Embedded mode (no Redis): the set lives in this JVM only
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CancellationRegistry {
+    
+    private static final String CANCELLED_SET = "task-scheduler:cancelled-workflows";
+    private static final String CANCELLATION_TOPIC = "task-scheduler:workflow-cancellations";
+    private static final int CONFIRMED_CACHE_SIZE = 1024;
+    
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    
+    // Null in embedded mode; localCancelled is then the source of truth
+    private RedissonClient redissonClient;
+    private final Map<String, Long> localCancelled = new ConcurrentHashMap<>();
+    
+    @Value("${task-scheduler.cancellation.expected-entries:100000}")
+    private long expectedEntries;
+    
+    @Value("${task-scheduler.cancellation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    @Value("${task-scheduler.cancellation.retention-ms:86400000}")
+    private long retentionMs;
+    
+    private volatile BloomFilter bloomFilter;
+    
+    // Recently confirmed cancellations (LRU), so a cancelled workflow's backlog skips Redis
+    private final Map<String, Boolean> confirmed = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > CONFIRMED_CACHE_SIZE;
+        }
+    };
+    private final ReentrantLock confirmedLock = new ReentrantLock();
+    
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    
+    @PostConstruct
+    public void start() {
+        bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            return;
+        }
+        try {
+            topic().addListener(String.class, (channel, workflowId) -> onCancelled(workflowId));
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Cancellation registry unavailable, will retry on next rebuild: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Publish a cancellation to every node
+     */
+    public void publish(String workflowId) {
+        long now = System.currentTimeMillis();
+        if (redissonClient == null) {
+            localCancelled.put(workflowId, now);
+            localCancelled.values().removeIf(cancelledAt -> cancelledAt < now - retentionMs);
+            onCancelled(workflowId);
+            return;
+        }
+        
+        RScoredSortedSet<String> cancelled = cancelledSet();
+        cancelled.add(now, workflowId);
+        cancelled.removeRangeByScore(0, true, now - retentionMs, true);
+        topic().publish(workflowId);
+        onCancelled(workflowId);
+    }
+    
+    /**
+     * Whether the workflow has been cancelled (no false positives)
+     */
+    public boolean isCancelled(String workflowId) {
+        if (workflowId == null || !bloomFilter.mightContain(workflowId)) {
+            return false;
+        }
+        
+        confirmedLock.lock();
+        try {
+            if (confirmed.containsKey(workflowId)) {
+                return true;
+            }
+        } finally {
+            confirmedLock.unlock();
+        }
+        
+        if (redissonClient == null) {
+            return localCancelled.containsKey(workflowId);
+        }
+        
+        try {
+            if (cancelledSet().getScore(workflowId) != null) {
+                confirm(workflowId);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cancellation lookup failed, assuming not cancelled: workflowId={}", workflowId);
+        }
+        return false;
+    }
+    
+    /**
+     * Called with the workflow id whenever a cancellation arrives on this node
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Rebuild the local filter from Redis (repairs missed messages, drops expired ids)
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.cancellation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        if (redissonClient == null) {
+            return;
+        }
+        
+        Collection<String> ids;
+        try {
+            ids = cancelledSet().valueRange(System.currentTimeMillis() - retentionMs, true, 
+                                            Double.POSITIVE_INFINITY, true);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild cancellation filter: {}", e.getMessage());
+            return;
+        }
+        
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, ids.size()), falsePositiveRate);
+        ids.forEach(rebuilt::add);
+        
+        // Keep cancellations that arrived while the snapshot was read
+        confirmedLock.lock();
+        try {
+            confirmed.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+        } finally {
+            confirmedLock.unlock();
+        }
+        log.debug("Cancellation filter rebuilt: entries={}", ids.size());
+    }
+    
+    private void onCancelled(String workflowId) {
+        bloomFilter.add(workflowId);
+        confirm(workflowId);
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(workflowId);
+            } catch (RuntimeException e) {
+                log.warn("Cancellation listener failed: workflowId={}", workflowId, e);
+            }
+        }
+    }
+    
+    private void confirm(String workflowId) {
+        confirmedLock.lock();
+        try {
+            confirmed.put(workflowId, Boolean.TRUE);
+        } finally {
+            confirmedLock.unlock();
+        }
+    }
+    
+    private RScoredSortedSet<String> cancelledSet() {
+        return redissonClient.getScoredSortedSet(CANCELLED_SET);
+    }
+    
+    private RTopic topic() {
+        return redissonClient.getTopic(CANCELLATION_TOPIC);
+    }
+}
@@ -0,0 +1,56 @@
+package com.faang.taskscheduler.config;
+
+import com.faang.taskscheduler.service.AdmissionControlService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies admission control to workflow submissions before the body is parsed.
+ * Rejections surface as AdmissionRejectedException (429 + Retry-After).
+ * 
+ * Every submission is charged one token here; a bulk stream's further items are charged
+ * as they are read, against the client stored in CLIENT_ATTRIBUTE.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    
+    public static final String CLIENT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".client";
+    
+    private static final String ADMITTED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".admitted";
+    
+    private final AdmissionControlService admissionControlService;
+    
+    @Value("${task-scheduler.admission.client-header:X-Client-Id}")
+    private String clientHeader;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod()) || !admissionControlService.isEnabled()) {
+            return true;
+        }
+        
+        String clientId = request.getHeader(clientHeader);
+        if (clientId == null || clientId.isBlank()) {
+            clientId = request.getRemoteAddr();
+        }
+        
+        admissionControlService.admit(clientId, 1.0);
+        request.setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+        request.setAttribute(CLIENT_ATTRIBUTE, clientId);
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, 
+                                Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            admissionControlService.release();
+        }
+    }
+}
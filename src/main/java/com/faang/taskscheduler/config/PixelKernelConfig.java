@@ -0,0 +1,27 @@
+package com.faang.taskscheduler.config;
+
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Picks the pixel kernels the image executors run on, once at startup
+ */
+@Slf4j
+@Configuration
+public class PixelKernelConfig {
+    
+    @Bean
+    public PixelKernels pixelKernels(@Value("${task-scheduler.image.kernels:auto}") String mode) {
+        PixelKernels kernels = PixelKernels.select(mode);
+        if (kernels.isVectorized()) {
+            log.info("Image pixel kernels: {}", kernels.name());
+        } else {
+            log.info("Image pixel kernels: {} (vector kernels need --add-modules jdk.incubator.vector "
+                + "and 256-bit vectors)", kernels.name());
+        }
+        return kernels;
+    }
+}
@@ -0,0 +1,27 @@
+package com.faang.taskscheduler.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The virtual-threads profile only takes effect on a Java 21+ runtime (the build targets 17);
+ * say so at startup instead of silently running on platform threads
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadModeCheck {
+    
+    @PostConstruct
+    public void check() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("spring.threads.virtual.enabled is set but the runtime is Java {}: "
+                + "requests, @Async and @Scheduled work stay on platform threads (needs Java 21+)", feature);
+        } else {
+            log.info("Virtual threads enabled for requests, @Async and @Scheduled work (Java {})", feature);
+        }
+    }
+}
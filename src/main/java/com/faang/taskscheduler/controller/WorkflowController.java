@@ -1,15 +1,27 @@
 package com.faang.taskscheduler.controller;
 
+import com.faang.taskscheduler.config.AdmissionControlInterceptor;
+import com.faang.taskscheduler.dto.CriticalPathResponse;
 import com.faang.taskscheduler.dto.WorkflowRequest;
 import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.faang.taskscheduler.exception.AdmissionRejectedException;
+import com.faang.taskscheduler.service.BulkWorkflowService;
 import com.faang.taskscheduler.service.WorkflowService;
+import com.faang.taskscheduler.tracing.CriticalPathAnalyzer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
+
 /**
  * REST API for workflow management.
  * 
@@ -26,13 +38,15 @@ import org.springframework.web.bind.annotation.*;
 public class WorkflowController {
     
     private final WorkflowService workflowService;
+    private final BulkWorkflowService bulkWorkflowService;
+    private final CriticalPathAnalyzer criticalPathAnalyzer;
     
     /**
      * Create new workflow
      * 
      * POST /api/workflows
      * Body: WorkflowRequest
-     * Returns: WorkflowResponse with workflowId
+     * Returns: 202 Accepted with workflowId; tasks are dispatched asynchronously
      */
     @PostMapping
     public ResponseEntity<WorkflowResponse> createWorkflow(
@@ -42,7 +56,9 @@ public class WorkflowController {
         
         try {
             WorkflowResponse response = workflowService.createWorkflow(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/workflows/" + response.getWorkflowId() + "/status"))
+                .body(response);
             
         } catch (IllegalArgumentException e) {
             log.error("Invalid workflow request", e);
@@ -50,6 +66,25 @@ public class WorkflowController {
         }
     }
     
+    /**
+     * Bulk-create workflows from a streamed NDJSON body
+     * 
+     * POST /api/workflows/bulk
+     * Body: one WorkflowRequest JSON object per line
+     * Returns: one BulkSubmissionResult JSON object per line, streamed as batches commit
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createWorkflowsBulk(HttpServletRequest request, HttpServletResponse response) 
+            throws IOException {
+        
+        log.info("POST /api/workflows/bulk");
+        
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkWorkflowService.submit(request.getInputStream(), response.getOutputStream(),
+            (String) request.getAttribute(AdmissionControlInterceptor.CLIENT_ATTRIBUTE));
+    }
+    
     /**
      * Get workflow status
      * 
@@ -76,6 +111,55 @@ public class WorkflowController {
         return getWorkflowStatus(workflowId);
     }
     
+    /**
+     * Get the workflow's actual critical path and where its time went
+     * 
+     * GET /api/workflows/{workflowId}/critical-path
+     * Returns: CriticalPathResponse with per-task phase segments along the path
+     */
+    @GetMapping("/{workflowId}/critical-path")
+    public ResponseEntity<CriticalPathResponse> getCriticalPath(
+            @PathVariable String workflowId) {
+        
+        log.info("GET /api/workflows/{}/critical-path", workflowId);
+        
+        return ResponseEntity.ok(criticalPathAnalyzer.analyze(workflowId));
+    }
+    
+    /**
+     * Cancel a workflow
+     * 
+     * DELETE /api/workflows/{workflowId}
+     * Returns: WorkflowResponse with CANCELLED status (or the final status if already finished)
+     */
+    @DeleteMapping("/{workflowId}")
+    public ResponseEntity<WorkflowResponse> cancelWorkflow(
+            @PathVariable String workflowId) {
+        
+        log.info("DELETE /api/workflows/{}", workflowId);
+        
+        WorkflowResponse response = workflowService.cancelWorkflow(workflowId);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Admission control rejection: 429 with Retry-After
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(AdmissionRejectedException e) {
+        log.warn("Request rejected by admission control: {}", e.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            e.getMessage(),
+            System.currentTimeMillis()
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(error);
+    }
+    
     /**
      * Exception handler
      */
@@ -0,0 +1,223 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates a task DAG and compiles it into an ExecutionPlan.
+ * 
+ * FAANG Interview Points:
+ * - Everything is O(V + E): one pass to index, one Kahn sweep, one reverse sweep
+ * - Reports all problems at once: unknown types, dangling dependencies, cycles, unreachable nodes
+ * - Cycle members are separated from nodes merely blocked behind a cycle
+ */
+@Component
+@RequiredArgsConstructor
+public class DagCompiler {
+    
+    private static final int MAX_REPORTED_NAMES = 10;
+    
+    private final TaskExecutorRegistry executorRegistry;
+    
+    /**
+     * Compile definitions into a plan.
+     * 
+     * @throws IllegalArgumentException listing every validation error found
+     */
+    public ExecutionPlan compile(String key, List<TaskDefinition> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            throw new IllegalArgumentException("Workflow must contain at least one task");
+        }
+        
+        int n = definitions.size();
+        List<String> errors = new ArrayList<>();
+        
+        // 1. Index nodes, check names and types
+        String[] names = new String[n];
+        String[] types = new String[n];
+        Map<String, Integer> indexByName = new HashMap<>(n * 2);
+        Set<String> unknownTypes = new LinkedHashSet<>();
+        
+        for (int i = 0; i < n; i++) {
+            TaskDefinition definition = definitions.get(i);
+            names[i] = definition.getName();
+            types[i] = definition.getType();
+            
+            if (names[i] == null || names[i].isBlank()) {
+                errors.add("Task #" + i + " has no name");
+            } else if (indexByName.putIfAbsent(names[i], i) != null) {
+                errors.add("Duplicate task name: " + names[i]);
+            }
+            if (types[i] == null || !executorRegistry.supports(types[i])) {
+                unknownTypes.add(String.valueOf(types[i]));
+            }
+        }
+        if (!unknownTypes.isEmpty()) {
+            errors.add("Unknown task types " + unknownTypes + "; registered: " + executorRegistry.getTaskTypes());
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        
+        // 2. Resolve dependencies into predecessor CSR, counting successors as we go
+        int[] dependencyOffsets = new int[n + 1];
+        int[] outDegree = new int[n];
+        List<Integer> dependencyList = new ArrayList<>();
+        
+        for (int i = 0; i < n; i++) {
+            dependencyOffsets[i] = dependencyList.size();
+            List<String> dependsOn = definitions.get(i).getDependsOn();
+            if (dependsOn == null) {
+                continue;
+            }
+            
+            Set<Integer> seen = new LinkedHashSet<>();
+            for (String dependency : dependsOn) {
+                Integer from = indexByName.get(dependency);
+                if (from == null) {
+                    errors.add("Task " + names[i] + " depends on unknown task: " + dependency);
+                } else if (from == i) {
+                    errors.add("Task " + names[i] + " depends on itself");
+                } else if (seen.add(from)) {
+                    dependencyList.add(from);
+                    outDegree[from]++;
+                }
+            }
+        }
+        dependencyOffsets[n] = dependencyList.size();
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        
+        int[] dependencies = dependencyList.stream().mapToInt(Integer::intValue).toArray();
+        int[] inDegree = new int[n];
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = dependencyOffsets[i + 1] - dependencyOffsets[i];
+        }
+        
+        // 3. Successor CSR
+        int[] dependentOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            dependentOffsets[i + 1] = dependentOffsets[i] + outDegree[i];
+        }
+        int[] dependents = new int[dependencies.length];
+        int[] cursor = dependentOffsets.clone();
+        for (int i = 0; i < n; i++) {
+            for (int e = dependencyOffsets[i]; e < dependencyOffsets[i + 1]; e++) {
+                dependents[cursor[dependencies[e]]++] = i;
+            }
+        }
+        
+        // 4. Kahn's algorithm
+        int[] remaining = inDegree.clone();
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        if (tail == 0) {
+            throw new IllegalArgumentException("Workflow has no root task (every task has dependencies)");
+        }
+        while (head < tail) {
+            int node = order[head++];
+            for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+                if (--remaining[dependents[e]] == 0) {
+                    order[tail++] = dependents[e];
+                }
+            }
+        }
+        
+        if (tail < n) {
+            throw new IllegalArgumentException(describeCycle(names, remaining, dependentOffsets, dependents));
+        }
+        
+        // 5. Per-type cost estimates at compile time (parameters are not part of the shape)
+        long[] estimatedCostMs = new long[n];
+        for (int i = 0; i < n; i++) {
+            estimatedCostMs[i] = executorRegistry.estimateExecutionTime(types[i], Map.of());
+        }
+        
+        return new ExecutionPlan(key, names, types, indexByName, inDegree,
+            dependentOffsets, dependents, dependencyOffsets, dependencies, order, estimatedCostMs);
+    }
+    
+    /**
+     * Nodes Kahn could not emit are either on a cycle or downstream of one (unreachable).
+     * Peel off nodes with no unvisited successors (reverse Kahn); whatever survives lies on a cycle.
+     */
+    private String describeCycle(String[] names, int[] remaining, int[] dependentOffsets, int[] dependents) {
+        int n = names.length;
+        boolean[] blocked = new boolean[n];
+        int[] blockedOut = new int[n];
+        List<Integer> blockedNodes = new ArrayList<>();
+        
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] > 0) {
+                blocked[i] = true;
+                blockedNodes.add(i);
+            }
+        }
+        
+        // Predecessor lists restricted to blocked nodes, and blocked out-degrees
+        Map<Integer, List<Integer>> blockedPredecessors = new HashMap<>();
+        for (int node : blockedNodes) {
+            for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+                int next = dependents[e];
+                if (blocked[next]) {
+                    blockedOut[node]++;
+                    blockedPredecessors.computeIfAbsent(next, k -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+        
+        List<Integer> queue = new ArrayList<>();
+        for (int node : blockedNodes) {
+            if (blockedOut[node] == 0) {
+                queue.add(node);
+            }
+        }
+        List<String> unreachable = new ArrayList<>();
+        for (int q = 0; q < queue.size(); q++) {
+            int node = queue.get(q);
+            unreachable.add(names[node]);
+            for (int predecessor : blockedPredecessors.getOrDefault(node, List.of())) {
+                if (--blockedOut[predecessor] == 0) {
+                    queue.add(predecessor);
+                }
+            }
+        }
+        
+        List<String> cyclic = new ArrayList<>();
+        for (int node : blockedNodes) {
+            if (blockedOut[node] > 0) {
+                cyclic.add(names[node]);
+            }
+        }
+        
+        StringBuilder message = new StringBuilder("Workflow contains a cycle through tasks ")
+            .append(abbreviate(cyclic));
+        if (!unreachable.isEmpty()) {
+            message.append("; unreachable tasks blocked by the cycle: ").append(abbreviate(unreachable));
+        }
+        return message.toString();
+    }
+    
+    private String abbreviate(List<String> names) {
+        if (names.size() <= MAX_REPORTED_NAMES) {
+            return names.toString();
+        }
+        return names.subList(0, MAX_REPORTED_NAMES) + " (+" + (names.size() - MAX_REPORTED_NAMES) + " more)";
+    }
+}
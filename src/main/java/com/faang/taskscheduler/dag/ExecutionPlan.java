@@ -0,0 +1,245 @@
+package com.faang.taskscheduler.dag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable execution plan for one DAG shape.
+ * 
+ * FAANG Interview Points:
+ * - Adjacency stored as CSR (offset + target arrays): compact and cache friendly
+ * - Topological order, in-degrees and critical path computed once per shape
+ * - Shared by every workflow submitted with the same template
+ */
+public final class ExecutionPlan {
+    
+    private final String key;
+    private final String[] names;
+    private final String[] types;
+    private final Map<String, Integer> indexByName;
+    private final int[] inDegree;
+    
+    // Successors of node i: dependents[dependentOffsets[i] .. dependentOffsets[i + 1])
+    private final int[] dependentOffsets;
+    private final int[] dependents;
+    
+    // Predecessors of node i: dependencies[dependencyOffsets[i] .. dependencyOffsets[i + 1])
+    private final int[] dependencyOffsets;
+    private final int[] dependencies;
+    
+    private final int[] topologicalOrder;
+    private final int[] roots;
+    
+    // Static cost estimates (ms) and resulting longest path to a sink
+    private final long[] estimatedCostMs;
+    private final long[] upwardRank;
+    private final int[] criticalPath;
+    
+    ExecutionPlan(String key, String[] names, String[] types, Map<String, Integer> indexByName,
+                  int[] inDegree, int[] dependentOffsets, int[] dependents,
+                  int[] dependencyOffsets, int[] dependencies, int[] topologicalOrder,
+                  long[] estimatedCostMs) {
+        this.key = key;
+        this.names = names;
+        this.types = types;
+        this.indexByName = indexByName;
+        this.inDegree = inDegree;
+        this.dependentOffsets = dependentOffsets;
+        this.dependents = dependents;
+        this.dependencyOffsets = dependencyOffsets;
+        this.dependencies = dependencies;
+        this.topologicalOrder = topologicalOrder;
+        this.estimatedCostMs = estimatedCostMs;
+        this.roots = computeRoots();
+        this.upwardRank = upwardRanks(estimatedCostMs);
+        this.criticalPath = computeCriticalPath();
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public int size() {
+        return names.length;
+    }
+    
+    public String name(int node) {
+        return names[node];
+    }
+    
+    public String type(int node) {
+        return types[node];
+    }
+    
+    /**
+     * @return node index, or -1 if the name is not part of this plan
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index == null ? -1 : index;
+    }
+    
+    public int inDegree(int node) {
+        return inDegree[node];
+    }
+    
+    public int[] roots() {
+        return roots.clone();
+    }
+    
+    public int[] topologicalOrder() {
+        return topologicalOrder.clone();
+    }
+    
+    public long estimatedCostMs(int node) {
+        return estimatedCostMs[node];
+    }
+    
+    /**
+     * Longest estimated path (ms) from this node to a sink, including the node itself
+     */
+    public long upwardRank(int node) {
+        return upwardRank[node];
+    }
+    
+    public long getCriticalPathCostMs() {
+        return criticalPath.length == 0 ? 0 : upwardRank[criticalPath[0]];
+    }
+    
+    public List<String> getCriticalPath() {
+        List<String> path = new ArrayList<>(criticalPath.length);
+        for (int node : criticalPath) {
+            path.add(names[node]);
+        }
+        return Collections.unmodifiableList(path);
+    }
+    
+    /**
+     * Names of tasks that directly depend on the given task
+     */
+    public List<String> dependentsOf(String name) {
+        return slice(indexOf(name), dependentOffsets, dependents);
+    }
+    
+    /**
+     * Names of tasks the given task directly depends on
+     */
+    public List<String> dependenciesOf(String name) {
+        return slice(indexOf(name), dependencyOffsets, dependencies);
+    }
+    
+    /**
+     * Start of a node's dependent edges in CSR order: the direct dependents of node are
+     * dependentAt(e) for e in [firstDependentEdge(node), firstDependentEdge(node + 1))
+     */
+    public int firstDependentEdge(int node) {
+        return dependentOffsets[node];
+    }
+    
+    public int dependentAt(int edge) {
+        return dependents[edge];
+    }
+    
+    /**
+     * Names of all tasks transitively downstream of the given task
+     */
+    public List<String> descendantsOf(String name) {
+        int start = indexOf(name);
+        if (start < 0) {
+            return List.of();
+        }
+        
+        boolean[] visited = new boolean[names.length];
+        int[] stack = new int[names.length];
+        int top = 0;
+        stack[top++] = start;
+        List<String> result = new ArrayList<>();
+        
+        while (top > 0) {
+            int node = stack[--top];
+            for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+                int next = dependents[e];
+                if (!visited[next]) {
+                    visited[next] = true;
+                    result.add(names[next]);
+                    stack[top++] = next;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Upward rank for arbitrary per-node costs: rank(i) = cost(i) + max rank(successor).
+     * One reverse topological sweep, O(V + E).
+     */
+    public long[] upwardRanks(long[] costMs) {
+        long[] rank = new long[names.length];
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int node = topologicalOrder[i];
+            long best = 0;
+            for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+                best = Math.max(best, rank[dependents[e]]);
+            }
+            rank[node] = costMs[node] + best;
+        }
+        return rank;
+    }
+    
+    private int[] computeRoots() {
+        int count = 0;
+        for (int degree : inDegree) {
+            if (degree == 0) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        int i = 0;
+        for (int node : topologicalOrder) {
+            if (inDegree[node] == 0) {
+                result[i++] = node;
+            }
+        }
+        return result;
+    }
+    
+    private int[] computeCriticalPath() {
+        if (roots.length == 0) {
+            return new int[0];
+        }
+        
+        int node = roots[0];
+        for (int root : roots) {
+            if (upwardRank[root] > upwardRank[node]) {
+                node = root;
+            }
+        }
+        
+        List<Integer> path = new ArrayList<>();
+        while (node >= 0) {
+            path.add(node);
+            int next = -1;
+            for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+                int candidate = dependents[e];
+                if (next < 0 || upwardRank[candidate] > upwardRank[next]) {
+                    next = candidate;
+                }
+            }
+            node = next;
+        }
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    private List<String> slice(int node, int[] offsets, int[] targets) {
+        if (node < 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(offsets[node + 1] - offsets[node]);
+        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+            result.add(names[targets[e]]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of compiled execution plans keyed by DAG shape.
+ * 
+ * The shape key hashes task names, types and dependencies (not parameters),
+ * so every submission of the same template reuses one plan and skips graph analysis.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutionPlanCache {
+    
+    private static final byte FIELD_SEPARATOR = 0;
+    private static final byte NODE_SEPARATOR = 1;
+    
+    private final DagCompiler dagCompiler;
+    
+    @Value("${task-scheduler.dag.plan-cache-size:1000}")
+    private int maxSize;
+    
+    private final Map<String, ExecutionPlan> plans = new ConcurrentHashMap<>();
+    
+    /**
+     * Get the plan for these definitions, compiling (and validating) on first sight of the shape
+     */
+    public ExecutionPlan getOrCompile(List<TaskDefinition> definitions) {
+        String key = shapeKey(definitions);
+        return get(key, () -> definitions);
+    }
+    
+    /**
+     * Get the plan for a known key, loading definitions only on a cache miss
+     * (e.g. on a worker that has not seen this shape yet)
+     */
+    public ExecutionPlan get(String key, Supplier<List<TaskDefinition>> definitionsLoader) {
+        ExecutionPlan plan = plans.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        
+        plan = dagCompiler.compile(key, definitionsLoader.get());
+        evictIfFull();
+        ExecutionPlan existing = plans.putIfAbsent(key, plan);
+        
+        log.debug("Compiled execution plan: key={}, tasks={}, criticalPathMs={}", 
+                  key, plan.size(), plan.getCriticalPathCostMs());
+        return existing != null ? existing : plan;
+    }
+    
+    public int size() {
+        return plans.size();
+    }
+    
+    /**
+     * SHA-256 over (name, type, dependencies) of every node, in definition order
+     */
+    public static String shapeKey(List<TaskDefinition> definitions) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        
+        for (TaskDefinition definition : definitions) {
+            update(digest, definition.getName());
+            update(digest, definition.getType());
+            if (definition.getDependsOn() != null) {
+                for (String dependency : definition.getDependsOn()) {
+                    update(digest, dependency);
+                }
+            }
+            digest.update(NODE_SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+    
+    private void evictIfFull() {
+        Iterator<String> keys = plans.keySet().iterator();
+        while (plans.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
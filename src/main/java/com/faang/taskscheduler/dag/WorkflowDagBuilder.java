@@ -0,0 +1,163 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.model.TaskPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the task DAG of a workflow request and its dispatch ranks.
+ * 
+ * Shared by WorkflowService and the offline scheduling simulator, so policies are
+ * evaluated on exactly the DAGs and ranks production would create.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowDagBuilder {
+    
+    private final TaskExecutorRegistry executorRegistry;
+    
+    /**
+     * Resolve the task DAG for a request: explicit tasks, or the image processing template
+     */
+    public List<TaskDefinition> resolve(WorkflowRequest request) {
+        if (request.getTasks() != null && !request.getTasks().isEmpty()) {
+            return request.getTasks();
+        }
+        
+        List<TaskDefinition> definitions = new ArrayList<>();
+        Map<String, Object> params = request.getParameters() != null ? request.getParameters() : Map.of();
+        
+        // Process each image URL
+        for (int i = 0; i < request.getImageUrls().size(); i++) {
+            definitions.addAll(createImageProcessingChain(
+                request.getImageUrls().get(i),
+                "img-" + i,
+                request.getOperations(),
+                params
+            ));
+        }
+        return definitions;
+    }
+    
+    /**
+     * Latest time a task can start and still let its remaining critical path
+     * (upward rank, including itself) finish by the deadline
+     */
+    public static LocalDateTime latestStartAt(LocalDateTime deadline, long upwardRankMs) {
+        return deadline != null ? deadline.minus(Duration.ofMillis(upwardRankMs)) : null;
+    }
+    
+    /**
+     * HEFT upward rank of every node (ms), from the learned per-task execution time estimates
+     */
+    public long[] upwardRanks(ExecutionPlan plan, List<TaskDefinition> definitions) {
+        return plan.upwardRanks(estimateCosts(definitions));
+    }
+    
+    /**
+     * Per-task execution time estimates (ms) from the learned model, for HEFT ranking
+     */
+    private long[] estimateCosts(List<TaskDefinition> definitions) {
+        long[] costs = new long[definitions.size()];
+        for (int i = 0; i < costs.length; i++) {
+            TaskDefinition definition = definitions.get(i);
+            costs[i] = executorRegistry.estimateExecutionTime(definition.getType(),
+                definition.getParams() != null ? definition.getParams() : Map.of());
+        }
+        return costs;
+    }
+    
+    /**
+     * Create task chain for single image processing
+     * 
+     * DAG Structure:
+     * Download → Validate
+     *     ↓
+     *     ├──→ Resize → Watermark → Compress
+     *     ↓
+     * Thumbnail
+     * 
+     * Skipped operations are bypassed: each step depends on the nearest preceding step present.
+     */
+    private List<TaskDefinition> createImageProcessingChain(
+            String imageUrl, 
+            String imageId,
+            List<String> operations,
+            Map<String, Object> params) {
+        
+        List<TaskDefinition> tasks = new ArrayList<>();
+        
+        // Task 1: Download Image
+        String downloadName = imageId + "-download";
+        tasks.add(imageTask(downloadName, "IMAGE_DOWNLOAD", 
+            Map.of("imageUrl", imageUrl), null, TaskPriority.HIGH));
+        
+        // Task 2: Validate Image
+        if (operations.contains("validate")) {
+            tasks.add(imageTask(imageId + "-validate", "IMAGE_VALIDATE", 
+                Map.of(), downloadName, TaskPriority.HIGH));
+        }
+        
+        // Task 3: Resize Image
+        String mainChainTail = downloadName;
+        if (operations.contains("resize")) {
+            Map<String, Object> resizeParams = new HashMap<>();
+            resizeParams.put("width", params.getOrDefault("width", 800));
+            resizeParams.put("height", params.getOrDefault("height", 600));
+            
+            mainChainTail = imageId + "-resize";
+            tasks.add(imageTask(mainChainTail, "IMAGE_RESIZE", 
+                resizeParams, downloadName, TaskPriority.MEDIUM));
+        }
+        
+        // Task 4: Create Thumbnail (parallel with watermark)
+        if (operations.contains("thumbnail")) {
+            tasks.add(imageTask(imageId + "-thumbnail", "IMAGE_THUMBNAIL", 
+                Map.of("width", 150, "height", 150), downloadName, TaskPriority.LOW));
+        }
+        
+        // Task 5: Apply Watermark
+        if (operations.contains("watermark")) {
+            String watermarkName = imageId + "-watermark";
+            tasks.add(imageTask(watermarkName, "IMAGE_WATERMARK", 
+                Map.of("text", params.getOrDefault("watermarkText", "Sample")), 
+                mainChainTail, TaskPriority.MEDIUM));
+            mainChainTail = watermarkName;
+        }
+        
+        // Task 6: Compress Image
+        if (operations.contains("compress")) {
+            tasks.add(imageTask(imageId + "-compress", "IMAGE_COMPRESS", 
+                Map.of("quality", params.getOrDefault("quality", 85)), 
+                mainChainTail, TaskPriority.MEDIUM));
+        }
+        
+        return tasks;
+    }
+    
+    private TaskDefinition imageTask(
+            String name, 
+            String type, 
+            Map<String, Object> params, 
+            String dependsOn, 
+            TaskPriority priority) {
+        
+        return TaskDefinition.builder()
+            .name(name)
+            .type(type)
+            .params(params)
+            .dependsOn(dependsOn != null ? List.of(dependsOn) : List.of())
+            .priority(priority)
+            .build();
+    }
+}
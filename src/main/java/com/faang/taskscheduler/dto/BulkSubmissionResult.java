@@ -0,0 +1,29 @@
+package com.faang.taskscheduler.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-item result line of a bulk NDJSON submission.
+ * Index refers to the item's position in the request stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkSubmissionResult {
+    
+    private int index;
+    
+    private boolean accepted;
+    
+    private String workflowId;
+    
+    private Integer totalTasks;
+    
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.faang.taskscheduler.dto;
+
+import com.faang.taskscheduler.model.WorkflowStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriticalPathResponse {
+    
+    private String workflowId;
+    
+    private WorkflowStatus status;
+    
+    // First task created to last task persisted, along the critical path
+    private Double criticalPathMs;
+    
+    // Critical path time per segment, summed over its steps
+    private Map<String, Double> breakdownMs;
+    
+    // Time between traced phases that no segment covers (missing or dropped events)
+    private Double unattributedMs;
+    
+    private List<CriticalPathStep> steps;
+}
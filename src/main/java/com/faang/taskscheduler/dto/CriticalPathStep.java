@@ -0,0 +1,32 @@
+package com.faang.taskscheduler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriticalPathStep {
+    
+    private String taskId;
+    
+    private String taskName;
+    
+    private String taskType;
+    
+    // Dependency that finished last and so made this task ready (null for a root task)
+    private String gatedBy;
+    
+    // Ready time relative to the start of the critical path
+    private Double startOffsetMs;
+    
+    private Double totalMs;
+    
+    // scheduling, queueing, lockWait, startup, execution, persistence (null when a phase was not traced)
+    private Map<String, Double> segmentsMs;
+}
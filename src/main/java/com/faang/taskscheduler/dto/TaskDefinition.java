@@ -0,0 +1,44 @@
+package com.faang.taskscheduler.dto;
+
+import com.faang.taskscheduler.model.TaskPriority;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single node of a user-defined workflow DAG
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDefinition {
+    
+    /**
+     * Unique name within the workflow; dependencies refer to it
+     */
+    @NotBlank(message = "Task name is required")
+    private String name;
+    
+    /**
+     * Task type handled by a registered TaskExecutor
+     */
+    @NotBlank(message = "Task type is required")
+    private String type;
+    
+    private Map<String, Object> params;
+    
+    /**
+     * Names of tasks that must complete before this one can start
+     */
+    @Builder.Default
+    private List<String> dependsOn = new ArrayList<>();
+    
+    private TaskPriority priority;
+}
@@ -1,6 +1,7 @@
 package com.faang.taskscheduler.dto;
 
 import com.faang.taskscheduler.model.TaskPriority;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,6 +36,27 @@ public class TaskMessage {
     
     private LocalDateTime scheduledAt;
     
+    /**
+     * Backup copy of a straggling task; must not run on excludedWorkerId
+     */
+    @Builder.Default
+    private boolean speculative = false;
+    
+    private String excludedWorkerId;
+    
+    // Times a backup was re-published because it reached the excluded worker
+    @Builder.Default
+    private int routingAttempt = 0;
+    
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+    
+    /**
+     * Kafka key: the task id, so attempts of a task stay ordered on one partition.
+     * Backups use a derived key to land on a different partition (and so, usually, worker).
+     */
+    @JsonIgnore
+    public String getRoutingKey() {
+        return speculative ? taskId + "#backup-" + routingAttempt : taskId;
+    }
 }
@@ -28,6 +28,8 @@ public class TaskStatusDTO {
     
     private String errorMessage;
     
+    private LocalDateTime queuedAt;
+    
     private LocalDateTime startedAt;
     
     private LocalDateTime completedAt;
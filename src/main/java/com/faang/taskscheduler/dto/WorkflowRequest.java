@@ -1,17 +1,21 @@
 package com.faang.taskscheduler.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Request DTO for creating image processing workflows
+ * Request DTO for creating workflows.
+ * Either an explicit task DAG ({@code tasks}) or the image processing
+ * shorthand ({@code imageUrls} + {@code operations}) must be given.
  */
 @Data
 @Builder
@@ -24,13 +28,31 @@ public class WorkflowRequest {
     
     private String description;
     
-    @NotEmpty(message = "At least one image URL is required")
+    /**
+     * Optional tenant for fair-share dispatch (weights per tenant are configurable)
+     */
+    private String tenantId;
+    
+    /**
+     * Optional completion deadline (SLA); enables slack-based dispatch in EDF mode
+     */
+    @Future(message = "Deadline must be in the future")
+    private LocalDateTime deadline;
+    
+    /**
+     * Generic DAG of tasks (type, params, dependencies)
+     */
+    @Valid
+    private List<TaskDefinition> tasks;
+    
+    /**
+     * Image processing shorthand: source images
+     */
     private List<String> imageUrls;
     
     /**
-     * Operations to perform: resize, watermark, compress, thumbnail
+     * Operations to perform: validate, resize, watermark, compress, thumbnail
      */
-    @NotEmpty(message = "At least one operation is required")
     private List<String> operations;
     
     /**
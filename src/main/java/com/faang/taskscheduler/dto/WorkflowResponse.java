@@ -37,5 +37,12 @@ public class WorkflowResponse {
     
     private Long executionTimeMs;
     
+    private LocalDateTime deadline;
+    
+    // Some task was dispatched with negative slack (estimated to miss the deadline)
+    private Boolean deadlineAtRisk;
+    
+    private Boolean deadlineMissed;
+    
     private List<TaskStatusDTO> tasks;
 }
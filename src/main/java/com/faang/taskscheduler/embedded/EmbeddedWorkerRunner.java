@@ -0,0 +1,70 @@
+package com.faang.taskscheduler.embedded;
+
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.service.WorkerService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer loop for embedded mode: feeds the in-process queue to the local worker,
+ * in place of the Kafka listener container.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${task-scheduler.queue.transport:kafka}' == 'in-memory' && ${task-scheduler.worker.enabled:false}")
+public class EmbeddedWorkerRunner {
+    
+    private final InMemoryTaskQueue taskQueue;
+    private final WorkerService workerService;
+    
+    @Value("${task-scheduler.worker.max-concurrent-tasks:10}")
+    private int consumers;
+    
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int i = 0; i < consumers; i++) {
+            Thread thread = new Thread(this::consume, "embedded-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Embedded worker consumers started: {}", consumers);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+    
+    private void consume() {
+        while (running) {
+            try {
+                TaskMessage message = taskQueue.poll(1, TimeUnit.SECONDS);
+                if (message != null) {
+                    workerService.handle(message, () -> { });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Embedded worker failed to process message", e);
+            }
+        }
+    }
+}
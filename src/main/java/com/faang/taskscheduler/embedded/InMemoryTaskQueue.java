@@ -0,0 +1,132 @@
+package com.faang.taskscheduler.embedded;
+
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.metrics.QueueMetrics;
+import com.faang.taskscheduler.model.TaskPriority;
+import com.faang.taskscheduler.service.TaskQueueProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process task queue for embedded (single JVM) mode, replacing Kafka.
+ * 
+ * FAANG Interview Points:
+ * - Lock-free priority queue: ConcurrentSkipListMap keyed by (priority, sequence),
+ *   so higher priority first and FIFO within a priority, with CAS-only inserts/polls
+ * - A semaphore counts available messages so idle consumers park instead of spinning
+ * - Bounded: sends fail when full, and the outbox relay retries them later (backpressure)
+ * - Zero serialization and zero network hops between scheduler and workers
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.queue.transport", havingValue = "in-memory")
+public class InMemoryTaskQueue implements TaskQueueProducer {
+    
+    private static final int SEQUENCE_BITS = 56;
+    
+    private final ConcurrentSkipListMap<Long, TaskMessage> queue = new ConcurrentSkipListMap<>();
+    private final Semaphore available = new Semaphore(0);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentLinkedQueue<TaskMessage> deadLetters = new ConcurrentLinkedQueue<>();
+    private final QueueMetrics queueMetrics;
+    
+    @Value("${task-scheduler.embedded.queue-capacity:100000}")
+    private int capacity;
+    
+    @Override
+    public CompletableFuture<Void> sendTask(TaskMessage taskMessage) {
+        CompletableFuture<Void> result = enqueue(taskMessage);
+        if (result.isCompletedExceptionally()) {
+            sendToDeadLetterQueue(taskMessage);
+        }
+        return result;
+    }
+    
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(List<TaskMessage> taskMessages) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(taskMessages.size());
+        for (TaskMessage taskMessage : taskMessages) {
+            futures.add(enqueue(taskMessage));
+        }
+        return futures;
+    }
+    
+    @Override
+    public void sendToDeadLetterQueue(TaskMessage taskMessage) {
+        log.warn("Sending task to dead letter queue: taskId={}", taskMessage.getTaskId());
+        deadLetters.add(taskMessage);
+        queueMetrics.deadLettered();
+    }
+    
+    /**
+     * Single queue, no partitions: the key is ignored
+     */
+    @Override
+    public CompletableFuture<Void> sendTaskToPartition(TaskMessage taskMessage, String partitionKey) {
+        return enqueue(taskMessage);
+    }
+    
+    @Override
+    public long backlog() {
+        return size.get();
+    }
+    
+    /**
+     * Next message by priority, waiting up to the timeout
+     * 
+     * @return the message, or null on timeout
+     */
+    public TaskMessage poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!available.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        // A permit is released only after its entry is inserted, so this never returns null
+        Map.Entry<Long, TaskMessage> head = queue.pollFirstEntry();
+        size.decrementAndGet();
+        return head.getValue();
+    }
+    
+    public List<TaskMessage> getDeadLetters() {
+        return List.copyOf(deadLetters);
+    }
+    
+    private CompletableFuture<Void> enqueue(TaskMessage taskMessage) {
+        long start = System.nanoTime();
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            queueMetrics.recordSend(start, false);
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Task queue full (capacity " + capacity + ")"));
+        }
+        
+        queue.put(orderKey(taskMessage), taskMessage);
+        available.release();
+        queueMetrics.recordSend(start, true);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    /**
+     * Ascending key order = dispatch order: highest priority level first, then FIFO
+     */
+    private long orderKey(TaskMessage taskMessage) {
+        TaskPriority priority = taskMessage.getPriority() != null ? taskMessage.getPriority() : TaskPriority.MEDIUM;
+        long inversePriority = TaskPriority.CRITICAL.getLevel() - priority.getLevel();
+        return (inversePriority << SEQUENCE_BITS) | sequence.getAndIncrement();
+    }
+}
@@ -0,0 +1,200 @@
+package com.faang.taskscheduler.embedded;
+
+import com.faang.taskscheduler.metrics.LockMetrics;
+import com.faang.taskscheduler.service.DistributedLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * In-process lock service for embedded (single JVM) mode, replacing Redis locks.
+ * 
+ * FAANG Interview Points:
+ * - One lease entry per key in a ConcurrentHashMap: acquire/release are atomic
+ *   per-bin updates (the map's own lock striping), no global lock and no false
+ *   contention between different keys
+ * - Same semantics as the Redis locks: reentrant per owner, lease expiry for
+ *   executeWithLock, no expiry for task locks (tryLock, async; the watchdog's
+ *   counterpart in one JVM), synthetic owners for async callers so any thread can release
+ * - Waiters back off exponentially (1us..1ms) instead of queueing on a monitor
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.mode", havingValue = "embedded")
+public class LocalLockService implements DistributedLockService {
+    
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    
+    // Negative ids never clash with thread ids
+    private final AtomicLong asyncOwnerIds = new AtomicLong();
+    
+    private final LockMetrics lockMetrics;
+    
+    @Value("${task-scheduler.lock.wait-time-ms:5000}")
+    private long waitTime;
+    
+    @Value("${task-scheduler.lock.lease-time-ms:30000}")
+    private long leaseTime;
+    
+    /**
+     * @param expires false while held until released (task locks)
+     */
+    private record Lease(long owner, int holds, boolean expires, long expiresAtNanos) {
+        
+        boolean isExpired(long now) {
+            return expires && expiresAtNanos - now <= 0;
+        }
+    }
+    
+    @Override
+    public <T> T executeWithLock(String lockKey, Supplier<T> action) {
+        long owner = Thread.currentThread().getId();
+        long start = System.nanoTime();
+        try {
+            boolean acquired = acquire(lockKey, owner, TimeUnit.MILLISECONDS.toNanos(waitTime), true);
+            lockMetrics.recordWait(LockMetrics.BLOCKING, start, acquired);
+            if (!acquired) {
+                log.warn("Failed to acquire lock: {}", lockKey);
+                throw new RuntimeException("Could not acquire lock: " + lockKey);
+            }
+        } catch (InterruptedException e) {
+            lockMetrics.recordWait(LockMetrics.BLOCKING, start, false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lock acquisition interrupted: " + lockKey, e);
+        }
+        
+        long acquiredAt = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            release(lockKey, owner);
+            lockMetrics.recordHold(LockMetrics.BLOCKING, acquiredAt);
+        }
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<CompletableFuture<T>> action) {
+        long owner = -asyncOwnerIds.incrementAndGet();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTime);
+        
+        return acquireAsync(lockKey, owner, deadline, 1_000, false)
+            .thenCompose(acquired -> {
+                lockMetrics.recordWait(LockMetrics.ASYNC, start, acquired);
+                if (!acquired) {
+                    log.warn("Failed to acquire lock: {}", lockKey);
+                    return CompletableFuture.<T>failedFuture(
+                        new RuntimeException("Could not acquire lock: " + lockKey));
+                }
+                
+                long acquiredAt = System.nanoTime();
+                CompletableFuture<T> result;
+                try {
+                    result = action.get();
+                } catch (RuntimeException e) {
+                    result = CompletableFuture.failedFuture(e);
+                }
+                return result.whenComplete((value, ex) -> {
+                    release(lockKey, owner);
+                    lockMetrics.recordHold(LockMetrics.ASYNC, acquiredAt);
+                });
+            });
+    }
+    
+    @Override
+    public boolean tryLock(String lockKey) {
+        long start = System.nanoTime();
+        boolean acquired = tryAcquire(lockKey, Thread.currentThread().getId(), false);
+        lockMetrics.recordWait(LockMetrics.TRY, start, acquired);
+        if (acquired) {
+            lockMetrics.tryLockAcquired(lockKey);
+        }
+        return acquired;
+    }
+    
+    @Override
+    public void unlock(String lockKey) {
+        release(lockKey, Thread.currentThread().getId());
+        lockMetrics.tryLockReleased(lockKey);
+    }
+    
+    @Override
+    public boolean isLocked(String lockKey) {
+        Lease lease = leases.get(lockKey);
+        return lease != null && !lease.isExpired(System.nanoTime());
+    }
+    
+    private boolean tryAcquire(String lockKey, long owner, boolean expires) {
+        long now = System.nanoTime();
+        long expiresAt = now + TimeUnit.MILLISECONDS.toNanos(leaseTime);
+        
+        Lease lease = leases.compute(lockKey, (key, current) -> {
+            if (current == null || current.isExpired(now)) {
+                return new Lease(owner, 1, expires, expiresAt);
+            }
+            if (current.owner() == owner) {
+                // Held until released if either acquisition asked for it
+                return new Lease(owner, current.holds() + 1, current.expires() && expires, expiresAt);
+            }
+            return current;
+        });
+        return lease.owner() == owner;
+    }
+    
+    private boolean acquire(String lockKey, long owner, long waitNanos, boolean expires) 
+            throws InterruptedException {
+        long deadline = System.nanoTime() + waitNanos;
+        long backoff = 1_000;
+        
+        while (!tryAcquire(lockKey, owner, expires)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+    
+    private CompletableFuture<Boolean> acquireAsync(String lockKey, long owner, long deadline, long backoffNanos, 
+                                                    boolean expires) {
+        if (tryAcquire(lockKey, owner, expires)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (System.nanoTime() - deadline >= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        Executor delayed = CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS);
+        long nextBackoff = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+        return CompletableFuture.supplyAsync(() -> null, delayed)
+            .thenCompose(ignored -> acquireAsync(lockKey, owner, deadline, nextBackoff, expires));
+    }
+    
+    private void release(String lockKey, long owner) {
+        leases.computeIfPresent(lockKey, (key, current) -> {
+            if (current.owner() != owner) {
+                return current;
+            }
+            return current.holds() > 1 
+                ? new Lease(owner, current.holds() - 1, current.expires(), current.expiresAtNanos()) 
+                : null;
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.faang.taskscheduler.estimation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Mergeable quantile sketch for durations (DDSketch-style, logarithmic buckets).
+ * 
+ * FAANG Interview Points:
+ * - Relative-error guarantee: every quantile is within ±alpha of the true value
+ * - Fixed small footprint (a few hundred buckets cover 1ms .. hours)
+ * - Merge = add bucket counts, so per-worker sketches combine exactly into cluster views
+ * 
+ * Not thread-safe; callers synchronize.
+ */
+public final class DurationSketch {
+    
+    private static final double DEFAULT_RELATIVE_ACCURACY = 0.02;
+    
+    private final double relativeAccuracy;
+    private final double logGamma;
+    
+    // counts[i] holds values in bucket (offset + i)
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+    private double sum;
+    
+    public DurationSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+    
+    public DurationSketch(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+    
+    /**
+     * Record one duration in milliseconds (values below 1ms are recorded as 1ms)
+     */
+    public void add(double valueMs) {
+        int index = bucketIndex(Math.max(1.0, valueMs));
+        ensureCapacity(index, index);
+        counts[index - offset]++;
+        count++;
+        sum += valueMs;
+    }
+    
+    /**
+     * Add all samples of another sketch (must use the same relative accuracy)
+     */
+    public void merge(DurationSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+    }
+    
+    /**
+     * Value at quantile q (0..1); NaN when empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return bucketValue(offset + i);
+            }
+        }
+        return bucketValue(offset + counts.length - 1);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+    
+    public DurationSketch copy() {
+        DurationSketch copy = new DurationSketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+    
+    /**
+     * Compact base64 form for persistence: accuracy, offset, count, sum, bucket counts
+     */
+    public String serialize() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 8 + 8 + 4 + counts.length * 8);
+        buffer.putDouble(relativeAccuracy);
+        buffer.putInt(offset);
+        buffer.putLong(count);
+        buffer.putDouble(sum);
+        buffer.putInt(counts.length);
+        for (long c : counts) {
+            buffer.putLong(c);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+    
+    public static DurationSketch deserialize(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        DurationSketch sketch = new DurationSketch(buffer.getDouble());
+        sketch.offset = buffer.getInt();
+        sketch.count = buffer.getLong();
+        sketch.sum = buffer.getDouble();
+        sketch.counts = new long[buffer.getInt()];
+        for (int i = 0; i < sketch.counts.length; i++) {
+            sketch.counts[i] = buffer.getLong();
+        }
+        return sketch;
+    }
+    
+    private int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+    
+    /**
+     * Representative value of a bucket: 2 * gamma^i / (gamma + 1), within alpha of any value in it
+     */
+    private double bucketValue(int index) {
+        double gamma = Math.exp(logGamma);
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+    
+    private void ensureCapacity(int minIndex, int maxIndex) {
+        if (counts.length == 0) {
+            offset = minIndex;
+            counts = new long[maxIndex - minIndex + 1];
+            return;
+        }
+        int currentMax = offset + counts.length - 1;
+        if (minIndex >= offset && maxIndex <= currentMax) {
+            return;
+        }
+        int newOffset = Math.min(offset, minIndex);
+        int newMax = Math.max(currentMax, maxIndex);
+        long[] grown = new long[newMax - newOffset + 1];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+    
+    @Override
+    public String toString() {
+        return "DurationSketch{count=" + count + ", p50=" + quantile(0.5) + ", p99=" + quantile(0.99) 
+            + ", buckets=" + Arrays.stream(counts).filter(c -> c > 0).count() + "}";
+    }
+}
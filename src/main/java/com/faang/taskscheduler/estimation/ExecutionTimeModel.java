@@ -0,0 +1,244 @@
+package com.faang.taskscheduler.estimation;
+
+import com.faang.taskscheduler.model.TaskDurationStats;
+import com.faang.taskscheduler.repository.TaskDurationStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Learned execution time model: duration distributions per task type, worker and input size.
+ * 
+ * FAANG Interview Points:
+ * - Replaces static per-executor constants with observed quantiles
+ * - Input size feature (e.g. pixel count) bucketed by powers of two
+ * - Workers record locally and flush deltas; every node periodically rebuilds
+ *   merged cluster views from the persisted sketches
+ * - Falls back gracefully (size class -> type -> caller default) while data is sparse
+ * 
+ * Used for HEFT ranking (via TaskExecutorRegistry), per-worker comparisons and timeouts.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutionTimeModel {
+    
+    public static final int UNKNOWN_SIZE_CLASS = -1;
+    
+    private final TaskDurationStatsRepository statsRepository;
+    
+    @Value("${task-scheduler.estimation.min-samples:20}")
+    private long minSamples;
+    
+    @Value("${task-scheduler.estimation.timeout-quantile:0.99}")
+    private double timeoutQuantile;
+    
+    @Value("${task-scheduler.estimation.timeout-multiplier:3.0}")
+    private double timeoutMultiplier;
+    
+    @Value("${task-scheduler.estimation.min-timeout-ms:10000}")
+    private long minTimeoutMs;
+    
+    @Value("${task-scheduler.estimation.max-timeout-ms:1800000}")
+    private long maxTimeoutMs;
+    
+    @Value("${task-scheduler.worker.task-timeout-ms:300000}")
+    private long defaultTimeoutMs;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Recorded here but not yet flushed: (type|worker|sizeClass) -> delta
+    private Map<String, PendingDelta> pending = new HashMap<>();
+    
+    // Merged views, rebuilt on refresh
+    private Map<String, DurationSketch> byTypeAndSize = new HashMap<>();
+    private Map<String, DurationSketch> byTypeAndWorker = new HashMap<>();
+    private Map<String, DurationSketch> byType = new HashMap<>();
+    
+    /**
+     * Record a successful execution
+     * 
+     * @param inputSize Executor-reported input size, or negative if unknown
+     */
+    public void record(String taskType, String workerId, long inputSize, long durationMs) {
+        int sizeClass = sizeClass(inputSize);
+        lock.lock();
+        try {
+            pending.computeIfAbsent(statsId(taskType, workerId, sizeClass), 
+                    id -> new PendingDelta(taskType, workerId, sizeClass, new DurationSketch()))
+                .sketch().add(durationMs);
+            
+            byTypeAndSize.computeIfAbsent(taskType + "|" + sizeClass, k -> new DurationSketch()).add(durationMs);
+            byTypeAndWorker.computeIfAbsent(taskType + "|" + workerId, k -> new DurationSketch()).add(durationMs);
+            byType.computeIfAbsent(taskType, k -> new DurationSketch()).add(durationMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Estimated duration at the given quantile for a task type and input size
+     */
+    public OptionalLong estimate(String taskType, long inputSize, double quantile) {
+        lock.lock();
+        try {
+            DurationSketch sized = byTypeAndSize.get(taskType + "|" + sizeClass(inputSize));
+            if (sized != null && sized.getCount() >= minSamples) {
+                return OptionalLong.of(Math.round(sized.quantile(quantile)));
+            }
+            DurationSketch all = byType.get(taskType);
+            if (all != null && all.getCount() >= minSamples) {
+                return OptionalLong.of(Math.round(all.quantile(quantile)));
+            }
+            return OptionalLong.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Estimated duration at the given quantile for a task type on a specific worker
+     */
+    public OptionalLong estimateForWorker(String taskType, String workerId, double quantile) {
+        lock.lock();
+        try {
+            DurationSketch sketch = byTypeAndWorker.get(taskType + "|" + workerId);
+            if (sketch != null && sketch.getCount() >= minSamples) {
+                return OptionalLong.of(Math.round(sketch.quantile(quantile)));
+            }
+            return OptionalLong.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Execution timeout: a multiple of the tail estimate, clamped; the static
+     * task-timeout-ms is used only until enough samples exist
+     */
+    public long timeoutMs(String taskType, long inputSize) {
+        OptionalLong tail = estimate(taskType, inputSize, timeoutQuantile);
+        if (tail.isEmpty()) {
+            return defaultTimeoutMs;
+        }
+        long timeout = (long) (tail.getAsLong() * timeoutMultiplier);
+        return Math.max(minTimeoutMs, Math.min(maxTimeoutMs, timeout));
+    }
+    
+    /**
+     * Persist locally recorded samples (merged into this node's rows)
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.estimation.flush-interval-ms:10000}")
+    public void flush() {
+        Map<String, PendingDelta> toFlush;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            toFlush = pending;
+            pending = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        
+        for (Map.Entry<String, PendingDelta> entry : toFlush.entrySet()) {
+            PendingDelta delta = entry.getValue();
+            try {
+                TaskDurationStats stats = statsRepository.findById(entry.getKey())
+                    .orElseGet(() -> TaskDurationStats.builder()
+                        .id(entry.getKey())
+                        .taskType(delta.taskType())
+                        .workerId(delta.workerId())
+                        .sizeClass(delta.sizeClass())
+                        .sketch(new DurationSketch().serialize())
+                        .build());
+                
+                DurationSketch merged = DurationSketch.deserialize(stats.getSketch());
+                merged.merge(delta.sketch());
+                stats.setSketch(merged.serialize());
+                stats.setSampleCount(merged.getCount());
+                statsRepository.save(stats);
+                
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush duration stats {}, will retry: {}", entry.getKey(), e.getMessage());
+                requeue(entry.getKey(), delta);
+            }
+        }
+    }
+    
+    /**
+     * Rebuild merged views from all persisted sketches plus unflushed local samples
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.estimation.refresh-interval-ms:30000}")
+    public void refresh() {
+        Map<String, DurationSketch> sized = new HashMap<>();
+        Map<String, DurationSketch> perWorker = new HashMap<>();
+        Map<String, DurationSketch> perType = new HashMap<>();
+        
+        try {
+            for (TaskDurationStats stats : statsRepository.findAll()) {
+                DurationSketch sketch = DurationSketch.deserialize(stats.getSketch());
+                mergeInto(sized, stats.getTaskType() + "|" + stats.getSizeClass(), sketch);
+                mergeInto(perWorker, stats.getTaskType() + "|" + stats.getWorkerId(), sketch);
+                mergeInto(perType, stats.getTaskType(), sketch);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh execution time model: {}", e.getMessage());
+            return;
+        }
+        
+        lock.lock();
+        try {
+            for (PendingDelta delta : pending.values()) {
+                mergeInto(sized, delta.taskType() + "|" + delta.sizeClass(), delta.sketch());
+                mergeInto(perWorker, delta.taskType() + "|" + delta.workerId(), delta.sketch());
+                mergeInto(perType, delta.taskType(), delta.sketch());
+            }
+            byTypeAndSize = sized;
+            byTypeAndWorker = perWorker;
+            byType = perType;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Input size bucket: floor(log2(size)), or UNKNOWN_SIZE_CLASS
+     */
+    public static int sizeClass(long inputSize) {
+        if (inputSize <= 0) {
+            return UNKNOWN_SIZE_CLASS;
+        }
+        return 63 - Long.numberOfLeadingZeros(inputSize);
+    }
+    
+    private void requeue(String id, PendingDelta delta) {
+        lock.lock();
+        try {
+            pending.merge(id, delta, (current, failed) -> {
+                current.sketch().merge(failed.sketch());
+                return current;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static void mergeInto(Map<String, DurationSketch> target, String key, DurationSketch sketch) {
+        target.computeIfAbsent(key, k -> new DurationSketch()).merge(sketch);
+    }
+    
+    private static String statsId(String taskType, String workerId, int sizeClass) {
+        return taskType + "|" + workerId + "|" + sizeClass;
+    }
+    
+    private record PendingDelta(String taskType, String workerId, int sizeClass, DurationSketch sketch) {}
+}
@@ -0,0 +1,18 @@
+package com.faang.taskscheduler.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when admission control sheds a request.
+ * Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
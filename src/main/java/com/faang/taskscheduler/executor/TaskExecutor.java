@@ -40,4 +40,20 @@ public interface TaskExecutor {
     default long estimateExecutionTime(Map<String, Object> parameters) {
         return 10000; // Default 10 seconds
     }
+    
+    /**
+     * Size feature of the task input (e.g. pixel count), used by the learned
+     * execution time model; negative if unknown or not applicable
+     */
+    default long inputSize(Map<String, Object> parameters) {
+        return -1;
+    }
+    
+    /**
+     * Whether execution mostly waits on the network or disk rather than the CPU;
+     * the staged worker runs such tasks on its I/O stage instead of the compute pool
+     */
+    default boolean isIoBound() {
+        return false;
+    }
 }
@@ -0,0 +1,62 @@
+package com.faang.taskscheduler.executor;
+
+import com.faang.taskscheduler.estimation.ExecutionTimeModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lookup of TaskExecutor beans by task type.
+ * Every executor on the classpath registers itself by being a Spring component.
+ * Execution time estimates prefer the learned model over each executor's static guess.
+ */
+@Component
+@Slf4j
+public class TaskExecutorRegistry {
+    
+    private static final double ESTIMATE_QUANTILE = 0.5;
+    
+    private final Map<String, TaskExecutor> executors;
+    private final ExecutionTimeModel executionTimeModel;
+    
+    public TaskExecutorRegistry(List<TaskExecutor> executors, ExecutionTimeModel executionTimeModel) {
+        this.executionTimeModel = executionTimeModel;
+        this.executors = Collections.unmodifiableMap(executors.stream()
+            .collect(Collectors.toMap(TaskExecutor::getTaskType, Function.identity())));
+        log.info("Registered task executors: {}", this.executors.keySet());
+    }
+    
+    public Optional<TaskExecutor> find(String taskType) {
+        return Optional.ofNullable(executors.get(taskType));
+    }
+    
+    public TaskExecutor get(String taskType) {
+        return find(taskType)
+            .orElseThrow(() -> new IllegalArgumentException("No executor registered for task type: " + taskType));
+    }
+    
+    public boolean supports(String taskType) {
+        return executors.containsKey(taskType);
+    }
+    
+    public Set<String> getTaskTypes() {
+        return executors.keySet();
+    }
+    
+    /**
+     * Median execution time (ms) learned for this type and input size,
+     * falling back to the executor's static estimate while samples are sparse
+     */
+    public long estimateExecutionTime(String taskType, Map<String, Object> parameters) {
+        TaskExecutor executor = get(taskType);
+        return executionTimeModel.estimate(taskType, executor.inputSize(parameters), ESTIMATE_QUANTILE)
+            .orElseGet(() -> executor.estimateExecutionTime(parameters));
+    }
+}
@@ -0,0 +1,132 @@
+package com.faang.taskscheduler.executor.impl;
+
+import javax.imageio.stream.ImageOutputStreamImpl;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * In-memory image stream over a pooled direct buffer, readable and writable at any position.
+ * ImageIO readers and writers use it as-is, without the cache copies (or temp files) of
+ * ImageIO.createImageInputStream / createImageOutputStream. Grows into the next size class
+ * when full; close() returns the buffer to the pool.
+ */
+final class DirectImageStream extends ImageOutputStreamImpl {
+    
+    private static final int COPY_CHUNK = 8192;
+    
+    private final ImageBufferPool pool;
+    private ImageBufferPool.Lease<ByteBuffer> lease;
+    private int length;
+    
+    DirectImageStream(ImageBufferPool pool, int initialCapacity) {
+        this.pool = pool;
+        this.lease = pool.encodedBytes(initialCapacity);
+    }
+    
+    /**
+     * Append everything the input yields (the input is not closed)
+     */
+    void writeFrom(InputStream input) throws IOException {
+        byte[] chunk = new byte[COPY_CHUNK];
+        int count;
+        while ((count = input.read(chunk)) != -1) {
+            write(chunk, 0, count);
+        }
+    }
+    
+    /**
+     * Copy the whole content to the output, leaving the stream positioned at the end
+     */
+    void writeTo(OutputStream output) throws IOException {
+        byte[] chunk = new byte[COPY_CHUNK];
+        seek(0);
+        int count;
+        while ((count = read(chunk)) != -1) {
+            output.write(chunk, 0, count);
+        }
+    }
+    
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (streamPos >= length) {
+            return -1;
+        }
+        return lease.buffer().get((int) streamPos++) & 0xff;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        Objects.checkFromIndexSize(off, len, b.length);
+        bitOffset = 0;
+        if (len == 0) {
+            return 0;
+        }
+        if (streamPos >= length) {
+            return -1;
+        }
+        int count = (int) Math.min(len, length - streamPos);
+        lease.buffer().get((int) streamPos, b, off, count);
+        streamPos += count;
+        return count;
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        checkClosed();
+        flushBits();
+        ensureCapacity(streamPos + 1);
+        lease.buffer().put((int) streamPos++, (byte) b);
+        length = (int) Math.max(length, streamPos);
+    }
+    
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        Objects.checkFromIndexSize(off, len, b.length);
+        flushBits();
+        ensureCapacity(streamPos + len);
+        lease.buffer().put((int) streamPos, b, off, len);
+        streamPos += len;
+        length = (int) Math.max(length, streamPos);
+    }
+    
+    @Override
+    public long length() {
+        return length;
+    }
+    
+    /**
+     * Nothing to flush, and keeping every position seekable lets a reader be retried from the start
+     */
+    @Override
+    public void flushBefore(long pos) {
+    }
+    
+    @Override
+    public void close() throws IOException {
+        super.close();
+        lease.close();
+    }
+    
+    private void ensureCapacity(long required) throws IOException {
+        int capacity = lease.buffer().capacity();
+        if (required <= capacity) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IOException("Encoded image larger than 2 GB");
+        }
+        
+        ImageBufferPool.Lease<ByteBuffer> grown = pool.encodedBytes(
+            (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, 2L * capacity)));
+        grown.buffer().put(0, lease.buffer(), 0, length);
+        lease.close();
+        lease = grown;
+    }
+}
@@ -0,0 +1,361 @@
+package com.faang.taskscheduler.executor.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Size-classed pool of the large buffers an image step needs: pixel rasters, encoded
+ * image bytes and base64 text.
+ *
+ * FAANG Interview Points:
+ * - Power-of-two size classes: a buffer serves any request up to its capacity, so a handful
+ *   of classes covers every image size and steady state allocates nothing large
+ * - Pixels live in pooled byte[] wrapped as TYPE_3BYTE_BGR images, the JPEG codec's own
+ *   layout (TYPE_INT_RGB makes ImageIO convert every scanline, 4x the garbage on decode
+ *   and encode); encoded bytes in direct ByteBuffers, off the heap and out of G1's
+ *   humongous regions
+ * - Bounded per size class and in total retained bytes; beyond that buffers are left to GC
+ * - Leases are AutoCloseable; with leak detection on, a lease that becomes unreachable
+ *   without close() is reported with the stack trace of where it was acquired
+ */
+@Slf4j
+@Component
+public class ImageBufferPool implements MeterBinder {
+    
+    // Classes of 64 KB (2^16) up to 256 MB (2^28); smaller requests round up, larger are not pooled
+    private static final int MIN_CLASS = 16;
+    private static final int MAX_CLASS = 28;
+    
+    private static final int[] BGR_OFFSETS = {2, 1, 0};
+    private static final ComponentColorModel BGR = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+        new int[] {8, 8, 8}, false, false, Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+    private static final int[] YCC_OFFSETS = {0, 1, 2};
+    private static final ComponentColorModel YCC = new ComponentColorModel(new JfifYCbCr(),
+        new int[] {8, 8, 8}, false, false, Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+    
+    private static final Cleaner CLEANER = Cleaner.create();
+    
+    private final int maxPerSizeClass;
+    private final long maxRetainedMb;
+    private final boolean leakDetection;
+    
+    // Rasters and base64 text share the heap pool; encoded bytes have their own, off-heap
+    private final Pool<byte[]> heap;
+    private final Pool<ByteBuffer> direct;
+    
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    
+    /**
+     * Default limits, leak detection off (simulator and benchmarks)
+     */
+    public ImageBufferPool() {
+        this(8, 512, false);
+    }
+    
+    @Autowired
+    public ImageBufferPool(
+            @Value("${task-scheduler.image.buffer-pool.max-per-size-class:8}") int maxPerSizeClass,
+            @Value("${task-scheduler.image.buffer-pool.max-retained-mb:512}") long maxRetainedMb,
+            @Value("${task-scheduler.image.buffer-pool.leak-detection:false}") boolean leakDetection) {
+        this.maxPerSizeClass = maxPerSizeClass;
+        this.maxRetainedMb = maxRetainedMb;
+        this.leakDetection = leakDetection;
+        this.heap = new Pool<>(byte[]::new, array -> array.length);
+        this.direct = new Pool<>(ByteBuffer::allocateDirect, ByteBuffer::capacity);
+    }
+    
+    /**
+     * A TYPE_3BYTE_BGR image of exactly width x height over a pooled raster, all pixels black
+     */
+    public PooledImage image(int width, int height) {
+        return image(width, height, BGR_OFFSETS, BGR);
+    }
+    
+    /**
+     * A JFIF YCbCr image (Y, Cb, Cr bytes per pixel) of exactly width x height over a pooled
+     * raster, all bytes zero. The JPEG writer encodes its samples as-is, skipping colour conversion.
+     */
+    public PooledImage yCbCrImage(int width, int height) {
+        return image(width, height, YCC_OFFSETS, YCC);
+    }
+    
+    private PooledImage image(int width, int height, int[] bandOffsets, ComponentColorModel colorModel) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image dimensions: " + width + "x" + height);
+        }
+        long bytes = 3L * width * height;
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Image too large: " + width + "x" + height);
+        }
+        
+        Lease<byte[]> lease = heap.acquire((int) bytes);
+        Arrays.fill(lease.buffer(), 0, (int) bytes, (byte) 0);
+        DataBufferByte data = new DataBufferByte(lease.buffer(), (int) bytes);
+        WritableRaster raster = Raster.createInterleavedRaster(data, width, height, 3 * width, 3, bandOffsets, null);
+        return new PooledImage(new BufferedImage(colorModel, raster, false, null), lease);
+    }
+    
+    /**
+     * Direct buffer of at least the given capacity for encoded image bytes (position 0, limit = capacity)
+     */
+    public Lease<ByteBuffer> encodedBytes(int minCapacity) {
+        Lease<ByteBuffer> lease = direct.acquire(minCapacity);
+        lease.buffer().clear();
+        return lease;
+    }
+    
+    /**
+     * Heap buffer of at least the given length for base64 text (a String can only be built from the heap)
+     */
+    public Lease<byte[]> textBytes(int minLength) {
+        return heap.acquire(minLength);
+    }
+    
+    /**
+     * Leases acquired and not yet closed
+     */
+    public long outstanding() {
+        return outstanding.get();
+    }
+    
+    /**
+     * Leases found unreachable without close() (only counted with leak detection on)
+     */
+    public long leaks() {
+        return leaks.get();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task_scheduler.image.buffers.retained", retainedBytes, AtomicLong::get)
+            .description("Bytes held idle in the image buffer pool")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("task_scheduler.image.buffers.outstanding", outstanding, AtomicLong::get)
+            .description("Image buffers currently leased")
+            .register(registry);
+        FunctionCounter.builder("task_scheduler.image.buffers.acquired", hits, AtomicLong::get)
+            .description("Image buffer requests served from the pool (hit) or by a new allocation (miss)")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("task_scheduler.image.buffers.acquired", misses, AtomicLong::get)
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("task_scheduler.image.buffers.leaked", leaks, AtomicLong::get)
+            .description("Image buffer leases garbage collected without being closed")
+            .register(registry);
+    }
+    
+    /**
+     * Borrowed buffer; close() returns it to the pool and must be called exactly once
+     * (later calls are ignored), after which the buffer must no longer be used
+     */
+    public final class Lease<T> implements AutoCloseable {
+        
+        private final T buffer;
+        private final Pool<T> pool;
+        private final LeakTracker tracker;
+        private final Cleaner.Cleanable cleanable;
+        private boolean closed;
+        
+        private Lease(T buffer, Pool<T> pool) {
+            this.buffer = buffer;
+            this.pool = pool;
+            outstanding.incrementAndGet();
+            if (leakDetection) {
+                this.tracker = new LeakTracker(new Throwable("Image buffer acquired here"));
+                this.cleanable = CLEANER.register(this, tracker);
+            } else {
+                this.tracker = null;
+                this.cleanable = null;
+            }
+        }
+        
+        public T buffer() {
+            return buffer;
+        }
+        
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            outstanding.decrementAndGet();
+            if (tracker != null) {
+                tracker.released = true;
+                cleanable.clean();
+            }
+            pool.release(buffer);
+        }
+    }
+    
+    /**
+     * Pooled image; closing it returns its raster
+     */
+    public static final class PooledImage implements AutoCloseable {
+        
+        private final BufferedImage image;
+        private final Lease<byte[]> lease;
+        
+        private PooledImage(BufferedImage image, Lease<byte[]> lease) {
+            this.image = image;
+            this.lease = lease;
+        }
+        
+        public BufferedImage image() {
+            return image;
+        }
+        
+        @Override
+        public void close() {
+            lease.close();
+        }
+    }
+    
+    /**
+     * Cleaner action; must not reference the lease, or the lease could never become unreachable
+     */
+    private final class LeakTracker implements Runnable {
+        
+        private final Throwable acquiredAt;
+        private volatile boolean released;
+        
+        private LeakTracker(Throwable acquiredAt) {
+            this.acquiredAt = acquiredAt;
+        }
+        
+        @Override
+        public void run() {
+            if (!released) {
+                outstanding.decrementAndGet();
+                leaks.incrementAndGet();
+                log.error("Image buffer leaked: lease garbage collected without close()", acquiredAt);
+            }
+        }
+    }
+    
+    /**
+     * One kind of byte buffer, a bounded free list per size class
+     */
+    private final class Pool<T> {
+        
+        private final IntFunction<T> allocator;
+        private final ToIntFunction<T> capacity;
+        private final ArrayBlockingQueue<T>[] free;
+        
+        @SuppressWarnings("unchecked")
+        private Pool(IntFunction<T> allocator, ToIntFunction<T> capacity) {
+            this.allocator = allocator;
+            this.capacity = capacity;
+            // Created up front (13 small queues) so acquire and release never race on a lazy slot
+            this.free = new ArrayBlockingQueue[MAX_CLASS + 1];
+            for (int sizeClass = MIN_CLASS; sizeClass <= MAX_CLASS; sizeClass++) {
+                free[sizeClass] = new ArrayBlockingQueue<>(maxPerSizeClass);
+            }
+        }
+        
+        private Lease<T> acquire(int minCapacity) {
+            int sizeClass = sizeClass(minCapacity);
+            if (sizeClass > MAX_CLASS) {
+                misses.incrementAndGet();
+                return new Lease<>(allocator.apply(minCapacity), this);
+            }
+            
+            T buffer = free[sizeClass].poll();
+            if (buffer != null) {
+                retainedBytes.addAndGet(-capacity.applyAsInt(buffer));
+                hits.incrementAndGet();
+            } else {
+                buffer = allocator.apply(1 << sizeClass);
+                misses.incrementAndGet();
+            }
+            return new Lease<>(buffer, this);
+        }
+        
+        private void release(T buffer) {
+            int length = capacity.applyAsInt(buffer);
+            if (Integer.bitCount(length) != 1 || sizeClass(length) > MAX_CLASS) {
+                return;
+            }
+            if (retainedBytes.addAndGet(length) > maxRetainedMb << 20 || !free[sizeClass(length)].offer(buffer)) {
+                retainedBytes.addAndGet(-length);
+            }
+        }
+    }
+    
+    /**
+     * Full-range YCbCr as JFIF defines it. Its type tells the JPEG writer the samples need no
+     * conversion; the float conversions are only for Java2D, should such an image be drawn.
+     */
+    private static final class JfifYCbCr extends ColorSpace {
+        
+        private static final ColorSpace SRGB = ColorSpace.getInstance(ColorSpace.CS_sRGB);
+        
+        private JfifYCbCr() {
+            super(ColorSpace.TYPE_YCbCr, 3);
+        }
+        
+        @Override
+        public float[] toRGB(float[] value) {
+            float y = value[0];
+            float cb = value[1] - 0.5f;
+            float cr = value[2] - 0.5f;
+            return new float[] {unit(y + 1.402f * cr), unit(y - 0.34414f * cb - 0.71414f * cr), unit(y + 1.772f * cb)};
+        }
+        
+        @Override
+        public float[] fromRGB(float[] rgb) {
+            float r = rgb[0];
+            float g = rgb[1];
+            float b = rgb[2];
+            return new float[] {unit(0.299f * r + 0.587f * g + 0.114f * b),
+                unit(-0.16874f * r - 0.33126f * g + 0.5f * b + 0.5f),
+                unit(0.5f * r - 0.41869f * g - 0.08131f * b + 0.5f)};
+        }
+        
+        @Override
+        public float[] toCIEXYZ(float[] value) {
+            return SRGB.toCIEXYZ(toRGB(value));
+        }
+        
+        @Override
+        public float[] fromCIEXYZ(float[] xyz) {
+            return fromRGB(SRGB.fromCIEXYZ(xyz));
+        }
+        
+        private static float unit(float value) {
+            return Math.max(0f, Math.min(1f, value));
+        }
+    }
+    
+    private static int sizeClass(int minCapacity) {
+        return Math.max(MIN_CLASS, 32 - Integer.numberOfLeadingZeros(Math.max(1, minCapacity) - 1));
+    }
+}
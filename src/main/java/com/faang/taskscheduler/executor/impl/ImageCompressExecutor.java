@@ -0,0 +1,62 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Re-encodes an image as JPEG at the requested quality (1-100).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ImageCompressExecutor implements TaskExecutor {
+    
+    private final ImageBufferPool bufferPool;
+    private final PixelKernels pixelKernels;
+    
+    @Override
+    public Map<String, Object> execute(Map<String, Object> parameters) throws Exception {
+        int quality = ImageSupport.intParam(parameters, "quality", 85);
+        
+        try (PooledImage image = ImageSupport.decode(parameters, bufferPool)) {
+            ImageSupport.Encoded encoded = ImageSupport.encode(image.image(), quality / 100f, bufferPool, pixelKernels);
+            
+            Map<String, Object> result = ImageSupport.result(image.image(), encoded.base64());
+            result.put("quality", quality);
+            result.put("sizeBytes", encoded.sizeBytes());
+            
+            log.info("Image compressed: quality={}, size={} bytes", quality, encoded.sizeBytes());
+            
+            return result;
+        }
+    }
+    
+    @Override
+    public String getTaskType() {
+        return "IMAGE_COMPRESS";
+    }
+    
+    @Override
+    public void validateParameters(Map<String, Object> parameters) {
+        int quality = ImageSupport.intParam(parameters, "quality", 85);
+        if (quality < 1 || quality > 100) {
+            throw new IllegalArgumentException("quality must be between 1 and 100");
+        }
+    }
+    
+    @Override
+    public long estimateExecutionTime(Map<String, Object> parameters) {
+        return 1500;
+    }
+    
+    @Override
+    public long inputSize(Map<String, Object> parameters) {
+        return ImageSupport.pixelCount(parameters, bufferPool);
+    }
+}
@@ -1,15 +1,14 @@
 package com.faang.taskscheduler.executor.impl;
 
 import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -18,8 +17,12 @@ import java.util.Map;
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class ImageDownloadExecutor implements TaskExecutor {
     
+    private final ImageBufferPool bufferPool;
+    private final PixelKernels pixelKernels;
+    
     @Override
     public Map<String, Object> execute(Map<String, Object> parameters) throws Exception {
         String imageUrl = (String) parameters.get("imageUrl");
@@ -29,29 +32,30 @@ public class ImageDownloadExecutor implements TaskExecutor {
         // Simulate network delay
         Thread.sleep(500);
         
-        // Download image
-        URL url = new URL(imageUrl);
-        BufferedImage image = ImageIO.read(url);
-        
-        if (image == null) {
-            throw new IllegalArgumentException("Invalid image URL or unsupported format");
+        // Download image into a pooled buffer and decode it into a pooled raster
+        try (DirectImageStream bytes = new DirectImageStream(bufferPool, 0)) {
+            try (InputStream input = new URL(imageUrl).openStream()) {
+                bytes.writeFrom(input);
+            }
+            
+            PooledImage image;
+            try {
+                image = ImageSupport.read(bytes, bufferPool);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid image URL or unsupported format", e);
+            }
+            
+            // Convert to base64 for passing to next task
+            try (image) {
+                Map<String, Object> result = ImageSupport.result(image.image(), 
+                    ImageSupport.encode(image.image(), bufferPool, pixelKernels));
+                result.put("downloadedFrom", imageUrl);
+                
+                log.info("Image downloaded successfully: {}x{}", image.image().getWidth(), image.image().getHeight());
+                
+                return result;
+            }
         }
-        
-        // Convert to base64 for passing to next task
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, "jpg", baos);
-        String base64Image = Base64.getEncoder().encodeToString(baos.toByteArray());
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("imageData", base64Image);
-        result.put("width", image.getWidth());
-        result.put("height", image.getHeight());
-        result.put("format", "jpg");
-        result.put("downloadedFrom", imageUrl);
-        
-        log.info("Image downloaded successfully: {}x{}", image.getWidth(), image.getHeight());
-        
-        return result;
     }
     
     @Override
@@ -70,4 +74,9 @@ public class ImageDownloadExecutor implements TaskExecutor {
     public long estimateExecutionTime(Map<String, Object> parameters) {
         return 2000; // 2 seconds
     }
+    
+    @Override
+    public boolean isIoBound() {
+        return true;
+    }
 }
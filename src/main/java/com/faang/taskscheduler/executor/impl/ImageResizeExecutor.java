@@ -0,0 +1,60 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Resizes an image to the requested width/height.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ImageResizeExecutor implements TaskExecutor {
+    
+    private final ImageBufferPool bufferPool;
+    private final PixelKernels pixelKernels;
+    private final ImageScaler imageScaler;
+    
+    @Override
+    public Map<String, Object> execute(Map<String, Object> parameters) throws Exception {
+        int width = ImageSupport.intParam(parameters, "width", 800);
+        int height = ImageSupport.intParam(parameters, "height", 600);
+        
+        try (PooledImage source = ImageSupport.decode(parameters, bufferPool);
+             PooledImage resized = imageScaler.scale(source.image(), width, height)) {
+            log.info("Image resized: {}x{} -> {}x{}", 
+                     source.image().getWidth(), source.image().getHeight(), width, height);
+            
+            return ImageSupport.result(resized.image(), ImageSupport.encode(resized.image(), bufferPool, pixelKernels));
+        }
+    }
+    
+    @Override
+    public String getTaskType() {
+        return "IMAGE_RESIZE";
+    }
+    
+    @Override
+    public void validateParameters(Map<String, Object> parameters) {
+        if (ImageSupport.intParam(parameters, "width", 800) <= 0 
+                || ImageSupport.intParam(parameters, "height", 600) <= 0) {
+            throw new IllegalArgumentException("width and height must be positive");
+        }
+    }
+    
+    @Override
+    public long estimateExecutionTime(Map<String, Object> parameters) {
+        return 1500;
+    }
+    
+    @Override
+    public long inputSize(Map<String, Object> parameters) {
+        return ImageSupport.pixelCount(parameters, bufferPool);
+    }
+}
@@ -0,0 +1,219 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resize for IMAGE_RESIZE and IMAGE_THUMBNAIL: box-filter halvings while the source is at
+ * least twice the target (so a large reduction does not alias), then bilinear interpolation
+ * to the exact size.
+ *
+ * FAANG Interview Points:
+ * - Each pass is split into tiles of output rows that a ForkJoinPool filters in parallel;
+ *   a pass reading fewer than min-pixels stays on the calling thread, where forking
+ *   would cost more than it saves
+ * - Output is bit-identical however the rows are tiled: every output pixel is a pure
+ *   function of its coordinates (integer weights, no state carried along a row), which
+ *   Java2D's drawImage does not guarantee when drawn clipped tile by tile
+ * - Recursive halving of row ranges (RecursiveAction) lets idle threads steal the
+ *   larger halves first, so uneven tiles still finish together
+ * - Dedicated pool, not the common pool: a blocking task elsewhere in the JVM cannot
+ *   stall a resize, and its size is configured on its own (tiling.parallelism)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageScaler {
+    
+    // Sample positions and bilinear weights in 1/256ths of a pixel
+    private static final int WEIGHT_BITS = 8;
+    private static final int WEIGHT_ONE = 1 << WEIGHT_BITS;
+    
+    private final ImageBufferPool bufferPool;
+    private final PixelKernels pixelKernels;
+    
+    @Value("${task-scheduler.image.tiling.parallelism:0}")
+    private int parallelism;
+    
+    @Value("${task-scheduler.image.tiling.min-pixels:16000000}")
+    private long minPixels = 16_000_000;
+    
+    @Value("${task-scheduler.image.tiling.tile-pixels:1048576}")
+    private long tilePixels = 1_048_576;
+    
+    private ForkJoinPool tilePool;
+    
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        tilePool = new ForkJoinPool(threads);
+        log.info("Image tiling: parallelism={}, minPixels={}, tilePixels={}", threads, minPixels, tilePixels);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (tilePool != null) {
+            tilePool.shutdown();
+        }
+    }
+    
+    /**
+     * Scale to exactly width x height, into a pooled image
+     */
+    public PooledImage scale(BufferedImage source, int width, int height) {
+        if (ImageSupport.bgrPixels(source) == null) {
+            try (PooledImage packed = ImageSupport.toRgb(source, bufferPool)) {
+                return scale(packed.image(), width, height);
+            }
+        }
+        
+        PooledImage reduced = null;
+        try {
+            BufferedImage current = source;
+            while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+                PooledImage half = halve(current);
+                if (reduced != null) {
+                    reduced.close();
+                }
+                reduced = half;
+                current = half.image();
+            }
+            return bilinear(current, width, height);
+        } finally {
+            if (reduced != null) {
+                reduced.close();
+            }
+        }
+    }
+    
+    /**
+     * Half-size copy, each pixel the mean of a 2x2 block (an odd last row or column is dropped)
+     */
+    private PooledImage halve(BufferedImage source) {
+        int width = source.getWidth() / 2;
+        int height = source.getHeight() / 2;
+        PooledImage half = bufferPool.image(width, height);
+        byte[] src = ImageSupport.bgrPixels(source);
+        byte[] dst = ImageSupport.bgrPixels(half.image());
+        int stride = 3 * source.getWidth();
+        forEachRows(height, (long) source.getWidth() * source.getHeight(), (from, to) -> {
+            for (int y = from; y < to; y++) {
+                pixelKernels.downsample(src, 2 * y * stride, stride, dst, 3 * width * y, width);
+            }
+        });
+        return half;
+    }
+    
+    /**
+     * Bilinear resample, sampling the source at each target pixel's centre mapped back
+     * ((x + 0.5) * sourceWidth / width - 0.5), clamped at the edges
+     */
+    private PooledImage bilinear(BufferedImage source, int width, int height) {
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        PooledImage target = bufferPool.image(width, height);
+        byte[] src = ImageSupport.bgrPixels(source);
+        byte[] dst = ImageSupport.bgrPixels(target.image());
+        
+        // Per column: byte offsets of the left and right samples, and the right sample's weight
+        int[] left = new int[width];
+        int[] right = new int[width];
+        int[] rightWeight = new int[width];
+        for (int x = 0; x < width; x++) {
+            int sample = sample(x, width, sourceWidth);
+            left[x] = 3 * (sample >> WEIGHT_BITS);
+            right[x] = 3 * Math.min((sample >> WEIGHT_BITS) + 1, sourceWidth - 1);
+            rightWeight[x] = sample & (WEIGHT_ONE - 1);
+        }
+        
+        int stride = 3 * sourceWidth;
+        forEachRows(height, (long) sourceWidth * sourceHeight, (from, to) -> {
+            for (int y = from; y < to; y++) {
+                int sample = sample(y, height, sourceHeight);
+                int top = stride * (sample >> WEIGHT_BITS);
+                int bottom = stride * Math.min((sample >> WEIGHT_BITS) + 1, sourceHeight - 1);
+                int bottomWeight = sample & (WEIGHT_ONE - 1);
+                int topWeight = WEIGHT_ONE - bottomWeight;
+                int out = 3 * width * y;
+                for (int x = 0; x < width; x++) {
+                    int l = left[x];
+                    int r = right[x];
+                    int rw = rightWeight[x];
+                    int lw = WEIGHT_ONE - rw;
+                    for (int c = 0; c < 3; c++) {
+                        int upper = (src[top + l + c] & 0xff) * lw + (src[top + r + c] & 0xff) * rw;
+                        int lower = (src[bottom + l + c] & 0xff) * lw + (src[bottom + r + c] & 0xff) * rw;
+                        dst[out++] = (byte) ((upper * topWeight + lower * bottomWeight + (1 << (2 * WEIGHT_BITS - 1)))
+                            >> (2 * WEIGHT_BITS));
+                    }
+                }
+            }
+        });
+        return target;
+    }
+    
+    /**
+     * Source coordinate of a target pixel's centre, in 1/256ths, clamped to [0, sourceSize - 1]
+     */
+    private static int sample(int position, int size, int sourceSize) {
+        long scaled = ((2L * position + 1) * sourceSize * WEIGHT_ONE) / (2L * size) - WEIGHT_ONE / 2;
+        return (int) Math.max(0, Math.min(scaled, (long) (sourceSize - 1) << WEIGHT_BITS));
+    }
+    
+    /**
+     * Run body over output rows [0, rows): in tiles on the pool when the pass reads at
+     * least minPixels, else on the calling thread
+     */
+    private void forEachRows(int rows, long inputPixels, RowRange body) {
+        if (tilePool == null || tilePool.getParallelism() < 2 || inputPixels < minPixels) {
+            body.run(0, rows);
+            return;
+        }
+        int tileRows = (int) Math.max(1, tilePixels * rows / inputPixels);
+        tilePool.invoke(new Tile(body, 0, rows, tileRows));
+    }
+    
+    @FunctionalInterface
+    private interface RowRange {
+        
+        void run(int from, int to);
+    }
+    
+    /**
+     * Output rows [from, to), split in halves down to tileRows
+     */
+    private static final class Tile extends RecursiveAction {
+        
+        private final RowRange body;
+        private final int from;
+        private final int to;
+        private final int tileRows;
+        
+        private Tile(RowRange body, int from, int to, int tileRows) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.tileRows = tileRows;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= tileRows) {
+                body.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Tile(body, from, middle, tileRows), new Tile(body, middle, to, tileRows));
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shared helpers for image executors.
+ * Images travel between tasks as base64-encoded JPEG in the "imageData" field.
+ *
+ * Every large buffer of a step comes from the ImageBufferPool: base64 is decoded into a
+ * pooled direct buffer, pixels are decoded into a pooled raster, and the JPEG is encoded
+ * into a pooled direct buffer and then base64 text in a pooled array. What remains per
+ * image is ImageIO's per-scanline temporaries (short-lived, TLAB-sized) and the output
+ * String, which the task result contract requires.
+ *
+ * With vector PixelKernels, the RGB to YCbCr conversion libjpeg would do on encode runs here.
+ */
+final class ImageSupport {
+    
+    static final String IMAGE_DATA = "imageData";
+    static final String FORMAT = "jpg";
+    
+    private ImageSupport() {
+    }
+    
+    /**
+     * Encoded image: base64 text and the size of the encoded bytes
+     */
+    record Encoded(String base64, int sizeBytes) {
+    }
+    
+    /**
+     * Decode the upstream image from task parameters into a pooled 3-byte BGR image
+     */
+    static PooledImage decode(Map<String, Object> parameters, ImageBufferPool pool) throws IOException {
+        try (DirectImageStream bytes = encodedBytes(parameters, pool)) {
+            return read(bytes, pool);
+        }
+    }
+    
+    /**
+     * Decode encoded image bytes into a pooled 3-byte BGR image. Readers that accept a destination
+     * (JPEG, RGB PNG) write straight into the pooled raster; others (alpha, palette, grey)
+     * decode normally and are flattened into it.
+     */
+    static PooledImage read(DirectImageStream bytes, ImageBufferPool pool) throws IOException {
+        ImageReader reader = reader(bytes);
+        try {
+            PooledImage image = pool.image(reader.getWidth(0), reader.getHeight(0));
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setDestination(image.image());
+                reader.read(0, param);
+                return image;
+            } catch (IIOException | IllegalArgumentException e) {
+                image.close();
+            } catch (IOException | RuntimeException e) {
+                image.close();
+                throw e;
+            }
+            
+            bytes.seek(0);
+            reader.setInput(bytes, true, true);
+            return toRgb(reader.read(0), pool);
+        } finally {
+            reader.dispose();
+        }
+    }
+    
+    /**
+     * Encode an image as base64 JPEG at the writer's default quality
+     */
+    static String encode(BufferedImage image, ImageBufferPool pool, PixelKernels kernels) throws IOException {
+        return encode(image, null, pool, kernels).base64();
+    }
+    
+    /**
+     * Encode an image as base64 JPEG. With vector kernels the pixels are converted to YCbCr
+     * here and the writer encodes them as-is: the same bytes as libjpeg converting them itself,
+     * in a fraction of the time. libjpeg's converter beats the scalar kernel, so it keeps the job then.
+     *
+     * @param quality Compression quality 0-1, or null for the writer's default
+     */
+    static Encoded encode(BufferedImage image, Float quality, ImageBufferPool pool, PixelKernels kernels) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB && image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            try (PooledImage rgb = toRgb(image, pool)) {
+                return encode(rgb.image(), quality, pool, kernels);
+            }
+        }
+        
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        try (PooledImage yCbCr = kernels.isVectorized() ? toYCbCr(image, pool, kernels) : null;
+             DirectImageStream output = new DirectImageStream(pool,
+                (int) Math.min(Integer.MAX_VALUE - 8, (long) image.getWidth() * image.getHeight() / 4))) {
+            ImageWriteParam writeParam = null;
+            if (quality != null) {
+                writeParam = writer.getDefaultWriteParam();
+                writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                writeParam.setCompressionQuality(quality);
+            }
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(yCbCr != null ? yCbCr.image() : image, null, null), writeParam);
+            return new Encoded(base64(output, pool), (int) output.length());
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    /**
+     * Standard result map passed to downstream tasks
+     */
+    static Map<String, Object> result(BufferedImage image, String base64Image) {
+        Map<String, Object> result = new HashMap<>();
+        result.put(IMAGE_DATA, base64Image);
+        result.put("width", image.getWidth());
+        result.put("height", image.getHeight());
+        result.put("format", FORMAT);
+        return result;
+    }
+    
+    /**
+     * JPEG has no alpha channel; flatten the image onto black in a pooled 3-byte BGR image
+     */
+    static PooledImage toRgb(BufferedImage image, ImageBufferPool pool) {
+        PooledImage rgb = pool.image(image.getWidth(), image.getHeight());
+        Graphics2D g = rgb.image().createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+    
+    /**
+     * Pixels of a 3-byte BGR image whose rows are packed from the start of its array
+     * (as pooled images are), or null for any other layout
+     */
+    static byte[] bgrPixels(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        if (image.getType() != BufferedImage.TYPE_3BYTE_BGR
+                || !(raster.getSampleModel() instanceof ComponentSampleModel sampleModel)
+                || sampleModel.getScanlineStride() != 3 * image.getWidth()
+                || raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0
+                || raster.getDataBuffer().getOffset() != 0) {
+            return null;
+        }
+        return ((DataBufferByte) raster.getDataBuffer()).getData();
+    }
+    
+    /**
+     * Pixel count of the upstream image, read from the header only (no pixel decode)
+     */
+    static long pixelCount(Map<String, Object> parameters, ImageBufferPool pool) {
+        if (!(parameters.get(IMAGE_DATA) instanceof String)) {
+            return -1;
+        }
+        try (DirectImageStream bytes = encodedBytes(parameters, pool)) {
+            ImageReader reader = reader(bytes);
+            try {
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+    
+    static int intParam(Map<String, Object> parameters, String key, int defaultValue) {
+        Object value = parameters.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return Integer.parseInt(value.toString());
+    }
+    
+    /**
+     * The image as JFIF YCbCr in a pooled image, or null if it is not packed 3-byte BGR
+     */
+    private static PooledImage toYCbCr(BufferedImage image, ImageBufferPool pool, PixelKernels kernels) {
+        byte[] bgr = bgrPixels(image);
+        if (bgr == null) {
+            return null;
+        }
+        PooledImage yCbCr = pool.yCbCrImage(image.getWidth(), image.getHeight());
+        kernels.bgrToYCbCr(bgr, 0, ((DataBufferByte) yCbCr.image().getRaster().getDataBuffer()).getData(), 0,
+            image.getWidth() * image.getHeight());
+        return yCbCr;
+    }
+    
+    /**
+     * Base64-decode the imageData parameter into a pooled direct buffer
+     */
+    private static DirectImageStream encodedBytes(Map<String, Object> parameters, ImageBufferPool pool) throws IOException {
+        Object data = parameters.get(IMAGE_DATA);
+        if (!(data instanceof String encoded)) {
+            throw new IllegalArgumentException(IMAGE_DATA + " parameter is required");
+        }
+        
+        DirectImageStream bytes = new DirectImageStream(pool, encoded.length() / 4 * 3);
+        try {
+            bytes.writeFrom(Base64.getDecoder().wrap(new Latin1Input(encoded)));
+            bytes.seek(0);
+            return bytes;
+        } catch (IOException e) {
+            bytes.close();
+            throw new IllegalArgumentException("Invalid base64 " + IMAGE_DATA + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Reader positioned on the stream's first image
+     */
+    private static ImageReader reader(DirectImageStream bytes) throws IOException {
+        bytes.seek(0);
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(bytes);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("Unsupported or corrupt image data");
+        }
+        ImageReader reader = readers.next();
+        bytes.seek(0);
+        reader.setInput(bytes, true, true);
+        return reader;
+    }
+    
+    /**
+     * Base64 of the stream's content, staged in a pooled array so the String is the only copy
+     */
+    private static String base64(DirectImageStream bytes, ImageBufferPool pool) throws IOException {
+        int length = (int) Math.min(Integer.MAX_VALUE, 4 * ((bytes.length() + 2) / 3));
+        try (ImageBufferPool.Lease<byte[]> text = pool.textBytes(length)) {
+            Latin1Output output = new Latin1Output(text.buffer());
+            try (OutputStream base64 = Base64.getEncoder().wrap(output)) {
+                bytes.writeTo(base64);
+            }
+            return new String(text.buffer(), 0, output.count, StandardCharsets.ISO_8859_1);
+        }
+    }
+    
+    /**
+     * Bytes of a base64 String, read in place instead of copied out with getBytes()
+     */
+    private static final class Latin1Input extends InputStream {
+        
+        private final String text;
+        private int position;
+        
+        private Latin1Input(String text) {
+            this.text = text;
+        }
+        
+        @Override
+        public int read() {
+            return position < text.length() ? text.charAt(position++) & 0xff : -1;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= text.length()) {
+                return -1;
+            }
+            int count = Math.min(len, text.length() - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) text.charAt(position + i);
+            }
+            position += count;
+            return count;
+        }
+    }
+    
+    /**
+     * Writes into a pre-sized array (base64 output length is known up front)
+     */
+    private static final class Latin1Output extends OutputStream {
+        
+        private final byte[] buffer;
+        private int count;
+        
+        private Latin1Output(byte[] buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public void write(int b) {
+            buffer[count++] = (byte) b;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.PixelKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+/**
+ * Creates a thumbnail that fits inside the requested box, preserving aspect ratio.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ImageThumbnailExecutor implements TaskExecutor {
+    
+    private final ImageBufferPool bufferPool;
+    private final PixelKernels pixelKernels;
+    private final ImageScaler imageScaler;
+    
+    @Override
+    public Map<String, Object> execute(Map<String, Object> parameters) throws Exception {
+        int maxWidth = ImageSupport.intParam(parameters, "width", 150);
+        int maxHeight = ImageSupport.intParam(parameters, "height", 150);
+        
+        try (PooledImage pooledSource = ImageSupport.decode(parameters, bufferPool)) {
+            BufferedImage source = pooledSource.image();
+            double scale = Math.min(1.0, Math.min(
+                (double) maxWidth / source.getWidth(), 
+                (double) maxHeight / source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            
+            try (PooledImage thumbnail = imageScaler.scale(source, width, height)) {
+                log.info("Thumbnail created: {}x{}", width, height);
+                
+                return ImageSupport.result(thumbnail.image(), ImageSupport.encode(thumbnail.image(), bufferPool, pixelKernels));
+            }
+        }
+    }
+    
+    @Override
+    public String getTaskType() {
+        return "IMAGE_THUMBNAIL";
+    }
+    
+    @Override
+    public long estimateExecutionTime(Map<String, Object> parameters) {
+        return 500;
+    }
+    
+    @Override
+    public long inputSize(Map<String, Object> parameters) {
+        return ImageSupport.pixelCount(parameters, bufferPool);
+    }
+}
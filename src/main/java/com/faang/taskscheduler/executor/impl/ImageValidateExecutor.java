@@ -0,0 +1,62 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Validates a downloaded image (decodable, sane dimensions).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ImageValidateExecutor implements TaskExecutor {
+    
+    private static final long MAX_PIXELS = 250_000_000L;
+    
+    private final ImageBufferPool bufferPool;
+    
+    @Override
+    public Map<String, Object> execute(Map<String, Object> parameters) throws Exception {
+        int width;
+        int height;
+        try (PooledImage image = ImageSupport.decode(parameters, bufferPool)) {
+            width = image.image().getWidth();
+            height = image.image().getHeight();
+        }
+        
+        long pixels = (long) width * height;
+        if (width <= 0 || height <= 0 || pixels > MAX_PIXELS) {
+            throw new IllegalArgumentException("Invalid image dimensions: " + width + "x" + height);
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("valid", true);
+        result.put("width", width);
+        result.put("height", height);
+        
+        log.info("Image validated: {}x{}", width, height);
+        
+        return result;
+    }
+    
+    @Override
+    public String getTaskType() {
+        return "IMAGE_VALIDATE";
+    }
+    
+    @Override
+    public long estimateExecutionTime(Map<String, Object> parameters) {
+        return 200;
+    }
+    
+    @Override
+    public long inputSize(Map<String, Object> parameters) {
+        return ImageSupport.pixelCount(parameters, bufferPool);
+    }
+}
@@ -0,0 +1,102 @@
+package com.faang.taskscheduler.executor.kernel;
+
+import java.util.Locale;
+
+/**
+ * Per-pixel loops of the image steps, over interleaved 3-byte BGR rows (the layout of
+ * the pooled rasters): watermark blending, BGR/YCbCr conversion and 2x2 downsampling.
+ *
+ * FAANG Interview Points:
+ * - Two implementations with identical output: a SIMD one on the Vector API
+ *   (jdk.incubator.vector) and a scalar fallback; tests of one hold for the other
+ * - Selected once at startup: the vector kernels only when the module is resolved
+ *   (--add-modules jdk.incubator.vector) and the CPU has 256-bit or wider vectors;
+ *   on narrower hardware C2 would emulate lanes and run slower than scalar
+ * - Integer fixed-point arithmetic matching what the kernels replace (Java2D's
+ *   8-bit alpha tables, libjpeg's colour converter), so output is bit-identical
+ */
+public interface PixelKernels {
+    
+    /**
+     * Implementation name, for logs and benchmarks
+     */
+    String name();
+    
+    /**
+     * Whether these are the SIMD kernels. Some callers only switch from a native Java2D or
+     * libjpeg loop to a kernel when it is vectorized; the scalar one would be slower.
+     */
+    boolean isVectorized();
+    
+    /**
+     * Blend a solid colour into BGR pixels in place, through per-byte coverage: AlphaComposite
+     * SRC_OVER with extra alpha, as Java2D draws antialiased text onto an opaque image
+     *
+     * @param coverage Coverage 0-255 per byte, laid out like the pixels (e.g. white text rendered onto black)
+     * @param pixels Destination pixels; pixelOffset must be the start of a pixel
+     * @param length Bytes to blend (3 per pixel)
+     * @param rgb Colour as 0xRRGGBB
+     * @param alpha Extra alpha 0-255
+     */
+    void blend(byte[] coverage, int coverageOffset, byte[] pixels, int pixelOffset, int length, int rgb, int alpha);
+    
+    /**
+     * BGR to JFIF YCbCr (full range), exactly as libjpeg converts before encoding.
+     * Source and destination must not overlap; the same holds for yCbCrToBgr and downsample.
+     */
+    void bgrToYCbCr(byte[] bgr, int bgrOffset, byte[] ycc, int yccOffset, int pixels);
+    
+    /**
+     * JFIF YCbCr to BGR, exactly as libjpeg converts after decoding
+     */
+    void yCbCrToBgr(byte[] ycc, int yccOffset, byte[] bgr, int bgrOffset, int pixels);
+    
+    /**
+     * One output row of a 2x2 box-filter downsample: each output pixel is the rounded mean
+     * of a 2x2 block from the source row at srcOffset and the row srcStride bytes below
+     */
+    void downsample(byte[] src, int srcOffset, int srcStride, byte[] dst, int dstOffset, int dstWidth);
+    
+    /**
+     * Kernels for the configured mode: "vector", "scalar", or "auto" (vector where supported)
+     *
+     * @throws IllegalArgumentException Unknown mode, or "vector" where the Vector API is unavailable
+     */
+    static PixelKernels select(String mode) {
+        switch (mode.toLowerCase(Locale.ROOT)) {
+            case "scalar":
+                return new ScalarPixelKernels();
+            case "vector": {
+                PixelKernels vector = vectorKernels();
+                if (vector == null) {
+                    throw new IllegalArgumentException("Vector kernels need a JVM started with "
+                        + "--add-modules jdk.incubator.vector and 256-bit vector support");
+                }
+                return vector;
+            }
+            case "auto": {
+                PixelKernels vector = vectorKernels();
+                return vector != null ? vector : new ScalarPixelKernels();
+            }
+            default:
+                throw new IllegalArgumentException("Unknown pixel kernel mode: " + mode);
+        }
+    }
+    
+    /**
+     * Vector kernels, or null where unsupported. Loaded reflectively: linking the class
+     * without the incubator module resolved would fail, and its constructor rejects
+     * vectors narrower than 256 bits.
+     */
+    private static PixelKernels vectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName(PixelKernels.class.getPackageName() + ".VectorPixelKernels");
+            return (PixelKernels) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
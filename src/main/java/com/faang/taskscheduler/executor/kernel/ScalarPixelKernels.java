@@ -0,0 +1,135 @@
+package com.faang.taskscheduler.executor.kernel;
+
+/**
+ * Scalar kernels: the reference implementation, and the fallback where the Vector API is
+ * unavailable. Also finishes the head and tail of rows for the vector kernels.
+ */
+public final class ScalarPixelKernels implements PixelKernels {
+    
+    // libjpeg's 16-bit fixed point (jccolor.c / jdcolor.c)
+    static final int SCALE_BITS = 16;
+    static final int ONE_HALF = 1 << (SCALE_BITS - 1);
+    static final int CENTER = 128 << SCALE_BITS;
+    
+    static final int Y_R = fix(0.29900);
+    static final int Y_G = fix(0.58700);
+    static final int Y_B = fix(0.11400);
+    static final int CB_R = -fix(0.16874);
+    static final int CB_G = -fix(0.33126);
+    static final int CB_B = fix(0.50000);
+    static final int CR_R = fix(0.50000);
+    static final int CR_G = -fix(0.41869);
+    static final int CR_B = -fix(0.08131);
+    
+    static final int R_CR = fix(1.40200);
+    static final int G_CB = -fix(0.34414);
+    static final int G_CR = -fix(0.71414);
+    static final int B_CB = fix(1.77200);
+    
+    @Override
+    public String name() {
+        return "scalar";
+    }
+    
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+    
+    @Override
+    public void blend(byte[] coverage, int coverageOffset, byte[] pixels, int pixelOffset, int length, int rgb, int alpha) {
+        int[] premultiplied = {mul8(alpha, rgb & 0xff), mul8(alpha, (rgb >> 8) & 0xff), mul8(alpha, (rgb >> 16) & 0xff)};
+        blend(coverage, coverageOffset, pixels, pixelOffset, 0, length, premultiplied, alpha);
+    }
+    
+    @Override
+    public void bgrToYCbCr(byte[] bgr, int bgrOffset, byte[] ycc, int yccOffset, int pixels) {
+        bgrToYCbCr(bgr, bgrOffset, ycc, yccOffset, 0, pixels);
+    }
+    
+    @Override
+    public void yCbCrToBgr(byte[] ycc, int yccOffset, byte[] bgr, int bgrOffset, int pixels) {
+        yCbCrToBgr(ycc, yccOffset, bgr, bgrOffset, 0, pixels);
+    }
+    
+    @Override
+    public void downsample(byte[] src, int srcOffset, int srcStride, byte[] dst, int dstOffset, int dstWidth) {
+        downsample(src, srcOffset, srcStride, dst, dstOffset, 0, 3 * dstWidth);
+    }
+    
+    /**
+     * Java2D's SrcOver mask fill onto an opaque destination, bytes [from, to) of the row
+     *
+     * @param premultiplied Colour premultiplied by alpha, per byte position of a pixel (B, G, R)
+     */
+    static void blend(byte[] coverage, int coverageOffset, byte[] pixels, int pixelOffset,
+                      int from, int to, int[] premultiplied, int alpha) {
+        for (int i = from; i < to; i++) {
+            int m = coverage[coverageOffset + i] & 0xff;
+            if (m == 0) {
+                continue;
+            }
+            int d = pixels[pixelOffset + i] & 0xff;
+            pixels[pixelOffset + i] = (byte) (mul8(m, premultiplied[i % 3]) + mul8(255 - mul8(m, alpha), d));
+        }
+    }
+    
+    /**
+     * Pixels [from, to)
+     */
+    static void bgrToYCbCr(byte[] bgr, int bgrOffset, byte[] ycc, int yccOffset, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int s = bgrOffset + 3 * p;
+            int d = yccOffset + 3 * p;
+            int b = bgr[s] & 0xff;
+            int g = bgr[s + 1] & 0xff;
+            int r = bgr[s + 2] & 0xff;
+            ycc[d] = (byte) ((Y_R * r + Y_G * g + Y_B * b + ONE_HALF) >> SCALE_BITS);
+            ycc[d + 1] = (byte) ((CB_R * r + CB_G * g + CB_B * b + CENTER + ONE_HALF - 1) >> SCALE_BITS);
+            ycc[d + 2] = (byte) ((CR_R * r + CR_G * g + CR_B * b + CENTER + ONE_HALF - 1) >> SCALE_BITS);
+        }
+    }
+    
+    /**
+     * Pixels [from, to)
+     */
+    static void yCbCrToBgr(byte[] ycc, int yccOffset, byte[] bgr, int bgrOffset, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int s = yccOffset + 3 * p;
+            int d = bgrOffset + 3 * p;
+            int y = ycc[s] & 0xff;
+            int cb = (ycc[s + 1] & 0xff) - 128;
+            int cr = (ycc[s + 2] & 0xff) - 128;
+            bgr[d] = (byte) clamp(y + ((B_CB * cb + ONE_HALF) >> SCALE_BITS));
+            bgr[d + 1] = (byte) clamp(y + ((G_CB * cb + G_CR * cr + ONE_HALF) >> SCALE_BITS));
+            bgr[d + 2] = (byte) clamp(y + ((R_CR * cr + ONE_HALF) >> SCALE_BITS));
+        }
+    }
+    
+    /**
+     * Output bytes [from, to) of the row
+     */
+    static void downsample(byte[] src, int srcOffset, int srcStride, byte[] dst, int dstOffset, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int s = srcOffset + 2 * i - i % 3;
+            int sum = (src[s] & 0xff) + (src[s + 3] & 0xff)
+                + (src[s + srcStride] & 0xff) + (src[s + srcStride + 3] & 0xff);
+            dst[dstOffset + i] = (byte) ((sum + 2) >> 2);
+        }
+    }
+    
+    /**
+     * a * b / 255, rounded: the values of Java2D's mul8table
+     */
+    static int mul8(int a, int b) {
+        return (a * b * 0x10101 + 0x800000) >>> 24;
+    }
+    
+    private static int clamp(int value) {
+        return value < 0 ? 0 : Math.min(value, 255);
+    }
+    
+    private static int fix(double value) {
+        return (int) (value * (1 << SCALE_BITS) + 0.5);
+    }
+}
@@ -0,0 +1,267 @@
+package com.faang.taskscheduler.executor.kernel;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.B_CB;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CB_B;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CB_G;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CB_R;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CENTER;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CR_B;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CR_G;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.CR_R;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.G_CB;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.G_CR;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.ONE_HALF;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.R_CR;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.SCALE_BITS;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.Y_B;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.Y_G;
+import static com.faang.taskscheduler.executor.kernel.ScalarPixelKernels.Y_R;
+
+/**
+ * SIMD kernels on the Vector API, at the CPU's preferred vector width. Bytes are widened to
+ * int lanes (short lanes for downsampling) so the fixed-point arithmetic is the scalar
+ * kernels' exactly; rows are finished with the scalar kernels where a full vector no longer fits.
+ *
+ * Interleaved BGR means a lane's channel depends on its position. Colour conversion handles
+ * that with per-lane coefficients over loads shifted by -2..+2 bytes, advancing a whole
+ * number of pixels per step (15 of 16 lanes at 512 bits; the last lane is recomputed by the
+ * next step). Downsampling sums 2x2 blocks in every lane and compacts the even pixels with
+ * a lane shuffle.
+ *
+ * Needs --add-modules jdk.incubator.vector at compile and run time; only PixelKernels.select
+ * instantiates it, after checking the module is there.
+ */
+public final class VectorPixelKernels implements PixelKernels {
+    
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> INT_BYTES = bytesFor(INTS.length());
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> SHORT_BYTES = bytesFor(SHORTS.length());
+    
+    // Whole pixels per step of INTS.length() lanes
+    private static final int PIXEL_LANES = INTS.length() / 3 * 3;
+    
+    // Colour conversion coefficients per lane, by byte offset of the operand (M2 = -2, P1 = +1)
+    private static final IntVector TO_YCC_M2;
+    private static final IntVector TO_YCC_M1;
+    private static final IntVector TO_YCC_0;
+    private static final IntVector TO_YCC_P1;
+    private static final IntVector TO_YCC_P2;
+    private static final IntVector TO_YCC_BIAS;
+    private static final IntVector TO_BGR_0;
+    private static final IntVector TO_BGR_P1;
+    private static final IntVector TO_BGR_BIAS;
+    private static final VectorMask<Integer> BLUE_LANES;
+    private static final VectorMask<Integer> GREEN_LANES;
+    
+    // Downsampling: output pixels per step, each from 6 bytes (2 pixels) of a source row pair
+    private static final int DOWNSAMPLE_PIXELS = SHORTS.length() / 6;
+    private static final VectorShuffle<Short> EVEN_PIXELS;
+    
+    static {
+        int lanes = INTS.length();
+        int[][] toYcc = new int[5][lanes];
+        int[] toYccBias = new int[lanes];
+        int[][] toBgr = new int[2][lanes];
+        int[] toBgrBias = new int[lanes];
+        boolean[] blue = new boolean[lanes];
+        boolean[] green = new boolean[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            switch (lane % 3) {
+                case 0:
+                    // Y: B at +0, G at +1, R at +2
+                    toYcc[2][lane] = Y_B;
+                    toYcc[3][lane] = Y_G;
+                    toYcc[4][lane] = Y_R;
+                    toYccBias[lane] = ONE_HALF;
+                    // B = Y + f(Cb at +1)
+                    toBgr[1][lane] = B_CB;
+                    blue[lane] = true;
+                    break;
+                case 1:
+                    // Cb: B at -1, G at +0, R at +1
+                    toYcc[1][lane] = CB_B;
+                    toYcc[2][lane] = CB_G;
+                    toYcc[3][lane] = CB_R;
+                    toYccBias[lane] = CENTER + ONE_HALF - 1;
+                    // G = Y at -1 + f(Cb at +0, Cr at +1)
+                    toBgr[0][lane] = G_CB;
+                    toBgr[1][lane] = G_CR;
+                    green[lane] = true;
+                    break;
+                default:
+                    // Cr: B at -2, G at -1, R at +0
+                    toYcc[0][lane] = CR_B;
+                    toYcc[1][lane] = CR_G;
+                    toYcc[2][lane] = CR_R;
+                    toYccBias[lane] = CENTER + ONE_HALF - 1;
+                    // R = Y at -2 + f(Cr at +0)
+                    toBgr[0][lane] = R_CR;
+                    break;
+            }
+            toBgrBias[lane] = ONE_HALF - 128 * (toBgr[0][lane] + toBgr[1][lane]);
+        }
+        TO_YCC_M2 = IntVector.fromArray(INTS, toYcc[0], 0);
+        TO_YCC_M1 = IntVector.fromArray(INTS, toYcc[1], 0);
+        TO_YCC_0 = IntVector.fromArray(INTS, toYcc[2], 0);
+        TO_YCC_P1 = IntVector.fromArray(INTS, toYcc[3], 0);
+        TO_YCC_P2 = IntVector.fromArray(INTS, toYcc[4], 0);
+        TO_YCC_BIAS = IntVector.fromArray(INTS, toYccBias, 0);
+        TO_BGR_0 = IntVector.fromArray(INTS, toBgr[0], 0);
+        TO_BGR_P1 = IntVector.fromArray(INTS, toBgr[1], 0);
+        TO_BGR_BIAS = IntVector.fromArray(INTS, toBgrBias, 0);
+        BLUE_LANES = VectorMask.fromArray(INTS, blue, 0);
+        GREEN_LANES = VectorMask.fromArray(INTS, green, 0);
+        
+        int[] evenPixels = new int[SHORTS.length()];
+        for (int i = 0; i < 3 * DOWNSAMPLE_PIXELS; i++) {
+            evenPixels[i] = 2 * i - i % 3;
+        }
+        EVEN_PIXELS = VectorShuffle.fromArray(SHORTS, evenPixels, 0);
+    }
+    
+    /**
+     * @throws UnsupportedOperationException Vectors narrower than 256 bits, where scalar is faster
+     */
+    public VectorPixelKernels() {
+        if (INTS.vectorBitSize() < 256) {
+            throw new UnsupportedOperationException("Preferred vector size is " + INTS.vectorBitSize() + " bits");
+        }
+    }
+    
+    @Override
+    public String name() {
+        return "vector-" + INTS.vectorBitSize();
+    }
+    
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+    
+    @Override
+    public void blend(byte[] coverage, int coverageOffset, byte[] pixels, int pixelOffset, int length, int rgb, int alpha) {
+        int[] premultiplied = {ScalarPixelKernels.mul8(alpha, rgb & 0xff),
+            ScalarPixelKernels.mul8(alpha, (rgb >> 8) & 0xff), ScalarPixelKernels.mul8(alpha, (rgb >> 16) & 0xff)};
+        // Premultiplied colour per lane, for each channel the first lane can fall on
+        IntVector[] colour = new IntVector[3];
+        int[] lanes = new int[INTS.length()];
+        for (int phase = 0; phase < 3; phase++) {
+            for (int lane = 0; lane < lanes.length; lane++) {
+                lanes[lane] = premultiplied[(phase + lane) % 3];
+            }
+            colour[phase] = IntVector.fromArray(INTS, lanes, 0);
+        }
+        
+        int step = INTS.length();
+        int i = 0;
+        for (; i <= length - step; i += step) {
+            IntVector m = widen(coverage, coverageOffset + i);
+            IntVector d = widen(pixels, pixelOffset + i);
+            IntVector inverse = mul8(m, alpha).neg().add(255);
+            narrow(mul8(m, colour[i % 3]).add(mul8(inverse, d))).intoArray(pixels, pixelOffset + i);
+        }
+        ScalarPixelKernels.blend(coverage, coverageOffset, pixels, pixelOffset, i, length, premultiplied, alpha);
+    }
+    
+    @Override
+    public void bgrToYCbCr(byte[] bgr, int bgrOffset, byte[] ycc, int yccOffset, int pixels) {
+        // The first pixel has no bytes before it to load; start at the second
+        int end = 3 * pixels;
+        int i = 3;
+        for (; i + INTS.length() + 2 <= end; i += PIXEL_LANES) {
+            int s = bgrOffset + i;
+            IntVector sum = widen(bgr, s - 2).mul(TO_YCC_M2)
+                .add(widen(bgr, s - 1).mul(TO_YCC_M1))
+                .add(widen(bgr, s).mul(TO_YCC_0))
+                .add(widen(bgr, s + 1).mul(TO_YCC_P1))
+                .add(widen(bgr, s + 2).mul(TO_YCC_P2))
+                .add(TO_YCC_BIAS);
+            narrow(sum.lanewise(VectorOperators.ASHR, SCALE_BITS)).intoArray(ycc, yccOffset + i);
+        }
+        ScalarPixelKernels.bgrToYCbCr(bgr, bgrOffset, ycc, yccOffset, 0, Math.min(1, pixels));
+        ScalarPixelKernels.bgrToYCbCr(bgr, bgrOffset, ycc, yccOffset, Math.max(1, i / 3), pixels);
+    }
+    
+    @Override
+    public void yCbCrToBgr(byte[] ycc, int yccOffset, byte[] bgr, int bgrOffset, int pixels) {
+        int end = 3 * pixels;
+        int i = 3;
+        for (; i + INTS.length() + 1 <= end; i += PIXEL_LANES) {
+            int s = yccOffset + i;
+            IntVector here = widen(ycc, s);
+            IntVector next = widen(ycc, s + 1);
+            IntVector luma = widen(ycc, s - 2)
+                .blend(widen(ycc, s - 1), GREEN_LANES)
+                .blend(here, BLUE_LANES);
+            IntVector chroma = here.mul(TO_BGR_0).add(next.mul(TO_BGR_P1)).add(TO_BGR_BIAS)
+                .lanewise(VectorOperators.ASHR, SCALE_BITS);
+            narrow(luma.add(chroma).max(0).min(255)).intoArray(bgr, bgrOffset + i);
+        }
+        ScalarPixelKernels.yCbCrToBgr(ycc, yccOffset, bgr, bgrOffset, 0, Math.min(1, pixels));
+        ScalarPixelKernels.yCbCrToBgr(ycc, yccOffset, bgr, bgrOffset, Math.max(1, i / 3), pixels);
+    }
+    
+    @Override
+    public void downsample(byte[] src, int srcOffset, int srcStride, byte[] dst, int dstOffset, int dstWidth) {
+        int end = 3 * dstWidth;
+        int lanes = SHORTS.length();
+        int i = 0;
+        // Loads reach lanes + 3 bytes past the block start; stores write a full vector
+        for (; 2 * i + lanes + 3 <= 2 * end && i + lanes <= end; i += 3 * DOWNSAMPLE_PIXELS) {
+            int s = srcOffset + 2 * i;
+            ShortVector sums = widenShorts(src, s)
+                .add(widenShorts(src, s + 3))
+                .add(widenShorts(src, s + srcStride))
+                .add(widenShorts(src, s + srcStride + 3))
+                .add((short) 2)
+                .lanewise(VectorOperators.LSHR, 2);
+            ((ByteVector) sums.rearrange(EVEN_PIXELS).convertShape(VectorOperators.S2B, SHORT_BYTES, 0))
+                .intoArray(dst, dstOffset + i);
+        }
+        ScalarPixelKernels.downsample(src, srcOffset, srcStride, dst, dstOffset, i, end);
+    }
+    
+    private static IntVector widen(byte[] bytes, int offset) {
+        return ((IntVector) ByteVector.fromArray(INT_BYTES, bytes, offset)
+            .convertShape(VectorOperators.B2I, INTS, 0))
+            .and(0xff);
+    }
+    
+    /**
+     * Low byte of each lane
+     */
+    private static ByteVector narrow(IntVector lanes) {
+        return (ByteVector) lanes.convertShape(VectorOperators.I2B, INT_BYTES, 0);
+    }
+    
+    private static ShortVector widenShorts(byte[] bytes, int offset) {
+        return ((ShortVector) ByteVector.fromArray(SHORT_BYTES, bytes, offset)
+            .convertShape(VectorOperators.B2S, SHORTS, 0))
+            .and((short) 0xff);
+    }
+    
+    /**
+     * ScalarPixelKernels.mul8 per lane (the product fits 32 bits unsigned)
+     */
+    private static IntVector mul8(IntVector a, IntVector b) {
+        return a.mul(b).mul(0x10101).add(0x800000).lanewise(VectorOperators.LSHR, 24);
+    }
+    
+    private static IntVector mul8(IntVector a, int b) {
+        return a.mul(b * 0x10101).add(0x800000).lanewise(VectorOperators.LSHR, 24);
+    }
+    
+    private static VectorSpecies<Byte> bytesFor(int lanes) {
+        return VectorSpecies.of(byte.class, VectorShape.forBitSize(8 * lanes));
+    }
+}
@@ -0,0 +1,77 @@
+package com.faang.taskscheduler.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the lock service, shared by the Redis and local implementations.
+ * 
+ * - task_scheduler.lock.wait{mode, outcome=acquired|failed}: time to acquire or give up;
+ *   the failed count is the acquisition failure rate
+ * - task_scheduler.lock.hold{mode}: acquire to release
+ * 
+ * mode is blocking (executeWithLock), async (executeWithLockAsync) or try (tryLock/unlock).
+ * Lock keys are never used as tags: they contain task ids.
+ */
+@Component
+public class LockMetrics {
+    
+    public static final String BLOCKING = "blocking";
+    public static final String ASYNC = "async";
+    public static final String TRY = "try";
+    
+    private final MeterRegistry meterRegistry;
+    
+    // tryLock/unlock pairs span calls: acquisition time per held key
+    private final Map<String, Long> heldSince = new ConcurrentHashMap<>();
+    
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String mode : new String[] {BLOCKING, ASYNC, TRY}) {
+            waitTimer(mode, true);
+            waitTimer(mode, false);
+            holdTimer(mode);
+        }
+    }
+    
+    public void recordWait(String mode, long startNanos, boolean acquired) {
+        waitTimer(mode, acquired).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordHold(String mode, long acquiredNanos) {
+        holdTimer(mode).record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * tryLock succeeded; a reentrant re-acquire keeps the first acquisition time
+     */
+    public void tryLockAcquired(String lockKey) {
+        heldSince.putIfAbsent(lockKey, System.nanoTime());
+    }
+    
+    public void tryLockReleased(String lockKey) {
+        Long acquired = heldSince.remove(lockKey);
+        if (acquired != null) {
+            recordHold(TRY, acquired);
+        }
+    }
+    
+    private Timer waitTimer(String mode, boolean acquired) {
+        return Timer.builder("task_scheduler.lock.wait")
+            .description("Time to acquire a lock, or to give up")
+            .tags("mode", mode, "outcome", acquired ? "acquired" : "failed")
+            .register(meterRegistry);
+    }
+    
+    private Timer holdTimer(String mode) {
+        return Timer.builder("task_scheduler.lock.hold")
+            .description("Time a lock is held")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+}
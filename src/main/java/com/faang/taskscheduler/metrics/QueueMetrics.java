@@ -0,0 +1,59 @@
+package com.faang.taskscheduler.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the task queue producer, shared by every transport.
+ * 
+ * - task_scheduler.queue.send{transport, outcome=success|failure}: send to broker ack
+ * - task_scheduler.queue.dead_letter{transport}: messages diverted to the dead letter queue
+ */
+@Component
+public class QueueMetrics {
+    
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+    private final Counter deadLetters;
+    
+    public QueueMetrics(MeterRegistry meterRegistry,
+                        @Value("${task-scheduler.queue.transport:kafka}") String transport) {
+        this.sendSuccess = Timer.builder("task_scheduler.queue.send")
+            .description("Task message send latency, until acknowledged by the queue")
+            .tags("transport", transport, "outcome", "success")
+            .register(meterRegistry);
+        this.sendFailure = Timer.builder("task_scheduler.queue.send")
+            .description("Task message send latency, until acknowledged by the queue")
+            .tags("transport", transport, "outcome", "failure")
+            .register(meterRegistry);
+        this.deadLetters = Counter.builder("task_scheduler.queue.dead_letter")
+            .description("Task messages sent to the dead letter queue")
+            .tag("transport", transport)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Time a send from now until its future completes
+     */
+    public <T> CompletableFuture<T> timeSend(CompletableFuture<T> send) {
+        long start = System.nanoTime();
+        return send.whenComplete((result, ex) -> recordSend(start, ex == null));
+    }
+    
+    /**
+     * Record a send that completed synchronously
+     */
+    public void recordSend(long startNanos, boolean success) {
+        (success ? sendSuccess : sendFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void deadLettered() {
+        deadLetters.increment();
+    }
+}
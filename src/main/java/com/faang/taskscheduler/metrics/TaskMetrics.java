@@ -0,0 +1,123 @@
+package com.faang.taskscheduler.metrics;
+
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.model.Task;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Meters of task dispatch and execution.
+ * 
+ * - task_scheduler.scheduler.dispatch: one scheduler cycle (selection, outbox write, commit)
+ * - task_scheduler.scheduler.dispatch.batch: tasks released per non-empty cycle
+ * - task_scheduler.task.execution{type, outcome=success|failure|timeout|cancelled, speculative}
+ * - task_scheduler.task.queue_wait{type}: queuedAt to startedAt of primary attempts
+ * - task_scheduler.worker.tasks.running / .capacity, plus executor_* meters of the
+ *   execution pool (name=task-execution): active threads and queued tasks
+ * - task_scheduler.worker.stage.in_flight / .capacity{stage=io|compute|persist}: tasks
+ *   admitted to each stage of the staged worker; in_flight at capacity means that stage
+ *   is the bottleneck and is holding back the ones before it
+ * 
+ * The type tag is limited to registered executor types, so a bad message can never
+ * create a new time series.
+ */
+@Component
+public class TaskMetrics {
+    
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    public static final String TIMEOUT = "timeout";
+    public static final String CANCELLED = "cancelled";
+    
+    private static final String UNKNOWN_TYPE = "unknown";
+    
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutorRegistry executorRegistry;
+    private final Timer dispatchCycles;
+    private final DistributionSummary dispatchBatches;
+    
+    public TaskMetrics(MeterRegistry meterRegistry, TaskExecutorRegistry executorRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.executorRegistry = executorRegistry;
+        this.dispatchCycles = Timer.builder("task_scheduler.scheduler.dispatch")
+            .description("Scheduler dispatch cycle duration")
+            .register(meterRegistry);
+        this.dispatchBatches = DistributionSummary.builder("task_scheduler.scheduler.dispatch.batch")
+            .description("Tasks dispatched per non-empty scheduler cycle")
+            .baseUnit("tasks")
+            .register(meterRegistry);
+    }
+    
+    public void recordDispatch(long startNanos, int dispatched) {
+        dispatchCycles.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (dispatched > 0) {
+            dispatchBatches.record(dispatched);
+        }
+    }
+    
+    public void recordExecution(String taskType, String outcome, boolean speculative, long startNanos) {
+        Timer.builder("task_scheduler.task.execution")
+            .description("Task executor run time")
+            .tags("type", typeTag(taskType), "outcome", outcome, "speculative", String.valueOf(speculative))
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordQueueWait(Task task) {
+        if (task.getQueuedAt() == null || task.getStartedAt() == null) {
+            return;
+        }
+        Duration wait = Duration.between(task.getQueuedAt(), task.getStartedAt());
+        if (wait.isNegative()) {
+            // Clock skew between the scheduler and this worker
+            wait = Duration.ZERO;
+        }
+        Timer.builder("task_scheduler.task.queue_wait")
+            .description("Time from hand-off to the queue until a worker starts the task")
+            .tag("type", typeTag(task.getTaskType()))
+            .register(meterRegistry)
+            .record(wait);
+    }
+    
+    /**
+     * Capacity gauges of this worker and its execution pool
+     */
+    public void bindWorker(AtomicInteger runningTasks, int maxConcurrentTasks, ExecutorService executionPool) {
+        Gauge.builder("task_scheduler.worker.tasks.running", runningTasks, AtomicInteger::get)
+            .description("Tasks currently executing on this worker")
+            .register(meterRegistry);
+        Gauge.builder("task_scheduler.worker.tasks.capacity", () -> maxConcurrentTasks)
+            .description("Maximum concurrent tasks of this worker")
+            .register(meterRegistry);
+        new ExecutorServiceMetrics(executionPool, "task-execution", Tags.empty()).bindTo(meterRegistry);
+    }
+    
+    /**
+     * Occupancy gauges of one stage of the staged worker
+     */
+    public void bindPipelineStage(String stage, int capacity, IntSupplier inFlight) {
+        Gauge.builder("task_scheduler.worker.stage.in_flight", inFlight::getAsInt)
+            .description("Tasks admitted to this worker stage (running or waiting for a thread)")
+            .tag("stage", stage)
+            .register(meterRegistry);
+        Gauge.builder("task_scheduler.worker.stage.capacity", () -> capacity)
+            .description("Tasks this worker stage admits before blocking the previous one")
+            .tag("stage", stage)
+            .register(meterRegistry);
+    }
+    
+    private String typeTag(String taskType) {
+        return taskType != null && executorRegistry.supports(taskType) ? taskType : UNKNOWN_TYPE;
+    }
+}
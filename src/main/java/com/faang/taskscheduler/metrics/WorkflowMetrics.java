@@ -0,0 +1,76 @@
+package com.faang.taskscheduler.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of workflow submission.
+ * 
+ * - task_scheduler.workflow.create{submission=single|bulk, outcome=committed|rolled_back}:
+ *   method entry to transaction completion, so the commit is included
+ * - task_scheduler.workflow.create.phase{phase}: validate, compile (DAG resolution and plan),
+ *   persist (entities and outbox rows) and commit (flush of the batched INSERTs plus commit)
+ */
+@Component
+public class WorkflowMetrics {
+    
+    public enum CreatePhase { VALIDATE, COMPILE, PERSIST, COMMIT }
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<CreatePhase, Timer> phaseTimers = new EnumMap<>(CreatePhase.class);
+    
+    public WorkflowMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (CreatePhase phase : CreatePhase.values()) {
+            phaseTimers.put(phase, Timer.builder("task_scheduler.workflow.create.phase")
+                .description("Workflow submission time by phase")
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+    }
+    
+    public void recordPhase(CreatePhase phase, long startNanos) {
+        phaseTimers.get(phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Start timing a submission in the caller's transaction; the commit phase and the
+     * total are recorded when the transaction completes.
+     */
+    public void trackCreation(String submission) {
+        long start = System.nanoTime();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                if (committed && commitStart != 0) {
+                    recordPhase(CreatePhase.COMMIT, commitStart);
+                }
+                Timer.builder("task_scheduler.workflow.create")
+                    .description("Workflow submission latency, including commit")
+                    .tags("submission", submission, "outcome", committed ? "committed" : "rolled_back")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
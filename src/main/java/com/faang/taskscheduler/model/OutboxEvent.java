@@ -0,0 +1,63 @@
+package com.faang.taskscheduler.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox entry for a message that must reach Kafka.
+ * 
+ * FAANG Interview Points:
+ * - Written in the same DB transaction as the workflow/tasks it describes
+ * - No dual-write: a rollback never leaves messages already sent to Kafka
+ * - Sequence ids give the relay a cheap, ordered scan key and allow JDBC batching
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_created", columnList = "createdAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String topic;
+    
+    // Kafka record key (task ID, used for partitioning)
+    @Column(nullable = false)
+    private String messageKey;
+    
+    // Workflow the message belongs to
+    @JavaType(UuidStringJavaType.class)
+    private String aggregateId;
+    
+    // Serialized TaskMessage
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    // Relay bookkeeping
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    private String lastError;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -18,13 +19,19 @@ import java.util.Map;
  * - Optimistic locking with @Version
  * - Indexed columns for query performance
  * - Audit fields for debugging
+ * - Time-ordered UUIDv7 keys in native uuid columns: appends, not random B-tree inserts
  */
 @Entity
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_task_status", columnList = "status"),
     @Index(name = "idx_task_workflow", columnList = "workflowId"),
     @Index(name = "idx_task_worker", columnList = "assignedWorkerId"),
-    @Index(name = "idx_task_created", columnList = "createdAt")
+    @Index(name = "idx_task_created", columnList = "createdAt"),
+    @Index(name = "idx_task_workflow_name", columnList = "workflowId, taskName"),
+    @Index(name = "idx_task_ready_rank", columnList = "status, remainingDependencies, upwardRankMs"),
+    @Index(name = "idx_task_ready_deadline", columnList = "status, remainingDependencies, latestStartAt"),
+    @Index(name = "idx_task_workflow_status", columnList = "workflowId, status"),
+    @Index(name = "idx_task_shard_status", columnList = "shard, status")
 })
 @Data
 @Builder
@@ -33,12 +40,21 @@ import java.util.Map;
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
     
     @Column(nullable = false)
+    @JavaType(UuidStringJavaType.class)
     private String workflowId;
     
+    // Denormalized from the workflow for fair-share dispatch
+    private String tenantId;
+    
+    // Scheduler shard of the workflow (see ShardRouter)
+    @Builder.Default
+    private Integer shard = 0;
+    
     @Column(nullable = false)
     private String taskType;
     
@@ -52,6 +68,18 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private TaskPriority priority;
     
+    // DAG readiness: number of dependencies not yet completed (task is ready at 0)
+    @Builder.Default
+    private Integer remainingDependencies = 0;
+    
+    // HEFT upward rank: estimated longest path (ms) from this task to a sink; dispatch order
+    @Builder.Default
+    private Long upwardRankMs = 0L;
+    
+    // Workflow deadline minus upward rank: dispatching later than this is an expected miss.
+    // Slack at time t is latestStartAt - t; null when the workflow has no deadline.
+    private LocalDateTime latestStartAt;
+    
     // Task execution parameters stored as JSON
     @Column(columnDefinition = "TEXT")
     private String inputParameters;
@@ -73,11 +101,22 @@ public class Task {
     
     private String lastErrorMessage;
     
+    // Retry backoff: a RETRYING task is not dispatched before this
+    private LocalDateTime nextAttemptAt;
+    
     // Timing information
     private LocalDateTime scheduledAt;
     
+    // Last hand-off to the queue; startedAt - queuedAt is the queue wait of the latest attempt
+    private LocalDateTime queuedAt;
+    
     private LocalDateTime startedAt;
     
+    // Speculative execution: when a backup copy was launched for this (straggling) attempt
+    private LocalDateTime speculatedAt;
+    
+    private String backupWorkerId;
+    
     private LocalDateTime completedAt;
     
     private Long executionDurationMs;
@@ -92,10 +131,6 @@ public class Task {
     @Version
     private Long version;
     
-    // For distributed locking
-    @Column(unique = true)
-    private String lockKey;
-    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -106,7 +141,6 @@ public class Task {
         if (priority == null) {
             priority = TaskPriority.MEDIUM;
         }
-        lockKey = "task:lock:" + id;
     }
     
     @PreUpdate
@@ -0,0 +1,59 @@
+package com.faang.taskscheduler.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted execution time distribution for one (task type, worker, input size class).
+ * 
+ * FAANG Interview Points:
+ * - Each worker only writes its own rows: no write contention
+ * - Sketches are mergeable, so any node can rebuild cluster-wide estimates
+ */
+@Entity
+@Table(name = "task_duration_stats", indexes = {
+    @Index(name = "idx_duration_stats_type", columnList = "taskType")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDurationStats {
+    
+    // taskType|workerId|sizeClass
+    @Id
+    private String id;
+    
+    @Column(nullable = false)
+    private String taskType;
+    
+    @Column(nullable = false)
+    private String workerId;
+    
+    // floor(log2(input size)) or -1 when the executor reports no size
+    @Column(nullable = false)
+    private Integer sizeClass;
+    
+    @Builder.Default
+    private Long sampleCount = 0L;
+    
+    // Serialized DurationSketch
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String sketch;
+    
+    private LocalDateTime updatedAt;
+    
+    @Version
+    private Long version;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
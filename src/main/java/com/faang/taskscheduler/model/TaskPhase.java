@@ -0,0 +1,43 @@
+package com.faang.taskscheduler.model;
+
+/**
+ * Points in a task's lifecycle recorded by the lifecycle tracer.
+ * 
+ * CREATED → QUEUED → POLLED → LOCK_ACQUIRED → EXEC_START → EXEC_END → PERSISTED
+ */
+public enum TaskPhase {
+    /**
+     * Task row written (workflow accepted)
+     */
+    CREATED,
+    
+    /**
+     * Dispatched by the scheduler (outbox entry written)
+     */
+    QUEUED,
+    
+    /**
+     * Message received by a worker
+     */
+    POLLED,
+    
+    /**
+     * Worker holds the per-task lock
+     */
+    LOCK_ACQUIRED,
+    
+    /**
+     * Executor started on the execution pool (task marked RUNNING, inputs resolved)
+     */
+    EXEC_START,
+    
+    /**
+     * Executor returned or threw
+     */
+    EXEC_END,
+    
+    /**
+     * Outcome committed (dependents released or retry scheduled)
+     */
+    PERSISTED
+}
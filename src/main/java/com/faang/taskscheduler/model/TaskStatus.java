@@ -10,7 +10,7 @@ package com.faang.taskscheduler.model;
  */
 public enum TaskStatus {
     /**
-     * Task created but not yet queued
+     * Task created but not yet queued (ready for dispatch once its dependencies completed)
      */
     PENDING,
     
@@ -0,0 +1,48 @@
+package com.faang.taskscheduler.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+
+/**
+ * One lifecycle phase of one task attempt, flushed in batches by LifecycleTracer.
+ * 
+ * FAANG Interview Points:
+ * - Append-only and written off the hot path (ring buffer + batched insert)
+ * - Sequence ids with allocationSize = batch size keep JDBC batching enabled
+ * - Timestamps are epoch microseconds from the recording node's clock
+ */
+@Entity
+@Table(name = "task_trace_events", indexes = {
+    @Index(name = "idx_trace_workflow", columnList = "workflowId"),
+    @Index(name = "idx_trace_recorded", columnList = "recordedAtMicros")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTraceEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trace_seq")
+    @SequenceGenerator(name = "trace_seq", sequenceName = "task_trace_events_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    @JavaType(UuidStringJavaType.class)
+    private String workflowId;
+    
+    @Column(nullable = false)
+    @JavaType(UuidStringJavaType.class)
+    private String taskId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskPhase phase;
+    
+    @Column(nullable = false)
+    private Long recordedAtMicros;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,6 +18,7 @@ import java.util.List;
  * - Manages task dependencies
  * - Tracks overall workflow progress
  * - Supports parallel execution of independent tasks
+ * - Time-ordered UUIDv7 key in a native uuid column
  */
 @Entity
 @Table(name = "workflows", indexes = {
@@ -29,8 +31,11 @@ import java.util.List;
 @AllArgsConstructor
 public class Workflow {
     
+    public static final String DEFAULT_TENANT = "default";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
     
     @Column(nullable = false)
@@ -39,6 +44,14 @@ public class Workflow {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    // Scheduler shard (hash of the id), owned by one scheduler node at a time
+    @Builder.Default
+    private Integer shard = 0;
+    
+    // Fair-share group; workflows of one tenant share the tenant's dispatch weight
+    @Builder.Default
+    private String tenantId = Workflow.DEFAULT_TENANT;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private WorkflowStatus status;
@@ -47,6 +60,18 @@ public class Workflow {
     @Column(columnDefinition = "TEXT")
     private String dagDefinition;
     
+    // Shape key of the compiled ExecutionPlan (shared by workflows with the same template)
+    private String planKey;
+    
+    // Optional SLA: tasks get a latest start time derived from it
+    private LocalDateTime deadline;
+    
+    // Set once when a task is dispatched after its latest start time
+    @Builder.Default
+    private Boolean deadlineAtRisk = false;
+    
+    private Boolean deadlineMissed;
+    
     // Workflow input parameters
     @Column(columnDefinition = "TEXT")
     private String inputParameters;
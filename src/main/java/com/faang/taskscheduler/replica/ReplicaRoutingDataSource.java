@@ -0,0 +1,90 @@
+package com.faang.taskscheduler.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions that opted in (onReplica) to the replica pool and
+ * everything else to the primary.
+ *
+ * FAANG Interview Points:
+ * - The key is read when a physical connection is taken, so this must sit behind a
+ *   LazyConnectionDataSourceProxy: the transaction manager opens its connection before
+ *   the read-only flag is set, the proxy defers the real one to the first statement
+ * - Opt-in, not every readOnly transaction: Spring Data wraps each standalone finder in
+ *   a read-only transaction, and read-then-write paths (worker registration, shard
+ *   leases, dispatch) must not see a lagging replica
+ * - Writes, schema init and connections taken outside a transaction stay on the primary,
+ *   even inside onReplica
+ * - Separate pools: status polling can no longer starve completion updates of connections
+ * - unwrap reaches the primary pool, so pool-level checks (admission control's
+ *   saturation signal) keep watching the pool writes depend on
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+    
+    private final DataSource primary;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.primary = primary;
+        primaryConnections = meterRegistry.counter("task_scheduler.datasource.routed", "target", "primary");
+        replicaConnections = meterRegistry.counter("task_scheduler.datasource.routed", "target", "replica");
+    }
+    
+    /**
+     * Run work with the read-only transactions it starts on this thread reading from the
+     * replica (call inside the transaction, before its first statement, or around it)
+     */
+    public static <T> T onReplica(Supplier<T> work) {
+        if (REPLICA_READS.get() != null) {
+            return work.get();
+        }
+        REPLICA_READS.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            REPLICA_READS.remove();
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (REPLICA_READS.get() != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+    
+    /**
+     * The primary's pool (e.g. HikariDataSource), whatever the calling thread would be routed to
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+    
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+}
@@ -0,0 +1,29 @@
+package com.faang.taskscheduler.repository;
+
+import com.faang.taskscheduler.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Lock the oldest pending events for relay.
+     * SKIP LOCKED lets several relays drain the outbox concurrently without blocking each other.
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+    
+    /**
+     * Drop unpublished messages of a workflow (e.g. on cancellation)
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.aggregateId = :aggregateId")
+    int deleteByAggregateId(@Param("aggregateId") String aggregateId);
+}
@@ -0,0 +1,9 @@
+package com.faang.taskscheduler.repository;
+
+import com.faang.taskscheduler.model.TaskDurationStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskDurationStatsRepository extends JpaRepository<TaskDurationStats, String> {
+}
@@ -2,26 +2,161 @@ package com.faang.taskscheduler.repository;
 
 import com.faang.taskscheduler.model.Task;
 import com.faang.taskscheduler.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, String> {
     
+    /**
+     * Highest priority first. Priorities are stored as names, which sort alphabetically,
+     * so order by their level instead.
+     */
+    String PRIORITY_DESC = "CASE t.priority " +
+        "WHEN com.faang.taskscheduler.model.TaskPriority.CRITICAL THEN 3 " +
+        "WHEN com.faang.taskscheduler.model.TaskPriority.HIGH THEN 2 " +
+        "WHEN com.faang.taskscheduler.model.TaskPriority.MEDIUM THEN 1 " +
+        "ELSE 0 END DESC";
+    
     List<Task> findByWorkflowId(String workflowId);
     
     List<Task> findByStatus(TaskStatus status);
     
+    List<Task> findByWorkflowIdAndTaskNameIn(String workflowId, Collection<String> taskNames);
+    
+    /**
+     * Tasks moved to the archive partitions (see PartitionArchiver)
+     */
+    @Query(value = "SELECT * FROM tasks_archive WHERE workflow_id = CAST(:workflowId AS uuid)", nativeQuery = true)
+    List<Task> findArchivedByWorkflowId(@Param("workflowId") String workflowId);
+    
+    /**
+     * Ready tasks (all dependencies completed, retry backoff elapsed) in HEFT order: longest
+     * remaining path first.
+     * Rows are locked with SKIP LOCKED so concurrent dispatchers never pick the same task.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Task t WHERE t.shard IN :shards AND t.status IN :statuses " +
+           "AND t.remainingDependencies = 0 AND (t.nextAttemptAt IS NULL OR t.nextAttemptAt <= :now) " +
+           "ORDER BY t.upwardRankMs DESC, " + PRIORITY_DESC + ", t.createdAt ASC")
+    List<Task> findReadyTasksByRank(
+        @Param("shards") Collection<Integer> shards,
+        @Param("statuses") List<TaskStatus> statuses,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    /**
+     * Ready tasks in EDF order: least slack (earliest latest-start time) first,
+     * tasks without a deadline after all deadline tasks, HEFT order as tie-breaker
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Task t WHERE t.shard IN :shards AND t.status IN :statuses " +
+           "AND t.remainingDependencies = 0 AND (t.nextAttemptAt IS NULL OR t.nextAttemptAt <= :now) " +
+           "ORDER BY t.latestStartAt ASC NULLS LAST, t.upwardRankMs DESC, " + PRIORITY_DESC + ", t.createdAt ASC")
+    List<Task> findReadyTasksByDeadline(
+        @Param("shards") Collection<Integer> shards,
+        @Param("statuses") List<TaskStatus> statuses,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    /**
+     * Ready tasks of one workflow in HEFT order (fair-share dispatch)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Task t WHERE t.workflowId = :workflowId AND t.status IN :statuses " +
+           "AND t.remainingDependencies = 0 AND (t.nextAttemptAt IS NULL OR t.nextAttemptAt <= :now) " +
+           "ORDER BY t.upwardRankMs DESC, " + PRIORITY_DESC + ", t.createdAt ASC")
+    List<Task> findReadyTasksByWorkflow(
+        @Param("workflowId") String workflowId,
+        @Param("statuses") List<TaskStatus> statuses,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    /**
+     * Ready task count per workflow (fair-share backlog)
+     */
+    @Query("SELECT t.workflowId AS workflowId, t.tenantId AS tenantId, COUNT(t) AS count FROM Task t " +
+           "WHERE t.shard IN :shards AND t.status IN :statuses AND t.remainingDependencies = 0 " +
+           "AND (t.nextAttemptAt IS NULL OR t.nextAttemptAt <= :now) " +
+           "GROUP BY t.workflowId, t.tenantId")
+    List<WorkflowTaskCount> countReadyTasksByWorkflow(
+        @Param("shards") Collection<Integer> shards,
+        @Param("statuses") List<TaskStatus> statuses,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Task count per workflow in the given statuses (e.g. in flight)
+     */
+    @Query("SELECT t.workflowId AS workflowId, t.tenantId AS tenantId, COUNT(t) AS count FROM Task t " +
+           "WHERE t.workflowId IN :workflowIds AND t.status IN :statuses " +
+           "GROUP BY t.workflowId, t.tenantId")
+    List<WorkflowTaskCount> countTasksByWorkflow(
+        @Param("workflowIds") Collection<String> workflowIds,
+        @Param("statuses") List<TaskStatus> statuses
+    );
+    
+    /**
+     * A dependency of these tasks completed: one step closer to ready
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.remainingDependencies = t.remainingDependencies - 1, t.updatedAt = :now " +
+           "WHERE t.workflowId = :workflowId AND t.taskName IN :taskNames")
+    int decrementRemainingDependencies(
+        @Param("workflowId") String workflowId,
+        @Param("taskNames") Collection<String> taskNames,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Cancel not-yet-started tasks (e.g. downstream of a permanently failed task)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :cancelled, t.updatedAt = :now " +
+           "WHERE t.workflowId = :workflowId AND t.taskName IN :taskNames AND t.status = :pending")
+    int cancelPendingTasks(
+        @Param("workflowId") String workflowId,
+        @Param("taskNames") Collection<String> taskNames,
+        @Param("pending") TaskStatus pending,
+        @Param("cancelled") TaskStatus cancelled,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Cancel every task of a workflow that has not finished yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :cancelled, t.completedAt = :now, t.updatedAt = :now " +
+           "WHERE t.workflowId = :workflowId AND t.status IN :statuses")
+    int cancelWorkflowTasks(
+        @Param("workflowId") String workflowId,
+        @Param("statuses") List<TaskStatus> statuses,
+        @Param("cancelled") TaskStatus cancelled,
+        @Param("now") LocalDateTime now
+    );
+    
     List<Task> findByStatusIn(List<TaskStatus> statuses);
     
-    @Query("SELECT t FROM Task t WHERE t.status = :status ORDER BY t.priority DESC, t.createdAt ASC")
+    @Query("SELECT t FROM Task t WHERE t.status = :status ORDER BY " + PRIORITY_DESC + ", t.createdAt ASC")
     List<Task> findPendingTasksOrderedByPriority(@Param("status") TaskStatus status);
     
     @Query("SELECT t FROM Task t WHERE t.assignedWorkerId = :workerId AND t.status IN :statuses")
@@ -33,6 +168,11 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status")
     long countByStatus(@Param("status") TaskStatus status);
     
+    long countByShardInAndStatus(Collection<Integer> shards, TaskStatus status);
+    
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.status IN :statuses")
+    long countByStatusIn(@Param("statuses") List<TaskStatus> statuses);
+    
     @Query("SELECT COUNT(t) FROM Task t WHERE t.workflowId = :workflowId AND t.status = :status")
     long countByWorkflowIdAndStatus(
         @Param("workflowId") String workflowId, 
@@ -49,6 +189,14 @@ public interface TaskRepository extends JpaRepository<Task, String> {
         @Param("threshold") LocalDateTime threshold
     );
     
+    @Query("SELECT t FROM Task t WHERE t.shard IN :shards AND t.status IN :activeStatuses " +
+           "AND t.updatedAt < :threshold")
+    List<Task> findStaleTasksInShards(
+        @Param("shards") Collection<Integer> shards,
+        @Param("activeStatuses") List<TaskStatus> activeStatuses,
+        @Param("threshold") LocalDateTime threshold
+    );
+    
     /**
      * Bulk update status for tasks assigned to a dead worker
      */
@@ -62,4 +210,34 @@ public interface TaskRepository extends JpaRepository<Task, String> {
         @Param("newStatus") TaskStatus newStatus,
         @Param("now") LocalDateTime now
     );
+    
+    /**
+     * Running tasks started before the threshold that have no backup copy yet
+     */
+    @Query("SELECT t FROM Task t WHERE t.shard IN :shards AND t.status = :status " +
+           "AND t.speculatedAt IS NULL AND t.startedAt < :threshold")
+    List<Task> findSpeculationCandidates(
+        @Param("shards") Collection<Integer> shards,
+        @Param("status") TaskStatus status,
+        @Param("threshold") LocalDateTime threshold
+    );
+    
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.shard IN :shards AND t.status = :status " +
+           "AND t.speculatedAt IS NOT NULL")
+    long countSpeculating(
+        @Param("shards") Collection<Integer> shards,
+        @Param("status") TaskStatus status
+    );
+    
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.status IN :statuses")
+    List<String> findIdsByIdInAndStatusIn(
+        @Param("ids") Collection<String> ids,
+        @Param("statuses") List<TaskStatus> statuses
+    );
+    
+    interface WorkflowTaskCount {
+        String getWorkflowId();
+        String getTenantId();
+        long getCount();
+    }
 }
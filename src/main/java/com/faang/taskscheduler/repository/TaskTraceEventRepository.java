@@ -0,0 +1,20 @@
+package com.faang.taskscheduler.repository;
+
+import com.faang.taskscheduler.model.TaskTraceEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTraceEventRepository extends JpaRepository<TaskTraceEvent, Long> {
+    
+    List<TaskTraceEvent> findByWorkflowId(String workflowId);
+    
+    @Modifying
+    @Query("DELETE FROM TaskTraceEvent e WHERE e.recordedAtMicros < :cutoffMicros")
+    int deleteRecordedBefore(@Param("cutoffMicros") long cutoffMicros);
+}
@@ -3,12 +3,15 @@ package com.faang.taskscheduler.repository;
 import com.faang.taskscheduler.model.Workflow;
 import com.faang.taskscheduler.model.WorkflowStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkflowRepository extends JpaRepository<Workflow, String> {
@@ -17,6 +20,12 @@ public interface WorkflowRepository extends JpaRepository<Workflow, String> {
     
     List<Workflow> findByStatusIn(List<WorkflowStatus> statuses);
     
+    /**
+     * Finished workflow moved to the archive partitions (see PartitionArchiver)
+     */
+    @Query(value = "SELECT * FROM workflows_archive WHERE id = CAST(:id AS uuid)", nativeQuery = true)
+    Optional<Workflow> findArchivedById(@Param("id") String id);
+    
     @Query("SELECT w FROM Workflow w WHERE w.createdAt >= :since ORDER BY w.createdAt DESC")
     List<Workflow> findRecentWorkflows(@Param("since") LocalDateTime since);
     
@@ -26,4 +35,12 @@ public interface WorkflowRepository extends JpaRepository<Workflow, String> {
     @Query("SELECT w FROM Workflow w WHERE w.status IN :activeStatuses " +
            "ORDER BY w.createdAt DESC")
     List<Workflow> findActiveWorkflows(@Param("activeStatuses") List<WorkflowStatus> activeStatuses);
+    
+    /**
+     * Flag workflows as expected to miss their deadline; returns how many were newly flagged
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Workflow w SET w.deadlineAtRisk = true " +
+           "WHERE w.id IN :ids AND (w.deadlineAtRisk = false OR w.deadlineAtRisk IS NULL)")
+    int markDeadlineAtRisk(@Param("ids") Collection<String> ids);
 }
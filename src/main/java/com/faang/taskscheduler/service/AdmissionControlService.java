@@ -0,0 +1,337 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.exception.AdmissionRejectedException;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control and load shedding for workflow submission.
+ * 
+ * FAANG Interview Points:
+ * - Reject early (429 + Retry-After) instead of queueing unbounded work
+ * - Global overload signals: Kafka consumer lag, DB pool saturation, outstanding tasks
+ * - Per-client token buckets for fairness between tenants; a bulk stream is charged
+ *   per item as it is read, so /bulk is no way around the quota
+ * - Concurrency limit keeps submissions below the DB pool size; the permit is taken
+ *   before the quota, so a request shed for concurrency costs the client nothing
+ * - Signals are sampled in the background so the hot path only reads volatiles
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AdmissionControlService {
+    
+    private static final List<TaskStatus> OUTSTANDING_STATUSES = List.of(
+        TaskStatus.PENDING, TaskStatus.QUEUED, TaskStatus.ASSIGNED, 
+        TaskStatus.RUNNING, TaskStatus.RETRYING);
+    
+    private final TaskRepository taskRepository;
+    private final ObjectProvider<KafkaAdmin> kafkaAdmin;
+    private final TaskQueueProducer taskQueueProducer;
+    private final DataSource dataSource;
+    
+    @Value("${task-scheduler.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${task-scheduler.admission.max-concurrent-submissions:16}")
+    private int maxConcurrentSubmissions;
+    
+    @Value("${task-scheduler.admission.max-queue-lag:100000}")
+    private long maxQueueLag;
+    
+    @Value("${task-scheduler.admission.max-outstanding-tasks:500000}")
+    private long maxOutstandingTasks;
+    
+    @Value("${task-scheduler.admission.max-pool-saturation:0.9}")
+    private double maxPoolSaturation;
+    
+    @Value("${task-scheduler.admission.max-pool-waiters:10}")
+    private int maxPoolWaiters;
+    
+    @Value("${task-scheduler.admission.overload-retry-after-seconds:5}")
+    private long overloadRetryAfterSeconds;
+    
+    @Value("${task-scheduler.admission.quota.rate-per-second:50}")
+    private double quotaRatePerSecond;
+    
+    @Value("${task-scheduler.admission.quota.burst:200}")
+    private double quotaBurst;
+    
+    @Value("${task-scheduler.admission.quota.idle-eviction-ms:600000}")
+    private long quotaIdleEvictionMs;
+    
+    @Value("${task-scheduler.queue.topic}")
+    private String taskQueueTopic;
+    
+    @Value("${spring.kafka.consumer.group-id}")
+    private String consumerGroupId;
+    
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    private Semaphore submissionPermits;
+    private volatile AdminClient adminClient;
+    private HikariDataSource primaryPool;
+    
+    // Sampled overload signals
+    private volatile long queueLag;
+    private volatile long outstandingTasks;
+    private volatile String overloadReason;
+    
+    /**
+     * Admit a request for the given client or throw AdmissionRejectedException.
+     * On success the caller must call {@link #release()} when the request finishes.
+     * 
+     * @param clientId Client identity used for quota accounting
+     * @param cost Number of quota tokens the request consumes
+     */
+    public void admit(String clientId, double cost) {
+        if (!enabled) {
+            return;
+        }
+        
+        String reason = overloadReason;
+        if (reason != null) {
+            throw new AdmissionRejectedException("Service overloaded: " + reason, overloadRetryAfterSeconds);
+        }
+        
+        if (!submissionPermits.tryAcquire()) {
+            throw new AdmissionRejectedException("Too many concurrent submissions", 1);
+        }
+        
+        long retryAfterSeconds = charge(clientId, cost);
+        if (retryAfterSeconds > 0) {
+            submissionPermits.release();
+            throw new AdmissionRejectedException("Quota exceeded for client: " + clientId, retryAfterSeconds);
+        }
+    }
+    
+    /**
+     * Charge quota for work discovered after admission (the items of a bulk stream)
+     * 
+     * @return 0 if the tokens were consumed, otherwise seconds until the client can pay
+     */
+    public long charge(String clientId, double cost) {
+        if (!enabled) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(clientId, 
+            id -> new TokenBucket(quotaRatePerSecond, quotaBurst));
+        long retryAfterMs = bucket.tryConsume(cost);
+        return retryAfterMs > 0 ? Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMs + 999)) : 0;
+    }
+    
+    /**
+     * Release the concurrency permit taken by a successful {@link #admit}
+     */
+    public void release() {
+        if (enabled) {
+            submissionPermits.release();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Refresh overload signals in the background
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.admission.sample-interval-ms:1000}")
+    public void sampleLoadSignals() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            outstandingTasks = taskRepository.countByStatusIn(OUTSTANDING_STATUSES);
+        } catch (RuntimeException e) {
+            log.debug("Outstanding task sample failed: {}", e.getMessage());
+        }
+        
+        try {
+            queueLag = fetchQueueLag();
+        } catch (Exception e) {
+            log.debug("Queue lag sample failed: {}", e.getMessage());
+        }
+        
+        String reason = null;
+        if (queueLag > maxQueueLag) {
+            reason = "queue lag " + queueLag;
+        } else if (outstandingTasks > maxOutstandingTasks) {
+            reason = "outstanding tasks " + outstandingTasks;
+        } else {
+            reason = checkPoolSaturation();
+        }
+        
+        if (reason != null && overloadReason == null) {
+            log.warn("Admission control shedding load: {}", reason);
+        } else if (reason == null && overloadReason != null) {
+            log.info("Admission control recovered");
+        }
+        overloadReason = reason;
+        
+        // Drop buckets of clients that went quiet
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.idleMillis(now) > quotaIdleEvictionMs);
+    }
+    
+    private String checkPoolSaturation() {
+        HikariDataSource hikari = primaryPool;
+        if (hikari == null) {
+            return null;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return null;
+        }
+        
+        int waiting = pool.getThreadsAwaitingConnection();
+        double saturation = (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+        
+        if (waiting > maxPoolWaiters) {
+            return "db pool waiters " + waiting;
+        }
+        if (saturation >= maxPoolSaturation && waiting > 0) {
+            return String.format("db pool saturation %.2f", saturation);
+        }
+        return null;
+    }
+    
+    /**
+     * Sum of (log end offset - committed offset) over the task topic for the worker group;
+     * in-process queues report their backlog directly
+     */
+    private long fetchQueueLag() throws Exception {
+        long backlog = taskQueueProducer.backlog();
+        if (backlog >= 0) {
+            return backlog;
+        }
+        
+        AdminClient admin = adminClient();
+        
+        Map<TopicPartition, OffsetAndMetadata> committed = admin
+            .listConsumerGroupOffsets(consumerGroupId)
+            .partitionsToOffsetAndMetadata()
+            .get(5, TimeUnit.SECONDS);
+        
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        committed.keySet().stream()
+            .filter(tp -> tp.topic().equals(taskQueueTopic))
+            .forEach(tp -> request.put(tp, OffsetSpec.latest()));
+        if (request.isEmpty()) {
+            return 0;
+        }
+        
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = admin
+            .listOffsets(request)
+            .all()
+            .get(5, TimeUnit.SECONDS);
+        
+        long lag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> entry : latest.entrySet()) {
+            OffsetAndMetadata offset = committed.get(entry.getKey());
+            long position = offset != null ? offset.offset() : 0;
+            lag += Math.max(0, entry.getValue().offset() - position);
+        }
+        return lag;
+    }
+    
+    private AdminClient adminClient() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getObject().getConfigurationProperties());
+        }
+        return adminClient;
+    }
+    
+    @PostConstruct
+    public void init() {
+        submissionPermits = new Semaphore(maxConcurrentSubmissions);
+        primaryPool = hikariPool(dataSource);
+        if (primaryPool == null) {
+            log.info("Connection pool is not Hikari: pool saturation is not used for admission");
+        }
+    }
+    
+    /**
+     * The Hikari pool behind the DataSource, also through the read-replica routing proxy
+     * (which unwraps to the primary); null for other pools
+     */
+    private static HikariDataSource hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+    
+    /**
+     * Classic token bucket: refills continuously at {@code rate} tokens/s up to {@code burst}
+     */
+    static final class TokenBucket {
+        
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+        
+        TokenBucket(double ratePerSecond, double capacity) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+        
+        /**
+         * @return 0 if tokens were consumed, otherwise milliseconds until enough tokens accrue
+         */
+        synchronized long tryConsume(double cost) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+            lastRefillNanos = now;
+            
+            double needed = Math.min(cost, capacity);
+            if (tokens >= needed) {
+                tokens -= needed;
+                return 0;
+            }
+            double deficit = needed - tokens;
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis((long) (deficit / ratePerNano)));
+        }
+        
+        synchronized long idleMillis(long now) {
+            return TimeUnit.NANOSECONDS.toMillis(now - lastRefillNanos);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.BulkSubmissionResult;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk workflow submission (NDJSON in, NDJSON out).
+ * 
+ * FAANG Interview Points:
+ * - Incremental parsing with Jackson's streaming API: memory is O(batch), not O(body)
+ * - One transaction per batch instead of one per workflow
+ * - Per-item results streamed back as each batch commits
+ * - Each item after the first (which admission already charged) costs the client one
+ *   quota token as it is read; when the quota runs out the rest of the stream is refused
+ * - A bad item is rejected on its own; it never fails its neighbours: validation errors
+ *   are caught per item, and a batch that fails to persist is retried item by item
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkWorkflowService {
+    
+    private final WorkflowService workflowService;
+    private final AdmissionControlService admissionControlService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    
+    @Value("${task-scheduler.bulk.batch-size:200}")
+    private int batchSize;
+    
+    /**
+     * Read WorkflowRequests from the body and write one result line per item.
+     * 
+     * @param clientId Client charged per item, or null when admission control is off
+     */
+    public void submit(InputStream body, OutputStream out, String clientId) throws IOException {
+        List<PendingItem> batch = new ArrayList<>(batchSize);
+        int index = 0;
+        int accepted = 0;
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(body);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            
+            generator.setRootValueSeparator(null);
+            
+            while (parser.nextToken() != null) {
+                int itemIndex = index++;
+                
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(parser);
+                } catch (JsonProcessingException e) {
+                    // Malformed JSON leaves the stream in an unknown state: stop here
+                    writeResult(generator, rejected(itemIndex, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                
+                long retryAfterSeconds = itemIndex > 0 && clientId != null 
+                    ? admissionControlService.charge(clientId, 1.0) : 0;
+                if (retryAfterSeconds > 0) {
+                    // Items already read are still persisted; the client resubmits from here
+                    writeResult(generator, rejected(itemIndex, 
+                        "Quota exceeded for client: " + clientId + ", retry after " + retryAfterSeconds + "s"));
+                    break;
+                }
+                
+                try {
+                    WorkflowRequest request = objectMapper.treeToValue(node, WorkflowRequest.class);
+                    validate(request);
+                    batch.add(new PendingItem(itemIndex, request));
+                } catch (JsonProcessingException e) {
+                    writeResult(generator, rejected(itemIndex, "Invalid request: " + e.getOriginalMessage()));
+                } catch (IllegalArgumentException e) {
+                    writeResult(generator, rejected(itemIndex, "Invalid request: " + e.getMessage()));
+                } catch (RuntimeException e) {
+                    // DAG compilation or an executor's parameter check failing unexpectedly
+                    log.warn("Bulk item validation failed: index={}", itemIndex, e);
+                    writeResult(generator, rejected(itemIndex, "Invalid request: " + e.getMessage()));
+                }
+                
+                if (batch.size() >= batchSize) {
+                    accepted += flushBatch(batch, generator);
+                }
+            }
+            
+            accepted += flushBatch(batch, generator);
+        }
+        
+        log.info("Bulk submission finished: items={}, accepted={}", index, accepted);
+    }
+    
+    /**
+     * Persist pending items in one transaction and stream their results. If the batch
+     * fails, each item is persisted in its own transaction so only the bad ones are rejected.
+     * 
+     * @return number of accepted workflows
+     */
+    private int flushBatch(List<PendingItem> batch, JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        int accepted = 0;
+        try {
+            List<WorkflowResponse> responses = workflowService.createWorkflows(
+                batch.stream().map(PendingItem::request).collect(Collectors.toList()));
+            
+            for (int i = 0; i < batch.size(); i++) {
+                writeResult(generator, accepted(batch.get(i).index(), responses.get(i)));
+            }
+            accepted = batch.size();
+        
+        } catch (RuntimeException e) {
+            log.warn("Bulk batch persistence failed, retrying item by item: size={}", batch.size(), e);
+            for (PendingItem item : batch) {
+                try {
+                    WorkflowResponse response = workflowService.createWorkflows(List.of(item.request())).get(0);
+                    writeResult(generator, accepted(item.index(), response));
+                    accepted++;
+                } catch (RuntimeException itemFailure) {
+                    log.error("Bulk item persistence failed: index={}", item.index(), itemFailure);
+                    writeResult(generator, rejected(item.index(), "Persistence failed: " + itemFailure.getMessage()));
+                }
+            }
+        }
+        
+        generator.flush();
+        batch.clear();
+        return accepted;
+    }
+    
+    /**
+     * Bean validation plus the service-level checks used by the single-item API
+     */
+    private void validate(WorkflowRequest request) {
+        Set<ConstraintViolation<WorkflowRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; ")));
+        }
+        workflowService.validateWorkflowRequest(request);
+    }
+    
+    private void writeResult(JsonGenerator generator, BulkSubmissionResult result) throws IOException {
+        generator.writeObject(result);
+        generator.writeRaw('\n');
+    }
+    
+    private BulkSubmissionResult accepted(int index, WorkflowResponse response) {
+        return BulkSubmissionResult.builder()
+            .index(index)
+            .accepted(true)
+            .workflowId(response.getWorkflowId())
+            .totalTasks(response.getTotalTasks())
+            .build();
+    }
+    
+    private BulkSubmissionResult rejected(int index, String error) {
+        return BulkSubmissionResult.builder()
+            .index(index)
+            .accepted(false)
+            .error(error)
+            .build();
+    }
+    
+    private record PendingItem(int index, WorkflowRequest request) {}
+}
@@ -0,0 +1,87 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.repository.WorkflowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deadline (SLA) accounting for workflows.
+ * 
+ * FAANG Interview Points:
+ * - Expected miss: a task dispatched after its latest start time (negative slack),
+ *   i.e. the remaining critical path no longer fits before the deadline
+ * - Actual miss: the workflow finished after its deadline
+ * - Expected misses rising ahead of actual misses is the signal to add capacity
+ * - Counted once per workflow, so the ratios are per-SLA, not per-task
+ */
+@Service
+@Slf4j
+public class DeadlineTracker {
+    
+    private final WorkflowRepository workflowRepository;
+    private final Counter expectedMisses;
+    private final Counter actualMisses;
+    private final Counter met;
+    
+    public DeadlineTracker(WorkflowRepository workflowRepository, MeterRegistry meterRegistry) {
+        this.workflowRepository = workflowRepository;
+        this.expectedMisses = Counter.builder("task_scheduler.deadline.misses")
+            .tag("kind", "expected")
+            .description("Workflows with a task dispatched after its latest start time")
+            .register(meterRegistry);
+        this.actualMisses = Counter.builder("task_scheduler.deadline.misses")
+            .tag("kind", "actual")
+            .description("Workflows finished after their deadline")
+            .register(meterRegistry);
+        this.met = Counter.builder("task_scheduler.deadline.met")
+            .description("Workflows finished within their deadline")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Record a dispatch batch (caller holds the transaction)
+     */
+    public void onDispatched(List<Task> tasks, LocalDateTime now) {
+        Set<String> late = tasks.stream()
+            .filter(task -> task.getLatestStartAt() != null && task.getLatestStartAt().isBefore(now))
+            .map(Task::getWorkflowId)
+            .collect(Collectors.toSet());
+        if (late.isEmpty()) {
+            return;
+        }
+        
+        int flagged = workflowRepository.markDeadlineAtRisk(late);
+        if (flagged > 0) {
+            expectedMisses.increment(flagged);
+            log.warn("Workflows expected to miss their deadline: {}", flagged);
+        }
+    }
+    
+    /**
+     * Record a finished workflow; sets its deadlineMissed flag
+     */
+    public void onFinished(Workflow workflow) {
+        if (workflow.getDeadline() == null || workflow.getCompletedAt() == null) {
+            return;
+        }
+        
+        boolean missed = workflow.getCompletedAt().isAfter(workflow.getDeadline());
+        workflow.setDeadlineMissed(missed);
+        if (missed) {
+            actualMisses.increment();
+            log.warn("Workflow missed its deadline: workflowId={}, deadline={}, completedAt={}", 
+                     workflow.getId(), workflow.getDeadline(), workflow.getCompletedAt());
+        } else {
+            met.increment();
+        }
+    }
+}
@@ -1,77 +1,29 @@
 package com.faang.taskscheduler.service;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
- * Distributed locking service using Redis (Redisson).
- * 
- * FAANG Interview Points:
- * - Prevents duplicate task execution across workers
- * - Uses try-with-resources for automatic lock release
- * - Handles lock timeout and failure scenarios
- * - Thread-safe operations in distributed environment
+ * Named mutual-exclusion locks: leased for executeWithLock, held until released
+ * for tryLock and executeWithLockAsync (the task locks).
+ * Redis (Redisson) in distributed mode, in-process locks in embedded mode.
  */
-@Service
-@Slf4j
-@RequiredArgsConstructor
-public class DistributedLockService {
-    
-    private final RedissonClient redissonClient;
-    
-    @Value("${task-scheduler.lock.wait-time-ms:5000}")
-    private long waitTime;
-    
-    @Value("${task-scheduler.lock.lease-time-ms:30000}")
-    private long leaseTime;
+public interface DistributedLockService {
     
     /**
-     * Execute action with distributed lock.
+     * Execute action with lock.
      * 
      * @param lockKey Unique lock identifier
      * @param action Action to execute while holding lock
      * @return Result of action
      * @throws RuntimeException if lock cannot be acquired
      */
-    public <T> T executeWithLock(String lockKey, Supplier<T> action) {
-        RLock lock = redissonClient.getLock(lockKey);
-        
-        try {
-            boolean acquired = lock.tryLock(waitTime, leaseTime, TimeUnit.MILLISECONDS);
-            
-            if (!acquired) {
-                log.warn("Failed to acquire lock: {}", lockKey);
-                throw new RuntimeException("Could not acquire lock: " + lockKey);
-            }
-            
-            log.debug("Lock acquired: {}", lockKey);
-            
-            try {
-                return action.get();
-            } finally {
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                    log.debug("Lock released: {}", lockKey);
-                }
-            }
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Lock acquisition interrupted: " + lockKey, e);
-        }
-    }
+    <T> T executeWithLock(String lockKey, Supplier<T> action);
     
     /**
      * Execute action with lock, return void
      */
-    public void executeWithLock(String lockKey, Runnable action) {
+    default void executeWithLock(String lockKey, Runnable action) {
         executeWithLock(lockKey, () -> {
             action.run();
             return null;
@@ -79,34 +31,27 @@ public class DistributedLockService {
     }
     
     /**
-     * Try to acquire lock without blocking
+     * Execute an asynchronous action with lock, without parking the calling thread.
+     * The lock is released when the action's future completes; until then it is
+     * renewed while this node is alive rather than leased.
+     * 
+     * @return Result of action, or a failed future if the lock cannot be acquired
+     */
+    <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<CompletableFuture<T>> action);
+    
+    /**
+     * Try to acquire lock without blocking (held by the current thread until unlock,
+     * renewed while this node is alive rather than leased)
      */
-    public boolean tryLock(String lockKey) {
-        RLock lock = redissonClient.getLock(lockKey);
-        try {
-            return lock.tryLock(0, leaseTime, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
+    boolean tryLock(String lockKey);
     
     /**
-     * Release lock manually
+     * Release a lock held by the current thread
      */
-    public void unlock(String lockKey) {
-        RLock lock = redissonClient.getLock(lockKey);
-        if (lock.isHeldByCurrentThread()) {
-            lock.unlock();
-            log.debug("Manual lock release: {}", lockKey);
-        }
-    }
+    void unlock(String lockKey);
     
     /**
      * Check if lock is currently held
      */
-    public boolean isLocked(String lockKey) {
-        RLock lock = redissonClient.getLock(lockKey);
-        return lock.isLocked();
-    }
+    boolean isLocked(String lockKey);
 }
@@ -0,0 +1,190 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.model.Workflow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a dispatch budget across tenants and workflows with deficit round robin.
+ * 
+ * FAANG Interview Points:
+ * - Two-level DRR: tenants get credit proportional to their weight each round,
+ *   and spend it round-robin across their own active workflows
+ * - Deficit is carried between rounds (and dispatch cycles) so fractional
+ *   weights still get their share; it resets when a tenant has no backlog
+ * - Per-workflow in-flight cap keeps one huge workflow from filling the queue
+ *   ahead of small ones, but the cap is lifted for leftover budget, so capacity
+ *   is never idle while only one big workflow is running (work conserving)
+ * - O(budget + workflows) per cycle, all in memory
+ * 
+ * Not thread-safe: called only from the scheduler loop.
+ */
+@Component
+@Slf4j
+public class FairShareAllocator {
+    
+    @Value("${task-scheduler.fair-share.quantum:1.0}")
+    private double quantum;
+    
+    @Value("${task-scheduler.fair-share.max-in-flight-per-workflow:50}")
+    private long maxInFlightPerWorkflow;
+    
+    private final Map<String, Double> tenantWeights = new HashMap<>();
+    
+    // DRR state carried across dispatch cycles
+    private final Map<String, Double> tenantDeficit = new HashMap<>();
+    private final Map<String, Integer> workflowCursor = new HashMap<>();
+    private int tenantCursor;
+    
+    /**
+     * Tenant weights as "tenantA=2,tenantB=0.5"; unlisted tenants weigh 1
+     */
+    @Value("${task-scheduler.fair-share.tenant-weights:}")
+    void setTenantWeights(String weights) {
+        tenantWeights.clear();
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                continue;
+            }
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Tenant weight must be positive: " + entry);
+            }
+            tenantWeights.put(parts[0].trim(), weight);
+        }
+    }
+    
+    /**
+     * Ready backlog of one workflow
+     * 
+     * @param ready    Tasks ready to dispatch
+     * @param inFlight Tasks queued or running
+     */
+    public record Backlog(String workflowId, String tenantId, long ready, long inFlight) {}
+    
+    /**
+     * @return Number of tasks to dispatch per workflow id
+     */
+    public Map<String, Integer> allocate(List<Backlog> backlogs, int budget) {
+        Map<String, Integer> allocation = new HashMap<>();
+        if (budget <= 0 || backlogs.isEmpty()) {
+            return allocation;
+        }
+        
+        Map<String, List<Backlog>> byTenant = backlogs.stream()
+            .collect(Collectors.groupingBy(
+                backlog -> backlog.tenantId() != null ? backlog.tenantId() : Workflow.DEFAULT_TENANT,
+                TreeMap::new, 
+                Collectors.toList()));
+        
+        // Forget tenants that went idle
+        Set<String> active = byTenant.keySet();
+        tenantDeficit.keySet().retainAll(active);
+        workflowCursor.keySet().retainAll(active);
+        
+        List<String> tenants = new ArrayList<>(active);
+        Collections.rotate(tenants, -(tenantCursor++ % tenants.size()));
+        
+        int remaining = distribute(tenants, byTenant, allocation, budget, true);
+        if (remaining > 0) {
+            distribute(tenants, byTenant, allocation, remaining, false);
+        }
+        return allocation;
+    }
+    
+    private int distribute(List<String> tenants, Map<String, List<Backlog>> byTenant,
+                           Map<String, Integer> allocation, int budget, boolean capped) {
+        int remaining = budget;
+        boolean backlogged = true;
+        
+        // Each task served lowers its workflow's availability by exactly one, so tenant
+        // demand is summed once per pass and then decremented rather than rescanned per round
+        Map<String, Long> demandByTenant = new HashMap<>();
+        for (String tenant : tenants) {
+            long demand = 0;
+            for (Backlog backlog : byTenant.get(tenant)) {
+                demand += available(backlog, allocation, capped);
+            }
+            demandByTenant.put(tenant, demand);
+        }
+        
+        while (remaining > 0 && backlogged) {
+            backlogged = false;
+            
+            for (String tenant : tenants) {
+                List<Backlog> workflows = byTenant.get(tenant);
+                long demand = demandByTenant.get(tenant);
+                if (demand == 0) {
+                    tenantDeficit.remove(tenant);
+                    continue;
+                }
+                backlogged = true;
+                
+                double deficit = tenantDeficit.getOrDefault(tenant, 0.0) 
+                    + quantum * tenantWeights.getOrDefault(tenant, 1.0);
+                int served = serveWorkflows(tenant, workflows, allocation, 
+                    (int) Math.min(Math.min((long) deficit, demand), remaining), capped);
+                remaining -= served;
+                demandByTenant.put(tenant, demand - served);
+                
+                // An emptied queue forfeits its leftover credit (standard DRR)
+                if (served < demand) {
+                    tenantDeficit.put(tenant, deficit - served);
+                } else {
+                    tenantDeficit.remove(tenant);
+                }
+                
+                if (remaining == 0) {
+                    break;
+                }
+            }
+        }
+        return remaining;
+    }
+    
+    /**
+     * Spend a tenant's credit one task at a time, round-robin over its workflows
+     */
+    private int serveWorkflows(String tenant, List<Backlog> workflows, Map<String, Integer> allocation, 
+                               int credit, boolean capped) {
+        int served = 0;
+        int cursor = workflowCursor.getOrDefault(tenant, 0);
+        int idle = 0;
+        
+        while (served < credit && idle < workflows.size()) {
+            Backlog backlog = workflows.get(cursor % workflows.size());
+            cursor++;
+            
+            if (available(backlog, allocation, capped) > 0) {
+                allocation.merge(backlog.workflowId(), 1, Integer::sum);
+                served++;
+                idle = 0;
+            } else {
+                idle++;
+            }
+        }
+        
+        workflowCursor.put(tenant, cursor % workflows.size());
+        return served;
+    }
+    
+    private long available(Backlog backlog, Map<String, Integer> allocation, boolean capped) {
+        int allocated = allocation.getOrDefault(backlog.workflowId(), 0);
+        long available = backlog.ready() - allocated;
+        if (capped) {
+            available = Math.min(available, maxInFlightPerWorkflow - backlog.inFlight() - allocated);
+        }
+        return Math.max(0, available);
+    }
+}
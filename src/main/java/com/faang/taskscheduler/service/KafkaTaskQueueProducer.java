@@ -0,0 +1,120 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.metrics.QueueMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka producer for task distribution.
+ * 
+ * FAANG Interview Points:
+ * - Asynchronous message publishing for high throughput
+ * - Partition key strategy for load balancing
+ * - Error handling and retry logic
+ * - Dead letter queue for failed messages
+ * - Send latency measured until the broker ack, not until send() returns
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.queue.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaTaskQueueProducer implements TaskQueueProducer {
+    
+    private final KafkaTemplate<String, TaskMessage> kafkaTemplate;
+    private final QueueMetrics queueMetrics;
+    
+    @Value("${task-scheduler.queue.topic}")
+    private String taskQueueTopic;
+    
+    @Value("${task-scheduler.queue.dead-letter-topic}")
+    private String deadLetterTopic;
+    
+    /**
+     * Send task to queue.
+     * Uses task ID (see TaskMessage.getRoutingKey) as partition key for load balancing.
+     */
+    @Override
+    public CompletableFuture<Void> sendTask(TaskMessage taskMessage) {
+        log.debug("Sending task to queue: taskId={}, type={}", 
+                  taskMessage.getTaskId(), taskMessage.getTaskType());
+        
+        CompletableFuture<SendResult<String, TaskMessage>> future = queueMetrics.timeSend(
+            kafkaTemplate.send(taskQueueTopic, taskMessage.getRoutingKey(), taskMessage));
+        
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                log.info("Task queued successfully: taskId={}, partition={}, offset={}", 
+                         taskMessage.getTaskId(),
+                         result.getRecordMetadata().partition(),
+                         result.getRecordMetadata().offset());
+            } else {
+                log.error("Failed to queue task: taskId={}", taskMessage.getTaskId(), ex);
+                // Send to dead letter queue
+                sendToDeadLetterQueue(taskMessage);
+            }
+        });
+        
+        return discardResult(future);
+    }
+    
+    /**
+     * Send a batch of tasks and flush the producer.
+     * No DLQ fallback: callers (the outbox relay) retry failed sends themselves.
+     */
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(List<TaskMessage> taskMessages) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(taskMessages.size());
+        
+        for (TaskMessage taskMessage : taskMessages) {
+            futures.add(discardResult(queueMetrics.timeSend(
+                kafkaTemplate.send(taskQueueTopic, taskMessage.getRoutingKey(), taskMessage))));
+        }
+        kafkaTemplate.flush();
+        
+        log.debug("Sent batch of {} tasks to queue", taskMessages.size());
+        return futures;
+    }
+    
+    /**
+     * Send failed message to dead letter queue
+     */
+    @Override
+    public void sendToDeadLetterQueue(TaskMessage taskMessage) {
+        log.warn("Sending task to dead letter queue: taskId={}", taskMessage.getTaskId());
+        queueMetrics.deadLettered();
+        
+        kafkaTemplate.send(deadLetterTopic, taskMessage.getTaskId(), taskMessage)
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to send to DLQ: taskId={}", taskMessage.getTaskId(), ex);
+                }
+            });
+    }
+    
+    /**
+     * Send task with custom partition key (for colocation)
+     */
+    @Override
+    public CompletableFuture<Void> sendTaskToPartition(TaskMessage taskMessage, String partitionKey) {
+        
+        log.debug("Sending task with partition key: taskId={}, key={}", 
+                  taskMessage.getTaskId(), partitionKey);
+        
+        return discardResult(queueMetrics.timeSend(
+            kafkaTemplate.send(taskQueueTopic, partitionKey, taskMessage)));
+    }
+    
+    private static CompletableFuture<Void> discardResult(CompletableFuture<?> future) {
+        return future.thenApply(result -> null);
+    }
+}
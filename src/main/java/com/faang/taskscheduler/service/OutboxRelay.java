@@ -0,0 +1,116 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.model.OutboxEvent;
+import com.faang.taskscheduler.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the transactional outbox to Kafka.
+ * 
+ * FAANG Interview Points:
+ * - At-least-once delivery: rows are deleted only after the broker acks
+ * - Large batches + one flush per batch amortize producer round trips
+ * - FOR UPDATE SKIP LOCKED allows several relays to run side by side
+ * - Idempotent producer (see application.yml) prevents broker-side duplicates on retry
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.scheduler.enabled", havingValue = "true")
+public class OutboxRelay {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final TaskQueueProducer taskQueueProducer;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${task-scheduler.outbox.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${task-scheduler.outbox.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+    
+    @Value("${task-scheduler.outbox.max-attempts:5}")
+    private int maxAttempts;
+    
+    /**
+     * Relay loop. Keeps draining while full batches are being delivered.
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.outbox.poll-interval-ms:100}")
+    public void relay() {
+        Integer delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> relayBatch());
+        } while (delivered != null && delivered >= batchSize);
+    }
+    
+    /**
+     * Publish one batch of outbox events. Runs inside a transaction holding row locks.
+     * 
+     * @return number of events delivered
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<TaskMessage> messages = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            messages.add(outboxService.readPayload(event));
+        }
+        
+        List<CompletableFuture<Void>> futures = taskQueueProducer.sendBatch(messages);
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> finishedIds = new ArrayList<>(batch.size());
+        int delivered = 0;
+        
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                futures.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                finishedIds.add(event.getId());
+                delivered++;
+            
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                // Left in the outbox for the next cycle (dirty-checked on commit)
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(StringUtils.abbreviate(String.valueOf(e.getCause() != null ? e.getCause() : e), 255));
+                
+                if (event.getAttempts() >= maxAttempts) {
+                    log.error("Outbox event exhausted retries, moving to DLQ: id={}, key={}", 
+                              event.getId(), event.getMessageKey());
+                    taskQueueProducer.sendToDeadLetterQueue(messages.get(i));
+                    finishedIds.add(event.getId());
+                }
+            }
+        }
+        
+        if (!finishedIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(finishedIds);
+        }
+        
+        log.debug("Outbox relay batch: fetched={}, delivered={}", batch.size(), delivered);
+        return delivered;
+    }
+}
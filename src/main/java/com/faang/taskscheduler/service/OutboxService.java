@@ -0,0 +1,134 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.model.OutboxEvent;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes task messages to the transactional outbox.
+ * 
+ * FAANG Interview Points:
+ * - Joins the caller's transaction: tasks and their messages commit atomically
+ * - No network I/O on the request path, only batched inserts
+ * - OutboxRelay publishes the rows to Kafka after commit
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${task-scheduler.queue.topic}")
+    private String taskQueueTopic;
+    
+    /**
+     * Enqueue task messages for the given (already persisted) tasks.
+     * Must be called inside the transaction that saved the tasks.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueTasks(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        
+        List<OutboxEvent> events = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskMessage message = toTaskMessage(task);
+            events.add(OutboxEvent.builder()
+                .topic(taskQueueTopic)
+                .messageKey(task.getId())
+                .aggregateId(task.getWorkflowId())
+                .payload(toJson(message))
+                .build());
+        }
+        
+        outboxEventRepository.saveAll(events);
+        log.debug("Enqueued {} task messages in outbox", events.size());
+    }
+    
+    /**
+     * Enqueue backup copies of running tasks, excluded from their current worker.
+     * Must be called inside the transaction that marked the tasks as speculated.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBackups(List<Task> tasks) {
+        List<OutboxEvent> events = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskMessage message = toTaskMessage(task);
+            message.setSpeculative(true);
+            message.setExcludedWorkerId(task.getAssignedWorkerId());
+            events.add(OutboxEvent.builder()
+                .topic(taskQueueTopic)
+                .messageKey(message.getRoutingKey())
+                .aggregateId(task.getWorkflowId())
+                .payload(toJson(message))
+                .build());
+        }
+        
+        outboxEventRepository.saveAll(events);
+        log.debug("Enqueued {} backup task messages in outbox", events.size());
+    }
+    
+    /**
+     * Build the queue message for a task
+     */
+    public TaskMessage toTaskMessage(Task task) {
+        return TaskMessage.builder()
+            .taskId(task.getId())
+            .workflowId(task.getWorkflowId())
+            .taskType(task.getTaskType())
+            .taskName(task.getTaskName())
+            .priority(task.getPriority())
+            .parameters(fromJson(task.getInputParameters()))
+            .retryCount(task.getRetryCount())
+            .scheduledAt(task.getScheduledAt())
+            .build();
+    }
+    
+    /**
+     * Deserialize an outbox payload back into a TaskMessage
+     */
+    public TaskMessage readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), TaskMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload: id=" + event.getId(), e);
+        }
+    }
+    
+    private String toJson(Object obj) {
+        try {
+            return objectMapper.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize to JSON", e);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (JsonProcessingException e) {
+            return new HashMap<>();
+        }
+    }
+}
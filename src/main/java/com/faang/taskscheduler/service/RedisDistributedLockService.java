@@ -0,0 +1,183 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.metrics.LockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Distributed locking service using Redis (Redisson).
+ * 
+ * FAANG Interview Points:
+ * - Prevents duplicate task execution across workers
+ * - Uses try-with-resources for automatic lock release
+ * - Handles lock timeout and failure scenarios
+ * - Thread-safe operations in distributed environment
+ * - Async variant waits for the lock without parking any thread
+ * - Task locks (tryLock, async) are renewed by the watchdog instead of leased, so a
+ *   task running longer than lease-time-ms cannot lose its lock to a redelivery
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.mode", havingValue = "distributed", matchIfMissing = true)
+public class RedisDistributedLockService implements DistributedLockService {
+    
+    private final RedissonClient redissonClient;
+    private final LockMetrics lockMetrics;
+    
+    // Redisson identifies lock owners by (client id, long id); negative ids never clash with thread ids
+    private final AtomicLong asyncOwnerIds = new AtomicLong();
+    
+    @Value("${task-scheduler.lock.wait-time-ms:5000}")
+    private long waitTime;
+    
+    @Value("${task-scheduler.lock.lease-time-ms:30000}")
+    private long leaseTime;
+    
+    /**
+     * Execute action with distributed lock.
+     * 
+     * @param lockKey Unique lock identifier
+     * @param action Action to execute while holding lock
+     * @return Result of action
+     * @throws RuntimeException if lock cannot be acquired
+     */
+    @Override
+    public <T> T executeWithLock(String lockKey, Supplier<T> action) {
+        RLock lock = redissonClient.getLock(lockKey);
+        long start = System.nanoTime();
+        
+        try {
+            boolean acquired = lock.tryLock(waitTime, leaseTime, TimeUnit.MILLISECONDS);
+            lockMetrics.recordWait(LockMetrics.BLOCKING, start, acquired);
+            
+            if (!acquired) {
+                log.warn("Failed to acquire lock: {}", lockKey);
+                throw new RuntimeException("Could not acquire lock: " + lockKey);
+            }
+            
+            log.debug("Lock acquired: {}", lockKey);
+            long acquiredAt = System.nanoTime();
+            
+            try {
+                return action.get();
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                    log.debug("Lock released: {}", lockKey);
+                }
+                lockMetrics.recordHold(LockMetrics.BLOCKING, acquiredAt);
+            }
+        
+        } catch (InterruptedException e) {
+            lockMetrics.recordWait(LockMetrics.BLOCKING, start, false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lock acquisition interrupted: " + lockKey, e);
+        }
+    }
+    
+    /**
+     * Execute an asynchronous action with distributed lock.
+     * 
+     * The lock wait happens on Redisson's event loop instead of a blocked request thread,
+     * and the lock is owned by a synthetic id so it can be released from any thread.
+     * 
+     * @param lockKey Unique lock identifier
+     * @param action Action started once the lock is held; lock is released when it completes
+     * @return Result of action, or a failed future if the lock cannot be acquired
+     */
+    @Override
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<CompletableFuture<T>> action) {
+        RLock lock = redissonClient.getLock(lockKey);
+        long ownerId = -asyncOwnerIds.incrementAndGet();
+        long start = System.nanoTime();
+        
+        // No lease (-1): the watchdog renews the lock until the action completes
+        return lock.tryLockAsync(waitTime, -1, TimeUnit.MILLISECONDS, ownerId)
+            .toCompletableFuture()
+            .thenCompose(acquired -> {
+                lockMetrics.recordWait(LockMetrics.ASYNC, start, acquired);
+                if (!acquired) {
+                    log.warn("Failed to acquire lock: {}", lockKey);
+                    return CompletableFuture.<T>failedFuture(
+                        new RuntimeException("Could not acquire lock: " + lockKey));
+                }
+                
+                log.debug("Lock acquired (async): {}", lockKey);
+                long acquiredAt = System.nanoTime();
+                
+                CompletableFuture<T> result;
+                try {
+                    result = action.get();
+                } catch (RuntimeException e) {
+                    result = CompletableFuture.failedFuture(e);
+                }
+                
+                return result.whenComplete((value, ex) -> {
+                    lockMetrics.recordHold(LockMetrics.ASYNC, acquiredAt);
+                    lock.unlockAsync(ownerId).whenComplete((ignored, unlockEx) -> {
+                        if (unlockEx != null) {
+                            log.warn("Failed to release lock: {}", lockKey, unlockEx);
+                        } else {
+                            log.debug("Lock released (async): {}", lockKey);
+                        }
+                    });
+                });
+            });
+    }
+    
+    /**
+     * Try to acquire lock without blocking. No lease: Redisson's watchdog renews the lock
+     * while this node is alive, so it is held as long as the task it guards runs
+     * (and expires within the watchdog timeout if the node dies).
+     */
+    @Override
+    public boolean tryLock(String lockKey) {
+        RLock lock = redissonClient.getLock(lockKey);
+        long start = System.nanoTime();
+        try {
+            boolean acquired = lock.tryLock(0, TimeUnit.MILLISECONDS);
+            lockMetrics.recordWait(LockMetrics.TRY, start, acquired);
+            if (acquired) {
+                lockMetrics.tryLockAcquired(lockKey);
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            lockMetrics.recordWait(LockMetrics.TRY, start, false);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Release lock manually
+     */
+    @Override
+    public void unlock(String lockKey) {
+        RLock lock = redissonClient.getLock(lockKey);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+            log.debug("Manual lock release: {}", lockKey);
+        }
+        lockMetrics.tryLockReleased(lockKey);
+    }
+    
+    /**
+     * Check if lock is currently held
+     */
+    @Override
+    public boolean isLocked(String lockKey) {
+        RLock lock = redissonClient.getLock(lockKey);
+        return lock.isLocked();
+    }
+}
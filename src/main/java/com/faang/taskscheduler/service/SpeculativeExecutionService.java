@@ -0,0 +1,180 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.estimation.ExecutionTimeModel;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.Worker;
+import com.faang.taskscheduler.model.WorkerStatus;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.WorkerRepository;
+import com.faang.taskscheduler.sharding.ShardLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Launches backup copies of straggling tasks (MapReduce-style speculative execution).
+ * 
+ * FAANG Interview Points:
+ * - Straggler: running longer than slowdown-threshold x the typical duration of
+ *   its task type (learned model, falling back to the executor's estimate)
+ * - Tasks on workers whose average duration is above the cluster mean are
+ *   speculated earlier and first: slow machines cause most stragglers
+ * - Backups never run on the primary's worker; first completion wins and the
+ *   losing copy is interrupted by its worker
+ * - Budget: backups in flight are capped at a fraction of cluster capacity,
+ *   so speculation cannot starve regular work
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "task-scheduler.scheduler.enabled", havingValue = "true")
+public class SpeculativeExecutionService {
+    
+    private final TaskRepository taskRepository;
+    private final WorkerRepository workerRepository;
+    private final OutboxService outboxService;
+    private final ExecutionTimeModel executionTimeModel;
+    private final TaskExecutorRegistry executorRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardLeaseManager shardLeaseManager;
+    private final Counter launched;
+    
+    @Value("${task-scheduler.speculation.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${task-scheduler.speculation.slowdown-threshold:2.0}")
+    private double slowdownThreshold;
+    
+    @Value("${task-scheduler.speculation.baseline-quantile:0.5}")
+    private double baselineQuantile;
+    
+    @Value("${task-scheduler.speculation.min-runtime-ms:5000}")
+    private long minRuntimeMs;
+    
+    @Value("${task-scheduler.speculation.budget-fraction:0.1}")
+    private double budgetFraction;
+    
+    public SpeculativeExecutionService(TaskRepository taskRepository,
+                                       WorkerRepository workerRepository,
+                                       OutboxService outboxService,
+                                       ExecutionTimeModel executionTimeModel,
+                                       TaskExecutorRegistry executorRegistry,
+                                       TransactionTemplate transactionTemplate,
+                                       ShardLeaseManager shardLeaseManager,
+                                       MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.workerRepository = workerRepository;
+        this.outboxService = outboxService;
+        this.executionTimeModel = executionTimeModel;
+        this.executorRegistry = executorRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.shardLeaseManager = shardLeaseManager;
+        this.launched = Counter.builder("task_scheduler.speculation.launched")
+            .description("Backup copies launched for straggling tasks")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${task-scheduler.speculation.check-interval-ms:5000}")
+    public void launchBackups() {
+        if (!enabled) {
+            return;
+        }
+        Integer count = transactionTemplate.execute(status -> launch());
+        if (count != null && count > 0) {
+            launched.increment(count);
+            log.info("Launched {} speculative backup tasks", count);
+        }
+    }
+    
+    private int launch() {
+        Set<Integer> shards = shardLeaseManager.getOwnedShards();
+        List<Worker> workers = workerRepository.findByStatus(WorkerStatus.ACTIVE);
+        if (shards.isEmpty() || workers.size() < 2) {
+            return 0;
+        }
+        
+        // Cluster budget split across scheduler nodes by owned shard fraction
+        long capacity = workers.stream().mapToLong(Worker::getMaxConcurrentTasks).sum();
+        long budget = (long) Math.floor(capacity * budgetFraction * shardLeaseManager.getOwnedFraction()) 
+            - taskRepository.countSpeculating(shards, TaskStatus.RUNNING);
+        if (budget <= 0) {
+            return 0;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> running = taskRepository.findSpeculationCandidates(
+            shards, TaskStatus.RUNNING, now.minus(Duration.ofMillis(minRuntimeMs)));
+        if (running.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, Worker> workersById = workers.stream()
+            .collect(Collectors.toMap(Worker::getId, Function.identity()));
+        double clusterAverageMs = workers.stream()
+            .map(Worker::getAverageTaskDurationMs)
+            .filter(average -> average != null && average > 0)
+            .mapToDouble(Double::doubleValue)
+            .average()
+            .orElse(0);
+        
+        List<Straggler> stragglers = new ArrayList<>();
+        for (Task task : running) {
+            double slowdown = Duration.between(task.getStartedAt(), now).toMillis() 
+                / (double) Math.max(1, expectedDurationMs(task));
+            double workerSlowness = workerSlowness(workersById.get(task.getAssignedWorkerId()), clusterAverageMs);
+            
+            if (slowdown >= slowdownThreshold / workerSlowness) {
+                stragglers.add(new Straggler(task, slowdown * workerSlowness));
+            }
+        }
+        
+        List<Task> backups = stragglers.stream()
+            .sorted(Comparator.comparingDouble(Straggler::score).reversed())
+            .limit(budget)
+            .map(Straggler::task)
+            .toList();
+        if (backups.isEmpty()) {
+            return 0;
+        }
+        
+        backups.forEach(task -> task.setSpeculatedAt(now));
+        taskRepository.saveAll(backups);
+        outboxService.enqueueBackups(backups);
+        return backups.size();
+    }
+    
+    private long expectedDurationMs(Task task) {
+        return executionTimeModel.estimate(task.getTaskType(), -1, baselineQuantile)
+            .orElseGet(() -> executorRegistry.estimateExecutionTime(task.getTaskType(), Map.of()));
+    }
+    
+    /**
+     * Worker's average duration relative to the cluster, in [1, 2]; 1 for unknown or fast workers
+     */
+    private static double workerSlowness(Worker worker, double clusterAverageMs) {
+        Double average = Optional.ofNullable(worker).map(Worker::getAverageTaskDurationMs).orElse(null);
+        if (average == null || clusterAverageMs <= 0) {
+            return 1.0;
+        }
+        return Math.max(1.0, Math.min(2.0, average / clusterAverageMs));
+    }
+    
+    private record Straggler(Task task, double score) {}
+}
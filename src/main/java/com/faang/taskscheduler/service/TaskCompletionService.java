@@ -0,0 +1,324 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.dag.ExecutionPlanCache;
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.replica.RecentWriteTracker;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.WorkflowRepository;
+import com.faang.taskscheduler.state.WorkflowStateStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Task state transitions reported by workers, and DAG progression.
+ * 
+ * FAANG Interview Points:
+ * - Readiness tracked with per-task remaining-dependency counters (in-degree)
+ * - Completion decrements dependents in one bulk UPDATE; row locks make concurrent
+ *   parents race-free, so exactly one of them observes the counter reach zero
+ * - Newly ready tasks are left for TaskSchedulerService to dispatch in rank order
+ * - Failed attempts are retried after an exponential backoff, so a transient outage
+ *   does not use up every attempt within a few dispatch cycles
+ * - Permanent failure cancels everything downstream so the workflow can finish
+ * - Speculative backups: the first completion wins, later ones are ignored
+ * - With the state store enabled (single JVM), readiness and progress are tracked in
+ *   WorkflowStateStore and written behind instead of updated here
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TaskCompletionService {
+    
+    private static final List<TaskStatus> STARTABLE_STATUSES = List.of(TaskStatus.QUEUED, TaskStatus.RETRYING);
+    private static final List<TaskStatus> FINISHED_STATUSES = 
+        List.of(TaskStatus.COMPLETED, TaskStatus.FAILED, TaskStatus.CANCELLED);
+    
+    private final TaskRepository taskRepository;
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowService workflowService;
+    private final ExecutionPlanCache executionPlanCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<WorkflowStateStore> stateStore;
+    private final ObjectProvider<RecentWriteTracker> recentWrites;
+    
+    @Value("${task-scheduler.retry.initial-interval-ms:1000}")
+    private long retryInitialIntervalMs;
+    
+    @Value("${task-scheduler.retry.multiplier:2.0}")
+    private double retryMultiplier;
+    
+    @Value("${task-scheduler.retry.max-interval-ms:60000}")
+    private long retryMaxIntervalMs;
+    
+    /**
+     * Mark a queued task as running on the given worker. A RUNNING row belongs to another
+     * owner (e.g. a redelivered message whose first copy is still executing) and is left alone.
+     * 
+     * @return the task, or empty if it is not waiting to run (missing, running, finished or cancelled)
+     */
+    @Transactional
+    public Optional<Task> startTask(String taskId, String workerId) {
+        Optional<Task> found = taskRepository.findById(taskId);
+        if (found.isEmpty() || !STARTABLE_STATUSES.contains(found.get().getStatus())) {
+            log.info("Skipping task that is not waiting to run: taskId={}, status={}", 
+                     taskId, found.map(Task::getStatus).orElse(null));
+            return Optional.empty();
+        }
+        
+        Task task = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        task.setStatus(TaskStatus.RUNNING);
+        task.setAssignedWorkerId(workerId);
+        task.setAssignedAt(now);
+        task.setStartedAt(now);
+        task.setSpeculatedAt(null);
+        task.setBackupWorkerId(null);
+        
+        stateStore.ifAvailable(store -> store.onStarted(taskId));
+        recentWrites.ifAvailable(writes -> writes.recordWrite(task.getWorkflowId()));
+        return Optional.of(taskRepository.save(task));
+    }
+    
+    /**
+     * Claim the backup copy of a straggling task. The task stays RUNNING on its
+     * primary worker; whichever copy completes first wins.
+     * 
+     * @return the task, or empty if the primary already finished or runs on this worker
+     */
+    @Transactional
+    public Optional<Task> startBackup(String taskId, String workerId) {
+        Optional<Task> found = taskRepository.findById(taskId);
+        if (found.isEmpty() || found.get().getStatus() != TaskStatus.RUNNING 
+                || workerId.equals(found.get().getAssignedWorkerId())) {
+            log.info("Skipping backup that is no longer needed: taskId={}", taskId);
+            return Optional.empty();
+        }
+        
+        Task task = found.get();
+        task.setBackupWorkerId(workerId);
+        return Optional.of(taskRepository.save(task));
+    }
+    
+    /**
+     * Ids among the given tasks that already reached a terminal state
+     */
+    @Transactional(readOnly = true)
+    public List<String> finishedTaskIds(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        return taskRepository.findIdsByIdInAndStatusIn(taskIds, FINISHED_STATUSES);
+    }
+    
+    /**
+     * Build execution parameters: the task's own parameters plus the outputs of its dependencies.
+     * Own parameters win on key clashes; with several dependencies each output is also
+     * available under "inputs" keyed by task name.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> resolveInputs(Task task, Map<String, Object> parameters) {
+        Map<String, Object> resolved = new HashMap<>(parameters != null ? parameters : Map.of());
+        
+        ExecutionPlan plan = planFor(task.getWorkflowId());
+        if (plan == null) {
+            return resolved;
+        }
+        
+        List<String> dependencyNames = plan.dependenciesOf(task.getTaskName());
+        if (dependencyNames.isEmpty()) {
+            return resolved;
+        }
+        
+        Map<String, Object> inputs = new HashMap<>();
+        for (Task dependency : taskRepository.findByWorkflowIdAndTaskNameIn(task.getWorkflowId(), dependencyNames)) {
+            Map<String, Object> output = fromJson(dependency.getOutputResult());
+            inputs.put(dependency.getTaskName(), output);
+            output.forEach(resolved::putIfAbsent);
+        }
+        if (dependencyNames.size() > 1) {
+            resolved.put("inputs", inputs);
+        }
+        return resolved;
+    }
+    
+    /**
+     * Record successful execution and release dependents
+     */
+    @Transactional
+    public void completeTask(String taskId, String workerId, Map<String, Object> output, long durationMs) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new RuntimeException("Task not found: " + taskId));
+        if (task.isTerminalState()) {
+            log.info("Ignoring completion of finished task: taskId={}, status={}", taskId, task.getStatus());
+            return;
+        }
+        
+        task.setStatus(TaskStatus.COMPLETED);
+        task.setOutputResult(toJson(output));
+        task.setCompletedAt(LocalDateTime.now());
+        task.setExecutionDurationMs(durationMs);
+        taskRepository.save(task);
+        recentWrites.ifAvailable(writes -> writes.recordWrite(task.getWorkflowId()));
+        
+        if (task.getSpeculatedAt() != null) {
+            boolean backupWon = !workerId.equals(task.getAssignedWorkerId());
+            meterRegistry.counter("task_scheduler.speculation.completions", 
+                "winner", backupWon ? "backup" : "primary").increment();
+            log.info("Speculated task completed: taskId={}, winner={}", taskId, workerId);
+        }
+        
+        WorkflowStateStore store = stateStore.getIfAvailable();
+        if (store != null) {
+            store.onCompleted(taskId);
+        } else {
+            releaseDependents(task);
+            workflowService.updateWorkflowProgress(task.getWorkflowId());
+        }
+        
+        log.info("Task completed: taskId={}, name={}, durationMs={}", taskId, task.getTaskName(), durationMs);
+    }
+    
+    /**
+     * Record failed execution: retry after a backoff if attempts remain, otherwise fail and cancel downstream
+     */
+    @Transactional
+    public void failTask(String taskId, String errorMessage, long durationMs) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new RuntimeException("Task not found: " + taskId));
+        if (task.isTerminalState()) {
+            return;
+        }
+        
+        task.setLastErrorMessage(StringUtils.abbreviate(errorMessage, 255));
+        task.setExecutionDurationMs(durationMs);
+        recentWrites.ifAvailable(writes -> writes.recordWrite(task.getWorkflowId()));
+        
+        if (task.canRetry()) {
+            task.incrementRetry();
+            task.setStatus(TaskStatus.RETRYING);
+            task.setAssignedWorkerId(null);
+            long backoffMs = retryBackoffMs(task.getRetryCount());
+            task.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+            taskRepository.save(task);
+            stateStore.ifAvailable(store -> store.onRetrying(taskId, task.getNextAttemptAt()));
+            
+            log.warn("Task failed, retrying: taskId={}, attempt={}/{}, backoffMs={}, error={}", 
+                     taskId, task.getRetryCount(), task.getMaxRetries(), backoffMs, errorMessage);
+            return;
+        }
+        
+        task.setStatus(TaskStatus.FAILED);
+        task.setCompletedAt(LocalDateTime.now());
+        taskRepository.save(task);
+        
+        cancelDescendants(task);
+        WorkflowStateStore store = stateStore.getIfAvailable();
+        if (store != null) {
+            store.onFailed(taskId);
+        } else {
+            workflowService.updateWorkflowProgress(task.getWorkflowId());
+        }
+        
+        log.error("Task failed permanently: taskId={}, error={}", taskId, errorMessage);
+    }
+    
+    /**
+     * Compiled plan of a workflow (from cache, recompiled from dagDefinition on a miss)
+     */
+    public ExecutionPlan planFor(String workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId).orElse(null);
+        if (workflow == null || workflow.getPlanKey() == null) {
+            return null;
+        }
+        return executionPlanCache.get(workflow.getPlanKey(), 
+            () -> readDefinitions(workflow.getDagDefinition()));
+    }
+    
+    /**
+     * Delay before the given retry (1 for the first): initial interval times multiplier
+     * per earlier retry, capped at the max interval
+     */
+    long retryBackoffMs(int retry) {
+        double backoffMs = retryInitialIntervalMs * Math.pow(retryMultiplier, Math.max(0, retry - 1));
+        return (long) Math.min(backoffMs, retryMaxIntervalMs);
+    }
+    
+    private void releaseDependents(Task task) {
+        ExecutionPlan plan = planFor(task.getWorkflowId());
+        if (plan == null) {
+            return;
+        }
+        
+        List<String> dependentNames = plan.dependentsOf(task.getTaskName());
+        if (dependentNames.isEmpty()) {
+            return;
+        }
+        
+        taskRepository.decrementRemainingDependencies(task.getWorkflowId(), dependentNames, LocalDateTime.now());
+        
+        log.debug("Released {} dependent tasks of {}", dependentNames.size(), task.getTaskName());
+    }
+    
+    private void cancelDescendants(Task task) {
+        ExecutionPlan plan = planFor(task.getWorkflowId());
+        if (plan == null) {
+            return;
+        }
+        
+        List<String> descendants = plan.descendantsOf(task.getTaskName());
+        if (!descendants.isEmpty()) {
+            int cancelled = taskRepository.cancelPendingTasks(task.getWorkflowId(), descendants, 
+                TaskStatus.PENDING, TaskStatus.CANCELLED, LocalDateTime.now());
+            log.warn("Cancelled {} tasks downstream of failed task {}", cancelled, task.getTaskName());
+        }
+    }
+    
+    private List<TaskDefinition> readDefinitions(String dagDefinition) {
+        try {
+            return objectMapper.readValue(dagDefinition, new TypeReference<List<TaskDefinition>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt DAG definition", e);
+        }
+    }
+    
+    private String toJson(Object obj) {
+        try {
+            return objectMapper.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize to JSON", e);
+        }
+    }
+    
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            return new HashMap<>();
+        }
+    }
+}
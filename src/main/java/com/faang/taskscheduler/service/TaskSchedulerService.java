@@ -0,0 +1,277 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.estimation.ExecutionTimeModel;
+import com.faang.taskscheduler.metrics.TaskMetrics;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskPhase;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.Worker;
+import com.faang.taskscheduler.model.WorkerStatus;
+import com.faang.taskscheduler.replica.RecentWriteTracker;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.TaskRepository.WorkflowTaskCount;
+import com.faang.taskscheduler.repository.WorkerRepository;
+import com.faang.taskscheduler.sharding.ShardLeaseManager;
+import com.faang.taskscheduler.state.WorkflowStateStore;
+import com.faang.taskscheduler.tracing.LifecycleTracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduler loop: dispatches ready tasks to the queue in critical-path order.
+ * 
+ * FAANG Interview Points:
+ * - HEFT-style list scheduling: ready tasks sorted by upward rank
+ *   (longest estimated remaining path to a sink), so critical-path work runs first
+ * - Dispatch is bounded by free worker capacity; Kafka is FIFO, so releasing only
+ *   what workers can start keeps the priority decision at the scheduler
+ * - EDF mode (dispatch-mode: edf): least slack first, where slack is the time
+ *   left until a task's latest start (deadline minus remaining critical path);
+ *   slack shrinks as tasks wait, so urgent work is promoted automatically
+ * - Fair mode (dispatch-mode: fair): the budget is split across tenants and
+ *   workflows by deficit round robin (FairShareAllocator), HEFT order within each
+ * - SKIP LOCKED selection keeps concurrent schedulers from double-dispatching
+ * - Horizontally sharded: each node only schedules workflows in the shards it
+ *   holds a lease on (ShardLeaseManager), with a matching share of the budget
+ * - Running tasks past their learned timeout (plus a grace period for the
+ *   worker to report it) are failed and retried, covering dead or hung workers
+ * - With the state store enabled, HEFT dispatch pops ready ids from its in-memory
+ *   heap and loads those rows by primary key instead of scanning for readiness
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.scheduler.enabled", havingValue = "true")
+public class TaskSchedulerService {
+    
+    private static final List<TaskStatus> READY_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.RETRYING);
+    private static final List<TaskStatus> IN_FLIGHT_STATUSES = List.of(TaskStatus.QUEUED, TaskStatus.RUNNING);
+    
+    private final TaskRepository taskRepository;
+    private final WorkerRepository workerRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCompletionService taskCompletionService;
+    private final ExecutionTimeModel executionTimeModel;
+    private final DeadlineTracker deadlineTracker;
+    private final FairShareAllocator fairShareAllocator;
+    private final ShardLeaseManager shardLeaseManager;
+    private final LifecycleTracer lifecycleTracer;
+    private final TaskMetrics taskMetrics;
+    private final ObjectProvider<WorkflowStateStore> stateStore;
+    private final ObjectProvider<RecentWriteTracker> recentWrites;
+    
+    /**
+     * heft: longest remaining path first; edf: least slack first (deadline workflows);
+     * fair: deficit round robin across tenants and workflows
+     */
+    @Value("${task-scheduler.scheduler.dispatch-mode:heft}")
+    private String dispatchMode;
+    
+    @Value("${task-scheduler.scheduler.max-dispatch-batch:1000}")
+    private int maxDispatchBatch;
+    
+    @Value("${task-scheduler.scheduler.dispatch-overcommit:1.5}")
+    private double dispatchOvercommit;
+    
+    @Value("${task-scheduler.scheduler.dead-worker-timeout-ms:30000}")
+    private long timeoutGraceMs;
+    
+    @Value("${task-scheduler.estimation.min-timeout-ms:10000}")
+    private long minTimeoutMs;
+    
+    /**
+     * Dispatch the highest-ranked ready tasks that fit into free worker capacity
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.scheduler.task-assignment-interval-ms:1000}")
+    public void dispatchReadyTasks() {
+        long start = System.nanoTime();
+        Integer dispatched = transactionTemplate.execute(status -> dispatch());
+        taskMetrics.recordDispatch(start, dispatched != null ? dispatched : 0);
+        if (dispatched != null && dispatched > 0) {
+            log.debug("Dispatched {} ready tasks", dispatched);
+        }
+    }
+    
+    private int dispatch() {
+        Set<Integer> shards = shardLeaseManager.getOwnedShards();
+        if (shards.isEmpty()) {
+            return 0;
+        }
+        
+        WorkflowStateStore store = stateStore.getIfAvailable();
+        int budget = dispatchBudget(shards, store);
+        if (budget <= 0) {
+            return 0;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> ready = store != null && "heft".equalsIgnoreCase(dispatchMode)
+            ? selectFromStore(store, budget)
+            : selectReadyTasks(shards, budget, now);
+        if (ready.isEmpty()) {
+            return 0;
+        }
+        
+        ready.forEach(task -> {
+            task.setStatus(TaskStatus.QUEUED);
+            task.setQueuedAt(now);
+        });
+        taskRepository.saveAll(ready);
+        outboxService.enqueueTasks(ready);
+        deadlineTracker.onDispatched(ready, now);
+        lifecycleTracer.recordAll(ready, TaskPhase.QUEUED);
+        recentWrites.ifAvailable(writes -> writes.recordWrites(
+            ready.stream().map(Task::getWorkflowId).collect(Collectors.toSet())));
+        if (store != null) {
+            store.onQueued(ready);
+        }
+        
+        return ready.size();
+    }
+    
+    /**
+     * Top-ranked ready tasks from the state store, loaded by id. A task cancelled in a
+     * transaction that has not reached the store yet is skipped.
+     */
+    private List<Task> selectFromStore(WorkflowStateStore store, int budget) {
+        List<String> taskIds = store.pollReady(budget);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, Task> byId = taskRepository.findAllById(taskIds).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> ready = new ArrayList<>(taskIds.size());
+        for (String taskId : taskIds) {
+            Task task = byId.get(taskId);
+            if (task != null && READY_STATUSES.contains(task.getStatus())) {
+                // The row's counter is written behind and may still be behind the store
+                task.setRemainingDependencies(0);
+                ready.add(task);
+            }
+        }
+        return ready;
+    }
+    
+    private List<Task> selectReadyTasks(Set<Integer> shards, int budget, LocalDateTime now) {
+        if ("fair".equalsIgnoreCase(dispatchMode)) {
+            return selectFairShare(shards, budget, now);
+        }
+        
+        PageRequest page = PageRequest.of(0, budget);
+        return "edf".equalsIgnoreCase(dispatchMode)
+            ? taskRepository.findReadyTasksByDeadline(shards, READY_STATUSES, now, page)
+            : taskRepository.findReadyTasksByRank(shards, READY_STATUSES, now, page);
+    }
+    
+    /**
+     * Allocate the budget per workflow by DRR, then take each workflow's top-ranked ready tasks
+     */
+    private List<Task> selectFairShare(Set<Integer> shards, int budget, LocalDateTime now) {
+        List<WorkflowTaskCount> readyCounts = taskRepository.countReadyTasksByWorkflow(shards, READY_STATUSES, now);
+        if (readyCounts.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, Long> inFlight = taskRepository.countTasksByWorkflow(
+                readyCounts.stream().map(WorkflowTaskCount::getWorkflowId).toList(), IN_FLIGHT_STATUSES)
+            .stream()
+            .collect(Collectors.toMap(WorkflowTaskCount::getWorkflowId, WorkflowTaskCount::getCount));
+        
+        List<FairShareAllocator.Backlog> backlogs = readyCounts.stream()
+            .map(count -> new FairShareAllocator.Backlog(count.getWorkflowId(), count.getTenantId(), 
+                count.getCount(), inFlight.getOrDefault(count.getWorkflowId(), 0L)))
+            .toList();
+        
+        Map<String, Integer> allocation = fairShareAllocator.allocate(backlogs, budget);
+        
+        List<Task> selected = new ArrayList<>(budget);
+        allocation.forEach((workflowId, count) -> selected.addAll(
+            taskRepository.findReadyTasksByWorkflow(workflowId, READY_STATUSES, now, PageRequest.of(0, count))));
+        return selected;
+    }
+    
+    /**
+     * Fail running tasks that exceeded their timeout without the worker reporting back
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.scheduler.worker-health-check-interval-ms:10000}")
+    public void recoverTimedOutTasks() {
+        Set<Integer> shards = shardLeaseManager.getOwnedShards();
+        if (shards.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> candidates = taskRepository.findStaleTasksInShards(
+            shards, List.of(TaskStatus.RUNNING), now.minus(Duration.ofMillis(minTimeoutMs + timeoutGraceMs)));
+        
+        for (Task task : candidates) {
+            if (task.getStartedAt() == null) {
+                continue;
+            }
+            long limitMs = executionTimeModel.timeoutMs(task.getTaskType(), -1) + timeoutGraceMs;
+            long runningMs = Duration.between(task.getStartedAt(), now).toMillis();
+            if (runningMs <= limitMs) {
+                continue;
+            }
+            
+            log.warn("Recovering timed-out task: taskId={}, type={}, worker={}, runningMs={}", 
+                     task.getId(), task.getTaskType(), task.getAssignedWorkerId(), runningMs);
+            try {
+                taskCompletionService.failTask(task.getId(), 
+                    "Timed out after " + runningMs + "ms on worker " + task.getAssignedWorkerId(), runningMs);
+            } catch (RuntimeException e) {
+                log.error("Failed to recover task: taskId={}", task.getId(), e);
+            }
+        }
+    }
+    
+    /**
+     * Free slots across active workers (with some overcommit to hide queue latency),
+     * minus tasks already queued but not yet picked up; both sides are this node's
+     * share (owned shard fraction)
+     */
+    private int dispatchBudget(Set<Integer> shards, WorkflowStateStore store) {
+        long freeSlots = 0;
+        for (Worker worker : workerRepository.findByStatus(WorkerStatus.ACTIVE)) {
+            freeSlots += worker.getAvailableCapacity();
+        }
+        if (freeSlots == 0) {
+            return 0;
+        }
+        
+        // The store counts every shard in this JVM; scale it to the owned share like the free slots
+        double ownedFraction = shardLeaseManager.getOwnedFraction();
+        long queued = store != null 
+            ? Math.round(store.count(TaskStatus.QUEUED) * ownedFraction) 
+            : taskRepository.countByShardInAndStatus(shards, TaskStatus.QUEUED);
+        return budgetFor(freeSlots, queued, dispatchOvercommit, ownedFraction, maxDispatchBatch);
+    }
+    
+    /**
+     * Tasks to release this cycle: this node's share of the overcommitted free slots,
+     * less what is already waiting in the queue (also used by the scheduling simulator)
+     */
+    public static int budgetFor(long freeSlots, long queued, double overcommit, double ownedFraction, 
+                                int maxBatch) {
+        long budget = (long) Math.ceil(freeSlots * overcommit * ownedFraction) - queued;
+        return (int) Math.min(maxBatch, Math.max(0, budget));
+    }
+}
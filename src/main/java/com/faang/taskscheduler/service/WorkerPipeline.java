@@ -0,0 +1,170 @@
+package com.faang.taskscheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stages of the staged worker: I/O (input fetch and I/O-bound executors), compute and persist.
+ *
+ * FAANG Interview Points:
+ * - Each stage admits a bounded number of tasks (running or waiting for a thread);
+ *   a full stage blocks the one before it, so backpressure runs from persistence
+ *   back to the queue consumer instead of piling work up in memory
+ * - I/O and persist are thread-per-task (virtual threads on Java 21+), so parked
+ *   network and database calls cost no pool slot; compute is a fixed pool sized to
+ *   the cores, so CPU-bound executors never oversubscribe
+ * - The compute stage admits more tasks than it has threads: the surplus are tasks
+ *   whose inputs were fetched while the current ones compute (prefetch)
+ */
+@Slf4j
+final class WorkerPipeline {
+    
+    private final Stage io;
+    private final Stage compute;
+    private final Stage persist;
+    private final ExecutorService computePool;
+    private final ScheduledExecutorService timeouts;
+    
+    WorkerPipeline(int ioConcurrency, int computeThreads, int prefetch, int persistConcurrency) {
+        this.computePool = Executors.newFixedThreadPool(computeThreads, namedThreads("worker-compute-"));
+        this.io = new Stage("io", ioConcurrency, threadPerTask("worker-io-"));
+        this.compute = new Stage("compute", computeThreads + prefetch, computePool);
+        this.persist = new Stage("persist", persistConcurrency, threadPerTask("worker-persist-"));
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(namedThreads("worker-timeouts-"));
+    }
+    
+    Stage io() {
+        return io;
+    }
+    
+    Stage compute() {
+        return compute;
+    }
+    
+    Stage persist() {
+        return persist;
+    }
+    
+    ExecutorService computePool() {
+        return computePool;
+    }
+    
+    /**
+     * @return The scheduled timeout, or null once shutting down (in-flight tasks then run to completion)
+     */
+    ScheduledFuture<?> scheduleTimeout(Runnable action, long timeoutMs) {
+        try {
+            return timeouts.schedule(action, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+    
+    void shutdown() {
+        computePool.shutdown();
+        timeouts.shutdownNow();
+    }
+    
+    /**
+     * Bounded stage: a permit per admitted task, released when its work on this stage ends
+     */
+    static final class Stage {
+        
+        private final String name;
+        private final int capacity;
+        private final Semaphore permits;
+        private final Executor executor;
+        
+        private Stage(String name, int capacity, Executor executor) {
+            this.name = name;
+            this.capacity = capacity;
+            this.permits = new Semaphore(capacity);
+            this.executor = executor;
+        }
+        
+        /**
+         * Take a slot, blocking the caller while the stage is full
+         */
+        void admit() throws InterruptedException {
+            permits.acquire();
+        }
+        
+        void release() {
+            permits.release();
+        }
+        
+        /**
+         * Run work on this stage under a slot the caller already holds; the slot is freed when it ends
+         */
+        void execute(Runnable work) {
+            executor.execute(() -> {
+                try {
+                    work.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        
+        /**
+         * Run work on this stage once a slot is free, without blocking the caller
+         * (for hand-offs from threads that must not stall, e.g. timeouts and cancellations)
+         */
+        void executeWhenAdmitted(Runnable work) {
+            executor.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    work.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        
+        String name() {
+            return name;
+        }
+        
+        int capacity() {
+            return capacity;
+        }
+        
+        int inFlight() {
+            return capacity - permits.availablePermits();
+        }
+    }
+    
+    /**
+     * Thread per task: virtual threads where the runtime has them, platform threads otherwise
+     */
+    private static Executor threadPerTask(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        try {
+            executor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException e) {
+            log.info("Virtual threads unavailable on this runtime, {} stage uses platform threads", prefix);
+            executor.setDaemon(true);
+        }
+        return executor;
+    }
+    
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
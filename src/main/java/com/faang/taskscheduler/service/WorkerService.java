@@ -0,0 +1,737 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.cancellation.CancellationRegistry;
+import com.faang.taskscheduler.dto.TaskMessage;
+import com.faang.taskscheduler.estimation.ExecutionTimeModel;
+import com.faang.taskscheduler.executor.TaskExecutor;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.metrics.TaskMetrics;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskPhase;
+import com.faang.taskscheduler.model.Worker;
+import com.faang.taskscheduler.model.WorkerStatus;
+import com.faang.taskscheduler.repository.WorkerRepository;
+import com.faang.taskscheduler.tracing.LifecycleTracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Worker node: consumes task messages, executes them and reports results.
+ * 
+ * FAANG Interview Points:
+ * - Per-task distributed lock guards against duplicate deliveries
+ * - Manual offset commit after the result is persisted (at-least-once)
+ * - Tasks run off the listener thread (acknowledged asynchronously), so a worker runs
+ *   as many tasks as it advertises whatever the listener concurrency; the listener
+ *   blocks only while every slot is taken
+ * - Heartbeat publishes load and stats for scheduling and failure detection
+ * - Per-task timeout derived from the learned duration distribution of its type
+ *   and input size, instead of one static limit for every task
+ * - Runs speculative backups of stragglers from other workers; whichever copy
+ *   loses is interrupted once the task is seen finished
+ * - Messages of cancelled workflows are dropped at poll time (local bloom filter,
+ *   no database access) and their running tasks are interrupted on notification
+ * - Primary attempts record their lifecycle phases (poll, lock, execution, persist)
+ * - Execution time and queue wait per task type, and capacity gauges, for dashboards
+ * - Optional staged mode (worker.pipeline.enabled): inputs are fetched and I/O-bound
+ *   executors run on an I/O stage, CPU-bound executors on a pool sized to the cores,
+ *   results are persisted on a third stage; the consumer moves on as soon as a task is
+ *   admitted, so the next tasks' inputs load while the current ones compute
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.worker.enabled", havingValue = "true")
+public class WorkerService {
+    
+    private final WorkerRepository workerRepository;
+    private final TaskCompletionService taskCompletionService;
+    private final TaskExecutorRegistry executorRegistry;
+    private final DistributedLockService distributedLockService;
+    private final ExecutionTimeModel executionTimeModel;
+    private final TaskQueueProducer taskQueueProducer;
+    private final CancellationRegistry cancellationRegistry;
+    private final LifecycleTracer lifecycleTracer;
+    private final TaskMetrics taskMetrics;
+    
+    @Value("${task-scheduler.worker.id}")
+    private String workerId;
+    
+    @Value("${task-scheduler.worker.max-concurrent-tasks:10}")
+    private int maxConcurrentTasks;
+    
+    @Value("${task-scheduler.worker.pipeline.enabled:false}")
+    private boolean pipelined;
+    
+    @Value("${task-scheduler.worker.pipeline.io-concurrency:32}")
+    private int ioConcurrency;
+    
+    @Value("${task-scheduler.worker.pipeline.compute-threads:0}")
+    private int computeThreads;
+    
+    @Value("${task-scheduler.worker.pipeline.prefetch:0}")
+    private int prefetch;
+    
+    @Value("${task-scheduler.worker.pipeline.persist-concurrency:8}")
+    private int persistConcurrency;
+    
+    @Value("${task-scheduler.speculation.max-reroutes:3}")
+    private int maxBackupReroutes;
+    
+    @Value("${server.port:0}")
+    private int port;
+    
+    private final AtomicInteger runningTasks = new AtomicInteger();
+    
+    // Flat mode: a slot per task from admission until its outcome is persisted; each admitted
+    // task is handled on a task thread, its executor runs on the execution pool so the task
+    // thread can enforce a timeout and interrupt
+    private Semaphore taskSlots;
+    private ExecutorService taskPool;
+    private ExecutorService executionPool;
+    private WorkerPipeline pipeline;
+    private final Map<String, Execution> executing = new ConcurrentHashMap<>();
+    
+    // Local stats, flushed to the Worker row on each heartbeat
+    private final Worker stats = new Worker();
+    private final ReentrantLock statsLock = new ReentrantLock();
+    
+    /**
+     * Register this worker on startup
+     */
+    @PostConstruct
+    public void start() {
+        if (pipelined) {
+            int cores = computeThreads > 0 ? computeThreads : Runtime.getRuntime().availableProcessors();
+            pipeline = new WorkerPipeline(ioConcurrency, cores, prefetch > 0 ? prefetch : cores, persistConcurrency);
+            // Advertised to the scheduler: tasks that can make progress at once
+            maxConcurrentTasks = ioConcurrency + cores;
+            taskMetrics.bindWorker(runningTasks, maxConcurrentTasks, pipeline.computePool());
+            for (WorkerPipeline.Stage stage : List.of(pipeline.io(), pipeline.compute(), pipeline.persist())) {
+                taskMetrics.bindPipelineStage(stage.name(), stage.capacity(), stage::inFlight);
+            }
+            log.info("Staged worker: ioConcurrency={}, computeThreads={}, prefetch={}, persistConcurrency={}", 
+                     ioConcurrency, cores, pipeline.compute().capacity() - cores, persistConcurrency);
+        } else {
+            taskSlots = new Semaphore(maxConcurrentTasks);
+            taskPool = Executors.newFixedThreadPool(maxConcurrentTasks);
+            executionPool = Executors.newFixedThreadPool(maxConcurrentTasks);
+            taskMetrics.bindWorker(runningTasks, maxConcurrentTasks, executionPool);
+        }
+        cancellationRegistry.addListener(this::cancelWorkflowExecutions);
+        register();
+    }
+    
+    private void register() {
+        Worker worker = workerRepository.findById(workerId).orElseGet(() -> Worker.builder()
+            .id(workerId)
+            .build());
+        
+        worker.setHostname(resolveHostname());
+        worker.setPort(port);
+        worker.setStatus(WorkerStatus.ACTIVE);
+        worker.setMaxConcurrentTasks(maxConcurrentTasks);
+        worker.setCurrentTaskCount(0);
+        worker.setLastHeartbeatAt(LocalDateTime.now());
+        workerRepository.save(worker);
+        
+        stats.setTotalTasksProcessed(0L);
+        stats.setTotalTasksSucceeded(0L);
+        stats.setTotalTasksFailed(0L);
+        stats.setConsecutiveFailures(0);
+        
+        log.info("Worker registered: workerId={}, maxConcurrentTasks={}", workerId, maxConcurrentTasks);
+    }
+    
+    /**
+     * Heartbeat: liveness plus current load and stats
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.worker.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        Optional<Worker> found = workerRepository.findById(workerId);
+        if (found.isEmpty()) {
+            register();
+            return;
+        }
+        
+        Worker worker = found.get();
+        worker.setLastHeartbeatAt(LocalDateTime.now());
+        worker.setCurrentTaskCount(runningTasks.get());
+        if (worker.getStatus() == WorkerStatus.DEAD) {
+            // Declared dead during a pause (e.g. GC or network blip) but alive again
+            worker.setStatus(WorkerStatus.ACTIVE);
+        }
+        
+        statsLock.lock();
+        try {
+            worker.setTotalTasksProcessed(stats.getTotalTasksProcessed());
+            worker.setTotalTasksSucceeded(stats.getTotalTasksSucceeded());
+            worker.setTotalTasksFailed(stats.getTotalTasksFailed());
+            worker.setConsecutiveFailures(stats.getConsecutiveFailures());
+            worker.setAverageTaskDurationMs(stats.getAverageTaskDurationMs());
+        } finally {
+            statsLock.unlock();
+        }
+        
+        workerRepository.save(worker);
+    }
+    
+    @PreDestroy
+    public void deregister() {
+        workerRepository.findById(workerId).ifPresent(worker -> {
+            worker.setStatus(WorkerStatus.DRAINING);
+            workerRepository.save(worker);
+        });
+        if (pipeline != null) {
+            pipeline.shutdown();
+        } else {
+            taskPool.shutdown();
+            executionPool.shutdown();
+        }
+        log.info("Worker draining: workerId={}", workerId);
+    }
+    
+    /**
+     * Consume task messages. The offset is committed once the outcome is persisted
+     * (out of order, as tasks finish; the container commits only up to the first gap).
+     */
+    @KafkaListener(topics = "${task-scheduler.queue.topic}", groupId = "${spring.kafka.consumer.group-id}")
+    public void onTaskMessage(TaskMessage message, Acknowledgment acknowledgment) {
+        handle(message, acknowledgment::acknowledge);
+    }
+    
+    /**
+     * Process one delivered task message (from Kafka, or the in-process queue in embedded mode).
+     * Returns once the task is admitted, blocking while the worker is at capacity.
+     * 
+     * @param onDone Run once the task's outcome is persisted or the message is dropped
+     */
+    public void handle(TaskMessage message, Runnable onDone) {
+        if (cancellationRegistry.isCancelled(message.getWorkflowId())) {
+            log.debug("Dropping task of cancelled workflow: taskId={}", message.getTaskId());
+            onDone.run();
+            return;
+        }
+        if (pipeline != null) {
+            submit(message, onDone);
+            return;
+        }
+        
+        try {
+            taskSlots.acquire();
+        } catch (InterruptedException e) {
+            // Shutting down: leave the message unacknowledged so it is redelivered
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            taskPool.execute(() -> {
+                try {
+                    if (message.isSpeculative()) {
+                        processBackup(message);
+                    } else {
+                        processTask(message);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to process task: taskId={}", message.getTaskId(), e);
+                } finally {
+                    taskSlots.release();
+                    onDone.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down: as above
+            taskSlots.release();
+        }
+    }
+    
+    /**
+     * Execute a single task under its distributed lock
+     */
+    void processTask(TaskMessage message) {
+        lifecycleTracer.record(message.getWorkflowId(), message.getTaskId(), TaskPhase.POLLED);
+        String lockKey = "task:lock:" + message.getTaskId();
+        
+        if (!distributedLockService.tryLock(lockKey)) {
+            log.info("Task already being executed elsewhere: taskId={}", message.getTaskId());
+            return;
+        }
+        
+        try {
+            lifecycleTracer.record(message.getWorkflowId(), message.getTaskId(), TaskPhase.LOCK_ACQUIRED);
+            Optional<Task> started = taskCompletionService.startTask(message.getTaskId(), workerId);
+            if (started.isEmpty()) {
+                return;
+            }
+            taskMetrics.recordQueueWait(started.get());
+            executeTask(started.get(), message, false);
+        } finally {
+            distributedLockService.unlock(lockKey);
+        }
+    }
+    
+    /**
+     * Execute a backup copy of a straggling task, never on the worker running the primary
+     */
+    void processBackup(TaskMessage message) {
+        if (workerId.equals(message.getExcludedWorkerId())) {
+            rerouteBackup(message);
+            return;
+        }
+        
+        String lockKey = "task:lock:" + message.getTaskId() + ":backup";
+        if (!distributedLockService.tryLock(lockKey)) {
+            return;
+        }
+        
+        try {
+            Optional<Task> started = taskCompletionService.startBackup(message.getTaskId(), workerId);
+            if (started.isEmpty()) {
+                return;
+            }
+            log.info("Running backup copy: taskId={}, primaryWorker={}", 
+                     message.getTaskId(), message.getExcludedWorkerId());
+            executeTask(started.get(), message, true);
+        } finally {
+            distributedLockService.unlock(lockKey);
+        }
+    }
+    
+    /**
+     * The backup landed on the primary's worker: publish it again under a new key
+     */
+    private void rerouteBackup(TaskMessage message) {
+        if (message.getRoutingAttempt() >= maxBackupReroutes) {
+            log.info("Dropping backup that keeps reaching the primary worker: taskId={}", message.getTaskId());
+            return;
+        }
+        message.setRoutingAttempt(message.getRoutingAttempt() + 1);
+        taskQueueProducer.sendTaskToPartition(message, message.getRoutingKey());
+    }
+    
+    /**
+     * Interrupt executions whose task already finished elsewhere (the losing speculative copy)
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.speculation.loser-check-interval-ms:2000}")
+    public void cancelFinishedExecutions() {
+        if (executing.isEmpty()) {
+            return;
+        }
+        for (String taskId : taskCompletionService.finishedTaskIds(List.copyOf(executing.keySet()))) {
+            Execution execution = executing.get(taskId);
+            if (execution != null && execution.future().cancel(true)) {
+                log.info("Cancelled execution of finished task: taskId={}", taskId);
+            }
+        }
+    }
+    
+    /**
+     * Interrupt running tasks of a workflow that was just cancelled
+     */
+    private void cancelWorkflowExecutions(String workflowId) {
+        executing.forEach((taskId, execution) -> {
+            if (workflowId.equals(execution.workflowId()) && execution.future().cancel(true)) {
+                log.info("Interrupted task of cancelled workflow: taskId={}, workflowId={}", taskId, workflowId);
+            }
+        });
+    }
+    
+    private void executeTask(Task task, TaskMessage message, boolean backup) {
+        runningTasks.incrementAndGet();
+        long start = System.nanoTime();
+        
+        try {
+            TaskExecutor executor = executorRegistry.get(task.getTaskType());
+            Map<String, Object> parameters = taskCompletionService.resolveInputs(task, message.getParameters());
+            executor.validateParameters(parameters);
+            
+            long inputSize = executor.inputSize(parameters);
+            long timeoutMs = executionTimeModel.timeoutMs(task.getTaskType(), inputSize);
+            Map<String, Object> output = executeWithTimeout(task, executor, parameters, timeoutMs, backup);
+            
+            long durationMs = elapsedMs(start);
+            taskCompletionService.completeTask(task.getId(), workerId, output, durationMs);
+            if (!backup) {
+                lifecycleTracer.record(task, TaskPhase.PERSISTED);
+            }
+            executionTimeModel.record(task.getTaskType(), workerId, inputSize, durationMs);
+            recordCompletion(true, durationMs);
+        
+        } catch (CancellationException e) {
+            log.info("Execution cancelled, task finished or cancelled: taskId={}", task.getId());
+        
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            long durationMs = elapsedMs(start);
+            recordCompletion(false, durationMs);
+            if (backup) {
+                // The primary is still running; a failed backup changes nothing
+                log.warn("Backup execution failed: taskId={}, error={}", task.getId(), e.getMessage());
+                return;
+            }
+            log.error("Task execution failed: taskId={}, type={}", task.getId(), task.getTaskType(), e);
+            taskCompletionService.failTask(task.getId(), String.valueOf(e.getMessage()), durationMs);
+            lifecycleTracer.record(task, TaskPhase.PERSISTED);
+        
+        } finally {
+            runningTasks.decrementAndGet();
+        }
+    }
+    
+    private Map<String, Object> executeWithTimeout(Task task, TaskExecutor executor, Map<String, Object> parameters, 
+                                                   long timeoutMs, boolean backup) throws Exception {
+        boolean traced = !backup;
+        long start = System.nanoTime();
+        String outcome = TaskMetrics.FAILURE;
+        
+        Future<Map<String, Object>> future = executionPool.submit(() -> {
+            if (traced) {
+                lifecycleTracer.record(task, TaskPhase.EXEC_START);
+            }
+            try {
+                return executor.execute(parameters);
+            } finally {
+                if (traced) {
+                    lifecycleTracer.record(task, TaskPhase.EXEC_END);
+                }
+            }
+        });
+        executing.put(task.getId(), new Execution(task.getWorkflowId(), future));
+        try {
+            Map<String, Object> output = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            outcome = TaskMetrics.SUCCESS;
+            return output;
+        } catch (TimeoutException e) {
+            outcome = TaskMetrics.TIMEOUT;
+            future.cancel(true);
+            throw new TimeoutException("Timed out after " + timeoutMs + "ms");
+        } catch (CancellationException | InterruptedException e) {
+            outcome = TaskMetrics.CANCELLED;
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executing.remove(task.getId());
+            taskMetrics.recordExecution(task.getTaskType(), outcome, backup, start);
+        }
+    }
+    
+    /**
+     * Staged mode: admit the task to the I/O stage (blocking the consumer while it is full)
+     * and run it under a lock owned by the pipeline rather than by this thread
+     */
+    private void submit(TaskMessage message, Runnable onDone) {
+        boolean backup = message.isSpeculative();
+        if (backup && workerId.equals(message.getExcludedWorkerId())) {
+            rerouteBackup(message);
+            onDone.run();
+            return;
+        }
+        if (!backup) {
+            lifecycleTracer.record(message.getWorkflowId(), message.getTaskId(), TaskPhase.POLLED);
+        }
+        
+        try {
+            pipeline.io().admit();
+        } catch (InterruptedException e) {
+            // Shutting down: leave the message unacknowledged so it is redelivered
+            Thread.currentThread().interrupt();
+            return;
+        }
+        runningTasks.incrementAndGet();
+        
+        StagedTask staged = new StagedTask(message, backup);
+        String lockKey = "task:lock:" + message.getTaskId() + (backup ? ":backup" : "");
+        distributedLockService.executeWithLockAsync(lockKey, () -> {
+                staged.locked = true;
+                pipeline.io().execute(() -> fetch(staged));
+                return staged.finished;
+            })
+            .whenComplete((ignored, ex) -> {
+                if (!staged.locked) {
+                    pipeline.io().release();
+                    log.info("Task already being executed elsewhere: taskId={}", message.getTaskId());
+                }
+                runningTasks.decrementAndGet();
+                onDone.run();
+            });
+    }
+    
+    /**
+     * I/O stage: claim the task and load its inputs, then run it here if I/O-bound,
+     * or wait for a compute slot (holding the loaded inputs) if not
+     */
+    private void fetch(StagedTask staged) {
+        TaskMessage message = staged.message;
+        try {
+            Optional<Task> started = staged.backup
+                ? taskCompletionService.startBackup(message.getTaskId(), workerId)
+                : taskCompletionService.startTask(message.getTaskId(), workerId);
+            if (started.isEmpty()) {
+                staged.finished.complete(null);
+                return;
+            }
+            Task task = started.get();
+            staged.task = task;
+            if (staged.backup) {
+                log.info("Running backup copy: taskId={}, primaryWorker={}", 
+                         message.getTaskId(), message.getExcludedWorkerId());
+            } else {
+                lifecycleTracer.record(task, TaskPhase.LOCK_ACQUIRED);
+                taskMetrics.recordQueueWait(task);
+            }
+            
+            TaskExecutor executor = executorRegistry.get(task.getTaskType());
+            Map<String, Object> parameters = taskCompletionService.resolveInputs(task, message.getParameters());
+            executor.validateParameters(parameters);
+            staged.inputSize = executor.inputSize(parameters);
+            staged.timeoutMs = executionTimeModel.timeoutMs(task.getTaskType(), staged.inputSize);
+            
+            staged.execution = new StagedExecution(staged, () -> runExecutor(staged, executor, parameters));
+            executing.put(task.getId(), new Execution(task.getWorkflowId(), staged.execution));
+            if (executor.isIoBound()) {
+                staged.execution.run();
+            } else {
+                pipeline.compute().admit();
+                pipeline.compute().execute(staged.execution);
+            }
+        
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (staged.task == null) {
+                log.error("Failed to start task: taskId={}", message.getTaskId(), e);
+                staged.finished.complete(null);
+            } else if (staged.execution == null) {
+                persist(staged, null, e, 0, true);
+            } else {
+                // Interrupted while waiting for a compute slot
+                staged.execution.cancel(false);
+            }
+        }
+    }
+    
+    private Map<String, Object> runExecutor(StagedTask staged, TaskExecutor executor, 
+                                            Map<String, Object> parameters) throws Exception {
+        staged.runner = Thread.currentThread();
+        staged.executionStart = System.nanoTime();
+        staged.timeout = pipeline.scheduleTimeout(() -> {
+            staged.timedOut = true;
+            staged.execution.cancel(true);
+        }, staged.timeoutMs);
+        
+        if (!staged.backup) {
+            lifecycleTracer.record(staged.task, TaskPhase.EXEC_START);
+        }
+        try {
+            return executor.execute(parameters);
+        } finally {
+            if (!staged.backup) {
+                lifecycleTracer.record(staged.task, TaskPhase.EXEC_END);
+            }
+        }
+    }
+    
+    /**
+     * Execution finished, failed, timed out or was cancelled: hand the outcome to the persist stage
+     */
+    private void onExecuted(StagedTask staged) {
+        StagedExecution execution = staged.execution;
+        Task task = staged.task;
+        if (staged.timeout != null) {
+            staged.timeout.cancel(false);
+        }
+        executing.remove(task.getId());
+        
+        long start = staged.executionStart != 0 ? staged.executionStart : System.nanoTime();
+        long durationMs = elapsedMs(start);
+        Map<String, Object> output = null;
+        Exception error = null;
+        String outcome;
+        if (execution.isCancelled()) {
+            outcome = staged.timedOut ? TaskMetrics.TIMEOUT : TaskMetrics.CANCELLED;
+            error = staged.timedOut ? new TimeoutException("Timed out after " + staged.timeoutMs + "ms") : null;
+        } else {
+            try {
+                output = execution.get();
+                outcome = TaskMetrics.SUCCESS;
+            } catch (ExecutionException e) {
+                outcome = TaskMetrics.FAILURE;
+                error = e.getCause() instanceof Exception cause ? cause : e;
+            } catch (InterruptedException e) {
+                // Unreachable: the execution is done
+                Thread.currentThread().interrupt();
+                outcome = TaskMetrics.CANCELLED;
+            }
+        }
+        taskMetrics.recordExecution(task.getTaskType(), outcome, staged.backup, start);
+        
+        if (TaskMetrics.CANCELLED.equals(outcome)) {
+            log.info("Execution cancelled, task finished or cancelled: taskId={}", task.getId());
+            staged.finished.complete(null);
+            return;
+        }
+        
+        // The thread that ran the task waits for a persist slot (backpressure on its stage);
+        // timeouts and cancellations arrive on other threads, which must not stall
+        persist(staged, output, error, durationMs, Thread.currentThread() == staged.runner);
+    }
+    
+    private void persist(StagedTask staged, Map<String, Object> output, Exception error, long durationMs, 
+                         boolean callerWaits) {
+        Runnable work = () -> {
+            try {
+                persistOutcome(staged, output, error, durationMs);
+            } finally {
+                staged.finished.complete(null);
+            }
+        };
+        if (!callerWaits) {
+            pipeline.persist().executeWhenAdmitted(work);
+            return;
+        }
+        try {
+            pipeline.persist().admit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pipeline.persist().executeWhenAdmitted(work);
+            return;
+        }
+        pipeline.persist().execute(work);
+    }
+    
+    private void persistOutcome(StagedTask staged, Map<String, Object> output, Exception error, long durationMs) {
+        Task task = staged.task;
+        if (error == null) {
+            taskCompletionService.completeTask(task.getId(), workerId, output, durationMs);
+            if (!staged.backup) {
+                lifecycleTracer.record(task, TaskPhase.PERSISTED);
+            }
+            executionTimeModel.record(task.getTaskType(), workerId, staged.inputSize, durationMs);
+            recordCompletion(true, durationMs);
+            return;
+        }
+        
+        recordCompletion(false, durationMs);
+        if (staged.backup) {
+            log.warn("Backup execution failed: taskId={}, error={}", task.getId(), error.getMessage());
+            return;
+        }
+        log.error("Task execution failed: taskId={}, type={}", task.getId(), task.getTaskType(), error);
+        taskCompletionService.failTask(task.getId(), String.valueOf(error.getMessage()), durationMs);
+        lifecycleTracer.record(task, TaskPhase.PERSISTED);
+    }
+    
+    private void recordCompletion(boolean success, long durationMs) {
+        statsLock.lock();
+        try {
+            stats.recordTaskCompletion(success, durationMs);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+    
+    public String getWorkerId() {
+        return workerId;
+    }
+    
+    public int getRunningTaskCount() {
+        return runningTasks.get();
+    }
+    
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+    
+    private static String resolveHostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+    
+    private record Execution(String workflowId, Future<?> future) {}
+    
+    /**
+     * State of one task travelling through the pipeline; each field is written by one stage
+     * before the hand-off to the next
+     */
+    private static final class StagedTask {
+        
+        final TaskMessage message;
+        final boolean backup;
+        final CompletableFuture<Void> finished = new CompletableFuture<>();
+        
+        volatile boolean locked;
+        volatile Task task;
+        volatile long inputSize;
+        volatile long timeoutMs;
+        volatile StagedExecution execution;
+        volatile Thread runner;
+        volatile long executionStart;
+        volatile ScheduledFuture<?> timeout;
+        volatile boolean timedOut;
+        
+        StagedTask(TaskMessage message, boolean backup) {
+            this.message = message;
+            this.backup = backup;
+        }
+    }
+    
+    /**
+     * Executor run of a staged task; completion, failure or cancellation all lead to onExecuted
+     */
+    private final class StagedExecution extends FutureTask<Map<String, Object>> {
+        
+        private final StagedTask staged;
+        
+        StagedExecution(StagedTask staged, Callable<Map<String, Object>> work) {
+            super(work);
+            this.staged = staged;
+        }
+        
+        @Override
+        protected void done() {
+            onExecuted(staged);
+        }
+    }
+}
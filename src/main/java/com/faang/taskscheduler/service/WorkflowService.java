@@ -1,15 +1,36 @@
 package com.faang.taskscheduler.service;
 
+import com.faang.taskscheduler.cancellation.CancellationRegistry;
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.dag.ExecutionPlanCache;
+import com.faang.taskscheduler.dag.WorkflowDagBuilder;
 import com.faang.taskscheduler.dto.*;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.metrics.WorkflowMetrics;
+import com.faang.taskscheduler.metrics.WorkflowMetrics.CreatePhase;
 import com.faang.taskscheduler.model.*;
+import com.faang.taskscheduler.replica.RecentWriteTracker;
+import com.faang.taskscheduler.replica.ReplicaRoutingDataSource;
+import com.faang.taskscheduler.repository.OutboxEventRepository;
 import com.faang.taskscheduler.repository.TaskRepository;
 import com.faang.taskscheduler.repository.WorkflowRepository;
+import com.faang.taskscheduler.sharding.ShardRouter;
+import com.faang.taskscheduler.state.WorkflowStateStore;
+import com.faang.taskscheduler.tracing.LifecycleTracer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -30,214 +51,257 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WorkflowService {
     
+    private static final List<TaskStatus> UNFINISHED_STATUSES = List.of(
+        TaskStatus.PENDING, TaskStatus.QUEUED, TaskStatus.ASSIGNED, TaskStatus.RUNNING, TaskStatus.RETRYING);
+    
     private final WorkflowRepository workflowRepository;
     private final TaskRepository taskRepository;
-    private final TaskQueueProducer taskQueueProducer;
+    private final OutboxService outboxService;
+    private final ExecutionPlanCache executionPlanCache;
+    private final WorkflowDagBuilder workflowDagBuilder;
+    private final TaskExecutorRegistry executorRegistry;
+    private final DeadlineTracker deadlineTracker;
+    private final OutboxEventRepository outboxEventRepository;
+    private final CancellationRegistry cancellationRegistry;
+    private final ShardRouter shardRouter;
+    private final LifecycleTracer lifecycleTracer;
+    private final WorkflowMetrics workflowMetrics;
+    private final ObjectProvider<WorkflowStateStore> stateStore;
+    private final ObjectProvider<RecentWriteTracker> recentWrites;
     private final ObjectMapper objectMapper;
     
+    @Value("${task-scheduler.archive.enabled:false}")
+    private boolean archiveEnabled;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
-     * Create a new workflow from request
+     * Create a new workflow from request.
+     * 
+     * Workflow, tasks and the initial task messages (via the outbox) are written
+     * in a single transaction; nothing touches Kafka on this path.
      */
     @Transactional
     public WorkflowResponse createWorkflow(WorkflowRequest request) {
         log.info("Creating workflow: {}", request.getWorkflowName());
+        workflowMetrics.trackCreation("single");
         
         // Validate request
+        long validateStart = System.nanoTime();
         validateWorkflowRequest(request);
+        workflowMetrics.recordPhase(CreatePhase.VALIDATE, validateStart);
+        
+        Workflow workflow = persistWorkflow(request);
+        
+        log.info("Workflow accepted: workflowId={}, totalTasks={}", 
+                 workflow.getId(), workflow.getTotalTasks());
+        
+        return buildSubmissionResponse(workflow);
+    }
+    
+    /**
+     * Create a batch of already-validated workflows in one transaction.
+     * Used by bulk submission to amortize commit and JDBC batch overhead.
+     */
+    @Transactional
+    public List<WorkflowResponse> createWorkflows(List<WorkflowRequest> requests) {
+        List<WorkflowResponse> responses = new ArrayList<>(requests.size());
+        workflowMetrics.trackCreation("bulk");
+        
+        for (WorkflowRequest request : requests) {
+            responses.add(buildSubmissionResponse(persistWorkflow(request)));
+        }
+        
+        log.info("Workflow batch accepted: count={}", requests.size());
+        return responses;
+    }
+    
+    /**
+     * Get workflow status, from the archive if the workflow has been archived.
+     * 
+     * Served by the read replica when one is configured, unless the workflow was written
+     * within the staleness window (then the primary, so a poll never goes back in time).
+     */
+    @Transactional(readOnly = true)
+    public WorkflowResponse getWorkflowStatus(String workflowId) {
+        RecentWriteTracker writes = recentWrites.getIfAvailable();
+        if (writes == null || writes.writtenRecently(workflowId)) {
+            return loadWorkflowStatus(workflowId);
+        }
+        return ReplicaRoutingDataSource.onReplica(() -> loadWorkflowStatus(workflowId));
+    }
+    
+    private WorkflowResponse loadWorkflowStatus(String workflowId) {
+        Optional<Workflow> workflow = workflowRepository.findById(workflowId);
+        if (workflow.isPresent()) {
+            return buildWorkflowResponse(workflow.get(), taskRepository.findByWorkflowId(workflowId));
+        }
+        
+        workflow = archiveEnabled ? workflowRepository.findArchivedById(workflowId) : Optional.empty();
+        if (workflow.isEmpty()) {
+            throw new RuntimeException("Workflow not found: " + workflowId);
+        }
+        
+        // Task partitions are archived after their workflows, so some tasks may still be hot
+        List<Task> tasks = new ArrayList<>(taskRepository.findArchivedByWorkflowId(workflowId));
+        tasks.addAll(taskRepository.findByWorkflowId(workflowId));
+        return buildWorkflowResponse(workflow.get(), tasks);
+    }
+    
+    /**
+     * Cancel a workflow: all unfinished tasks are cancelled in one UPDATE, unsent
+     * messages are dropped, and the id is published to every worker after commit
+     * so queued messages are skipped at poll time and running tasks interrupted.
+     * Idempotent; finished workflows are returned unchanged.
+     */
+    @Transactional
+    public WorkflowResponse cancelWorkflow(String workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+        
+        if (workflow.isComplete() || workflow.getStatus() == WorkflowStatus.PARTIALLY_COMPLETED) {
+            return buildSubmissionResponse(workflow);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        int cancelledTasks = taskRepository.cancelWorkflowTasks(
+            workflowId, UNFINISHED_STATUSES, TaskStatus.CANCELLED, now);
+        int droppedMessages = outboxEventRepository.deleteByAggregateId(workflowId);
+        
+        // Task rows first, workflow row last: the same lock order as completions
+        workflow = lockWorkflow(workflowId);
+        if (workflow.isComplete() || workflow.getStatus() == WorkflowStatus.PARTIALLY_COMPLETED) {
+            return buildSubmissionResponse(workflow);
+        }
+        workflow.setStatus(WorkflowStatus.CANCELLED);
+        workflow.setCompletedAt(now);
+        workflow = workflowRepository.save(workflow);
+        stateStore.ifAvailable(store -> store.onWorkflowCancelled(workflowId));
+        recentWrites.ifAvailable(writes -> writes.recordWrite(workflowId));
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    cancellationRegistry.publish(workflowId);
+                } catch (RuntimeException e) {
+                    // Workers still see CANCELLED in the database when they start a task
+                    log.warn("Failed to publish cancellation: workflowId={}", workflowId, e);
+                }
+            }
+        });
+        
+        log.info("Workflow cancelled: workflowId={}, cancelledTasks={}, droppedMessages={}", 
+                 workflowId, cancelledTasks, droppedMessages);
+        
+        return buildSubmissionResponse(workflow);
+    }
+    
+    /**
+     * Persist workflow, its tasks and initial queue messages (caller holds the transaction)
+     */
+    private Workflow persistWorkflow(WorkflowRequest request) {
+        // Compiled plan is cached per DAG shape (already validated by validateWorkflowRequest)
+        long compileStart = System.nanoTime();
+        List<TaskDefinition> definitions = workflowDagBuilder.resolve(request);
+        ExecutionPlan plan = executionPlanCache.getOrCompile(definitions);
+        workflowMetrics.recordPhase(CreatePhase.COMPILE, compileStart);
+        
+        long persistStart = System.nanoTime();
         
         // Create workflow entity
         Workflow workflow = Workflow.builder()
             .workflowName(request.getWorkflowName())
             .description(request.getDescription())
+            .deadline(request.getDeadline())
+            .tenantId(StringUtils.defaultIfBlank(request.getTenantId(), Workflow.DEFAULT_TENANT))
             .status(WorkflowStatus.PENDING)
             .inputParameters(toJson(request))
+            .dagDefinition(toJson(definitions))
+            .planKey(plan.getKey())
             .totalTasks(0)
             .completedTasks(0)
             .failedTasks(0)
             .build();
         
         workflow = workflowRepository.save(workflow);
+        workflow.setShard(shardRouter.shardOf(workflow.getId()));
         
         // Create tasks from workflow
-        List<Task> tasks = createTasksFromWorkflow(workflow, request);
+        List<Task> tasks = createTasksFromWorkflow(workflow, definitions, plan);
         
         // Update workflow with task count
         workflow.setTotalTasks(tasks.size());
         workflow.setStatus(WorkflowStatus.RUNNING);
         workflow.setStartedAt(LocalDateTime.now());
-        workflowRepository.save(workflow);
-        
-        // Queue initial tasks (tasks with no dependencies)
-        queueInitialTasks(tasks);
+        workflow = workflowRepository.save(workflow);
+        workflowMetrics.recordPhase(CreatePhase.PERSIST, persistStart);
         
-        log.info("Workflow created: workflowId={}, totalTasks={}", 
-                 workflow.getId(), tasks.size());
+        Workflow created = workflow;
+        stateStore.ifAvailable(store -> store.register(created, tasks, plan));
+        recentWrites.ifAvailable(writes -> writes.recordWrite(created.getId()));
         
-        return buildWorkflowResponse(workflow, tasks);
+        // Root tasks are ready now; TaskSchedulerService dispatches them in rank order
+        return workflow;
     }
     
     /**
-     * Get workflow status
+     * Create task entities from the DAG definitions.
+     * Plan node i corresponds to definition i.
      */
-    @Transactional(readOnly = true)
-    public WorkflowResponse getWorkflowStatus(String workflowId) {
-        Workflow workflow = workflowRepository.findById(workflowId)
-            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+    private List<Task> createTasksFromWorkflow(
+            Workflow workflow, 
+            List<TaskDefinition> definitions, 
+            ExecutionPlan plan) {
         
-        List<Task> tasks = taskRepository.findByWorkflowId(workflowId);
+        long[] upwardRanks = workflowDagBuilder.upwardRanks(plan, definitions);
+        List<Task> tasks = new ArrayList<>(definitions.size());
         
-        return buildWorkflowResponse(workflow, tasks);
-    }
-    
-    /**
-     * Create task DAG for image processing workflow
-     */
-    private List<Task> createTasksFromWorkflow(Workflow workflow, WorkflowRequest request) {
-        List<Task> allTasks = new ArrayList<>();
-        
-        // Process each image URL
-        for (int i = 0; i < request.getImageUrls().size(); i++) {
-            String imageUrl = request.getImageUrls().get(i);
-            String imageId = "img-" + i;
-            
-            // Create task chain for this image
-            List<Task> imageTasks = createImageProcessingChain(
-                workflow.getId(), 
-                imageUrl, 
-                imageId, 
-                request.getOperations(),
-                request.getParameters()
-            );
-            
-            allTasks.addAll(imageTasks);
+        for (int i = 0; i < definitions.size(); i++) {
+            TaskDefinition definition = definitions.get(i);
+            tasks.add(createTask(
+                workflow,
+                definition.getType(),
+                definition.getName(),
+                definition.getParams() != null ? definition.getParams() : Map.of(),
+                definition.getPriority() != null ? definition.getPriority() : TaskPriority.MEDIUM,
+                plan.inDegree(i),
+                upwardRanks[i],
+                WorkflowDagBuilder.latestStartAt(workflow.getDeadline(), upwardRanks[i])
+            ));
         }
         
         // Save all tasks
-        return taskRepository.saveAll(allTasks);
-    }
-    
-    /**
-     * Create task chain for single image processing
-     * 
-     * DAG Structure:
-     * Download → Validate → Resize → Watermark → Compress → Upload
-     *                         ↓
-     *                    Thumbnail
-     */
-    private List<Task> createImageProcessingChain(
-            String workflowId, 
-            String imageUrl, 
-            String imageId,
-            List<String> operations,
-            Map<String, Object> params) {
-        
-        List<Task> tasks = new ArrayList<>();
-        
-        // Task 1: Download Image
-        Task downloadTask = createTask(
-            workflowId,
-            "IMAGE_DOWNLOAD",
-            imageId + "-download",
-            Map.of("imageUrl", imageUrl),
-            TaskPriority.HIGH
-        );
-        tasks.add(downloadTask);
-        
-        // Task 2: Validate Image
-        if (operations.contains("validate")) {
-            Task validateTask = createTask(
-                workflowId,
-                "IMAGE_VALIDATE",
-                imageId + "-validate",
-                Map.of("dependsOn", downloadTask.getId()),
-                TaskPriority.HIGH
-            );
-            tasks.add(validateTask);
-        }
-        
-        // Task 3: Resize Image
-        if (operations.contains("resize")) {
-            Map<String, Object> resizeParams = new HashMap<>();
-            resizeParams.put("dependsOn", downloadTask.getId());
-            resizeParams.put("width", params.getOrDefault("width", 800));
-            resizeParams.put("height", params.getOrDefault("height", 600));
-            
-            Task resizeTask = createTask(
-                workflowId,
-                "IMAGE_RESIZE",
-                imageId + "-resize",
-                resizeParams,
-                TaskPriority.MEDIUM
-            );
-            tasks.add(resizeTask);
-        }
-        
-        // Task 4: Create Thumbnail (parallel with watermark)
-        if (operations.contains("thumbnail")) {
-            Map<String, Object> thumbParams = new HashMap<>();
-            thumbParams.put("dependsOn", downloadTask.getId());
-            thumbParams.put("width", 150);
-            thumbParams.put("height", 150);
-            
-            Task thumbnailTask = createTask(
-                workflowId,
-                "IMAGE_THUMBNAIL",
-                imageId + "-thumbnail",
-                thumbParams,
-                TaskPriority.LOW
-            );
-            tasks.add(thumbnailTask);
-        }
-        
-        // Task 5: Apply Watermark
-        if (operations.contains("watermark")) {
-            Task watermarkTask = createTask(
-                workflowId,
-                "IMAGE_WATERMARK",
-                imageId + "-watermark",
-                Map.of(
-                    "dependsOn", imageId + "-resize",
-                    "text", params.getOrDefault("watermarkText", "Sample")
-                ),
-                TaskPriority.MEDIUM
-            );
-            tasks.add(watermarkTask);
-        }
-        
-        // Task 6: Compress Image
-        if (operations.contains("compress")) {
-            Task compressTask = createTask(
-                workflowId,
-                "IMAGE_COMPRESS",
-                imageId + "-compress",
-                Map.of(
-                    "dependsOn", imageId + "-watermark",
-                    "quality", params.getOrDefault("quality", 85)
-                ),
-                TaskPriority.MEDIUM
-            );
-            tasks.add(compressTask);
-        }
-        
-        return tasks;
+        List<Task> saved = taskRepository.saveAll(tasks);
+        lifecycleTracer.recordAll(saved, TaskPhase.CREATED);
+        return saved;
     }
     
     /**
      * Create individual task
      */
     private Task createTask(
-            String workflowId,
+            Workflow workflow,
             String taskType,
             String taskName,
             Map<String, Object> parameters,
-            TaskPriority priority) {
+            TaskPriority priority,
+            int dependencyCount,
+            long upwardRankMs,
+            LocalDateTime latestStartAt) {
         
         return Task.builder()
-            .workflowId(workflowId)
+            .workflowId(workflow.getId())
+            .tenantId(workflow.getTenantId())
+            .shard(workflow.getShard())
             .taskType(taskType)
             .taskName(taskName)
             .status(TaskStatus.PENDING)
             .priority(priority)
+            .remainingDependencies(dependencyCount)
+            .upwardRankMs(upwardRankMs)
+            .latestStartAt(latestStartAt)
             .inputParameters(toJson(parameters))
             .retryCount(0)
             .maxRetries(3)
@@ -246,55 +310,52 @@ public class WorkflowService {
     }
     
     /**
-     * Queue tasks that have no dependencies (can start immediately)
-     */
-    private void queueInitialTasks(List<Task> tasks) {
-        tasks.stream()
-            .filter(task -> {
-                // Tasks that can start immediately (e.g., DOWNLOAD tasks)
-                return task.getTaskType().equals("IMAGE_DOWNLOAD");
-            })
-            .forEach(task -> {
-                task.setStatus(TaskStatus.QUEUED);
-                taskRepository.save(task);
-                
-                TaskMessage message = TaskMessage.builder()
-                    .taskId(task.getId())
-                    .workflowId(task.getWorkflowId())
-                    .taskType(task.getTaskType())
-                    .taskName(task.getTaskName())
-                    .priority(task.getPriority())
-                    .parameters(fromJson(task.getInputParameters()))
-                    .retryCount(task.getRetryCount())
-                    .scheduledAt(task.getScheduledAt())
-                    .build();
-                
-                taskQueueProducer.sendTask(message);
-                
-                log.info("Queued initial task: taskId={}, type={}", 
-                         task.getId(), task.getTaskType());
-            });
-    }
-    
-    /**
-     * Update workflow progress
+     * Update workflow progress.
+     * 
+     * Sibling tasks complete concurrently and each recounts the workflow, so the
+     * workflow row is locked before counting: updates serialize, every count sees
+     * the siblings that committed first, and the save never fails the version check.
      */
     @Transactional
     public void updateWorkflowProgress(String workflowId) {
-        Workflow workflow = workflowRepository.findById(workflowId)
-            .orElseThrow(() -> new RuntimeException("Workflow not found"));
+        Workflow workflow = lockWorkflow(workflowId);
         
         long completedCount = taskRepository.countByWorkflowIdAndStatus(
             workflowId, TaskStatus.COMPLETED);
         long failedCount = taskRepository.countByWorkflowIdAndStatus(
             workflowId, TaskStatus.FAILED);
+        long cancelledCount = taskRepository.countByWorkflowIdAndStatus(
+            workflowId, TaskStatus.CANCELLED);
         
+        applyProgress(workflow, completedCount, failedCount, cancelledCount);
+        workflowRepository.save(workflow);
+        recentWrites.ifAvailable(writes -> writes.recordWrite(workflowId));
+    }
+    
+    /**
+     * Load the workflow under a row lock (SELECT ... FOR UPDATE). Refresh rather than a
+     * locking query: the workflow may already sit in the persistence context with the
+     * version read before a sibling committed, which a locking query would reject.
+     */
+    private Workflow lockWorkflow(String workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+        entityManager.refresh(workflow, LockModeType.PESSIMISTIC_WRITE);
+        return workflow;
+    }
+    
+    /**
+     * Set task counts and, once every task finished, the final status (caller saves)
+     */
+    public void applyProgress(Workflow workflow, long completedCount, long failedCount, long cancelledCount) {
         workflow.setCompletedTasks((int) completedCount);
         workflow.setFailedTasks((int) failedCount);
         
-        // Check if workflow is complete
-        if (completedCount + failedCount >= workflow.getTotalTasks()) {
-            if (failedCount > 0) {
+        // Check if workflow is complete (tasks downstream of a failure are cancelled);
+        // a user-cancelled workflow keeps its CANCELLED status
+        if (workflow.getStatus() != WorkflowStatus.CANCELLED 
+                && completedCount + failedCount + cancelledCount >= workflow.getTotalTasks()) {
+            if (failedCount > 0 || cancelledCount > 0) {
                 workflow.setStatus(WorkflowStatus.PARTIALLY_COMPLETED);
             } else {
                 workflow.setStatus(WorkflowStatus.COMPLETED);
@@ -308,9 +369,9 @@ public class WorkflowService {
                 ).toMillis();
                 workflow.setTotalExecutionTimeMs(duration);
             }
+            
+            deadlineTracker.onFinished(workflow);
         }
-        
-        workflowRepository.save(workflow);
     }
     
     /**
@@ -326,6 +387,7 @@ public class WorkflowService {
                 .assignedWorkerId(task.getAssignedWorkerId())
                 .retryCount(task.getRetryCount())
                 .errorMessage(task.getLastErrorMessage())
+                .queuedAt(task.getQueuedAt())
                 .startedAt(task.getStartedAt())
                 .completedAt(task.getCompletedAt())
                 .executionDurationMs(task.getExecutionDurationMs())
@@ -344,28 +406,64 @@ public class WorkflowService {
             .startedAt(workflow.getStartedAt())
             .completedAt(workflow.getCompletedAt())
             .executionTimeMs(workflow.getTotalExecutionTimeMs())
+            .deadline(workflow.getDeadline())
+            .deadlineAtRisk(workflow.getDeadlineAtRisk())
+            .deadlineMissed(workflow.getDeadlineMissed())
             .tasks(taskDTOs)
             .build();
     }
     
     /**
-     * Validate workflow request
+     * Build lightweight response for an accepted submission (no per-task details)
      */
-    private void validateWorkflowRequest(WorkflowRequest request) {
-        if (request.getImageUrls() == null || request.getImageUrls().isEmpty()) {
-            throw new IllegalArgumentException("At least one image URL is required");
-        }
+    private WorkflowResponse buildSubmissionResponse(Workflow workflow) {
+        return WorkflowResponse.builder()
+            .workflowId(workflow.getId())
+            .workflowName(workflow.getWorkflowName())
+            .status(workflow.getStatus())
+            .totalTasks(workflow.getTotalTasks())
+            .completedTasks(workflow.getCompletedTasks())
+            .failedTasks(workflow.getFailedTasks())
+            .progressPercentage(workflow.getProgressPercentage())
+            .createdAt(workflow.getCreatedAt())
+            .startedAt(workflow.getStartedAt())
+            .deadline(workflow.getDeadline())
+            .build();
+    }
+    
+    /**
+     * Validate workflow request.
+     * DAG structure (cycles, unknown types, dangling/unreachable tasks) is checked
+     * by the plan compiler, once per distinct DAG shape.
+     */
+    void validateWorkflowRequest(WorkflowRequest request) {
+        boolean hasTasks = request.getTasks() != null && !request.getTasks().isEmpty();
         
-        if (request.getOperations() == null || request.getOperations().isEmpty()) {
-            throw new IllegalArgumentException("At least one operation is required");
+        if (!hasTasks) {
+            if (request.getImageUrls() == null || request.getImageUrls().isEmpty()) {
+                throw new IllegalArgumentException("Either tasks or at least one image URL is required");
+            }
+            
+            if (request.getOperations() == null || request.getOperations().isEmpty()) {
+                throw new IllegalArgumentException("At least one operation is required");
+            }
+            
+            // Validate image URLs
+            request.getImageUrls().forEach(url -> {
+                if (url == null || (!url.startsWith("http://") && !url.startsWith("https://"))) {
+                    throw new IllegalArgumentException("Invalid image URL: " + url);
+                }
+            });
         }
         
-        // Validate image URLs
-        request.getImageUrls().forEach(url -> {
-            if (!url.startsWith("http://") && !url.startsWith("https://")) {
-                throw new IllegalArgumentException("Invalid image URL: " + url);
-            }
-        });
+        List<TaskDefinition> definitions = workflowDagBuilder.resolve(request);
+        executionPlanCache.getOrCompile(definitions);
+        
+        // Per-task parameter checks (parameters are not part of the cached shape)
+        for (TaskDefinition definition : definitions) {
+            executorRegistry.get(definition.getType()).validateParameters(
+                definition.getParams() != null ? definition.getParams() : Map.of());
+        }
     }
     
     /**
@@ -378,15 +476,4 @@ public class WorkflowService {
             throw new RuntimeException("Failed to serialize to JSON", e);
         }
     }
-    
-    /**
-     * Helper: Convert JSON string to Map
-     */
-    private Map<String, Object> fromJson(String json) {
-        try {
-            return objectMapper.readValue(json, Map.class);
-        } catch (JsonProcessingException e) {
-            return new HashMap<>();
-        }
-    }
 }
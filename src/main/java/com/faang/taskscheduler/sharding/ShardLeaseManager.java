@@ -0,0 +1,224 @@
+package com.faang.taskscheduler.sharding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assigns scheduler shards to scheduler nodes with Redis leases.
+ * 
+ * FAANG Interview Points:
+ * - Membership: each node heartbeats into a sorted set scored by expiry time
+ * - Target owner of a shard = rendezvous (highest random weight) hash over live
+ *   members: a join or leave only moves ~1/N of the shards
+ * - Ownership is a per-shard lease (SET NX PX), renewed and released with
+ *   compare-and-set Lua scripts so a node never touches another node's lease
+ * - Rebalance is cooperative: nodes release shards that hash elsewhere, the
+ *   target acquires them; a crashed node's shards free up when its leases expire
+ * - Brief double ownership during lease expiry is harmless: dispatch uses
+ *   SKIP LOCKED row locks and task transitions are idempotent
+ * 
+ * With sharding disabled the node owns every shard (single scheduler).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.scheduler.enabled", havingValue = "true")
+public class ShardLeaseManager {
+    
+    private static final String MEMBERS_KEY = "task-scheduler:scheduler:members";
+    private static final String LEASE_KEY_PREFIX = "task-scheduler:scheduler:shard:";
+    
+    private static final String RENEW_SCRIPT = 
+        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+        "  return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+        "end " +
+        "return 0";
+    
+    private static final String RELEASE_SCRIPT = 
+        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+        "  return redis.call('del', KEYS[1]) " +
+        "end " +
+        "return 0";
+    
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final ShardRouter shardRouter;
+    
+    @Value("${task-scheduler.scheduler.id:scheduler-${random.uuid}}")
+    private String nodeId;
+    
+    @Value("${task-scheduler.scheduler.sharding.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${task-scheduler.scheduler.sharding.lease-ttl-ms:15000}")
+    private long leaseTtlMs;
+    
+    private volatile Set<Integer> ownedShards = Set.of();
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            Set<Integer> all = new TreeSet<>();
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                all.add(shard);
+            }
+            ownedShards = Set.copyOf(all);
+            return;
+        }
+        rebalance();
+    }
+    
+    /**
+     * Shards this node currently schedules (immutable snapshot)
+     */
+    public Set<Integer> getOwnedShards() {
+        return ownedShards;
+    }
+    
+    /**
+     * Fraction of all shards owned here; used to split cluster-wide budgets
+     */
+    public double getOwnedFraction() {
+        return (double) ownedShards.size() / shardRouter.getShardCount();
+    }
+    
+    /**
+     * Heartbeat membership, then acquire, renew or release shard leases
+     */
+    @Scheduled(fixedDelayString = "${task-scheduler.scheduler.sharding.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            List<String> members = heartbeat();
+            Set<Integer> owned = new TreeSet<>();
+            
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                String key = LEASE_KEY_PREFIX + shard;
+                boolean held = ownedShards.contains(shard);
+                
+                if (!nodeId.equals(targetOwner(shard, members))) {
+                    if (held) {
+                        release(key);
+                        log.info("Shard handed off: shard={}", shard);
+                    }
+                    continue;
+                }
+                
+                if (held ? renew(key) : acquire(key)) {
+                    owned.add(shard);
+                    if (!held) {
+                        log.info("Shard acquired: shard={}", shard);
+                    }
+                } else if (held) {
+                    log.warn("Shard lease lost: shard={}", shard);
+                }
+            }
+            
+            ownedShards = Set.copyOf(owned);
+            
+        } catch (RuntimeException e) {
+            // Without Redis we cannot prove ownership: stop scheduling until it is back
+            log.error("Shard rebalance failed, releasing local ownership: {}", e.getMessage());
+            ownedShards = Set.of();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            members().remove(nodeId);
+            for (int shard : ownedShards) {
+                release(LEASE_KEY_PREFIX + shard);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to release shard leases on shutdown: {}", e.getMessage());
+        }
+        ownedShards = Set.of();
+    }
+    
+    /**
+     * Refresh this node's membership and return all live members
+     */
+    private List<String> heartbeat() {
+        long now = System.currentTimeMillis();
+        RScoredSortedSet<String> members = members();
+        members.add(now + leaseTtlMs, nodeId);
+        members.removeRangeByScore(0, true, now, false);
+        
+        Collection<String> live = members.valueRange(now, true, Double.POSITIVE_INFINITY, true);
+        return new ArrayList<>(live);
+    }
+    
+    /**
+     * Rendezvous hashing: the member with the highest weight for this shard
+     */
+    static String targetOwner(int shard, List<String> members) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String member : members) {
+            long weight = weight(member, shard);
+            if (owner == null || weight > best || (weight == best && member.compareTo(owner) < 0)) {
+                owner = member;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+    
+    private static long weight(String member, int shard) {
+        long h = member.hashCode() * 0x9E3779B97F4A7C15L + shard;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private boolean acquire(String key) {
+        return redissonClient.getObject().getBucket(key, StringCodec.INSTANCE)
+            .setIfAbsent(nodeId, Duration.ofMillis(leaseTtlMs));
+    }
+    
+    private boolean renew(String key) {
+        Long renewed = script().eval(RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.INTEGER,
+            List.of(key), nodeId, String.valueOf(leaseTtlMs));
+        return renewed != null && renewed == 1;
+    }
+    
+    private void release(String key) {
+        script().eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.INTEGER,
+            List.of(key), nodeId);
+    }
+    
+    private RScript script() {
+        return redissonClient.getObject().getScript(StringCodec.INSTANCE);
+    }
+    
+    private RScoredSortedSet<String> members() {
+        return redissonClient.getObject().getScoredSortedSet(MEMBERS_KEY, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.faang.taskscheduler.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps workflows to scheduler shards.
+ * 
+ * FAANG Interview Points:
+ * - Fixed number of shards (like Kafka partitions), hashed from workflowId, so a
+ *   workflow and all of its tasks always belong to the same shard
+ * - Shards, not workflows, move between scheduler nodes on rebalance
+ * - Shard count must stay constant for the lifetime of the data
+ */
+@Component
+public class ShardRouter {
+    
+    @Value("${task-scheduler.scheduler.sharding.shard-count:64}")
+    private int shardCount;
+    
+    public int shardOf(String workflowId) {
+        return Math.floorMod(mix(workflowId.hashCode()), shardCount);
+    }
+    
+    public int getShardCount() {
+        return shardCount;
+    }
+    
+    /**
+     * Murmur3 finalizer: spreads String.hashCode (stable across JVMs) over all bits
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,157 @@
+package com.faang.taskscheduler.state;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.model.WorkflowStatus;
+import com.faang.taskscheduler.replica.RecentWriteTracker;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.WorkflowRepository;
+import com.faang.taskscheduler.service.TaskCompletionService;
+import com.faang.taskscheduler.service.WorkflowService;
+import com.faang.taskscheduler.state.WorkflowStateStore.DependencyCounter;
+import com.faang.taskscheduler.state.WorkflowStateStore.WorkflowProgress;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps WorkflowStateStore and the database in step.
+ *
+ * FAANG Interview Points:
+ * - Startup: in-flight workflows are loaded before workers and the scheduler start,
+ *   with readiness recomputed from task statuses rather than trusted counters
+ * - Write-behind: dirty remaining-dependency counters go out as one JDBC batch, and
+ *   dirty workflows get their progress (and final status) in one transaction, instead
+ *   of an UPDATE plus three COUNT(*) queries inside every completion
+ * - A failed write (e.g. optimistic lock conflict with a cancellation) re-marks the
+ *   entries dirty and is retried on the next flush
+ * - Finished workflows are evicted from the store only after their final state is committed
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task-scheduler.state-store.enabled", havingValue = "true")
+public class StateStoreSynchronizer {
+    
+    private static final String UPDATE_REMAINING =
+        "UPDATE tasks SET remaining_dependencies = ? WHERE id = ?";
+    
+    private final WorkflowStateStore stateStore;
+    private final WorkflowRepository workflowRepository;
+    private final TaskRepository taskRepository;
+    private final WorkflowService workflowService;
+    private final TaskCompletionService taskCompletionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<RecentWriteTracker> recentWrites;
+    
+    @Value("${task-scheduler.state-store.flush-batch-size:1000}")
+    private int batchSize;
+    
+    /**
+     * Rebuild the store from the database (runs before scheduled tasks and listeners start)
+     */
+    @PostConstruct
+    public void load() {
+        Integer loaded = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Workflow workflow : workflowRepository.findByStatusIn(
+                    List.of(WorkflowStatus.PENDING, WorkflowStatus.RUNNING))) {
+                ExecutionPlan plan = taskCompletionService.planFor(workflow.getId());
+                if (plan == null) {
+                    log.warn("Not loading workflow without a plan: workflowId={}", workflow.getId());
+                    continue;
+                }
+                
+                Task[] ordered = new Task[plan.size()];
+                for (Task task : taskRepository.findByWorkflowId(workflow.getId())) {
+                    int node = plan.indexOf(task.getTaskName());
+                    if (node >= 0) {
+                        ordered[node] = task;
+                    }
+                }
+                if (Arrays.stream(ordered).anyMatch(task -> task == null)) {
+                    log.warn("Not loading workflow with missing tasks: workflowId={}", workflow.getId());
+                    continue;
+                }
+                
+                stateStore.register(workflow, Arrays.asList(ordered), plan);
+                count++;
+            }
+            return count;
+        });
+        log.info("State store loaded: workflows={}", loaded);
+    }
+    
+    @Scheduled(fixedDelayString = "${task-scheduler.state-store.flush-interval-ms:200}")
+    public void flush() {
+        flushCounters();
+        flushProgress();
+    }
+    
+    private void flushCounters() {
+        List<DependencyCounter> counters;
+        while (!(counters = stateStore.drainCounters(batchSize)).isEmpty()) {
+            List<Object[]> args = counters.stream()
+                .map(counter -> new Object[] {counter.remaining(), UUID.fromString(counter.taskId())})
+                .toList();
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_REMAINING, args);
+            } catch (DataAccessException e) {
+                stateStore.retryCounters(counters.stream().map(DependencyCounter::taskId).toList());
+                log.warn("Failed to write dependency counters, will retry: count={}", counters.size(), e);
+                return;
+            }
+        }
+    }
+    
+    private void flushProgress() {
+        List<WorkflowProgress> progress;
+        while (!(progress = stateStore.drainProgress(batchSize)).isEmpty()) {
+            List<String> workflowIds = progress.stream().map(WorkflowProgress::workflowId).toList();
+            try {
+                writeProgress(progress, workflowIds);
+            } catch (RuntimeException e) {
+                stateStore.retryProgress(workflowIds);
+                log.warn("Failed to write workflow progress, will retry: count={}", progress.size(), e);
+                return;
+            }
+            
+            stateStore.evictFinished(progress.stream()
+                .filter(WorkflowProgress::finished)
+                .map(WorkflowProgress::workflowId)
+                .toList());
+        }
+    }
+    
+    private void writeProgress(List<WorkflowProgress> progress, List<String> workflowIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Workflow> workflows = workflowRepository.findAllById(workflowIds).stream()
+                .collect(Collectors.toMap(Workflow::getId, Function.identity()));
+            for (WorkflowProgress entry : progress) {
+                Workflow workflow = workflows.get(entry.workflowId());
+                if (workflow != null) {
+                    workflowService.applyProgress(workflow, entry.completed(), entry.failed(), entry.cancelled());
+                }
+            }
+            workflowRepository.saveAll(workflows.values());
+            recentWrites.ifAvailable(writes -> writes.recordWrites(workflows.keySet()));
+        });
+    }
+}
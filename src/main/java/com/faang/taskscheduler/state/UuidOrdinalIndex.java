@@ -0,0 +1,127 @@
+package com.faang.taskscheduler.state;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a 128-bit UUID to an int ordinal.
+ *
+ * FAANG Interview Points:
+ * - Keys live in two long[] columns: no String, UUID or boxed Integer per entry,
+ *   ~40 bytes per id at a 0.5 load factor versus ~200 for a HashMap of String to Integer
+ * - Linear probing: a lookup scans adjacent slots, usually within one cache line
+ * - Deletion by backward shift, so probe chains never accumulate tombstones
+ * - Not thread-safe; WorkflowStateStore guards it with its lock
+ */
+public final class UuidOrdinalIndex {
+    
+    public static final int ABSENT = -1;
+    
+    private long[] high;
+    private long[] low;
+    private int[] ordinals;
+    private int mask;
+    private int size;
+    
+    public UuidOrdinalIndex(int expectedEntries) {
+        allocate(Integer.highestOneBit(Math.max(16, expectedEntries * 2 - 1)) << 1);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int get(long hi, long lo) {
+        for (int slot = slot(hi, lo); ; slot = (slot + 1) & mask) {
+            int ordinal = ordinals[slot];
+            if (ordinal == ABSENT || (high[slot] == hi && low[slot] == lo)) {
+                return ordinal;
+            }
+        }
+    }
+    
+    /**
+     * Insert or overwrite the ordinal of an id
+     */
+    public void put(long hi, long lo, int ordinal) {
+        if ((size + 1) * 2 > ordinals.length) {
+            rehash(ordinals.length << 1);
+        }
+        
+        int slot = slot(hi, lo);
+        while (ordinals[slot] != ABSENT) {
+            if (high[slot] == hi && low[slot] == lo) {
+                ordinals[slot] = ordinal;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        high[slot] = hi;
+        low[slot] = lo;
+        ordinals[slot] = ordinal;
+        size++;
+    }
+    
+    public boolean remove(long hi, long lo) {
+        int gap = slot(hi, lo);
+        while (ordinals[gap] != ABSENT && (high[gap] != hi || low[gap] != lo)) {
+            gap = (gap + 1) & mask;
+        }
+        if (ordinals[gap] == ABSENT) {
+            return false;
+        }
+        
+        // Pull back later entries of the probe chain whose home slot is at or before the gap
+        for (int next = (gap + 1) & mask; ordinals[next] != ABSENT; next = (next + 1) & mask) {
+            int home = slot(high[next], low[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                high[gap] = high[next];
+                low[gap] = low[next];
+                ordinals[gap] = ordinals[next];
+                gap = next;
+            }
+        }
+        ordinals[gap] = ABSENT;
+        size--;
+        return true;
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldHigh = high;
+        long[] oldLow = low;
+        int[] oldOrdinals = ordinals;
+        allocate(capacity);
+        
+        for (int i = 0; i < oldOrdinals.length; i++) {
+            if (oldOrdinals[i] != ABSENT) {
+                int slot = slot(oldHigh[i], oldLow[i]);
+                while (ordinals[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                high[slot] = oldHigh[i];
+                low[slot] = oldLow[i];
+                ordinals[slot] = oldOrdinals[i];
+                size++;
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        high = new long[capacity];
+        low = new long[capacity];
+        ordinals = new int[capacity];
+        Arrays.fill(ordinals, ABSENT);
+        mask = capacity - 1;
+        size = 0;
+    }
+    
+    /**
+     * UUIDv7 high bits are mostly timestamp, so both halves are mixed (murmur3 finalizer)
+     */
+    private int slot(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,815 @@
+package com.faang.taskscheduler.state;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.Workflow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory live view of in-flight workflows, stored column-wise in primitive arrays.
+ *
+ * FAANG Interview Points:
+ * - Task ids are interned to int ordinals (UuidOrdinalIndex); every task attribute is
+ *   a slot in a primitive column: byte status, int retries and remaining dependencies,
+ *   long rank and timestamps. ~100 bytes per task instead of a ~1 KB entity graph, so a
+ *   million-task workflow fits in the heap and scans stay sequential
+ * - A workflow owns a contiguous ordinal range; adjacency is the CSR of its shared
+ *   ExecutionPlan offset by the range start, so per-workflow edges cost nothing
+ * - Readiness: completion decrements dependent counters in memory and pushes tasks
+ *   reaching zero onto a max-heap by upward rank, so dispatch never scans the tasks table;
+ *   a retrying task stays in the heap but is passed over until its backoff has elapsed
+ * - Progress counters per workflow replace the COUNT(*) queries run on every completion
+ * - Counters and workflow progress are marked dirty and written behind in batches by
+ *   StateStoreSynchronizer; task status rows stay synchronous, so after a crash the view
+ *   is rebuilt from the database and nothing written behind is lost
+ * - Transitions apply after the database transaction commits, so the view never shows
+ *   uncommitted state; tasks taken for dispatch return to the heap on rollback
+ * - Finished workflows are evicted once flushed, and the columns are compacted when
+ *   more than half of the ordinals are dead
+ * - Single JVM only (embedded mode): every transition must be reported to this process
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "task-scheduler.state-store.enabled", havingValue = "true")
+public class WorkflowStateStore {
+    
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte PENDING = code(TaskStatus.PENDING);
+    private static final byte QUEUED = code(TaskStatus.QUEUED);
+    private static final byte RUNNING = code(TaskStatus.RUNNING);
+    private static final byte RETRYING = code(TaskStatus.RETRYING);
+    private static final byte COMPLETED = code(TaskStatus.COMPLETED);
+    private static final byte FAILED = code(TaskStatus.FAILED);
+    private static final byte CANCELLED = code(TaskStatus.CANCELLED);
+    
+    private static final byte LIVE = 0;
+    private static final byte FINISHED = 1;
+    private static final byte EVICTED = 2;
+    
+    private static final int MIN_COMPACTION_TASKS = 4096;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Task columns, indexed by task ordinal
+    private long[] taskIdHigh;
+    private long[] taskIdLow;
+    private int[] taskWorkflow;
+    private byte[] taskStatus;
+    private int[] taskRetries;
+    private int[] taskRemaining;
+    private long[] taskRank;
+    private long[] taskNotBefore;
+    private long[] taskQueuedAt;
+    private long[] taskStartedAt;
+    private long[] taskFinishedAt;
+    private int taskCount;
+    private int deadTasks;
+    
+    // Workflow columns, indexed by workflow ordinal; tasks [firstTask, firstTask + taskTotal)
+    private long[] workflowIdHigh;
+    private long[] workflowIdLow;
+    private int[] workflowFirstTask;
+    private int[] workflowTaskTotal;
+    private ExecutionPlan[] workflowPlan;
+    private int[] workflowCompleted;
+    private int[] workflowFailed;
+    private int[] workflowCancelled;
+    private byte[] workflowState;
+    private int workflowCount;
+    
+    private final UuidOrdinalIndex taskIndex;
+    private final UuidOrdinalIndex workflowIndex;
+    
+    // Ready tasks: max-heap on upward rank; entries are re-checked (and dropped if stale) on poll
+    private long[] heapRank;
+    private int[] heapTask;
+    private int heapSize;
+    
+    // Written behind by StateStoreSynchronizer
+    private BitSet dirtyCounters = new BitSet();
+    private BitSet dirtyWorkflows = new BitSet();
+    
+    private final int[] statusCounts = new int[STATUSES.length];
+    
+    public WorkflowStateStore(
+            @Value("${task-scheduler.state-store.initial-capacity:65536}") int initialCapacity,
+            MeterRegistry meterRegistry) {
+        int tasks = Math.max(1024, initialCapacity);
+        int workflows = Math.max(64, tasks / 8);
+        allocateTasks(tasks);
+        allocateWorkflows(workflows);
+        this.taskIndex = new UuidOrdinalIndex(tasks);
+        this.workflowIndex = new UuidOrdinalIndex(workflows);
+        this.heapRank = new long[1024];
+        this.heapTask = new int[1024];
+        
+        Gauge.builder("task_scheduler.state_store.tasks", this, WorkflowStateStore::liveTasks)
+            .description("Tasks of in-flight workflows held in the state store")
+            .register(meterRegistry);
+        Gauge.builder("task_scheduler.state_store.workflows", this, WorkflowStateStore::liveWorkflows)
+            .description("In-flight workflows held in the state store")
+            .register(meterRegistry);
+        Gauge.builder("task_scheduler.state_store.ready", this, WorkflowStateStore::readyEntries)
+            .description("Entries in the ready heap, including stale ones not yet dropped")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Workflow progress to write behind
+     */
+    public record WorkflowProgress(String workflowId, int completed, int failed, int cancelled, boolean finished) {}
+    
+    /**
+     * Remaining-dependency counter of a task to write behind
+     */
+    public record DependencyCounter(String taskId, int remaining) {}
+    
+    /**
+     * Add a workflow once the surrounding transaction commits. Tasks are given in plan
+     * order (task i is plan node i) with their current status; remaining dependencies
+     * are derived from the statuses, so a workflow reloaded after a crash is consistent
+     * even if written-behind counters were lost.
+     */
+    public void register(Workflow workflow, List<Task> tasks, ExecutionPlan plan) {
+        afterCommit(() -> registerNow(workflow, tasks, plan));
+    }
+    
+    /**
+     * Take up to max ready tasks in upward-rank order and mark them QUEUED; retrying tasks
+     * still in their backoff are left in the heap. If the caller's transaction rolls back
+     * the tasks taken become ready again.
+     */
+    public List<String> pollReady(int max) {
+        List<String> taskIds = new ArrayList<>(Math.min(max, 1024));
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            int[] waiting = new int[16];
+            int waitingCount = 0;
+            while (taskIds.size() < max && heapSize > 0) {
+                int task = popReady();
+                if (!isReady(task)) {
+                    continue;
+                }
+                if (taskNotBefore[task] > now) {
+                    if (waitingCount == waiting.length) {
+                        waiting = Arrays.copyOf(waiting, waitingCount * 2);
+                    }
+                    waiting[waitingCount++] = task;
+                    continue;
+                }
+                setStatus(task, QUEUED);
+                taskQueuedAt[task] = now;
+                taskIds.add(taskId(task));
+            }
+            for (int i = 0; i < waitingCount; i++) {
+                pushReady(waiting[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        if (!taskIds.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(taskIds);
+                    }
+                }
+            });
+        }
+        return taskIds;
+    }
+    
+    /**
+     * Tasks dispatched without pollReady (DB-selected in edf and fair modes)
+     */
+    public void onQueued(List<Task> tasks) {
+        List<String> taskIds = tasks.stream().map(Task::getId).toList();
+        afterCommit(() -> transition(taskIds, task -> {
+            if (isReady(task)) {
+                setStatus(task, QUEUED);
+                taskQueuedAt[task] = System.currentTimeMillis();
+            }
+        }));
+    }
+    
+    public void onStarted(String taskId) {
+        afterCommit(() -> transition(List.of(taskId), task -> {
+            if (!isTerminal(task)) {
+                setStatus(task, RUNNING);
+                taskStartedAt[task] = System.currentTimeMillis();
+            }
+        }));
+    }
+    
+    /**
+     * Completion: dependents whose counter reaches zero become ready
+     */
+    public void onCompleted(String taskId) {
+        afterCommit(() -> transition(List.of(taskId), task -> {
+            if (isTerminal(task)) {
+                return;
+            }
+            int workflow = taskWorkflow[task];
+            setStatus(task, COMPLETED);
+            taskFinishedAt[task] = System.currentTimeMillis();
+            workflowCompleted[workflow]++;
+            
+            ExecutionPlan plan = workflowPlan[workflow];
+            int base = workflowFirstTask[workflow];
+            int node = task - base;
+            for (int e = plan.firstDependentEdge(node); e < plan.firstDependentEdge(node + 1); e++) {
+                int dependent = base + plan.dependentAt(e);
+                if (--taskRemaining[dependent] == 0 && isReady(dependent)) {
+                    pushReady(dependent);
+                }
+                dirtyCounters.set(dependent);
+            }
+            updateProgress(workflow);
+        }));
+    }
+    
+    /**
+     * Failure with attempts left: the task is ready again once its backoff has elapsed
+     */
+    public void onRetrying(String taskId, LocalDateTime nextAttemptAt) {
+        afterCommit(() -> transition(List.of(taskId), task -> {
+            if (isTerminal(task)) {
+                return;
+            }
+            setStatus(task, RETRYING);
+            taskRetries[task]++;
+            taskNotBefore[task] = epochMillis(nextAttemptAt);
+            if (isReady(task)) {
+                pushReady(task);
+            }
+        }));
+    }
+    
+    /**
+     * Permanent failure: pending descendants are cancelled, as in the database
+     */
+    public void onFailed(String taskId) {
+        afterCommit(() -> transition(List.of(taskId), task -> {
+            if (isTerminal(task)) {
+                return;
+            }
+            int workflow = taskWorkflow[task];
+            setStatus(task, FAILED);
+            taskFinishedAt[task] = System.currentTimeMillis();
+            workflowFailed[workflow]++;
+            cancelDescendants(workflow, task);
+            updateProgress(workflow);
+        }));
+    }
+    
+    /**
+     * User cancellation: the database already holds the final state, so the workflow is dropped
+     */
+    public void onWorkflowCancelled(String workflowId) {
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                int workflow = workflowOrdinal(workflowId);
+                if (workflow != UuidOrdinalIndex.ABSENT) {
+                    dirtyWorkflows.clear(workflow);
+                    evict(workflow);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+    
+    /**
+     * Tasks currently in the given status across the store
+     */
+    public int count(TaskStatus status) {
+        lock.lock();
+        try {
+            return statusCounts[status.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Take up to max dirty workflows; finished ones can be evicted once written
+     */
+    public List<WorkflowProgress> drainProgress(int max) {
+        List<WorkflowProgress> drained = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int w = dirtyWorkflows.nextSetBit(0); w >= 0 && drained.size() < max;
+                     w = dirtyWorkflows.nextSetBit(w + 1)) {
+                dirtyWorkflows.clear(w);
+                drained.add(new WorkflowProgress(workflowId(w), workflowCompleted[w], workflowFailed[w],
+                    workflowCancelled[w], workflowState[w] == FINISHED));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return drained;
+    }
+    
+    /**
+     * Take up to max dirty remaining-dependency counters
+     */
+    public List<DependencyCounter> drainCounters(int max) {
+        List<DependencyCounter> drained = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int t = dirtyCounters.nextSetBit(0); t >= 0 && drained.size() < max;
+                     t = dirtyCounters.nextSetBit(t + 1)) {
+                dirtyCounters.clear(t);
+                if (workflowState[taskWorkflow[t]] != EVICTED) {
+                    drained.add(new DependencyCounter(taskId(t), taskRemaining[t]));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return drained;
+    }
+    
+    /**
+     * Mark workflows dirty again after a failed write
+     */
+    public void retryProgress(Collection<String> workflowIds) {
+        lock.lock();
+        try {
+            for (String workflowId : workflowIds) {
+                int workflow = workflowOrdinal(workflowId);
+                if (workflow != UuidOrdinalIndex.ABSENT) {
+                    dirtyWorkflows.set(workflow);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Mark counters dirty again after a failed write
+     */
+    public void retryCounters(Collection<String> taskIds) {
+        transition(taskIds, dirtyCounters::set);
+    }
+    
+    /**
+     * Drop finished workflows whose final progress has been written
+     */
+    public void evictFinished(Collection<String> workflowIds) {
+        lock.lock();
+        try {
+            for (String workflowId : workflowIds) {
+                int workflow = workflowOrdinal(workflowId);
+                if (workflow != UuidOrdinalIndex.ABSENT && workflowState[workflow] == FINISHED
+                        && !dirtyWorkflows.get(workflow)) {
+                    evict(workflow);
+                }
+            }
+            if (deadTasks >= MIN_COMPACTION_TASKS && deadTasks * 2 > taskCount) {
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void registerNow(Workflow workflow, List<Task> tasks, ExecutionPlan plan) {
+        UUID workflowUuid = UUID.fromString(workflow.getId());
+        lock.lock();
+        try {
+            if (workflowIndex.get(workflowUuid.getMostSignificantBits(),
+                    workflowUuid.getLeastSignificantBits()) != UuidOrdinalIndex.ABSENT) {
+                return;
+            }
+            
+            int w = workflowCount++;
+            ensureWorkflowCapacity(workflowCount);
+            int base = taskCount;
+            taskCount += tasks.size();
+            ensureTaskCapacity(taskCount);
+            
+            workflowIdHigh[w] = workflowUuid.getMostSignificantBits();
+            workflowIdLow[w] = workflowUuid.getLeastSignificantBits();
+            workflowFirstTask[w] = base;
+            workflowTaskTotal[w] = tasks.size();
+            workflowPlan[w] = plan;
+            workflowCompleted[w] = 0;
+            workflowFailed[w] = 0;
+            workflowCancelled[w] = 0;
+            workflowState[w] = LIVE;
+            workflowIndex.put(workflowIdHigh[w], workflowIdLow[w], w);
+            
+            for (int i = 0; i < tasks.size(); i++) {
+                Task source = tasks.get(i);
+                int t = base + i;
+                UUID id = UUID.fromString(source.getId());
+                taskIdHigh[t] = id.getMostSignificantBits();
+                taskIdLow[t] = id.getLeastSignificantBits();
+                taskWorkflow[t] = w;
+                taskStatus[t] = code(source.getStatus());
+                statusCounts[taskStatus[t]]++;
+                taskRetries[t] = source.getRetryCount() != null ? source.getRetryCount() : 0;
+                taskRemaining[t] = 0;
+                taskRank[t] = source.getUpwardRankMs() != null ? source.getUpwardRankMs() : 0;
+                taskNotBefore[t] = epochMillis(source.getNextAttemptAt());
+                taskQueuedAt[t] = epochMillis(source.getQueuedAt());
+                taskStartedAt[t] = epochMillis(source.getStartedAt());
+                taskFinishedAt[t] = epochMillis(source.getCompletedAt());
+                taskIndex.put(taskIdHigh[t], taskIdLow[t], t);
+                
+                if (taskStatus[t] == COMPLETED) {
+                    workflowCompleted[w]++;
+                } else if (taskStatus[t] == FAILED) {
+                    workflowFailed[w]++;
+                } else if (taskStatus[t] == CANCELLED) {
+                    workflowCancelled[w]++;
+                }
+            }
+            
+            // A dependency counts until it completes
+            for (int node = 0; node < tasks.size(); node++) {
+                if (taskStatus[base + node] != COMPLETED) {
+                    for (int e = plan.firstDependentEdge(node); e < plan.firstDependentEdge(node + 1); e++) {
+                        taskRemaining[base + plan.dependentAt(e)]++;
+                    }
+                }
+            }
+            
+            for (int i = 0; i < tasks.size(); i++) {
+                int t = base + i;
+                Integer persisted = tasks.get(i).getRemainingDependencies();
+                if (persisted == null || persisted != taskRemaining[t]) {
+                    dirtyCounters.set(t);
+                }
+                if (isReady(t)) {
+                    pushReady(t);
+                }
+            }
+            
+            if (isDone(w)) {
+                workflowState[w] = FINISHED;
+                dirtyWorkflows.set(w);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void release(List<String> taskIds) {
+        transition(taskIds, task -> {
+            if (taskStatus[task] == QUEUED) {
+                setStatus(task, taskRetries[task] > 0 ? RETRYING : PENDING);
+                pushReady(task);
+            }
+        });
+    }
+    
+    private void cancelDescendants(int workflow, int failed) {
+        ExecutionPlan plan = workflowPlan[workflow];
+        int base = workflowFirstTask[workflow];
+        BitSet visited = new BitSet(workflowTaskTotal[workflow]);
+        int[] stack = new int[workflowTaskTotal[workflow]];
+        int top = 0;
+        stack[top++] = failed - base;
+        
+        while (top > 0) {
+            int node = stack[--top];
+            for (int e = plan.firstDependentEdge(node); e < plan.firstDependentEdge(node + 1); e++) {
+                int next = plan.dependentAt(e);
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    stack[top++] = next;
+                    if (taskStatus[base + next] == PENDING) {
+                        setStatus(base + next, CANCELLED);
+                        taskFinishedAt[base + next] = System.currentTimeMillis();
+                        workflowCancelled[workflow]++;
+                    }
+                }
+            }
+        }
+    }
+    
+    private void updateProgress(int workflow) {
+        if (isDone(workflow)) {
+            workflowState[workflow] = FINISHED;
+        }
+        dirtyWorkflows.set(workflow);
+    }
+    
+    private boolean isDone(int workflow) {
+        return workflowCompleted[workflow] + workflowFailed[workflow] + workflowCancelled[workflow]
+            >= workflowTaskTotal[workflow];
+    }
+    
+    private void evict(int workflow) {
+        if (workflowState[workflow] == EVICTED) {
+            return;
+        }
+        int base = workflowFirstTask[workflow];
+        for (int t = base; t < base + workflowTaskTotal[workflow]; t++) {
+            statusCounts[taskStatus[t]]--;
+            taskIndex.remove(taskIdHigh[t], taskIdLow[t]);
+            dirtyCounters.clear(t);
+        }
+        workflowIndex.remove(workflowIdHigh[workflow], workflowIdLow[workflow]);
+        workflowState[workflow] = EVICTED;
+        workflowPlan[workflow] = null;
+        deadTasks += workflowTaskTotal[workflow];
+    }
+    
+    /**
+     * Slide live workflows down over evicted ones and renumber: O(live tasks), amortized
+     * over at least as many evictions
+     */
+    private void compact() {
+        BitSet counters = new BitSet();
+        BitSet workflows = new BitSet();
+        int nextTask = 0;
+        int nextWorkflow = 0;
+        
+        for (int w = 0; w < workflowCount; w++) {
+            if (workflowState[w] == EVICTED) {
+                continue;
+            }
+            int from = workflowFirstTask[w];
+            int total = workflowTaskTotal[w];
+            moveTasks(from, nextTask, total);
+            for (int i = 0; i < total; i++) {
+                taskWorkflow[nextTask + i] = nextWorkflow;
+                taskIndex.put(taskIdHigh[nextTask + i], taskIdLow[nextTask + i], nextTask + i);
+                if (dirtyCounters.get(from + i)) {
+                    counters.set(nextTask + i);
+                }
+            }
+            
+            workflowIdHigh[nextWorkflow] = workflowIdHigh[w];
+            workflowIdLow[nextWorkflow] = workflowIdLow[w];
+            workflowFirstTask[nextWorkflow] = nextTask;
+            workflowTaskTotal[nextWorkflow] = total;
+            workflowPlan[nextWorkflow] = workflowPlan[w];
+            workflowCompleted[nextWorkflow] = workflowCompleted[w];
+            workflowFailed[nextWorkflow] = workflowFailed[w];
+            workflowCancelled[nextWorkflow] = workflowCancelled[w];
+            workflowState[nextWorkflow] = workflowState[w];
+            workflowIndex.put(workflowIdHigh[w], workflowIdLow[w], nextWorkflow);
+            if (dirtyWorkflows.get(w)) {
+                workflows.set(nextWorkflow);
+            }
+            
+            nextTask += total;
+            nextWorkflow++;
+        }
+        
+        Arrays.fill(workflowPlan, nextWorkflow, workflowCount, null);
+        log.info("Compacted state store: tasks {} -> {}, workflows {} -> {}",
+                 taskCount, nextTask, workflowCount, nextWorkflow);
+        taskCount = nextTask;
+        workflowCount = nextWorkflow;
+        deadTasks = 0;
+        dirtyCounters = counters;
+        dirtyWorkflows = workflows;
+        
+        heapSize = 0;
+        for (int t = 0; t < taskCount; t++) {
+            if (isReady(t)) {
+                pushReady(t);
+            }
+        }
+    }
+    
+    private void moveTasks(int from, int to, int length) {
+        if (from == to) {
+            return;
+        }
+        System.arraycopy(taskIdHigh, from, taskIdHigh, to, length);
+        System.arraycopy(taskIdLow, from, taskIdLow, to, length);
+        System.arraycopy(taskStatus, from, taskStatus, to, length);
+        System.arraycopy(taskRetries, from, taskRetries, to, length);
+        System.arraycopy(taskRemaining, from, taskRemaining, to, length);
+        System.arraycopy(taskRank, from, taskRank, to, length);
+        System.arraycopy(taskNotBefore, from, taskNotBefore, to, length);
+        System.arraycopy(taskQueuedAt, from, taskQueuedAt, to, length);
+        System.arraycopy(taskStartedAt, from, taskStartedAt, to, length);
+        System.arraycopy(taskFinishedAt, from, taskFinishedAt, to, length);
+    }
+    
+    private boolean isReady(int task) {
+        byte status = taskStatus[task];
+        return (status == PENDING || status == RETRYING) && taskRemaining[task] == 0
+            && workflowState[taskWorkflow[task]] == LIVE;
+    }
+    
+    private boolean isTerminal(int task) {
+        byte status = taskStatus[task];
+        return status == COMPLETED || status == FAILED || status == CANCELLED;
+    }
+    
+    private void setStatus(int task, byte status) {
+        statusCounts[taskStatus[task]]--;
+        statusCounts[status]++;
+        taskStatus[task] = status;
+    }
+    
+    private void pushReady(int task) {
+        if (heapSize == heapTask.length) {
+            heapRank = Arrays.copyOf(heapRank, heapSize * 2);
+            heapTask = Arrays.copyOf(heapTask, heapSize * 2);
+        }
+        long rank = taskRank[task];
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(rank, task, heapRank[parent], heapTask[parent])) {
+                break;
+            }
+            heapRank[i] = heapRank[parent];
+            heapTask[i] = heapTask[parent];
+            i = parent;
+        }
+        heapRank[i] = rank;
+        heapTask[i] = task;
+    }
+    
+    private int popReady() {
+        int top = heapTask[0];
+        long rank = heapRank[--heapSize];
+        int task = heapTask[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize 
+                    && before(heapRank[child + 1], heapTask[child + 1], heapRank[child], heapTask[child])) {
+                child++;
+            }
+            if (!before(heapRank[child], heapTask[child], rank, task)) {
+                break;
+            }
+            heapRank[i] = heapRank[child];
+            heapTask[i] = heapTask[child];
+            i = child;
+        }
+        heapRank[i] = rank;
+        heapTask[i] = task;
+        return top;
+    }
+    
+    /**
+     * Higher upward rank first; older task (lower ordinal) on ties
+     */
+    private static boolean before(long rank, int task, long otherRank, int otherTask) {
+        return rank > otherRank || (rank == otherRank && task < otherTask);
+    }
+    
+    private void transition(Collection<String> taskIds, TaskAction action) {
+        lock.lock();
+        try {
+            for (String taskId : taskIds) {
+                UUID id = UUID.fromString(taskId);
+                int task = taskIndex.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+                if (task != UuidOrdinalIndex.ABSENT) {
+                    action.apply(task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private int workflowOrdinal(String workflowId) {
+        UUID id = UUID.fromString(workflowId);
+        return workflowIndex.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+    
+    private String taskId(int task) {
+        return new UUID(taskIdHigh[task], taskIdLow[task]).toString();
+    }
+    
+    private String workflowId(int workflow) {
+        return new UUID(workflowIdHigh[workflow], workflowIdLow[workflow]).toString();
+    }
+    
+    private double liveTasks() {
+        return taskIndex.size();
+    }
+    
+    private double liveWorkflows() {
+        return workflowIndex.size();
+    }
+    
+    private double readyEntries() {
+        return heapSize;
+    }
+    
+    private void ensureTaskCapacity(int required) {
+        if (required <= taskStatus.length) {
+            return;
+        }
+        int capacity = Math.max(required, taskStatus.length * 2);
+        taskIdHigh = Arrays.copyOf(taskIdHigh, capacity);
+        taskIdLow = Arrays.copyOf(taskIdLow, capacity);
+        taskWorkflow = Arrays.copyOf(taskWorkflow, capacity);
+        taskStatus = Arrays.copyOf(taskStatus, capacity);
+        taskRetries = Arrays.copyOf(taskRetries, capacity);
+        taskRemaining = Arrays.copyOf(taskRemaining, capacity);
+        taskRank = Arrays.copyOf(taskRank, capacity);
+        taskNotBefore = Arrays.copyOf(taskNotBefore, capacity);
+        taskQueuedAt = Arrays.copyOf(taskQueuedAt, capacity);
+        taskStartedAt = Arrays.copyOf(taskStartedAt, capacity);
+        taskFinishedAt = Arrays.copyOf(taskFinishedAt, capacity);
+    }
+    
+    private void ensureWorkflowCapacity(int required) {
+        if (required <= workflowState.length) {
+            return;
+        }
+        int capacity = Math.max(required, workflowState.length * 2);
+        workflowIdHigh = Arrays.copyOf(workflowIdHigh, capacity);
+        workflowIdLow = Arrays.copyOf(workflowIdLow, capacity);
+        workflowFirstTask = Arrays.copyOf(workflowFirstTask, capacity);
+        workflowTaskTotal = Arrays.copyOf(workflowTaskTotal, capacity);
+        workflowPlan = Arrays.copyOf(workflowPlan, capacity);
+        workflowCompleted = Arrays.copyOf(workflowCompleted, capacity);
+        workflowFailed = Arrays.copyOf(workflowFailed, capacity);
+        workflowCancelled = Arrays.copyOf(workflowCancelled, capacity);
+        workflowState = Arrays.copyOf(workflowState, capacity);
+    }
+    
+    private void allocateTasks(int capacity) {
+        taskIdHigh = new long[capacity];
+        taskIdLow = new long[capacity];
+        taskWorkflow = new int[capacity];
+        taskStatus = new byte[capacity];
+        taskRetries = new int[capacity];
+        taskRemaining = new int[capacity];
+        taskRank = new long[capacity];
+        taskNotBefore = new long[capacity];
+        taskQueuedAt = new long[capacity];
+        taskStartedAt = new long[capacity];
+        taskFinishedAt = new long[capacity];
+    }
+    
+    private void allocateWorkflows(int capacity) {
+        workflowIdHigh = new long[capacity];
+        workflowIdLow = new long[capacity];
+        workflowFirstTask = new int[capacity];
+        workflowTaskTotal = new int[capacity];
+        workflowPlan = new ExecutionPlan[capacity];
+        workflowCompleted = new int[capacity];
+        workflowFailed = new int[capacity];
+        workflowCancelled = new int[capacity];
+        workflowState = new byte[capacity];
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+    
+    private static byte code(TaskStatus status) {
+        return (byte) status.ordinal();
+    }
+    
+    @FunctionalInterface
+    private interface TaskAction {
+        void apply(int task);
+    }
+}
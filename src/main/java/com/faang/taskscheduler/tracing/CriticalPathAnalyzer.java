@@ -0,0 +1,200 @@
+package com.faang.taskscheduler.tracing;
+
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.dto.CriticalPathResponse;
+import com.faang.taskscheduler.dto.CriticalPathStep;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskPhase;
+import com.faang.taskscheduler.model.TaskTraceEvent;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.TaskTraceEventRepository;
+import com.faang.taskscheduler.repository.WorkflowRepository;
+import com.faang.taskscheduler.service.TaskCompletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reconstructs the critical path of a workflow from its lifecycle trace.
+ * 
+ * FAANG Interview Points:
+ * - Actual (not estimated) critical path: start from the task that finished last and
+ *   repeatedly step to the dependency that finished last, i.e. the one that gated it
+ * - Each step's time is split into segments between consecutive phases, so a slow
+ *   workflow shows whether time went to scheduling, the queue, lock waits, DB writes
+ *   or the executor itself
+ * - Retries: the latest timestamp of each phase is used, i.e. the final attempt
+ * - Phases come from different nodes, so segments crossing nodes include clock skew
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CriticalPathAnalyzer {
+    
+    private static final TaskPhase[] SEGMENT_ENDS = {
+        TaskPhase.QUEUED, TaskPhase.POLLED, TaskPhase.LOCK_ACQUIRED,
+        TaskPhase.EXEC_START, TaskPhase.EXEC_END, TaskPhase.PERSISTED
+    };
+    private static final String[] SEGMENT_NAMES = {
+        "scheduling", "queueing", "lockWait", "startup", "execution", "persistence"
+    };
+    
+    private final WorkflowRepository workflowRepository;
+    private final TaskRepository taskRepository;
+    private final TaskTraceEventRepository traceEventRepository;
+    private final TaskCompletionService taskCompletionService;
+    private final LifecycleTracer lifecycleTracer;
+    
+    public CriticalPathResponse analyze(String workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+        
+        // Include this node's buffered events; other nodes flush on their own timer
+        lifecycleTracer.flush();
+        
+        Map<String, Map<TaskPhase, Long>> phasesByTask = new HashMap<>();
+        for (TaskTraceEvent event : traceEventRepository.findByWorkflowId(workflowId)) {
+            phasesByTask.computeIfAbsent(event.getTaskId(), id -> new EnumMap<>(TaskPhase.class))
+                .merge(event.getPhase(), event.getRecordedAtMicros(), Math::max);
+        }
+        
+        Map<String, Task> tasksByName = taskRepository.findByWorkflowId(workflowId).stream()
+            .collect(Collectors.toMap(Task::getTaskName, Function.identity()));
+        ExecutionPlan plan = taskCompletionService.planFor(workflowId);
+        
+        List<Task> path = criticalPath(tasksByName, phasesByTask, plan);
+        return buildResponse(workflow, path, phasesByTask);
+    }
+    
+    /**
+     * Tasks on the critical path, first to last
+     */
+    private List<Task> criticalPath(Map<String, Task> tasksByName, Map<String, Map<TaskPhase, Long>> phasesByTask,
+                                    ExecutionPlan plan) {
+        Task current = null;
+        long latest = Long.MIN_VALUE;
+        for (Task task : tasksByName.values()) {
+            Long finish = finishedAt(phasesByTask.get(task.getId()));
+            if (finish != null && finish > latest) {
+                latest = finish;
+                current = task;
+            }
+        }
+        
+        List<Task> path = new ArrayList<>();
+        while (current != null) {
+            path.add(current);
+            current = gatingDependency(current, tasksByName, phasesByTask, plan);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+    
+    private Task gatingDependency(Task task, Map<String, Task> tasksByName, 
+                                  Map<String, Map<TaskPhase, Long>> phasesByTask, ExecutionPlan plan) {
+        if (plan == null || plan.indexOf(task.getTaskName()) < 0) {
+            return null;
+        }
+        
+        Task gating = null;
+        long latest = Long.MIN_VALUE;
+        for (String name : plan.dependenciesOf(task.getTaskName())) {
+            Task dependency = tasksByName.get(name);
+            Long finish = dependency != null ? finishedAt(phasesByTask.get(dependency.getId())) : null;
+            if (finish != null && finish > latest) {
+                latest = finish;
+                gating = dependency;
+            }
+        }
+        return gating;
+    }
+    
+    private CriticalPathResponse buildResponse(Workflow workflow, List<Task> path, 
+                                               Map<String, Map<TaskPhase, Long>> phasesByTask) {
+        long[] breakdownMicros = new long[SEGMENT_NAMES.length];
+        
+        List<CriticalPathStep> steps = new ArrayList<>(path.size());
+        Long pathStart = null;
+        Long previousFinish = null;
+        String previousName = null;
+        long attributedMicros = 0;
+        
+        for (Task task : path) {
+            Map<TaskPhase, Long> phases = phasesByTask.get(task.getId());
+            Long readyAt = previousFinish != null ? previousFinish : phases.get(TaskPhase.CREATED);
+            if (pathStart == null) {
+                pathStart = readyAt != null ? readyAt : firstPhase(phases);
+            }
+            
+            Map<String, Double> segments = new LinkedHashMap<>();
+            Long from = readyAt;
+            for (int i = 0; i < SEGMENT_ENDS.length; i++) {
+                Long to = phases.get(SEGMENT_ENDS[i]);
+                if (from != null && to != null) {
+                    breakdownMicros[i] += to - from;
+                    attributedMicros += to - from;
+                    segments.put(SEGMENT_NAMES[i], millis(to - from));
+                } else {
+                    segments.put(SEGMENT_NAMES[i], null);
+                }
+                from = to;
+            }
+            
+            Long finish = finishedAt(phases);
+            steps.add(CriticalPathStep.builder()
+                .taskId(task.getId())
+                .taskName(task.getTaskName())
+                .taskType(task.getTaskType())
+                .gatedBy(previousName)
+                .startOffsetMs(readyAt != null ? millis(readyAt - pathStart) : null)
+                .totalMs(readyAt != null ? millis(finish - readyAt) : null)
+                .segmentsMs(segments)
+                .build());
+            
+            previousFinish = finish;
+            previousName = task.getTaskName();
+        }
+        
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        for (int i = 0; i < SEGMENT_NAMES.length; i++) {
+            breakdown.put(SEGMENT_NAMES[i], millis(breakdownMicros[i]));
+        }
+        Long totalMicros = previousFinish != null ? previousFinish - pathStart : null;
+        
+        return CriticalPathResponse.builder()
+            .workflowId(workflow.getId())
+            .status(workflow.getStatus())
+            .criticalPathMs(totalMicros != null ? millis(totalMicros) : null)
+            .breakdownMs(breakdown)
+            .unattributedMs(totalMicros != null ? millis(Math.max(0, totalMicros - attributedMicros)) : null)
+            .steps(steps)
+            .build();
+    }
+    
+    private static Long finishedAt(Map<TaskPhase, Long> phases) {
+        if (phases == null) {
+            return null;
+        }
+        Long persisted = phases.get(TaskPhase.PERSISTED);
+        return persisted != null ? persisted : phases.get(TaskPhase.EXEC_END);
+    }
+    
+    private static Long firstPhase(Map<TaskPhase, Long> phases) {
+        return phases.values().stream().min(Long::compare).orElse(null);
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
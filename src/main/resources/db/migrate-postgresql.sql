@@ -0,0 +1,29 @@
+-- In-place migrations that ddl-auto: update cannot perform. Runs before Hibernate on every
+-- startup and must stay idempotent; a no-op on a new database (Hibernate creates the tables).
+
+DO $$
+DECLARE
+    col record;
+BEGIN
+    -- Task and workflow ids: varchar (random v4) -> native uuid (UUIDv7 for new rows).
+    -- Existing ids are canonical UUID strings, so they convert in place and stay readable.
+    FOR col IN
+        SELECT table_name, column_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND data_type = 'character varying'
+          AND (table_name, column_name) IN (
+              ('workflows', 'id'),
+              ('tasks', 'id'),
+              ('tasks', 'workflow_id'),
+              ('outbox_events', 'aggregate_id'),
+              ('task_trace_events', 'workflow_id'),
+              ('task_trace_events', 'task_id'))
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE uuid USING %I::uuid',
+                       col.table_name, col.column_name, col.column_name);
+    END LOOP;
+    
+    -- Derived from the id and never read: a second randomly ordered unique index per insert
+    ALTER TABLE IF EXISTS tasks DROP COLUMN IF EXISTS lock_key;
+END $$;
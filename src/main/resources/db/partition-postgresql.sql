@@ -0,0 +1,66 @@
+-- One-time migration to time-partitioned workflows and tasks (required before enabling
+-- task-scheduler.archive). Run it explicitly, in a maintenance window, with the application
+-- stopped:
+--
+--   psql -h localhost -U postgres -d taskscheduler -f src/main/resources/db/partition-postgresql.sql
+--
+-- Each plain table becomes a table partitioned by created_at, and the old table is attached
+-- as its first partition (everything before the migration); PartitionArchiver then creates
+-- the following partitions. Takes ACCESS EXCLUSIVE locks and scans each table once to
+-- validate the bound. Tables that are already partitioned are skipped, so it is safe to rerun.
+--
+-- Primary keys become (id, created_at): PostgreSQL requires unique constraints to include
+-- the partition key. Entities keep @Id on id alone; that stays correct because ids are
+-- UUIDv7 generated by the application and created_at is never updated, so (id, created_at)
+-- is as unique as id. Foreign keys to or from these tables cannot be kept (a reference
+-- would need a unique key on id alone); the entities map none, and the migration refuses
+-- to run if any were added by hand.
+
+SET lock_timeout = '10s';
+
+DO $$
+DECLARE
+    tbl text;
+    legacy text;
+    idx record;
+    definitions text[];
+    definition text;
+    boundary timestamp := date_trunc('second', localtimestamp) + interval '1 second';
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['workflows', 'tasks']
+    LOOP
+        CONTINUE WHEN to_regclass(tbl) IS NULL;
+        CONTINUE WHEN (SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass(tbl)) <> 'r';
+        
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE contype = 'f' AND (conrelid = to_regclass(tbl) OR confrelid = to_regclass(tbl))) THEN
+            RAISE EXCEPTION 'Table % has foreign keys; drop them before partitioning', tbl;
+        END IF;
+        
+        legacy := tbl || '_legacy';
+        definitions := ARRAY(SELECT indexdef FROM pg_indexes
+                             WHERE schemaname = current_schema() AND tablename = tbl
+                               AND indexdef NOT LIKE 'CREATE UNIQUE%');
+        
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl, legacy);
+        FOR idx IN SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = legacy
+        LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.indexname, left(idx.indexname, 56) || '_legacy');
+        END LOOP;
+        
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)', tbl, legacy);
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, created_at)', tbl);
+        -- Definitions still name the original table, which is now the partitioned one
+        FOREACH definition IN ARRAY definitions
+        LOOP
+            EXECUTE definition;
+        END LOOP;
+        
+        -- A partition cannot keep a primary key of its own; ATTACH builds the (id, created_at) one
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', legacy,
+                       (SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(legacy) AND contype = 'p'));
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)',
+                       tbl, legacy, boundary);
+        RAISE NOTICE 'Converted % to a partitioned table: existing rows kept in %', tbl, legacy;
+    END LOOP;
+END $$;
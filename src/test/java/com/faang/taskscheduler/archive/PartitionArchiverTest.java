@@ -0,0 +1,185 @@
+package com.faang.taskscheduler.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Partition migration and archiver maintenance against a real PostgreSQL
+ * (skipped when Docker is not available)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PartitionArchiverTest {
+    
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    private JdbcTemplate jdbcTemplate;
+    private PartitionArchiver archiver;
+    
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+        
+        // The columns the archiver relies on, as Hibernate creates them
+        jdbcTemplate.execute("CREATE TABLE workflows (id uuid PRIMARY KEY, status varchar(255), " +
+                             "created_at timestamp(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_workflow_status ON workflows (status)");
+        jdbcTemplate.execute("CREATE TABLE tasks (id uuid PRIMARY KEY, workflow_id uuid, status varchar(255), " +
+                             "created_at timestamp(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_task_workflow ON tasks (workflow_id)");
+        
+        archiver = new PartitionArchiver(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(archiver, "partitionDays", 7);
+        ReflectionTestUtils.setField(archiver, "premakePartitions", 2);
+        ReflectionTestUtils.setField(archiver, "hotDays", 7);
+        ReflectionTestUtils.setField(archiver, "retentionDays", 90);
+        ReflectionTestUtils.setField(archiver, "exportDirectory", "");
+        ReflectionTestUtils.setField(archiver, "lockTimeoutMs", 2000L);
+    }
+    
+    @Test
+    void maintenanceSkipsTablesThatWereNotMigrated() {
+        archiver.maintain();
+        
+        assertThat(relkind("workflows")).isEqualTo("r");
+        assertThat(relkind("workflows_archive")).isNull();
+    }
+    
+    @Test
+    void migrationConvertsTablesAndKeepsRows() throws IOException {
+        String workflowId = insertWorkflow("RUNNING");
+        insertTask(workflowId, "RUNNING");
+        
+        migrate();
+        migrate();
+        
+        for (String table : List.of("workflows", "tasks")) {
+            assertThat(relkind(table)).isEqualTo("p");
+            assertThat(parentOf(table + "_legacy")).isEqualTo(table);
+            assertThat(jdbcTemplate.queryForList(
+                "SELECT a.attname::text FROM pg_index i JOIN pg_attribute a " +
+                "ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey) " +
+                "WHERE i.indrelid = to_regclass(?) AND i.indisprimary", String.class, table))
+                .containsExactlyInAnyOrder("id", "created_at");
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM workflows WHERE id = ?::uuid",
+            Long.class, workflowId)).isEqualTo(1);
+        assertThat(indexExists("idx_workflow_status")).isTrue();
+        assertThat(indexExists("idx_task_workflow")).isTrue();
+    }
+    
+    @Test
+    void maintenancePremakesPartitionsAndKeepsActivePartitionsHot() throws IOException {
+        String workflowId = insertWorkflow("RUNNING");
+        insertTask(workflowId, "RUNNING");
+        migrate();
+        waitPastMigrationBoundary();
+        ReflectionTestUtils.setField(archiver, "hotDays", 0);
+        
+        archiver.maintain();
+        
+        // Inserts fail without a partition: the current one and premake-partitions ahead exist
+        jdbcTemplate.update("INSERT INTO workflows (id, status, created_at) VALUES (?, 'PENDING', ?)",
+            UUID.randomUUID(), Timestamp.valueOf(LocalDateTime.now().plusDays(14)));
+        assertThat(relkind("workflows_archive")).isEqualTo("p");
+        assertThat(relkind("tasks_archive")).isEqualTo("p");
+        
+        // A running workflow keeps its partition (and its tasks' partition) in the hot tables
+        assertThat(parentOf("workflows_legacy")).isEqualTo("workflows");
+        assertThat(parentOf("tasks_legacy")).isEqualTo("tasks");
+    }
+    
+    @Test
+    void maintenanceArchivesFinishedPartitionsAndDropsExpiredOnes(@TempDir Path exportDirectory) throws IOException {
+        String workflowId = insertWorkflow("COMPLETED");
+        insertTask(workflowId, "COMPLETED");
+        migrate();
+        waitPastMigrationBoundary();
+        ReflectionTestUtils.setField(archiver, "hotDays", 0);
+        
+        archiver.maintain();
+        
+        assertThat(parentOf("workflows_legacy")).isEqualTo("workflows_archive");
+        assertThat(parentOf("tasks_legacy")).isEqualTo("tasks_archive");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM workflows_archive WHERE id = ?::uuid",
+            Long.class, workflowId)).isEqualTo(1);
+        
+        ReflectionTestUtils.setField(archiver, "retentionDays", 0);
+        ReflectionTestUtils.setField(archiver, "exportDirectory", exportDirectory.toString());
+        archiver.maintain();
+        
+        assertThat(relkind("workflows_legacy")).isNull();
+        assertThat(relkind("tasks_legacy")).isNull();
+        assertThat(exportDirectory.resolve("workflows_legacy.jsonl.gz")).exists();
+        assertThat(exportDirectory.resolve("tasks_legacy.jsonl.gz")).exists();
+        // Premade partitions are still attached to the hot tables
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_inherits WHERE inhparent = to_regclass('workflows')", Long.class)).isPositive();
+    }
+    
+    private void migrate() throws IOException {
+        jdbcTemplate.execute(new ClassPathResource("db/partition-postgresql.sql").getContentAsString(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * The legacy partition ends one second after the migration; it can only be archived once that has passed
+     */
+    private void waitPastMigrationBoundary() {
+        try {
+            Thread.sleep(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private String insertWorkflow(String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO workflows (id, status, created_at) VALUES (?, ?, ?)",
+            id, status, Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+        return id.toString();
+    }
+    
+    private void insertTask(String workflowId, String status) {
+        jdbcTemplate.update("INSERT INTO tasks (id, workflow_id, status, created_at) VALUES (?, ?::uuid, ?, ?)",
+            UUID.randomUUID(), workflowId, status, Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+    }
+    
+    private String relkind(String table) {
+        return jdbcTemplate.queryForObject(
+            "SELECT (SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?))", String.class, table);
+    }
+    
+    private String parentOf(String partition) {
+        return jdbcTemplate.queryForObject(
+            "SELECT (SELECT i.inhparent::regclass::text FROM pg_inherits i WHERE i.inhrelid = to_regclass(?))",
+            String.class, partition);
+    }
+    
+    private boolean indexExists(String index) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, index));
+    }
+}
@@ -0,0 +1,105 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DagCompilerTest {
+    
+    private DagCompiler dagCompiler;
+    
+    @BeforeEach
+    void setUp() {
+        TaskExecutorRegistry registry = mock(TaskExecutorRegistry.class);
+        when(registry.supports(anyString()))
+            .thenAnswer(invocation -> invocation.<String>getArgument(0).startsWith("IMAGE_"));
+        when(registry.getTaskTypes()).thenReturn(Set.of("IMAGE_VALIDATE"));
+        when(registry.estimateExecutionTime(anyString(), anyMap())).thenReturn(100L);
+        dagCompiler = new DagCompiler(registry);
+    }
+    
+    @Test
+    void separatesCycleMembersFromTasksBlockedBehindTheCycle() {
+        assertThatThrownBy(() -> compile(
+                task("root"),
+                task("a", "root", "c"),
+                task("b", "a"),
+                task("c", "b"),
+                task("downstream", "c"),
+                task("independent", "root")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Workflow contains a cycle through tasks [a, b, c]; "
+                + "unreachable tasks blocked by the cycle: [downstream]");
+    }
+    
+    @Test
+    void longCycleReportIsAbbreviated() {
+        List<TaskDefinition> definitions = new ArrayList<>();
+        definitions.add(task("root"));
+        for (int i = 0; i < 12; i++) {
+            definitions.add(task("t" + i, "root", "t" + ((i + 11) % 12)));
+        }
+        
+        assertThatThrownBy(() -> dagCompiler.compile("cycle", definitions))
+            .hasMessageStartingWith("Workflow contains a cycle through tasks [t0, t1")
+            .hasMessageEndingWith("t9] (+2 more)");
+    }
+    
+    @Test
+    void rejectsWorkflowWithoutRoot() {
+        assertThatThrownBy(() -> compile(task("a", "b"), task("b", "a")))
+            .hasMessage("Workflow has no root task (every task has dependencies)");
+    }
+    
+    @Test
+    void reportsEveryUnknownDependencyAtOnce() {
+        assertThatThrownBy(() -> compile(task("a"), task("b", "missing"), task("c", "a", "gone"), task("d", "d")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Task b depends on unknown task: missing; Task c depends on unknown task: gone; "
+                + "Task d depends on itself");
+    }
+    
+    @Test
+    void reportsDuplicateNamesAndUnknownTypesTogether() {
+        assertThatThrownBy(() -> compile(
+                task("a"),
+                task("a"),
+                TaskDefinition.builder().name("b").type("VIDEO_ENCODE").build()))
+            .hasMessage("Duplicate task name: a; Unknown task types [VIDEO_ENCODE]; registered: [IMAGE_VALIDATE]");
+    }
+    
+    @Test
+    void repeatedDependencyCountsOnce() {
+        ExecutionPlan plan = compile(task("a"), task("b", "a", "a"));
+        
+        assertThat(plan.inDegree(plan.indexOf("b"))).isEqualTo(1);
+        assertThat(plan.dependenciesOf("b")).containsExactly("a");
+        assertThat(plan.dependentsOf("a")).containsExactly("b");
+    }
+    
+    @Test
+    void rejectsEmptyWorkflow() {
+        assertThatThrownBy(() -> dagCompiler.compile("empty", List.of()))
+            .hasMessage("Workflow must contain at least one task");
+    }
+    
+    private ExecutionPlan compile(TaskDefinition... definitions) {
+        return dagCompiler.compile("test", List.of(definitions));
+    }
+    
+    private static TaskDefinition task(String name, String... dependsOn) {
+        return TaskDefinition.builder().name(name).type("IMAGE_VALIDATE").dependsOn(List.of(dependsOn)).build();
+    }
+}
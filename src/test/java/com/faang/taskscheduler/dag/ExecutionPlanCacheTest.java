@@ -0,0 +1,77 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExecutionPlanCacheTest {
+    
+    @Test
+    void shapeKeyIgnoresParameters() {
+        List<TaskDefinition> small = List.of(
+            TaskDefinition.builder().name("resize").type("IMAGE_RESIZE").params(Map.of("width", 100)).build());
+        List<TaskDefinition> large = List.of(
+            TaskDefinition.builder().name("resize").type("IMAGE_RESIZE").params(Map.of("width", 4000)).build());
+        
+        assertThat(ExecutionPlanCache.shapeKey(small)).isEqualTo(ExecutionPlanCache.shapeKey(large)).hasSize(64);
+    }
+    
+    @Test
+    void shapeKeyDistinguishesNamesTypesDependenciesAndOrder() {
+        String key = ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_RESIZE", "a")));
+        
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_DOWNLOAD"), task("c", "IMAGE_RESIZE", "a"))))
+            .isNotEqualTo(key);
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_COMPRESS", "a"))))
+            .isNotEqualTo(key);
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_RESIZE"))))
+            .isNotEqualTo(key);
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("b", "IMAGE_RESIZE", "a"), task("a", "IMAGE_DOWNLOAD"))))
+            .isNotEqualTo(key);
+    }
+    
+    @Test
+    void shapeKeySeparatesFieldsAndNodes() {
+        // Concatenating the raw strings would make each pair collide
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("ab", "IMAGE_RESIZE"))))
+            .isNotEqualTo(ExecutionPlanCache.shapeKey(List.of(task("a", "bIMAGE_RESIZE"))));
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_RESIZE", "x", "y"))))
+            .isNotEqualTo(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_RESIZE", "xy"))));
+        assertThat(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_RESIZE", "b"), task("c", "IMAGE_RESIZE"))))
+            .isNotEqualTo(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_RESIZE"), task("b", "c"))));
+        assertThat(ExecutionPlanCache.shapeKey(List.of(
+                TaskDefinition.builder().name("a").type("IMAGE_RESIZE").dependsOn(null).build())))
+            .isEqualTo(ExecutionPlanCache.shapeKey(List.of(task("a", "IMAGE_RESIZE"))));
+    }
+    
+    @Test
+    void sameShapeReusesOneCompiledPlan() {
+        TaskExecutorRegistry registry = mock(TaskExecutorRegistry.class);
+        when(registry.supports(anyString())).thenReturn(true);
+        when(registry.estimateExecutionTime(anyString(), anyMap())).thenReturn(100L);
+        ExecutionPlanCache cache = new ExecutionPlanCache(new DagCompiler(registry));
+        ReflectionTestUtils.setField(cache, "maxSize", 1000);
+        
+        ExecutionPlan first = cache.getOrCompile(List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_RESIZE", "a")));
+        ExecutionPlan second = cache.getOrCompile(List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_RESIZE", "a")));
+        
+        assertThat(second).isSameAs(first);
+        assertThat(first.getKey()).isEqualTo(ExecutionPlanCache.shapeKey(
+            List.of(task("a", "IMAGE_DOWNLOAD"), task("b", "IMAGE_RESIZE", "a"))));
+        assertThat(cache.size()).isEqualTo(1);
+    }
+    
+    private static TaskDefinition task(String name, String type, String... dependsOn) {
+        return TaskDefinition.builder().name(name).type(type).dependsOn(List.of(dependsOn)).build();
+    }
+}
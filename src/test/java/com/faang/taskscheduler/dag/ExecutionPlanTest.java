@@ -0,0 +1,118 @@
+package com.faang.taskscheduler.dag;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * download -> (resize, thumbnail) -> compress, plus an independent validate
+ */
+class ExecutionPlanTest {
+    
+    private static final Map<String, Long> COST_MS = Map.of(
+        "IMAGE_DOWNLOAD", 100L, "IMAGE_RESIZE", 300L, "IMAGE_THUMBNAIL", 200L,
+        "IMAGE_COMPRESS", 50L, "IMAGE_VALIDATE", 20L);
+    
+    private ExecutionPlan plan;
+    
+    @BeforeEach
+    void setUp() {
+        TaskExecutorRegistry registry = mock(TaskExecutorRegistry.class);
+        when(registry.supports(anyString())).thenReturn(true);
+        when(registry.estimateExecutionTime(anyString(), anyMap()))
+            .thenAnswer(invocation -> COST_MS.get(invocation.<String>getArgument(0)));
+        plan = new DagCompiler(registry).compile("diamond", List.of(
+            task("compress", "IMAGE_COMPRESS", "resize", "thumbnail"),
+            task("resize", "IMAGE_RESIZE", "download"),
+            task("thumbnail", "IMAGE_THUMBNAIL", "download"),
+            task("download", "IMAGE_DOWNLOAD"),
+            task("validate", "IMAGE_VALIDATE")));
+    }
+    
+    @Test
+    void adjacencyIsIndexedInBothDirections() {
+        assertThat(plan.size()).isEqualTo(5);
+        assertThat(plan.dependentsOf("download")).containsExactly("resize", "thumbnail");
+        assertThat(plan.dependenciesOf("compress")).containsExactly("resize", "thumbnail");
+        assertThat(plan.dependentsOf("compress")).isEmpty();
+        assertThat(plan.descendantsOf("download")).containsExactlyInAnyOrder("resize", "thumbnail", "compress");
+        assertThat(plan.indexOf("missing")).isEqualTo(-1);
+        assertThat(plan.dependentsOf("missing")).isEmpty();
+        
+        // The CSR edge range of every node matches its dependents by name
+        for (int node = 0; node < plan.size(); node++) {
+            List<String> dependents = new ArrayList<>();
+            for (int e = plan.firstDependentEdge(node); e < plan.firstDependentEdge(node + 1); e++) {
+                dependents.add(plan.name(plan.dependentAt(e)));
+            }
+            assertThat(dependents).isEqualTo(plan.dependentsOf(plan.name(node)));
+            assertThat(plan.inDegree(node)).isEqualTo(plan.dependenciesOf(plan.name(node)).size());
+        }
+    }
+    
+    @Test
+    void topologicalOrderPutsEveryDependencyFirst() {
+        int[] order = plan.topologicalOrder();
+        int[] position = new int[plan.size()];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        
+        for (int node = 0; node < plan.size(); node++) {
+            for (String dependency : plan.dependenciesOf(plan.name(node))) {
+                assertThat(position[plan.indexOf(dependency)]).isLessThan(position[node]);
+            }
+        }
+        assertThat(Arrays.stream(plan.roots()).mapToObj(plan::name)).containsExactlyInAnyOrder("download", "validate");
+    }
+    
+    @Test
+    void upwardRankIsTheLongestEstimatedPathToASink() {
+        assertThat(rank("compress")).isEqualTo(50);
+        assertThat(rank("resize")).isEqualTo(350);
+        assertThat(rank("thumbnail")).isEqualTo(250);
+        assertThat(rank("download")).isEqualTo(450);
+        assertThat(rank("validate")).isEqualTo(20);
+        
+        assertThat(plan.getCriticalPath()).containsExactly("download", "resize", "compress");
+        assertThat(plan.getCriticalPathCostMs()).isEqualTo(450);
+    }
+    
+    @Test
+    void upwardRanksAcceptOtherCosts() {
+        long[] costs = new long[plan.size()];
+        costs[plan.indexOf("download")] = 10;
+        costs[plan.indexOf("resize")] = 10;
+        costs[plan.indexOf("thumbnail")] = 500;
+        costs[plan.indexOf("compress")] = 10;
+        costs[plan.indexOf("validate")] = 1000;
+        
+        long[] ranks = plan.upwardRanks(costs);
+        
+        assertThat(ranks[plan.indexOf("download")]).isEqualTo(520);
+        assertThat(ranks[plan.indexOf("resize")]).isEqualTo(20);
+        assertThat(ranks[plan.indexOf("validate")]).isEqualTo(1000);
+        // The compiled ranks are not affected
+        assertThat(rank("download")).isEqualTo(450);
+    }
+    
+    private long rank(String name) {
+        return plan.upwardRank(plan.indexOf(name));
+    }
+    
+    private static TaskDefinition task(String name, String type, String... dependsOn) {
+        return TaskDefinition.builder().name(name).type(type).dependsOn(List.of(dependsOn)).build();
+    }
+}
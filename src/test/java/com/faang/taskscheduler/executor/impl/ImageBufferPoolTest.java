@@ -0,0 +1,119 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.Lease;
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageBufferPoolTest {
+    
+    private static final int HALF_MB = 1 << 19;
+    
+    @Test
+    void closedLeasesAreReturnedOnceAndReused() {
+        ImageBufferPool pool = new ImageBufferPool();
+        PooledImage image = pool.image(640, 480);
+        Lease<byte[]> text = pool.textBytes(1000);
+        Lease<ByteBuffer> encoded = pool.encodedBytes(1000);
+        assertThat(pool.outstanding()).isEqualTo(3);
+        
+        byte[] textBuffer = text.buffer();
+        image.close();
+        text.close();
+        encoded.close();
+        // Later calls are ignored
+        image.close();
+        text.close();
+        encoded.close();
+        assertThat(pool.outstanding()).isZero();
+        
+        // Returned once: the buffer is handed out again, but only to one lease
+        try (Lease<byte[]> first = pool.textBytes(1000); Lease<byte[]> second = pool.textBytes(1000)) {
+            assertThat(first.buffer()).isSameAs(textBuffer);
+            assertThat(second.buffer()).isNotSameAs(textBuffer);
+        }
+        assertThat(pool.outstanding()).isZero();
+    }
+    
+    @Test
+    void unreachableLeaseIsReportedAsLeak() throws InterruptedException {
+        ImageBufferPool pool = new ImageBufferPool(8, 512, true);
+        acquireAndDrop(pool);
+        assertThat(pool.outstanding()).isEqualTo(1);
+        
+        for (int attempt = 0; attempt < 100 && pool.leaks() == 0; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertThat(pool.leaks()).isEqualTo(1);
+        assertThat(pool.outstanding()).isZero();
+    }
+    
+    @Test
+    void closedLeaseIsNotReportedAsLeak() throws InterruptedException {
+        ImageBufferPool pool = new ImageBufferPool(8, 512, true);
+        pool.textBytes(1000).close();
+        
+        for (int attempt = 0; attempt < 10; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(pool.leaks()).isZero();
+        assertThat(pool.outstanding()).isZero();
+    }
+    
+    @Test
+    void retainedBytesAreCapped() {
+        ImageBufferPool pool = new ImageBufferPool(8, 1, false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+        
+        List<Lease<byte[]>> leases = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            leases.add(pool.textBytes(HALF_MB));
+        }
+        List<byte[]> buffers = leases.stream().map(Lease::buffer).toList();
+        leases.forEach(Lease::close);
+        
+        // 1 MB cap: two of the three half-megabyte buffers are kept, the third is left to GC
+        assertThat(registry.get("task_scheduler.image.buffers.retained").gauge().value()).isEqualTo(2.0 * HALF_MB);
+        
+        List<Lease<byte[]>> again = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            again.add(pool.textBytes(HALF_MB));
+        }
+        assertThat(again.stream().filter(lease -> buffers.contains(lease.buffer()))).hasSize(2);
+        assertThat(registry.get("task_scheduler.image.buffers.retained").gauge().value()).isZero();
+        assertThat(registry.get("task_scheduler.image.buffers.acquired").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(2);
+        again.forEach(Lease::close);
+    }
+    
+    @Test
+    void freeListsAreCappedPerSizeClass() {
+        ImageBufferPool pool = new ImageBufferPool(2, 512, false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+        
+        List<Lease<byte[]>> leases = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            leases.add(pool.textBytes(HALF_MB));
+        }
+        leases.forEach(Lease::close);
+        
+        assertThat(registry.get("task_scheduler.image.buffers.retained").gauge().value()).isEqualTo(2.0 * HALF_MB);
+    }
+    
+    /**
+     * Acquire in a separate frame so no local keeps the lease reachable
+     */
+    private static void acquireAndDrop(ImageBufferPool pool) {
+        pool.textBytes(1000);
+    }
+}
@@ -0,0 +1,75 @@
+package com.faang.taskscheduler.executor.impl;
+
+import com.faang.taskscheduler.executor.impl.ImageBufferPool.PooledImage;
+import com.faang.taskscheduler.executor.kernel.ScalarPixelKernels;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageScalerTest {
+    
+    private final ImageBufferPool pool = new ImageBufferPool();
+    private ImageScaler untiled;
+    private ImageScaler tiled;
+    
+    @BeforeEach
+    void setUp() {
+        untiled = scaler(1, 1_048_576);
+        // Every pass tiled, in tiles of a few rows that do not divide the image evenly
+        tiled = scaler(4, 4099);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        untiled.stop();
+        tiled.stop();
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+        "1001, 777, 333, 219",    // two halvings, then bilinear
+        "1001, 777, 517, 383",    // bilinear only
+        "999, 1003, 101, 97",     // odd last row and column dropped by every halving
+        "257, 131, 641, 389",     // upscale
+        "3, 1001, 1, 7"
+    })
+    void tiledOutputIsByteIdentical(int sourceWidth, int sourceHeight, int width, int height) {
+        try (PooledImage source = randomImage(sourceWidth, sourceHeight);
+             PooledImage expected = untiled.scale(source.image(), width, height);
+             PooledImage actual = tiled.scale(source.image(), width, height)) {
+            assertThat(actual.image().getWidth()).isEqualTo(width);
+            assertThat(actual.image().getHeight()).isEqualTo(height);
+            // Pooled rasters are larger than the image; only the image's bytes are compared
+            int length = 3 * width * height;
+            assertThat(Arrays.equals(pixels(actual), 0, length, pixels(expected), 0, length)).isTrue();
+        }
+    }
+    
+    private ImageScaler scaler(int parallelism, long tilePixels) {
+        ImageScaler scaler = new ImageScaler(pool, new ScalarPixelKernels());
+        ReflectionTestUtils.setField(scaler, "parallelism", parallelism);
+        ReflectionTestUtils.setField(scaler, "minPixels", 0L);
+        ReflectionTestUtils.setField(scaler, "tilePixels", tilePixels);
+        scaler.start();
+        return scaler;
+    }
+    
+    private PooledImage randomImage(int width, int height) {
+        PooledImage image = pool.image(width, height);
+        byte[] pixels = new byte[3 * width * height];
+        new Random(width * 31L + height).nextBytes(pixels);
+        System.arraycopy(pixels, 0, pixels(image), 0, pixels.length);
+        return image;
+    }
+    
+    private static byte[] pixels(PooledImage image) {
+        return ImageSupport.bgrPixels(image.image());
+    }
+}
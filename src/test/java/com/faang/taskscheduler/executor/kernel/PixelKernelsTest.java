@@ -0,0 +1,90 @@
+package com.faang.taskscheduler.executor.kernel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The vector kernels must match the scalar ones byte for byte, including row tails shorter
+ * than a vector, unaligned offsets and bytes outside the range (left untouched). Skipped
+ * where the Vector API is unavailable (module not resolved, or vectors under 256 bits).
+ */
+class PixelKernelsTest {
+    
+    private static final int OFFSET = 3;
+    
+    private final PixelKernels scalar = new ScalarPixelKernels();
+    private PixelKernels vector;
+    private Random random;
+    
+    @BeforeEach
+    void setUp() {
+        vector = PixelKernels.select("auto");
+        assumeTrue(vector.isVectorized(), "Vector kernels unavailable: " + vector.name());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4, 5, 7, 15, 16, 17, 31, 64, 101, 1001})
+    void blendMatchesScalar(int pixels) {
+        random = new Random(pixels);
+        byte[] coverage = randomBytes(3 * pixels + 2 * OFFSET);
+        byte[] expected = randomBytes(3 * pixels + 2 * OFFSET);
+        byte[] actual = expected.clone();
+        int rgb = random.nextInt(1 << 24);
+        int alpha = random.nextInt(256);
+        
+        scalar.blend(coverage, OFFSET, expected, OFFSET, 3 * pixels, rgb, alpha);
+        vector.blend(coverage, OFFSET, actual, OFFSET, 3 * pixels, rgb, alpha);
+        
+        assertThat(actual).isEqualTo(expected);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4, 5, 7, 15, 16, 17, 31, 64, 101, 1001})
+    void colourConversionMatchesScalar(int pixels) {
+        random = new Random(pixels);
+        byte[] source = randomBytes(3 * pixels + 2 * OFFSET);
+        byte[] expected = randomBytes(3 * pixels + 2 * OFFSET);
+        byte[] actual = expected.clone();
+        
+        scalar.bgrToYCbCr(source, OFFSET, expected, OFFSET, pixels);
+        vector.bgrToYCbCr(source, OFFSET, actual, OFFSET, pixels);
+        assertThat(actual).isEqualTo(expected);
+        
+        scalar.yCbCrToBgr(source, OFFSET, expected, OFFSET, pixels);
+        vector.yCbCrToBgr(source, OFFSET, actual, OFFSET, pixels);
+        assertThat(actual).isEqualTo(expected);
+        
+        // From offset 0: the shifted loads must not reach before the row
+        scalar.bgrToYCbCr(source, 0, expected, 0, pixels);
+        vector.bgrToYCbCr(source, 0, actual, 0, pixels);
+        assertThat(actual).isEqualTo(expected);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 7, 8, 9, 15, 16, 33, 100, 501})
+    void downsampleMatchesScalar(int width) {
+        random = new Random(width);
+        // Odd source width: the last column has no partner and is dropped
+        int stride = 3 * (2 * width + 1);
+        byte[] source = randomBytes(OFFSET + 2 * stride);
+        byte[] expected = randomBytes(3 * width + 2 * OFFSET);
+        byte[] actual = expected.clone();
+        
+        scalar.downsample(source, OFFSET, stride, expected, OFFSET, width);
+        vector.downsample(source, OFFSET, stride, actual, OFFSET, width);
+        
+        assertThat(actual).isEqualTo(expected);
+    }
+    
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
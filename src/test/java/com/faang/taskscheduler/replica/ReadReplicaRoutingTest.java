@@ -0,0 +1,110 @@
+package com.faang.taskscheduler.replica;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.faang.taskscheduler.model.WorkflowStatus;
+import com.faang.taskscheduler.service.AdmissionControlService;
+import com.faang.taskscheduler.service.WorkflowService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Status reads against two H2 databases standing in for the primary and its replica:
+ * the replica starts as a copy of the primary and is then changed, so every read shows
+ * which database served it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:replica-test-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+    "task-scheduler.read-replica.enabled=true",
+    "task-scheduler.read-replica.max-staleness-ms=300",
+    "task-scheduler.read-replica.datasource.jdbc-url=jdbc:h2:mem:replica-test-replica;MODE=PostgreSQL;"
+        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+    "task-scheduler.read-replica.datasource.username=sa",
+    "task-scheduler.read-replica.datasource.password=",
+    "task-scheduler.read-replica.datasource.minimum-idle=1",
+    "task-scheduler.worker.enabled=false",
+    "task-scheduler.scheduler.enabled=false",
+    "task-scheduler.state-store.enabled=false"
+})
+@ActiveProfiles("embedded")
+class ReadReplicaRoutingTest {
+    
+    @Autowired
+    private WorkflowService workflowService;
+    
+    @Autowired
+    private AdmissionControlService admissionControlService;
+    
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void statusReadsUseTheReplicaUnlessTheWorkflowWasJustWritten() throws InterruptedException {
+        WorkflowResponse created = workflowService.createWorkflow(WorkflowRequest.builder()
+            .workflowName("from-primary")
+            .tasks(List.of(TaskDefinition.builder().name("validate").type("IMAGE_VALIDATE").build()))
+            .build());
+        String workflowId = created.getWorkflowId();
+        
+        // Just created: read from the primary even though the replica has nothing yet
+        assertThat(workflowService.getWorkflowStatus(workflowId).getWorkflowName()).isEqualTo("from-primary");
+        
+        replicate();
+        new JdbcTemplate(replicaDataSource).update(
+            "UPDATE workflows SET workflow_name = 'from-replica' WHERE id = CAST(? AS uuid)", workflowId);
+        Thread.sleep(500);
+        
+        double replicaBefore = routed("replica");
+        WorkflowResponse fromReplica = workflowService.getWorkflowStatus(workflowId);
+        assertThat(fromReplica.getWorkflowName()).isEqualTo("from-replica");
+        assertThat(fromReplica.getStatus()).isEqualTo(WorkflowStatus.RUNNING);
+        assertThat(routed("replica")).isGreaterThan(replicaBefore);
+        
+        // A fresh write is read back from the primary, not from the replica that has not seen it
+        workflowService.cancelWorkflow(workflowId);
+        WorkflowResponse afterWrite = workflowService.getWorkflowStatus(workflowId);
+        assertThat(afterWrite.getWorkflowName()).isEqualTo("from-primary");
+        assertThat(afterWrite.getStatus()).isEqualTo(WorkflowStatus.CANCELLED);
+    }
+    
+    @Test
+    void admissionControlWatchesThePrimaryPoolBehindTheRoutingProxy() {
+        assertThat(ReflectionTestUtils.getField(admissionControlService, "primaryPool")).isSameAs(primaryDataSource);
+    }
+    
+    /**
+     * Copy the primary into the replica (the H2 counterpart of pg_basebackup)
+     */
+    private void replicate() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class)) {
+            replica.execute(statement);
+        }
+    }
+    
+    private double routed(String target) {
+        return meterRegistry.counter("task_scheduler.datasource.routed", "target", target).count();
+    }
+}
@@ -0,0 +1,96 @@
+package com.faang.taskscheduler.repository;
+
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskPriority;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.UuidV7Generator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ready-task queries: order on equal upward rank, and retry backoff
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "task-scheduler.worker.enabled=false",
+    "task-scheduler.scheduler.enabled=false",
+    "task-scheduler.state-store.enabled=false"
+})
+@ActiveProfiles("embedded")
+@Transactional
+class TaskRepositoryTest {
+    
+    private static final List<TaskStatus> READY = List.of(TaskStatus.PENDING, TaskStatus.RETRYING);
+    private static final List<TaskPriority> HIGHEST_FIRST =
+        List.of(TaskPriority.CRITICAL, TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.LOW);
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    private String workflowId;
+    
+    @BeforeEach
+    void setUp() {
+        workflowId = UuidV7Generator.next().toString();
+        // Created in the order a descending sort on the stored names returns them
+        for (TaskPriority priority : List.of(TaskPriority.MEDIUM, TaskPriority.LOW, TaskPriority.HIGH,
+                                             TaskPriority.CRITICAL)) {
+            taskRepository.save(Task.builder()
+                .workflowId(workflowId)
+                .shard(7)
+                .taskName(priority.name().toLowerCase())
+                .taskType("IMAGE_VALIDATE")
+                .priority(priority)
+                .upwardRankMs(1000L)
+                .build());
+        }
+    }
+    
+    @Test
+    void readyTasksWithEqualRankAreOrderedByPriorityLevel() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10);
+        
+        assertThat(taskRepository.findReadyTasksByRank(Set.of(7), READY, now, page))
+            .extracting(Task::getPriority).containsExactlyElementsOf(HIGHEST_FIRST);
+        assertThat(taskRepository.findReadyTasksByDeadline(Set.of(7), READY, now, page))
+            .extracting(Task::getPriority).containsExactlyElementsOf(HIGHEST_FIRST);
+        assertThat(taskRepository.findReadyTasksByWorkflow(workflowId, READY, now, page))
+            .extracting(Task::getPriority).containsExactlyElementsOf(HIGHEST_FIRST);
+    }
+    
+    @Test
+    void retryingTasksAreNotReadyBeforeTheirNextAttempt() {
+        LocalDateTime now = LocalDateTime.now();
+        Task critical = taskRepository.findByWorkflowId(workflowId).stream()
+            .filter(task -> task.getPriority() == TaskPriority.CRITICAL)
+            .findFirst().orElseThrow();
+        critical.setStatus(TaskStatus.RETRYING);
+        critical.setNextAttemptAt(now.plusSeconds(2));
+        taskRepository.save(critical);
+        PageRequest page = PageRequest.of(0, 10);
+        
+        assertThat(taskRepository.findReadyTasksByRank(Set.of(7), READY, now, page))
+            .extracting(Task::getPriority).doesNotContain(TaskPriority.CRITICAL).hasSize(3);
+        assertThat(taskRepository.findReadyTasksByDeadline(Set.of(7), READY, now, page)).hasSize(3);
+        assertThat(taskRepository.findReadyTasksByWorkflow(workflowId, READY, now, page)).hasSize(3);
+        assertThat(taskRepository.countReadyTasksByWorkflow(Set.of(7), READY, now))
+            .singleElement().extracting(TaskRepository.WorkflowTaskCount::getCount).isEqualTo(3L);
+        
+        LocalDateTime later = now.plusSeconds(3);
+        assertThat(taskRepository.findReadyTasksByRank(Set.of(7), READY, later, page))
+            .extracting(Task::getPriority).first().isEqualTo(TaskPriority.CRITICAL);
+        assertThat(taskRepository.countReadyTasksByWorkflow(Set.of(7), READY, later))
+            .singleElement().extracting(TaskRepository.WorkflowTaskCount::getCount).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,71 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.exception.AdmissionRejectedException;
+import com.faang.taskscheduler.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AdmissionControlServiceTest {
+    
+    private AdmissionControlService admissionControlService;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        admissionControlService = new AdmissionControlService(mock(TaskRepository.class), 
+            mock(ObjectProvider.class), mock(TaskQueueProducer.class), mock(DataSource.class));
+        ReflectionTestUtils.setField(admissionControlService, "enabled", true);
+        ReflectionTestUtils.setField(admissionControlService, "maxConcurrentSubmissions", 1);
+        ReflectionTestUtils.setField(admissionControlService, "quotaRatePerSecond", 0.001);
+        ReflectionTestUtils.setField(admissionControlService, "quotaBurst", 2.0);
+        admissionControlService.init();
+    }
+    
+    @Test
+    void concurrencyRejectionDoesNotConsumeQuota() {
+        admissionControlService.admit("a", 1.0);
+        
+        // The only permit is held: further requests are shed before touching the bucket
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> admissionControlService.admit("b", 1.0))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("concurrent");
+        }
+        admissionControlService.release();
+        
+        admissionControlService.admit("b", 1.0);
+        admissionControlService.release();
+        assertThat(admissionControlService.charge("b", 1.0)).isZero();
+    }
+    
+    @Test
+    void quotaRejectionReturnsThePermit() {
+        admissionControlService.admit("a", 2.0);
+        admissionControlService.release();
+        
+        assertThatThrownBy(() -> admissionControlService.admit("a", 1.0))
+            .isInstanceOf(AdmissionRejectedException.class)
+            .hasMessageContaining("Quota");
+        
+        // Another client still gets the single permit
+        admissionControlService.admit("b", 1.0);
+        admissionControlService.release();
+    }
+    
+    @Test
+    void bulkItemsAreChargedAgainstTheSameBucket() {
+        admissionControlService.admit("a", 1.0);
+        admissionControlService.release();
+        
+        assertThat(admissionControlService.charge("a", 1.0)).isZero();
+        assertThat(admissionControlService.charge("a", 1.0)).isPositive();
+    }
+}
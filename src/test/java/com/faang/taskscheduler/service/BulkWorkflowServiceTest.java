@@ -0,0 +1,119 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkWorkflowServiceTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private WorkflowService workflowService;
+    private AdmissionControlService admissionControlService;
+    private BulkWorkflowService bulkWorkflowService;
+    
+    @BeforeEach
+    void setUp() {
+        workflowService = mock(WorkflowService.class);
+        admissionControlService = mock(AdmissionControlService.class);
+        bulkWorkflowService = new BulkWorkflowService(workflowService, admissionControlService, objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(bulkWorkflowService, "batchSize", 10);
+        
+        when(workflowService.createWorkflows(anyList())).thenAnswer(invocation -> {
+            List<WorkflowRequest> requests = invocation.getArgument(0);
+            List<WorkflowResponse> responses = new ArrayList<>();
+            for (WorkflowRequest request : requests) {
+                if ("poison".equals(request.getWorkflowName())) {
+                    throw new IllegalStateException("constraint violation");
+                }
+                responses.add(WorkflowResponse.builder().workflowId("id-" + request.getWorkflowName()).totalTasks(1).build());
+            }
+            return responses;
+        });
+    }
+    
+    @Test
+    void unexpectedValidationFailureRejectsOnlyThatItem() throws Exception {
+        doThrow(new IllegalStateException("plan compilation failed"))
+            .when(workflowService).validateWorkflowRequest(argThat(request -> "bad".equals(request.getWorkflowName())));
+        
+        List<JsonNode> results = submit("a", "bad", "c");
+        
+        assertThat(results).hasSize(3);
+        assertThat(results).extracting(node -> node.get("index").asInt()).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(result(results, 0).get("accepted").asBoolean()).isTrue();
+        assertThat(result(results, 1).get("accepted").asBoolean()).isFalse();
+        assertThat(result(results, 1).get("error").asText()).contains("plan compilation failed");
+        assertThat(result(results, 2).get("accepted").asBoolean()).isTrue();
+    }
+    
+    @Test
+    void failedBatchFallsBackToItemByItem() throws Exception {
+        List<JsonNode> results = submit("a", "poison", "c");
+        
+        assertThat(results).hasSize(3);
+        assertThat(result(results, 0).get("workflowId").asText()).isEqualTo("id-a");
+        assertThat(result(results, 1).get("accepted").asBoolean()).isFalse();
+        assertThat(result(results, 1).get("error").asText()).contains("constraint violation");
+        assertThat(result(results, 2).get("workflowId").asText()).isEqualTo("id-c");
+    }
+    
+    @Test
+    void itemsAreChargedAsReadAndStreamStopsWhenQuotaRunsOut() throws Exception {
+        when(admissionControlService.charge("tenant", 1.0)).thenReturn(0L, 0L, 3L);
+        
+        List<JsonNode> results = submit("a", "b", "c", "d", "e");
+        
+        // Item 0 was paid for by admission; items 1 and 2 are charged, item 3 is refused
+        verify(admissionControlService, times(3)).charge("tenant", 1.0);
+        assertThat(results).hasSize(4);
+        assertThat(result(results, 2).get("accepted").asBoolean()).isTrue();
+        assertThat(result(results, 3).get("accepted").asBoolean()).isFalse();
+        assertThat(result(results, 3).get("error").asText()).contains("Quota exceeded", "retry after 3s");
+    }
+    
+    private List<JsonNode> submit(String... names) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (String name : names) {
+            body.append(objectMapper.writeValueAsString(WorkflowRequest.builder()
+                .workflowName(name)
+                .imageUrls(List.of("http://localhost/image.jpg"))
+                .operations(List.of("resize"))
+                .build())).append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkWorkflowService.submit(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), out, "tenant");
+        
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+    
+    private static JsonNode result(List<JsonNode> results, int index) {
+        return results.stream().filter(node -> node.get("index").asInt() == index).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.faang.taskscheduler.service;
+
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.dto.WorkflowRequest;
+import com.faang.taskscheduler.dto.WorkflowResponse;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.model.WorkflowStatus;
+import com.faang.taskscheduler.repository.TaskRepository;
+import com.faang.taskscheduler.repository.WorkflowRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sibling tasks of one workflow completing at the same time must all be counted,
+ * without a completion failing on the workflow's version check.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "task-scheduler.worker.enabled=false",
+    "task-scheduler.scheduler.enabled=false",
+    "task-scheduler.state-store.enabled=false"
+})
+@ActiveProfiles("embedded")
+class WorkflowProgressConcurrencyTest {
+    
+    private static final int SIBLINGS = 8;
+    
+    @Autowired
+    private WorkflowService workflowService;
+    
+    @Autowired
+    private TaskCompletionService taskCompletionService;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private WorkflowRepository workflowRepository;
+    
+    @Test
+    void concurrentSiblingCompletionsAreAllCounted() throws Exception {
+        List<TaskDefinition> siblings = IntStream.range(0, SIBLINGS)
+            .mapToObj(i -> TaskDefinition.builder().name("sibling-" + i).type("IMAGE_VALIDATE").build())
+            .toList();
+        WorkflowResponse created = workflowService.createWorkflow(WorkflowRequest.builder()
+            .workflowName("siblings")
+            .tasks(siblings)
+            .build());
+        
+        List<Task> tasks = taskRepository.findByWorkflowId(created.getWorkflowId());
+        assertThat(tasks).hasSize(SIBLINGS);
+        // As dispatched by the scheduler: only queued tasks can be started
+        tasks.forEach(task -> task.setStatus(TaskStatus.QUEUED));
+        taskRepository.saveAll(tasks);
+        for (Task task : tasks) {
+            assertThat(taskCompletionService.startTask(task.getId(), "worker-" + task.getTaskName())).isPresent();
+        }
+        assertThat(taskCompletionService.startTask(tasks.get(0).getId(), "worker-redelivered")).isEmpty();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(SIBLINGS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> completions = new ArrayList<>();
+        try {
+            for (Task task : tasks) {
+                completions.add(executor.submit(() -> {
+                    start.await();
+                    taskCompletionService.completeTask(task.getId(), "worker-" + task.getTaskName(),
+                        Map.of("valid", true), 10);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> completion : completions) {
+                completion.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(taskRepository.findByWorkflowId(created.getWorkflowId()))
+            .extracting(Task::getStatus)
+            .containsOnly(TaskStatus.COMPLETED);
+        Workflow workflow = workflowRepository.findById(created.getWorkflowId()).orElseThrow();
+        assertThat(workflow.getCompletedTasks()).isEqualTo(SIBLINGS);
+        assertThat(workflow.getStatus()).isEqualTo(WorkflowStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,105 @@
+package com.faang.taskscheduler.state;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidOrdinalIndexTest {
+    
+    @Test
+    void probeChainWrapsAroundTheEndOfTheTable() {
+        UuidOrdinalIndex index = new UuidOrdinalIndex(8);
+        int lastSlot = 31;
+        
+        // Three ids homed on the last slot occupy it and the first two; one homed on slot 0 lands after them
+        List<UUID> ids = new ArrayList<>(idsHomedAt(index, lastSlot, 3));
+        ids.addAll(idsHomedAt(index, 0, 1));
+        for (int i = 0; i < ids.size(); i++) {
+            index.put(ids.get(i).getMostSignificantBits(), ids.get(i).getLeastSignificantBits(), i);
+        }
+        assertThat(index.size()).isEqualTo(4);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(get(index, ids.get(i))).isEqualTo(i);
+        }
+        
+        // Removing the head of the chain shifts the others back across the wrap
+        assertThat(remove(index, ids.get(0))).isTrue();
+        assertThat(get(index, ids.get(0))).isEqualTo(UuidOrdinalIndex.ABSENT);
+        assertThat(get(index, ids.get(1))).isEqualTo(1);
+        assertThat(get(index, ids.get(2))).isEqualTo(2);
+        assertThat(get(index, ids.get(3))).isEqualTo(3);
+        
+        // The id homed on slot 0 must not be pulled back past its home onto the last slot
+        assertThat(remove(index, ids.get(1))).isTrue();
+        assertThat(remove(index, ids.get(2))).isTrue();
+        assertThat(get(index, ids.get(3))).isEqualTo(3);
+        assertThat(remove(index, ids.get(0))).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void putOverwritesAnExistingOrdinal() {
+        UuidOrdinalIndex index = new UuidOrdinalIndex(8);
+        UUID id = UUID.randomUUID();
+        
+        index.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), 1);
+        index.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), 2);
+        
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(get(index, id)).isEqualTo(2);
+    }
+    
+    @Test
+    void matchesAHashMapThroughGrowthAndRemovals() {
+        UuidOrdinalIndex index = new UuidOrdinalIndex(8);
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        Random random = new Random(42);
+        
+        for (int step = 0; step < 20_000; step++) {
+            if (ids.isEmpty() || random.nextInt(3) > 0) {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                ids.add(id);
+                expected.put(id, step);
+                index.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), step);
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                assertThat(remove(index, id)).isTrue();
+                expected.remove(id);
+            }
+        }
+        
+        assertThat(index.size()).isEqualTo(expected.size());
+        expected.forEach((id, ordinal) -> assertThat(get(index, id)).isEqualTo(ordinal));
+        assertThat(get(index, new UUID(random.nextLong(), random.nextLong()))).isEqualTo(UuidOrdinalIndex.ABSENT);
+    }
+    
+    private static List<UUID> idsHomedAt(UuidOrdinalIndex index, int slot, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            UUID id = UUID.randomUUID();
+            Integer home = ReflectionTestUtils.invokeMethod(index, "slot",
+                id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (home != null && home == slot) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
+    private static int get(UuidOrdinalIndex index, UUID id) {
+        return index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+    
+    private static boolean remove(UuidOrdinalIndex index, UUID id) {
+        return index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,225 @@
+package com.faang.taskscheduler.state;
+
+import com.faang.taskscheduler.dag.DagCompiler;
+import com.faang.taskscheduler.dag.ExecutionPlan;
+import com.faang.taskscheduler.dto.TaskDefinition;
+import com.faang.taskscheduler.executor.TaskExecutorRegistry;
+import com.faang.taskscheduler.model.Task;
+import com.faang.taskscheduler.model.TaskStatus;
+import com.faang.taskscheduler.model.UuidV7Generator;
+import com.faang.taskscheduler.model.Workflow;
+import com.faang.taskscheduler.state.WorkflowStateStore.DependencyCounter;
+import com.faang.taskscheduler.state.WorkflowStateStore.WorkflowProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * State store transitions on a diamond: download -> (resize, thumbnail) -> compress,
+ * with resize on the critical path
+ */
+class WorkflowStateStoreTest {
+    
+    private static final Map<String, Long> COST_MS = Map.of(
+        "IMAGE_DOWNLOAD", 100L, "IMAGE_RESIZE", 300L, "IMAGE_THUMBNAIL", 200L, "IMAGE_COMPRESS", 100L);
+    
+    private DagCompiler dagCompiler;
+    private ExecutionPlan diamond;
+    private WorkflowStateStore store;
+    
+    @BeforeEach
+    void setUp() {
+        TaskExecutorRegistry registry = mock(TaskExecutorRegistry.class);
+        when(registry.supports(anyString())).thenReturn(true);
+        when(registry.estimateExecutionTime(anyString(), anyMap()))
+            .thenAnswer(invocation -> COST_MS.get(invocation.<String>getArgument(0)));
+        dagCompiler = new DagCompiler(registry);
+        diamond = dagCompiler.compile("diamond", List.of(
+            definition("download", "IMAGE_DOWNLOAD"),
+            definition("resize", "IMAGE_RESIZE", "download"),
+            definition("thumbnail", "IMAGE_THUMBNAIL", "download"),
+            definition("compress", "IMAGE_COMPRESS", "resize", "thumbnail")));
+        store = new WorkflowStateStore(1024, new SimpleMeterRegistry());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void completionReleasesDependentsInRankOrder() {
+        Map<String, String> ids = register(diamond);
+        
+        assertThat(store.pollReady(10)).containsExactly(ids.get("download"));
+        assertThat(store.pollReady(10)).isEmpty();
+        store.onStarted(ids.get("download"));
+        store.onCompleted(ids.get("download"));
+        
+        assertThat(store.drainCounters(10)).containsExactlyInAnyOrder(
+            new DependencyCounter(ids.get("resize"), 0), new DependencyCounter(ids.get("thumbnail"), 0));
+        assertThat(store.pollReady(10)).containsExactly(ids.get("resize"), ids.get("thumbnail"));
+        assertThat(store.count(TaskStatus.QUEUED)).isEqualTo(2);
+        
+        store.onCompleted(ids.get("resize"));
+        assertThat(store.pollReady(10)).isEmpty();
+        store.onCompleted(ids.get("thumbnail"));
+        assertThat(store.pollReady(10)).containsExactly(ids.get("compress"));
+        assertThat(store.drainProgress(10)).singleElement()
+            .extracting(WorkflowProgress::completed, WorkflowProgress::finished).containsExactly(3, false);
+        
+        store.onCompleted(ids.get("compress"));
+        assertThat(store.drainProgress(10)).singleElement()
+            .isEqualTo(new WorkflowProgress(ids.get("workflow"), 4, 0, 0, true));
+        assertThat(store.count(TaskStatus.COMPLETED)).isEqualTo(4);
+    }
+    
+    @Test
+    void retryingTaskIsHeldBackUntilItsNextAttempt() {
+        Map<String, String> ids = register(diamond);
+        String download = ids.get("download");
+        
+        assertThat(store.pollReady(10)).containsExactly(download);
+        store.onStarted(download);
+        store.onRetrying(download, LocalDateTime.now().plusHours(1));
+        
+        assertThat(store.count(TaskStatus.RETRYING)).isEqualTo(1);
+        assertThat(store.pollReady(10)).isEmpty();
+        assertThat(store.pollReady(10)).as("a waiting task stays in the heap").isEmpty();
+        
+        store.onStarted(download);
+        store.onRetrying(download, LocalDateTime.now().minusSeconds(1));
+        assertThat(store.pollReady(10)).containsExactly(download);
+        assertThat(store.count(TaskStatus.QUEUED)).isEqualTo(1);
+    }
+    
+    @Test
+    void failureCancelsPendingDescendants() {
+        Map<String, String> ids = register(diamond);
+        store.pollReady(10);
+        store.onCompleted(ids.get("download"));
+        assertThat(store.pollReady(10)).containsExactly(ids.get("resize"), ids.get("thumbnail"));
+        
+        store.onFailed(ids.get("resize"));
+        assertThat(store.count(TaskStatus.FAILED)).isEqualTo(1);
+        assertThat(store.count(TaskStatus.CANCELLED)).isEqualTo(1);
+        assertThat(store.drainProgress(10)).singleElement()
+            .isEqualTo(new WorkflowProgress(ids.get("workflow"), 1, 1, 1, false));
+        
+        // The sibling still in flight finishes the workflow; its cancelled dependent never becomes ready
+        store.onCompleted(ids.get("thumbnail"));
+        assertThat(store.pollReady(10)).isEmpty();
+        assertThat(store.drainProgress(10)).singleElement()
+            .isEqualTo(new WorkflowProgress(ids.get("workflow"), 2, 1, 1, true));
+    }
+    
+    @Test
+    void rolledBackDispatchReturnsTasksToTheHeap() {
+        Map<String, String> ids = register(diamond);
+        
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(store.pollReady(10)).containsExactly(ids.get("download"));
+        assertThat(store.count(TaskStatus.QUEUED)).isEqualTo(1);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        assertThat(store.count(TaskStatus.QUEUED)).isZero();
+        assertThat(store.count(TaskStatus.PENDING)).isEqualTo(4);
+        
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(store.pollReady(10)).containsExactly(ids.get("download"));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertThat(store.count(TaskStatus.QUEUED)).isEqualTo(1);
+        assertThat(store.pollReady(10)).isEmpty();
+    }
+    
+    @Test
+    void compactionKeepsIdsDirtyStateAndReadyTasks() {
+        List<TaskDefinition> fanOut = new ArrayList<>();
+        fanOut.add(definition("root", "IMAGE_DOWNLOAD"));
+        for (int i = 0; i < 1023; i++) {
+            fanOut.add(definition("leaf-" + i, "IMAGE_RESIZE", "root"));
+        }
+        ExecutionPlan wide = dagCompiler.compile("wide", fanOut);
+        
+        // Five finished workflows ahead of the survivor, so it moves down on compaction
+        List<Map<String, String>> finished = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            finished.add(register(wide));
+        }
+        Map<String, String> survivor = register(diamond);
+        store.onCompleted(survivor.get("download"));
+        finished.forEach(ids -> store.onFailed(ids.get("root")));
+        
+        assertThat(store.drainProgress(5)).hasSize(5).allMatch(WorkflowProgress::finished);
+        store.evictFinished(finished.stream().map(ids -> ids.get("workflow")).toList());
+        
+        assertThat(ReflectionTestUtils.getField(store, "taskCount")).isEqualTo(4);
+        assertThat(store.count(TaskStatus.CANCELLED)).isZero();
+        assertThat(store.count(TaskStatus.PENDING)).isEqualTo(3);
+        assertThat(store.drainProgress(10)).singleElement()
+            .isEqualTo(new WorkflowProgress(survivor.get("workflow"), 1, 0, 0, false));
+        assertThat(store.drainCounters(10)).containsExactlyInAnyOrder(
+            new DependencyCounter(survivor.get("resize"), 0), new DependencyCounter(survivor.get("thumbnail"), 0));
+        assertThat(store.pollReady(10)).containsExactly(survivor.get("resize"), survivor.get("thumbnail"));
+        
+        // Renumbered ordinals still resolve, and the plan edges follow the moved range
+        store.onCompleted(survivor.get("resize"));
+        store.onCompleted(survivor.get("thumbnail"));
+        assertThat(store.pollReady(10)).containsExactly(survivor.get("compress"));
+    }
+    
+    /**
+     * Register a pending workflow; returns task ids by name, plus the workflow id under "workflow"
+     */
+    private Map<String, String> register(ExecutionPlan plan) {
+        Map<String, String> ids = new HashMap<>();
+        Workflow workflow = Workflow.builder().id(UuidV7Generator.next().toString()).build();
+        ids.put("workflow", workflow.getId());
+        
+        List<Task> tasks = new ArrayList<>(plan.size());
+        for (int node = 0; node < plan.size(); node++) {
+            Task task = Task.builder()
+                .id(UuidV7Generator.next().toString())
+                .workflowId(workflow.getId())
+                .taskName(plan.name(node))
+                .taskType(plan.type(node))
+                .status(TaskStatus.PENDING)
+                .remainingDependencies(plan.inDegree(node))
+                .upwardRankMs(plan.upwardRank(node))
+                .build();
+            tasks.add(task);
+            ids.put(task.getTaskName(), task.getId());
+        }
+        store.register(workflow, tasks, plan);
+        return ids;
+    }
+    
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+    
+    private static TaskDefinition definition(String name, String type, String... dependsOn) {
+        return TaskDefinition.builder().name(name).type(type).dependsOn(List.of(dependsOn)).build();
+    }
+}